@@ -29,6 +29,16 @@ public class ClientRemoteAbility {
      */
     private boolean supportRemoteConnection;
     
+    /**
+     * if support binary payload body codec.
+     */
+    private boolean supportBinaryCodec;
+    
+    /**
+     * if support batch push request.
+     */
+    private boolean supportBatchPush;
+    
     public boolean isSupportRemoteConnection() {
         return this.supportRemoteConnection;
     }
@@ -36,4 +46,20 @@ public class ClientRemoteAbility {
     public void setSupportRemoteConnection(boolean supportRemoteConnection) {
         this.supportRemoteConnection = supportRemoteConnection;
     }
+    
+    public boolean isSupportBinaryCodec() {
+        return supportBinaryCodec;
+    }
+    
+    public void setSupportBinaryCodec(boolean supportBinaryCodec) {
+        this.supportBinaryCodec = supportBinaryCodec;
+    }
+    
+    public boolean isSupportBatchPush() {
+        return supportBatchPush;
+    }
+    
+    public void setSupportBatchPush(boolean supportBatchPush) {
+        this.supportBatchPush = supportBatchPush;
+    }
 }
@@ -32,6 +32,11 @@ public class ServerRemoteAbility implements Serializable {
      */
     private boolean supportRemoteConnection;
     
+    /**
+     * if support binary payload body codec.
+     */
+    private boolean supportBinaryCodec;
+    
     public boolean isSupportRemoteConnection() {
         return this.supportRemoteConnection;
     }
@@ -40,6 +45,14 @@ public class ServerRemoteAbility implements Serializable {
         this.supportRemoteConnection = supportRemoteConnection;
     }
     
+    public boolean isSupportBinaryCodec() {
+        return supportBinaryCodec;
+    }
+    
+    public void setSupportBinaryCodec(boolean supportBinaryCodec) {
+        this.supportBinaryCodec = supportBinaryCodec;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -49,11 +62,11 @@ public class ServerRemoteAbility implements Serializable {
             return false;
         }
         ServerRemoteAbility that = (ServerRemoteAbility) o;
-        return supportRemoteConnection == that.supportRemoteConnection;
+        return supportRemoteConnection == that.supportRemoteConnection && supportBinaryCodec == that.supportBinaryCodec;
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(supportRemoteConnection);
+        return Objects.hash(supportRemoteConnection, supportBinaryCodec);
     }
 }
@@ -38,4 +38,9 @@ public class NamingResponseCode extends ResponseCode {
      */
     public static final int NO_NEED_RETRY = 21600;
     
+    /**
+     * The base revision of delta push does not match the service info of subscriber.
+     */
+    public static final int PUSH_DELTA_BASE_MISMATCH = 21601;
+    
 }
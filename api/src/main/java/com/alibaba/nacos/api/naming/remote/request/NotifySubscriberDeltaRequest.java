@@ -0,0 +1,122 @@
+/*
+ * Copyright 1999-2021 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.api.naming.remote.request;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.remote.request.ServerRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.alibaba.nacos.api.common.Constants.Naming.NAMING_MODULE;
+
+/**
+ * Notify subscriber with changed instances only.
+ *
+ * <p>The delta is based on the service info of {@code baseRevision} which the subscriber has acknowledged. The {@code
+ * serviceInfo} only carries the service level fields, and its hosts are empty. Instances are identified by ip, port
+ * and cluster name, see {@link #getInstanceKey(Instance)}.
+ *
+ * @author Nacos
+ */
+public class NotifySubscriberDeltaRequest extends ServerRequest {
+    
+    private ServiceInfo serviceInfo;
+    
+    private long baseRevision;
+    
+    private long revision;
+    
+    private List<Instance> addedInstances = new ArrayList<Instance>();
+    
+    private List<Instance> modifiedInstances = new ArrayList<Instance>();
+    
+    private List<Instance> removedInstances = new ArrayList<Instance>();
+    
+    public NotifySubscriberDeltaRequest() {
+    }
+    
+    public NotifySubscriberDeltaRequest(ServiceInfo serviceInfo, long baseRevision, long revision) {
+        this.serviceInfo = serviceInfo;
+        this.baseRevision = baseRevision;
+        this.revision = revision;
+    }
+    
+    @Override
+    public String getModule() {
+        return NAMING_MODULE;
+    }
+    
+    /**
+     * Get the key to identify instance in delta.
+     *
+     * @param instance instance
+     * @return key of instance
+     */
+    public static String getInstanceKey(Instance instance) {
+        return instance.toInetAddr() + ":" + instance.getClusterName();
+    }
+    
+    public ServiceInfo getServiceInfo() {
+        return serviceInfo;
+    }
+    
+    public void setServiceInfo(ServiceInfo serviceInfo) {
+        this.serviceInfo = serviceInfo;
+    }
+    
+    public long getBaseRevision() {
+        return baseRevision;
+    }
+    
+    public void setBaseRevision(long baseRevision) {
+        this.baseRevision = baseRevision;
+    }
+    
+    public long getRevision() {
+        return revision;
+    }
+    
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+    
+    public List<Instance> getAddedInstances() {
+        return addedInstances;
+    }
+    
+    public void setAddedInstances(List<Instance> addedInstances) {
+        this.addedInstances = addedInstances;
+    }
+    
+    public List<Instance> getModifiedInstances() {
+        return modifiedInstances;
+    }
+    
+    public void setModifiedInstances(List<Instance> modifiedInstances) {
+        this.modifiedInstances = modifiedInstances;
+    }
+    
+    public List<Instance> getRemovedInstances() {
+        return removedInstances;
+    }
+    
+    public void setRemovedInstances(List<Instance> removedInstances) {
+        this.removedInstances = removedInstances;
+    }
+}
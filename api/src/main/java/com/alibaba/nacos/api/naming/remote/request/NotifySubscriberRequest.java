@@ -36,6 +36,11 @@ public class NotifySubscriberRequest extends ServerRequest {
     
     private ServiceInfo serviceInfo;
     
+    /**
+     * Revision of pushed service info, used as the base of later delta push. Zero means delta push is not supported.
+     */
+    private long revision;
+    
     public NotifySubscriberRequest() {
     }
     
@@ -70,6 +75,14 @@ public class NotifySubscriberRequest extends ServerRequest {
         this.serviceInfo = serviceInfo;
     }
     
+    public long getRevision() {
+        return revision;
+    }
+    
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+    
     public String getNamespace() {
         return namespace;
     }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.api.remote;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DatabindContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.jsontype.impl.TypeIdResolverBase;
+
+/**
+ * Jackson type id resolver for nested payloads, type id is the simple class name registered in {@link
+ * PayloadRegistry}, so only known request and response types can be resolved.
+ *
+ * @author Nacos
+ */
+public class PayloadTypeIdResolver extends TypeIdResolverBase {
+    
+    private JavaType baseType;
+    
+    @Override
+    public void init(JavaType baseType) {
+        // annotated on container property, type ids are resolved for its elements.
+        this.baseType = baseType.isContainerType() ? baseType.getContentType() : baseType;
+    }
+    
+    @Override
+    public String idFromValue(Object value) {
+        return value.getClass().getSimpleName();
+    }
+    
+    @Override
+    public String idFromValueAndType(Object value, Class<?> suggestedType) {
+        return value == null ? suggestedType.getSimpleName() : idFromValue(value);
+    }
+    
+    @Override
+    public JavaType typeFromId(DatabindContext context, String id) {
+        Class<?> clazz = PayloadRegistry.getClassByType(id);
+        if (clazz == null || !baseType.getRawClass().isAssignableFrom(clazz)) {
+            return null;
+        }
+        return context.constructSpecializedType(baseType, clazz);
+    }
+    
+    @Override
+    public JsonTypeInfo.Id getMechanism() {
+        return JsonTypeInfo.Id.CUSTOM;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.api.remote.request;
+
+import com.alibaba.nacos.api.remote.PayloadTypeIdResolver;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.annotation.JsonTypeIdResolver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.alibaba.nacos.api.common.Constants.Remote.INTERNAL_MODULE;
+
+/**
+ * Several server push requests sent in one frame and acknowledged by one {@link
+ * com.alibaba.nacos.api.remote.response.BatchPushResponse}. Only sent to clients supporting batch push.
+ *
+ * @author Nacos
+ */
+public class BatchPushRequest extends ServerRequest {
+    
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CUSTOM, include = JsonTypeInfo.As.PROPERTY, property = "@type")
+    @JsonTypeIdResolver(PayloadTypeIdResolver.class)
+    private List<ServerRequest> requests = new ArrayList<>();
+    
+    public BatchPushRequest() {
+    }
+    
+    public BatchPushRequest(List<ServerRequest> requests) {
+        this.requests = requests;
+    }
+    
+    public List<ServerRequest> getRequests() {
+        return requests;
+    }
+    
+    public void setRequests(List<ServerRequest> requests) {
+        this.requests = requests;
+    }
+    
+    @Override
+    public String getModule() {
+        return INTERNAL_MODULE;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.api.remote.response;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Response of {@link com.alibaba.nacos.api.remote.request.BatchPushRequest}, requests at failed indexes are not
+ * handled successfully by client, and the error code and message of each failed request are returned as is.
+ *
+ * @author Nacos
+ */
+public class BatchPushResponse extends Response {
+    
+    private Map<Integer, Failure> failures = new HashMap<>();
+    
+    public Map<Integer, Failure> getFailures() {
+        return failures;
+    }
+    
+    public void setFailures(Map<Integer, Failure> failures) {
+        this.failures = failures;
+    }
+    
+    /**
+     * Record the failure of request at index.
+     *
+     * @param index     index of request in batch
+     * @param errorCode error code of the request
+     * @param message   error message of the request
+     */
+    public void addFailure(int index, int errorCode, String message) {
+        failures.put(index, new Failure(errorCode, message));
+    }
+    
+    /**
+     * Failure of one request in batch.
+     */
+    public static class Failure {
+        
+        private int errorCode;
+        
+        private String message;
+        
+        public Failure() {
+        }
+        
+        public Failure(int errorCode, String message) {
+            this.errorCode = errorCode;
+            this.message = message;
+        }
+        
+        public int getErrorCode() {
+            return errorCode;
+        }
+        
+        public void setErrorCode(int errorCode) {
+            this.errorCode = errorCode;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+        
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -26,6 +26,8 @@ public class ServerCheckResponse extends Response {
     
     private String connectionId;
     
+    private boolean supportBinaryCodec;
+    
     public ServerCheckResponse() {
     
     }
@@ -41,4 +43,12 @@ public class ServerCheckResponse extends Response {
     public void setConnectionId(String connectionId) {
         this.connectionId = connectionId;
     }
+    
+    public boolean isSupportBinaryCodec() {
+        return supportBinaryCodec;
+    }
+    
+    public void setSupportBinaryCodec(boolean supportBinaryCodec) {
+        this.supportBinaryCodec = supportBinaryCodec;
+    }
 }
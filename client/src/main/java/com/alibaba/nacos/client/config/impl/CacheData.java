@@ -26,6 +26,7 @@ import com.alibaba.nacos.client.config.filter.impl.ConfigResponse;
 import com.alibaba.nacos.client.config.listener.impl.AbstractConfigChangeListener;
 import com.alibaba.nacos.client.utils.LogUtils;
 import com.alibaba.nacos.client.utils.TenantUtil;
+import com.alibaba.nacos.common.utils.ConvertUtils;
 import com.alibaba.nacos.common.utils.MD5Utils;
 import org.slf4j.Logger;
 
@@ -33,11 +34,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -47,17 +43,20 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class CacheData {
     
-    static final int CONCURRENCY = 5;
+    private static final String NOTIFY_CONCURRENCY_KEY = "nacos.client.config.notify.concurrency";
     
-    static ThreadFactory internalNotifierFactory = r -> {
-        Thread t = new Thread(r);
-        t.setName("nacos.client.cachedata.internal.notifier");
-        t.setDaemon(true);
-        return t;
-    };
+    private static final String NOTIFY_TIMEOUT_KEY = "nacos.client.config.notify.timeout";
     
-    static final ThreadPoolExecutor INTERNAL_NOTIFIER = new ThreadPoolExecutor(0, CONCURRENCY, 60L, TimeUnit.SECONDS,
-            new SynchronousQueue<>(), internalNotifierFactory);
+    private static final int DEFAULT_CONCURRENCY = 5;
+    
+    private static final long DEFAULT_NOTIFY_TIMEOUT = 60000L;
+    
+    static final int CONCURRENCY = Math
+            .max(1, ConvertUtils.toInt(System.getProperty(NOTIFY_CONCURRENCY_KEY), DEFAULT_CONCURRENCY));
+    
+    static final ConfigNotifyScheduler INTERNAL_NOTIFIER = new ConfigNotifyScheduler(
+            "nacos.client.cachedata.internal.notifier", CONCURRENCY,
+            ConvertUtils.toLong(System.getProperty(NOTIFY_TIMEOUT_KEY), DEFAULT_NOTIFY_TIMEOUT));
     
     private static final Logger LOGGER = LogUtils.logger(CacheData.class);
     
@@ -73,6 +72,11 @@ public class CacheData {
     
     private final CopyOnWriteArrayList<ManagerListenerWrap> listeners;
     
+    /**
+     * notifications of this config without listener executor run in order on the internal notifier.
+     */
+    private final ConfigNotifyScheduler.SerialQueue notifyQueue = INTERNAL_NOTIFIER.newSerialQueue();
+    
     private volatile String md5;
     
     /**
@@ -284,6 +288,8 @@ public class CacheData {
                     name, dataId, group, md5, listener);
             return;
         }
+        // mark before submit, so the checks before the notification runs do not queue it again.
+        listenerWrap.inNotifying = true;
         Runnable job = new Runnable() {
             @Override
             public void run() {
@@ -308,7 +314,6 @@ public class CacheData {
                     cr.setEncryptedDataKey(encryptedDataKey);
                     configFilterChainManager.doFilter(null, cr);
                     String contentTmp = cr.getContent();
-                    listenerWrap.inNotifying = true;
                     listener.receiveConfigInfo(contentTmp);
                     // compare lastContent and content
                     if (listener instanceof AbstractConfigChangeListener) {
@@ -340,21 +345,11 @@ public class CacheData {
             if (null != listener.getExecutor()) {
                 listener.getExecutor().execute(job);
             } else {
-                try {
-                    INTERNAL_NOTIFIER.submit(job);
-                } catch (RejectedExecutionException rejectedExecutionException) {
-                    LOGGER.warn(
-                            "[{}] [notify-blocked] dataId={}, group={}, md5={}, listener={}, no available internal notifier,will sync notifier ",
-                            name, dataId, group, md5, listener);
-                    job.run();
-                } catch (Throwable throwable) {
-                    LOGGER.error(
-                            "[{}] [notify-blocked] dataId={}, group={}, md5={}, listener={}, submit internal async task fail,throwable= ",
-                            name, dataId, group, md5, listener, throwable);
-                    job.run();
-                }
+                notifyQueue.submit(job, "[" + name + "] dataId=" + dataId + ", group=" + group + ", md5=" + md5
+                        + ", listener=" + listener);
             }
         } catch (Throwable t) {
+            listenerWrap.inNotifying = false;
             LOGGER.error("[{}] [notify-error] dataId={}, group={}, md5={}, listener={} throwable={}", name, dataId,
                     group, md5, listener, t.getCause());
         }
@@ -441,7 +436,7 @@ public class CacheData {
     
     private static class ManagerListenerWrap {
         
-        boolean inNotifying = false;
+        volatile boolean inNotifying = false;
         
         final Listener listener;
         
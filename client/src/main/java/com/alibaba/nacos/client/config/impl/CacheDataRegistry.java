@@ -0,0 +1,199 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.client.config.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent registry of {@link CacheData} sharded by listen task id.
+ *
+ * <p>Each shard keeps the caches of one task and the dirty caches which are not sync with server yet, so a listen
+ * cycle only visits dirty caches of each shard and adding a cache does not copy the whole registry.
+ *
+ * @author Nacos
+ */
+class CacheDataRegistry {
+    
+    private final Map<String, CacheData> caches = new ConcurrentHashMap<>();
+    
+    private final Map<Integer, Shard> shards = new ConcurrentHashMap<>();
+    
+    CacheData get(String groupKey) {
+        return caches.get(groupKey);
+    }
+    
+    int size() {
+        return caches.size();
+    }
+    
+    Collection<CacheData> all() {
+        return Collections.unmodifiableCollection(caches.values());
+    }
+    
+    Collection<Shard> shards() {
+        return shards.values();
+    }
+    
+    /**
+     * Put the cache into the registry and the shard of its task id, the cache is dirty until it is sync with server.
+     *
+     * @param groupKey group key of the cache
+     * @param cache    cache data
+     */
+    void put(String groupKey, CacheData cache) {
+        CacheData previous = caches.put(groupKey, cache);
+        if (previous != null && previous != cache) {
+            removeFromShard(groupKey, previous);
+        }
+        Shard shard = shards.computeIfAbsent(cache.getTaskId(), Shard::new);
+        shard.members.put(groupKey, cache);
+        shard.dirty.put(groupKey, cache);
+    }
+    
+    /**
+     * Remove the cache of the group key.
+     *
+     * @param groupKey group key of the cache
+     */
+    void remove(String groupKey) {
+        CacheData cache = caches.remove(groupKey);
+        if (cache != null) {
+            removeFromShard(groupKey, cache);
+        }
+    }
+    
+    private void removeFromShard(String groupKey, CacheData cache) {
+        Shard shard = shards.get(cache.getTaskId());
+        if (shard != null) {
+            shard.members.remove(groupKey, cache);
+            shard.dirty.remove(groupKey, cache);
+        }
+    }
+    
+    /**
+     * Mark the cache not sync with server, and queue it to the dirty caches of its shard.
+     *
+     * @param groupKey group key of the cache
+     * @param cache    cache data
+     */
+    void markUnsynced(String groupKey, CacheData cache) {
+        cache.setSyncWithServer(false);
+        Shard shard = shards.get(cache.getTaskId());
+        if (shard != null && shard.members.get(groupKey) == cache) {
+            shard.dirty.put(groupKey, cache);
+        }
+    }
+    
+    /**
+     * Mark all caches of the task not sync with server.
+     *
+     * @param taskId task id
+     */
+    void markTaskUnsynced(int taskId) {
+        Shard shard = shards.get(taskId);
+        if (shard != null) {
+            shard.markAllUnsynced();
+        }
+    }
+    
+    /**
+     * Mark all caches not sync with server.
+     */
+    void markAllUnsynced() {
+        for (Shard shard : shards.values()) {
+            shard.markAllUnsynced();
+        }
+    }
+    
+    /**
+     * Caches of one listen task.
+     */
+    static class Shard {
+        
+        private final int taskId;
+        
+        private final String taskLabel;
+        
+        private final Map<String, CacheData> members = new ConcurrentHashMap<>();
+        
+        private final Map<String, CacheData> dirty = new ConcurrentHashMap<>();
+        
+        Shard(int taskId) {
+            this.taskId = taskId;
+            this.taskLabel = String.valueOf(taskId);
+        }
+        
+        int getTaskId() {
+            return taskId;
+        }
+        
+        String getTaskLabel() {
+            return taskLabel;
+        }
+        
+        int size() {
+            return members.size();
+        }
+        
+        int dirtySize() {
+            return dirty.size();
+        }
+        
+        /**
+         * Collect the caches to check in this listen cycle, which are the dirty caches or all caches of the shard.
+         *
+         * <p>Dirty caches already sync with server are returned once more for the local listener md5 check, and then
+         * leave the dirty caches unless they are marked unsynced again meanwhile. A cache stays dirty while any
+         * listener has not been notified with its current md5, e.g. a listener still notifying an older content skips
+         * the newer one, so it is checked again in the next cycle instead of waiting for the next full sync.
+         *
+         * @param all whether to collect all caches of the shard
+         * @return caches to check
+         */
+        List<CacheData> collect(boolean all) {
+            Map<String, CacheData> source = all ? members : dirty;
+            List<CacheData> result = new ArrayList<>(source.size());
+            for (Map.Entry<String, CacheData> entry : source.entrySet()) {
+                CacheData cache = entry.getValue();
+                if (!all && members.get(entry.getKey()) != cache) {
+                    // removed from the shard after it was marked dirty.
+                    dirty.remove(entry.getKey(), cache);
+                    continue;
+                }
+                if (cache.isSyncWithServer() && cache.checkListenersMd5Consistent() && dirty
+                        .remove(entry.getKey(), cache) && !cache.isSyncWithServer()) {
+                    dirty.putIfAbsent(entry.getKey(), cache);
+                }
+                result.add(cache);
+            }
+            return result;
+        }
+        
+        private void markAllUnsynced() {
+            for (Map.Entry<String, CacheData> entry : members.entrySet()) {
+                entry.getValue().setSyncWithServer(false);
+                dirty.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+}
@@ -68,11 +68,10 @@ import com.google.gson.JsonObject;
 import org.slf4j.Logger;
 
 import java.io.File;
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -83,7 +82,6 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
 
 import static com.alibaba.nacos.api.common.Constants.ENCODE;
 
@@ -111,10 +109,9 @@ public class ClientWorker implements Closeable {
     private static final String DEFAULT_RESOURCE = "";
     
     /**
-     * groupKey -> cacheData.
+     * groupKey -> cacheData, sharded by task id.
      */
-    private final AtomicReference<Map<String, CacheData>> cacheMap = new AtomicReference<Map<String, CacheData>>(
-            new HashMap<String, CacheData>());
+    private final CacheDataRegistry cacheMap = new CacheDataRegistry();
     
     private final ConfigFilterChainManager configFilterChainManager;
     
@@ -145,7 +142,7 @@ public class ClientWorker implements Closeable {
             for (Listener listener : listeners) {
                 cache.addListener(listener);
             }
-            cache.setSyncWithServer(false);
+            cacheMap.markUnsynced(GroupKey.getKey(dataId, group), cache);
             agent.notifyListenConfig();
             
         }
@@ -168,7 +165,7 @@ public class ClientWorker implements Closeable {
             for (Listener listener : listeners) {
                 cache.addListener(listener);
             }
-            cache.setSyncWithServer(false);
+            cacheMap.markUnsynced(GroupKey.getKeyTenant(dataId, group, tenant), cache);
             agent.notifyListenConfig();
         }
         
@@ -193,7 +190,7 @@ public class ClientWorker implements Closeable {
             for (Listener listener : listeners) {
                 cache.addListener(listener);
             }
-            cache.setSyncWithServer(false);
+            cacheMap.markUnsynced(GroupKey.getKeyTenant(dataId, group, tenant), cache);
             agent.notifyListenConfig();
         }
         
@@ -213,7 +210,7 @@ public class ClientWorker implements Closeable {
             synchronized (cache) {
                 cache.removeListener(listener);
                 if (cache.getListeners().isEmpty()) {
-                    cache.setSyncWithServer(false);
+                    cacheMap.markUnsynced(GroupKey.getKey(dataId, group), cache);
                     agent.removeCache(dataId, group);
                 }
             }
@@ -236,7 +233,7 @@ public class ClientWorker implements Closeable {
             synchronized (cache) {
                 cache.removeListener(listener);
                 if (cache.getListeners().isEmpty()) {
-                    cache.setSyncWithServer(false);
+                    cacheMap.markUnsynced(GroupKey.getKeyTenant(dataId, group, tenant), cache);
                     agent.removeCache(dataId, group);
                 }
             }
@@ -245,26 +242,18 @@ public class ClientWorker implements Closeable {
     
     private void removeCache(String dataId, String group) {
         String groupKey = GroupKey.getKey(dataId, group);
-        synchronized (cacheMap) {
-            Map<String, CacheData> copy = new HashMap<String, CacheData>(cacheMap.get());
-            copy.remove(groupKey);
-            cacheMap.set(copy);
-        }
+        cacheMap.remove(groupKey);
         LOGGER.info("[{}] [unsubscribe] {}", this.agent.getName(), groupKey);
         
-        MetricsMonitor.getListenConfigCountMonitor().set(cacheMap.get().size());
+        MetricsMonitor.getListenConfigCountMonitor().set(cacheMap.size());
     }
     
     void removeCache(String dataId, String group, String tenant) {
         String groupKey = GroupKey.getKeyTenant(dataId, group, tenant);
-        synchronized (cacheMap) {
-            Map<String, CacheData> copy = new HashMap<String, CacheData>(cacheMap.get());
-            copy.remove(groupKey);
-            cacheMap.set(copy);
-        }
+        cacheMap.remove(groupKey);
         LOGGER.info("[{}] [unsubscribe] {}", agent.getName(), groupKey);
         
-        MetricsMonitor.getListenConfigCountMonitor().set(cacheMap.get().size());
+        MetricsMonitor.getListenConfigCountMonitor().set(cacheMap.size());
     }
     
     /**
@@ -327,18 +316,16 @@ public class ClientWorker implements Closeable {
                 //reset so that server not hang this check
                 cache.setInitializing(true);
             } else {
-                int taskId = cacheMap.get().size() / (int) ParamUtil.getPerTaskConfigSize();
+                int taskId = cacheMap.size() / (int) ParamUtil.getPerTaskConfigSize();
                 cache.setTaskId(taskId);
             }
             
-            Map<String, CacheData> copy = new HashMap<String, CacheData>(cacheMap.get());
-            copy.put(key, cache);
-            cacheMap.set(copy);
+            cacheMap.put(key, cache);
         }
         
         LOGGER.info("[{}] [subscribe] {}", this.agent.getName(), key);
         
-        MetricsMonitor.getListenConfigCountMonitor().set(cacheMap.get().size());
+        MetricsMonitor.getListenConfigCountMonitor().set(cacheMap.size());
         
         return cache;
     }
@@ -368,7 +355,7 @@ public class ClientWorker implements Closeable {
                 cache.setInitializing(true);
             } else {
                 cache = new CacheData(configFilterChainManager, agent.getName(), dataId, group, tenant);
-                int taskId = cacheMap.get().size() / (int) ParamUtil.getPerTaskConfigSize();
+                int taskId = cacheMap.size() / (int) ParamUtil.getPerTaskConfigSize();
                 cache.setTaskId(taskId);
                 // fix issue # 1317
                 if (enableRemoteSyncConfig) {
@@ -377,13 +364,11 @@ public class ClientWorker implements Closeable {
                 }
             }
             
-            Map<String, CacheData> copy = new HashMap<String, CacheData>(this.cacheMap.get());
-            copy.put(key, cache);
-            cacheMap.set(copy);
+            cacheMap.put(key, cache);
         }
         LOGGER.info("[{}] [subscribe] {}", agent.getName(), key);
         
-        MetricsMonitor.getListenConfigCountMonitor().set(cacheMap.get().size());
+        MetricsMonitor.getListenConfigCountMonitor().set(cacheMap.size());
         
         return cache;
     }
@@ -396,7 +381,7 @@ public class ClientWorker implements Closeable {
         if (null == dataId || null == group) {
             throw new IllegalArgumentException();
         }
-        return cacheMap.get().get(GroupKey.getKeyTenant(dataId, group, tenant));
+        return cacheMap.get(GroupKey.getKeyTenant(dataId, group, tenant));
     }
     
     public ConfigResponse getServerConfig(String dataId, String group, String tenant, long readTimeout, boolean notify)
@@ -474,8 +459,8 @@ public class ClientWorker implements Closeable {
     }
     
     private void refreshContentAndCheck(String groupKey, boolean notify) {
-        if (cacheMap.get() != null && cacheMap.get().containsKey(groupKey)) {
-            CacheData cache = cacheMap.get().get(groupKey);
+        CacheData cache = cacheMap.get(groupKey);
+        if (cache != null) {
             refreshContentAndCheck(cache, notify);
         }
     }
@@ -515,7 +500,7 @@ public class ClientWorker implements Closeable {
     
     private Map<String, Object> getMetrics(List<ClientConfigMetricRequest.MetricsKey> metricsKeys) {
         Map<String, Object> metric = new HashMap<>(16);
-        metric.put("listenConfigSize", String.valueOf(this.cacheMap.get().size()));
+        metric.put("listenConfigSize", String.valueOf(this.cacheMap.size()));
         metric.put("clientVersion", VersionUtils.getFullClientVersion());
         metric.put("snapshotDir", LocalConfigInfoProcessor.LOCAL_SNAPSHOT_PATH);
         boolean isFixServer = agent.serverListManager.isFixed;
@@ -538,7 +523,7 @@ public class ClientWorker implements Closeable {
         Map<ClientConfigMetricRequest.MetricsKey, Object> values = new HashMap<>(16);
         for (ClientConfigMetricRequest.MetricsKey metricsKey : metricsKeys) {
             if (ClientConfigMetricRequest.MetricsKey.CACHE_DATA.equals(metricsKey.getType())) {
-                CacheData cacheData = cacheMap.get().get(metricsKey.getKey());
+                CacheData cacheData = cacheMap.get(metricsKey.getKey());
                 values.putIfAbsent(metricsKey,
                         cacheData == null ? null : cacheData.getContent() + ":" + cacheData.getMd5());
             }
@@ -617,10 +602,7 @@ public class ClientWorker implements Closeable {
                 
                 LOGGER.info("Shutdown executor " + executor);
                 executor.shutdown();
-                Map<String, CacheData> stringCacheDataMap = cacheMap.get();
-                for (Map.Entry<String, CacheData> entry : stringCacheDataMap.entrySet()) {
-                    entry.getValue().setSyncWithServer(false);
-                }
+                cacheMap.markAllUnsynced();
             }
             
         }
@@ -652,11 +634,11 @@ public class ClientWorker implements Closeable {
                             .getKeyTenant(configChangeNotifyRequest.getDataId(), configChangeNotifyRequest.getGroup(),
                                     configChangeNotifyRequest.getTenant());
                     
-                    CacheData cacheData = cacheMap.get().get(groupKey);
+                    CacheData cacheData = cacheMap.get(groupKey);
                     if (cacheData != null) {
                         synchronized (cacheData) {
                             cacheData.getLastModifiedTs().set(System.currentTimeMillis());
-                            cacheData.setSyncWithServer(false);
+                            cacheMap.markUnsynced(groupKey, cacheData);
                             notifyListenConfig();
                         }
                         
@@ -687,16 +669,10 @@ public class ClientWorker implements Closeable {
                 public void onDisConnect() {
                     String taskId = rpcClientInner.getLabels().get("taskId");
                     LOGGER.info("[{}] DisConnected,clear listen context...", rpcClientInner.getName());
-                    Collection<CacheData> values = cacheMap.get().values();
-                    
-                    for (CacheData cacheData : values) {
-                        if (StringUtils.isNotBlank(taskId)) {
-                            if (Integer.valueOf(taskId).equals(cacheData.getTaskId())) {
-                                cacheData.setSyncWithServer(false);
-                            }
-                        } else {
-                            cacheData.setSyncWithServer(false);
-                        }
+                    if (StringUtils.isNotBlank(taskId)) {
+                        cacheMap.markTaskUnsynced(Integer.parseInt(taskId));
+                    } else {
+                        cacheMap.markAllUnsynced();
                     }
                 }
                 
@@ -773,43 +749,43 @@ public class ClientWorker implements Closeable {
             Map<String, List<CacheData>> removeListenCachesMap = new HashMap<String, List<CacheData>>(16);
             long now = System.currentTimeMillis();
             boolean needAllSync = now - lastAllSyncTime >= ALL_SYNC_INTERNAL;
-            for (CacheData cache : cacheMap.get().values()) {
-                
-                synchronized (cache) {
-                    
-                    //check local listeners consistent.
-                    if (cache.isSyncWithServer()) {
-                        cache.checkListenerMd5();
-                        if (!needAllSync) {
-                            continue;
-                        }
-                    }
+            // only dirty caches of each task shard are checked unless it is time to sync all.
+            for (CacheDataRegistry.Shard shard : cacheMap.shards()) {
+                List<CacheData> caches = shard.collect(needAllSync);
+                if (caches.isEmpty()) {
+                    continue;
+                }
+                List<CacheData> listenCaches = new ArrayList<CacheData>(caches.size());
+                List<CacheData> removeListenCaches = new ArrayList<CacheData>();
+                for (CacheData cache : caches) {
                     
-                    if (!CollectionUtils.isEmpty(cache.getListeners())) {
-                        //get listen  config
-                        if (!cache.isUseLocalConfigInfo()) {
-                            List<CacheData> cacheDatas = listenCachesMap.get(String.valueOf(cache.getTaskId()));
-                            if (cacheDatas == null) {
-                                cacheDatas = new LinkedList<CacheData>();
-                                listenCachesMap.put(String.valueOf(cache.getTaskId()), cacheDatas);
+                    synchronized (cache) {
+                        
+                        //check local listeners consistent.
+                        if (cache.isSyncWithServer()) {
+                            cache.checkListenerMd5();
+                            if (!needAllSync) {
+                                continue;
                             }
-                            cacheDatas.add(cache);
-                            
                         }
-                    } else if (CollectionUtils.isEmpty(cache.getListeners())) {
                         
-                        if (!cache.isUseLocalConfigInfo()) {
-                            List<CacheData> cacheDatas = removeListenCachesMap.get(String.valueOf(cache.getTaskId()));
-                            if (cacheDatas == null) {
-                                cacheDatas = new LinkedList<CacheData>();
-                                removeListenCachesMap.put(String.valueOf(cache.getTaskId()), cacheDatas);
+                        if (!CollectionUtils.isEmpty(cache.getListeners())) {
+                            //get listen  config
+                            if (!cache.isUseLocalConfigInfo()) {
+                                listenCaches.add(cache);
                             }
-                            cacheDatas.add(cache);
-                            
+                        } else if (!cache.isUseLocalConfigInfo()) {
+                            removeListenCaches.add(cache);
                         }
                     }
+                    
+                }
+                if (!listenCaches.isEmpty()) {
+                    listenCachesMap.put(shard.getTaskLabel(), listenCaches);
+                }
+                if (!removeListenCaches.isEmpty()) {
+                    removeListenCachesMap.put(shard.getTaskLabel(), removeListenCaches);
                 }
-                
             }
             
             boolean hasChangedKeys = false;
@@ -817,9 +793,9 @@ public class ClientWorker implements Closeable {
             if (!listenCachesMap.isEmpty()) {
                 for (Map.Entry<String, List<CacheData>> entry : listenCachesMap.entrySet()) {
                     String taskId = entry.getKey();
-                    Map<String, Long> timestampMap = new HashMap<>(listenCachesMap.size() * 2);
-                    
                     List<CacheData> listenCaches = entry.getValue();
+                    Map<String, Long> timestampMap = new HashMap<>(listenCaches.size() * 2);
+                    
                     for (CacheData cacheData : listenCaches) {
                         timestampMap.put(GroupKey.getKeyTenant(cacheData.dataId, cacheData.group, cacheData.tenant),
                                 cacheData.getLastModifiedTs().longValue());
@@ -843,7 +819,7 @@ public class ClientWorker implements Closeable {
                                             .getKeyTenant(changeConfig.getDataId(), changeConfig.getGroup(),
                                                     changeConfig.getTenant());
                                     changeKeys.add(changeKey);
-                                    boolean isInitializing = cacheMap.get().get(changeKey).isInitializing();
+                                    boolean isInitializing = cacheMap.get(changeKey).isInitializing();
                                     refreshContentAndCheck(changeKey, !isInitializing);
                                 }
                                 
@@ -996,7 +972,7 @@ public class ClientWorker implements Closeable {
             request.putHeader(NOTIFY_HEADER, String.valueOf(notify));
             RpcClient rpcClient = getOneRunningClient();
             if (notify) {
-                CacheData cacheData = cacheMap.get().get(GroupKey.getKeyTenant(dataId, group, tenant));
+                CacheData cacheData = cacheMap.get(GroupKey.getKeyTenant(dataId, group, tenant));
                 if (cacheData != null) {
                     rpcClient = ensureRpcClient(String.valueOf(cacheData.getTaskId()));
                 }
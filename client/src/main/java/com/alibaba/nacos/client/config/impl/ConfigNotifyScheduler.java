@@ -0,0 +1,240 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.client.config.impl;
+
+import com.alibaba.nacos.client.monitor.MetricsMonitor;
+import com.alibaba.nacos.client.utils.LogUtils;
+import com.alibaba.nacos.common.executor.NameThreadFactory;
+import org.slf4j.Logger;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scheduler of config listener notifications.
+ *
+ * <p>Notifications of one config are queued in its {@link SerialQueue} and run one by one, while notifications of
+ * different configs run in parallel on a bounded pool. A serial queue takes at most one pool slot and gives it back
+ * after each notification, so a slow listener only delays the later notifications of its own config. Notifications
+ * running longer than the timeout are reported by a watchdog, and the pool gets one extra thread for each of them until
+ * it finishes, so stuck listeners don't take the slots of other configs. The extra threads are limited to the
+ * concurrency, the later notifications of a stuck config still wait for the stuck one.
+ *
+ * @author Nacos
+ */
+class ConfigNotifyScheduler {
+    
+    private static final Logger LOGGER = LogUtils.logger(ConfigNotifyScheduler.class);
+    
+    private static final long MIN_CHECK_INTERVAL = 1000L;
+    
+    private static final long MAX_CHECK_INTERVAL = 5000L;
+    
+    private final ThreadPoolExecutor executor;
+    
+    private final int concurrency;
+    
+    private final long timeoutMillis;
+    
+    private int replacedCount;
+    
+    private final AtomicInteger backlog = new AtomicInteger();
+    
+    private final Set<NotifyTask> running = ConcurrentHashMap.newKeySet();
+    
+    ConfigNotifyScheduler(String name, int concurrency, long timeoutMillis) {
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new NameThreadFactory(name));
+        this.executor.allowCoreThreadTimeOut(true);
+        this.concurrency = concurrency;
+        this.timeoutMillis = timeoutMillis;
+        if (timeoutMillis > 0) {
+            long interval = Math.min(Math.max(timeoutMillis / 2, MIN_CHECK_INTERVAL), MAX_CHECK_INTERVAL);
+            ScheduledExecutorService watchdog = Executors
+                    .newSingleThreadScheduledExecutor(new NameThreadFactory(name + ".watchdog"));
+            watchdog.scheduleWithFixedDelay(this::checkTimeout, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    SerialQueue newSerialQueue() {
+        return new SerialQueue();
+    }
+    
+    int getBacklog() {
+        return backlog.get();
+    }
+    
+    int getRunningCount() {
+        return running.size();
+    }
+    
+    int getPoolSize() {
+        return executor.getCorePoolSize();
+    }
+    
+    /**
+     * Report notifications running longer than the timeout once, with the stack of the notifying thread, and add a
+     * thread to the pool to replace the thread of each of them.
+     *
+     * @return count of notifications running longer than the timeout
+     */
+    int checkTimeout() {
+        int stuck = 0;
+        long now = System.currentTimeMillis();
+        for (NotifyTask task : running) {
+            long cost = now - task.startTime;
+            if (cost < timeoutMillis) {
+                continue;
+            }
+            stuck++;
+            if (!task.reported) {
+                task.reported = true;
+                Thread thread = task.thread;
+                LOGGER.warn("[notify-timeout] {} running for {} ms over timeout {} ms, thread={}, stack={}",
+                        task.description, cost, timeoutMillis, thread == null ? null : thread.getName(),
+                        thread == null ? null : Arrays.toString(thread.getStackTrace()));
+                replaceThread(task);
+            }
+        }
+        MetricsMonitor.getNotifyStuckMonitor().set(stuck);
+        return stuck;
+    }
+    
+    private synchronized void replaceThread(NotifyTask task) {
+        // the task might finish after checked, then its thread is back already.
+        if (replacedCount >= concurrency || !running.contains(task)) {
+            return;
+        }
+        task.replaced = true;
+        replacedCount++;
+        // increase the maximum size first, the core size can't be larger than it.
+        executor.setMaximumPoolSize(concurrency + replacedCount);
+        executor.setCorePoolSize(concurrency + replacedCount);
+    }
+    
+    private synchronized void releaseReplacedThread(NotifyTask task) {
+        if (!task.replaced) {
+            return;
+        }
+        replacedCount--;
+        executor.setCorePoolSize(concurrency + replacedCount);
+        executor.setMaximumPoolSize(concurrency + replacedCount);
+    }
+    
+    /**
+     * Queue of notifications of one config, which run in submit order.
+     */
+    class SerialQueue implements Runnable {
+        
+        private final Queue<NotifyTask> tasks = new ConcurrentLinkedQueue<>();
+        
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        
+        /**
+         * Submit a notification to run after the notifications submitted before.
+         *
+         * @param job         notification
+         * @param description description of the notification for the timeout report
+         */
+        void submit(Runnable job, String description) {
+            tasks.offer(new NotifyTask(job, description));
+            MetricsMonitor.getNotifyBacklogMonitor().set(backlog.incrementAndGet());
+            schedule();
+        }
+        
+        private void schedule() {
+            if (tasks.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                LOGGER.warn("[notify-blocked] notify executor rejected, run notification in current thread");
+                run();
+            }
+        }
+        
+        @Override
+        public void run() {
+            NotifyTask task = tasks.poll();
+            try {
+                if (task != null) {
+                    MetricsMonitor.getNotifyBacklogMonitor().set(backlog.decrementAndGet());
+                    task.run();
+                }
+            } finally {
+                scheduled.set(false);
+                // give the thread back to other configs, and queue again if more notifications arrived.
+                schedule();
+            }
+        }
+    }
+    
+    private class NotifyTask {
+        
+        private final Runnable job;
+        
+        private final String description;
+        
+        private final long submitTime = System.currentTimeMillis();
+        
+        private volatile long startTime;
+        
+        private volatile Thread thread;
+        
+        private volatile boolean reported;
+        
+        private boolean replaced;
+        
+        NotifyTask(Runnable job, String description) {
+            this.job = job;
+            this.description = description;
+        }
+        
+        void run() {
+            startTime = System.currentTimeMillis();
+            thread = Thread.currentThread();
+            running.add(this);
+            try {
+                job.run();
+            } catch (Throwable t) {
+                LOGGER.error("[notify-error] {} throwable={}", description, t);
+            } finally {
+                running.remove(this);
+                thread = null;
+                long finishTime = System.currentTimeMillis();
+                MetricsMonitor.getNotifyLatencyMonitor().observe((finishTime - submitTime) / 1000D);
+                if (reported) {
+                    LOGGER.warn("[notify-timeout] {} finished after {} ms", description, finishTime - startTime);
+                }
+                releaseReplacedThread(this);
+            }
+        }
+    }
+}
@@ -34,6 +34,9 @@ public class MetricsMonitor {
             .labelNames("module", "method", "url", "code").name("nacos_client_request").help("nacos_client_request")
             .register();
     
+    private static final Histogram NACOS_CLIENT_NOTIFY_HISTOGRAM = Histogram.build().labelNames("module", "name")
+            .name("nacos_client_notify").help("nacos_client_notify").register();
+    
     public static Gauge.Child getServiceInfoMapSizeMonitor() {
         return NACOS_MONITOR.labels("naming", "serviceInfoMapSize");
     }
@@ -46,6 +49,24 @@ public class MetricsMonitor {
         return NACOS_MONITOR.labels("naming", "listenConfigCount");
     }
     
+    public static Gauge.Child getNotifyBacklogMonitor() {
+        return NACOS_MONITOR.labels("config", "notifyBacklog");
+    }
+    
+    /**
+     * Count of listener notifications running longer than the notify timeout. Each of them holds a notify thread, which
+     * is replaced by an extra thread up to the notify concurrency, and the later notifications of its config wait.
+     *
+     * @return gauge of stuck notifications
+     */
+    public static Gauge.Child getNotifyStuckMonitor() {
+        return NACOS_MONITOR.labels("config", "notifyStuck");
+    }
+    
+    public static Histogram.Child getNotifyLatencyMonitor() {
+        return NACOS_CLIENT_NOTIFY_HISTOGRAM.labels("config", "notifyLatency");
+    }
+    
     public static Histogram.Timer getConfigRequestMonitor(String method, String url, String code) {
         return NACOS_CLIENT_REQUEST_HISTOGRAM.labels("config", method, url, code).startTimer();
     }
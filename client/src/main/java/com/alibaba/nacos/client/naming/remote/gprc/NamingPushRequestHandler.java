@@ -16,6 +16,10 @@
 
 package com.alibaba.nacos.client.naming.remote.gprc;
 
+import com.alibaba.nacos.api.naming.NamingResponseCode;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberDeltaRequest;
 import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.api.naming.remote.response.NotifySubscriberResponse;
 import com.alibaba.nacos.api.remote.request.Request;
@@ -23,6 +27,13 @@ import com.alibaba.nacos.api.remote.response.Response;
 import com.alibaba.nacos.client.naming.cache.ServiceInfoHolder;
 import com.alibaba.nacos.common.remote.client.ServerRequestHandler;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.alibaba.nacos.client.utils.LogUtils.NAMING_LOGGER;
+
 /**
  * Naming push request handler.
  *
@@ -32,17 +43,95 @@ public class NamingPushRequestHandler implements ServerRequestHandler {
     
     private final ServiceInfoHolder serviceInfoHolder;
     
+    /**
+     * Service info applied from push with its revision, delta push can only be applied on them.
+     */
+    private final Map<String, PushedServiceInfo> pushedServiceInfos;
+    
     public NamingPushRequestHandler(ServiceInfoHolder serviceInfoHolder) {
         this.serviceInfoHolder = serviceInfoHolder;
+        this.pushedServiceInfos = new ConcurrentHashMap<String, PushedServiceInfo>();
     }
     
     @Override
     public Response requestReply(Request request) {
         if (request instanceof NotifySubscriberRequest) {
             NotifySubscriberRequest notifyResponse = (NotifySubscriberRequest) request;
-            serviceInfoHolder.processServiceInfo(notifyResponse.getServiceInfo());
+            processPushedServiceInfo(notifyResponse.getServiceInfo(), notifyResponse.getRevision());
             return new NotifySubscriberResponse();
         }
+        if (request instanceof NotifySubscriberDeltaRequest) {
+            return processDelta((NotifySubscriberDeltaRequest) request);
+        }
         return null;
     }
+    
+    private synchronized void processPushedServiceInfo(ServiceInfo serviceInfo, long revision) {
+        ServiceInfo result = serviceInfoHolder.processServiceInfo(serviceInfo);
+        String key = serviceInfo.getKey();
+        if (null == key) {
+            return;
+        }
+        if (0L != revision && serviceInfo == result) {
+            pushedServiceInfos.put(key, new PushedServiceInfo(revision, result));
+        } else {
+            pushedServiceInfos.remove(key);
+        }
+    }
+    
+    private synchronized Response processDelta(NotifySubscriberDeltaRequest request) {
+        String key = request.getServiceInfo().getKey();
+        PushedServiceInfo pushed = null == key ? null : pushedServiceInfos.get(key);
+        // The cached service info might be replaced by query or failover, so delta can't be applied on it.
+        if (null == pushed || pushed.revision != request.getBaseRevision()
+                || pushed.serviceInfo != serviceInfoHolder.getServiceInfoMap().get(key)) {
+            NAMING_LOGGER.warn("[DELTA-PUSH] base revision {} mismatch for service {}, wait for full push",
+                    request.getBaseRevision(), key);
+            NotifySubscriberResponse response = new NotifySubscriberResponse();
+            response.setErrorInfo(NamingResponseCode.PUSH_DELTA_BASE_MISMATCH, "base revision mismatch");
+            return response;
+        }
+        processPushedServiceInfo(applyDelta(pushed.serviceInfo, request), request.getRevision());
+        return new NotifySubscriberResponse();
+    }
+    
+    private ServiceInfo applyDelta(ServiceInfo base, NotifySubscriberDeltaRequest request) {
+        Map<String, Instance> hosts = new LinkedHashMap<String, Instance>(base.getHosts().size());
+        for (Instance each : base.getHosts()) {
+            hosts.put(NotifySubscriberDeltaRequest.getInstanceKey(each), each);
+        }
+        for (Instance each : request.getRemovedInstances()) {
+            hosts.remove(NotifySubscriberDeltaRequest.getInstanceKey(each));
+        }
+        for (Instance each : request.getModifiedInstances()) {
+            hosts.put(NotifySubscriberDeltaRequest.getInstanceKey(each), each);
+        }
+        for (Instance each : request.getAddedInstances()) {
+            hosts.put(NotifySubscriberDeltaRequest.getInstanceKey(each), each);
+        }
+        ServiceInfo header = request.getServiceInfo();
+        ServiceInfo result = new ServiceInfo();
+        result.setName(header.getName());
+        result.setGroupName(header.getGroupName());
+        result.setClusters(header.getClusters());
+        result.setCacheMillis(header.getCacheMillis());
+        result.setLastRefTime(header.getLastRefTime());
+        result.setChecksum(header.getChecksum());
+        result.setAllIPs(header.isAllIPs());
+        result.setReachProtectionThreshold(header.isReachProtectionThreshold());
+        result.setHosts(new ArrayList<Instance>(hosts.values()));
+        return result;
+    }
+    
+    private static class PushedServiceInfo {
+        
+        private final long revision;
+        
+        private final ServiceInfo serviceInfo;
+        
+        private PushedServiceInfo(long revision, ServiceInfo serviceInfo) {
+            this.revision = revision;
+            this.serviceInfo = serviceInfo;
+        }
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.client.config.impl;
+
+import com.alibaba.nacos.client.config.common.GroupKey;
+import com.alibaba.nacos.client.config.filter.impl.ConfigFilterChainManager;
+import com.alibaba.nacos.client.utils.ParamUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link CacheDataRegistry} with 10k configs, run by {@link #main(String[])} in test scope. {@code
+ * register} adds all configs to an empty registry, {@code collectDirty} is a listen cycle with one changed config and
+ * {@code collectAll} is a listen cycle which checks all configs.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheDataRegistryBenchmark {
+    
+    private static final int CONFIG_COUNT = 10000;
+    
+    private String[] groupKeys;
+    
+    private CacheData[] caches;
+    
+    private CacheDataRegistry registry;
+    
+    /**
+     * Build the configs and a registry with all of them sync with server.
+     */
+    @Setup
+    public void setUp() {
+        ConfigFilterChainManager filter = new ConfigFilterChainManager(new Properties());
+        int perTaskSize = (int) ParamUtil.getPerTaskConfigSize();
+        groupKeys = new String[CONFIG_COUNT];
+        caches = new CacheData[CONFIG_COUNT];
+        registry = new CacheDataRegistry();
+        for (int i = 0; i < CONFIG_COUNT; i++) {
+            String dataId = "dataId" + i;
+            groupKeys[i] = GroupKey.getKeyTenant(dataId, "group", "tenant");
+            caches[i] = new CacheData(filter, "benchmark", dataId, "group", "tenant");
+            caches[i].setTaskId(i / perTaskSize);
+            registry.put(groupKeys[i], caches[i]);
+        }
+        for (CacheData cache : caches) {
+            cache.setSyncWithServer(true);
+        }
+        collect(false);
+    }
+    
+    @Benchmark
+    public CacheDataRegistry register() {
+        CacheDataRegistry newRegistry = new CacheDataRegistry();
+        for (int i = 0; i < CONFIG_COUNT; i++) {
+            newRegistry.put(groupKeys[i], caches[i]);
+        }
+        return newRegistry;
+    }
+    
+    @Benchmark
+    public int collectDirty() {
+        registry.markUnsynced(groupKeys[CONFIG_COUNT / 2], caches[CONFIG_COUNT / 2]);
+        return collect(false);
+    }
+    
+    @Benchmark
+    public int collectAll() {
+        return collect(true);
+    }
+    
+    private int collect(boolean all) {
+        int count = 0;
+        for (CacheDataRegistry.Shard shard : registry.shards()) {
+            count += shard.collect(all).size();
+        }
+        return count;
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CacheDataRegistryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
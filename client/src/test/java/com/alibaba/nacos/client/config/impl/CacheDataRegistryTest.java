@@ -0,0 +1,169 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.client.config.impl;
+
+import com.alibaba.nacos.api.config.listener.AbstractListener;
+import com.alibaba.nacos.client.config.common.GroupKey;
+import com.alibaba.nacos.client.config.filter.impl.ConfigFilterChainManager;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+public class CacheDataRegistryTest {
+    
+    private ConfigFilterChainManager filter;
+    
+    private CacheDataRegistry registry;
+    
+    @Before
+    public void setUp() {
+        filter = new ConfigFilterChainManager(new Properties());
+        registry = new CacheDataRegistry();
+    }
+    
+    private CacheData put(String dataId, int taskId) {
+        CacheData cacheData = new CacheData(filter, "name", dataId, "group", "tenant");
+        cacheData.setTaskId(taskId);
+        registry.put(key(dataId), cacheData);
+        return cacheData;
+    }
+    
+    private String key(String dataId) {
+        return GroupKey.getKeyTenant(dataId, "group", "tenant");
+    }
+    
+    private CacheDataRegistry.Shard shard(int taskId) {
+        for (CacheDataRegistry.Shard shard : registry.shards()) {
+            if (shard.getTaskId() == taskId) {
+                return shard;
+            }
+        }
+        return null;
+    }
+    
+    @Test
+    public void testPutAndRemove() {
+        CacheData cacheData = put("a", 0);
+        put("b", 1);
+        Assert.assertSame(cacheData, registry.get(key("a")));
+        Assert.assertEquals(2, registry.size());
+        Assert.assertEquals(2, registry.shards().size());
+        Assert.assertEquals("1", shard(1).getTaskLabel());
+        
+        registry.remove(key("a"));
+        Assert.assertNull(registry.get(key("a")));
+        Assert.assertEquals(1, registry.size());
+        Assert.assertEquals(0, shard(0).size());
+        Assert.assertEquals(0, shard(0).dirtySize());
+        Assert.assertTrue(shard(0).collect(true).isEmpty());
+    }
+    
+    @Test
+    public void testCollectOnlyDirty() {
+        CacheData a = put("a", 0);
+        CacheData b = put("b", 0);
+        CacheDataRegistry.Shard shard = shard(0);
+        Assert.assertEquals(2, shard.collect(false).size());
+        
+        a.setSyncWithServer(true);
+        b.setSyncWithServer(true);
+        // synced caches are returned once more for the md5 check, then leave the dirty caches.
+        Assert.assertEquals(2, shard.collect(false).size());
+        Assert.assertEquals(0, shard.dirtySize());
+        Assert.assertTrue(shard.collect(false).isEmpty());
+        Assert.assertEquals(2, shard.collect(true).size());
+        
+        registry.markUnsynced(key("b"), b);
+        Assert.assertFalse(b.isSyncWithServer());
+        Assert.assertEquals(Collections.singletonList(b), shard.collect(false));
+    }
+    
+    @Test
+    public void testMarkTaskUnsynced() {
+        CacheData a = put("a", 0);
+        CacheData b = put("b", 1);
+        a.setSyncWithServer(true);
+        b.setSyncWithServer(true);
+        shard(0).collect(false);
+        shard(1).collect(false);
+        
+        registry.markTaskUnsynced(1);
+        Assert.assertTrue(a.isSyncWithServer());
+        Assert.assertFalse(b.isSyncWithServer());
+        Assert.assertTrue(shard(0).collect(false).isEmpty());
+        Assert.assertEquals(1, shard(1).collect(false).size());
+        
+        registry.markAllUnsynced();
+        Assert.assertFalse(a.isSyncWithServer());
+        List<CacheData> collected = shard(0).collect(false);
+        Assert.assertEquals(Collections.singletonList(a), collected);
+    }
+    
+    @Test
+    public void testMarkUnsyncedAfterRemove() {
+        CacheData a = put("a", 0);
+        registry.remove(key("a"));
+        registry.markUnsynced(key("a"), a);
+        Assert.assertEquals(0, shard(0).dirtySize());
+    }
+    
+    @Test
+    public void testKeepDirtyWhileListenerNotifying() {
+        CacheData a = put("a", 0);
+        final List<Runnable> jobs = new ArrayList<>();
+        final List<String> received = new ArrayList<>();
+        a.addListener(new AbstractListener() {
+            @Override
+            public Executor getExecutor() {
+                return jobs::add;
+            }
+            
+            @Override
+            public void receiveConfigInfo(String configInfo) {
+                received.add(configInfo);
+            }
+        });
+        CacheDataRegistry.Shard shard = shard(0);
+        a.setContent("v1");
+        a.setSyncWithServer(true);
+        shard.collect(false).forEach(CacheData::checkListenerMd5);
+        Assert.assertEquals(1, jobs.size());
+        Assert.assertEquals(1, shard.dirtySize());
+        
+        // update arrives while the listener is still notifying v1, so v2 is skipped by this check.
+        a.setContent("v2");
+        a.checkListenerMd5();
+        Assert.assertEquals(1, jobs.size());
+        jobs.remove(0).run();
+        Assert.assertEquals(Collections.singletonList("v1"), received);
+        
+        // the cache is still dirty, so the next cycle notifies v2 without waiting for the full sync.
+        shard.collect(false).forEach(CacheData::checkListenerMd5);
+        Assert.assertEquals(1, jobs.size());
+        jobs.remove(0).run();
+        Assert.assertEquals("v2", received.get(1));
+        Assert.assertEquals(Collections.singletonList(a), shard.collect(false));
+        Assert.assertEquals(0, shard.dirtySize());
+    }
+}
@@ -26,7 +26,10 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class CacheDataTest {
     
@@ -132,4 +135,41 @@ public class CacheDataTest {
         
     }
     
+    @Test
+    public void testCheckListenerMd5WithInternalNotifier() throws InterruptedException {
+        ConfigFilterChainManager filter = new ConfigFilterChainManager(new Properties());
+        final CacheData data = new CacheData(filter, "name1", "key", "group", "tenant");
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch notified = new CountDownLatch(1);
+        final AtomicInteger count = new AtomicInteger();
+        Listener listener = new Listener() {
+            @Override
+            public Executor getExecutor() {
+                return null;
+            }
+            
+            @Override
+            public void receiveConfigInfo(String configInfo) {
+                count.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+                notified.countDown();
+            }
+        };
+        data.addListener(listener);
+        data.setContent("new");
+        data.checkListenerMd5();
+        // the notification is not finished yet, so it is not queued again.
+        data.checkListenerMd5();
+        release.countDown();
+        Assert.assertTrue(notified.await(5, TimeUnit.SECONDS));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!data.checkListenersMd5Consistent() && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        Assert.assertTrue(data.checkListenersMd5Consistent());
+        Assert.assertEquals(1, count.get());
+    }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.client.config.impl;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class ConfigNotifySchedulerTest {
+    
+    @Test
+    public void testSerialInOneQueue() throws InterruptedException {
+        ConfigNotifyScheduler scheduler = new ConfigNotifyScheduler("test.serial", 4, 0);
+        ConfigNotifyScheduler.SerialQueue queue = scheduler.newSerialQueue();
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            final int index = i;
+            queue.submit(() -> {
+                result.add(index);
+                latch.countDown();
+            }, "task" + i);
+        }
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(i, result.get(i).intValue());
+        }
+        Assert.assertEquals(0, scheduler.getBacklog());
+    }
+    
+    @Test
+    public void testSlowListenerNotBlockOtherConfigs() throws InterruptedException {
+        ConfigNotifyScheduler scheduler = new ConfigNotifyScheduler("test.parallel", 2, 0);
+        ConfigNotifyScheduler.SerialQueue slowQueue = scheduler.newSerialQueue();
+        ConfigNotifyScheduler.SerialQueue fastQueue = scheduler.newSerialQueue();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastDone = new CountDownLatch(1);
+        slowQueue.submit(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+        }, "slow");
+        CountDownLatch slowSecond = new CountDownLatch(1);
+        slowQueue.submit(slowSecond::countDown, "slowSecond");
+        fastQueue.submit(fastDone::countDown, "fast");
+        Assert.assertTrue(fastDone.await(5, TimeUnit.SECONDS));
+        // the later notification of the slow config waits for the former one.
+        Assert.assertFalse(slowSecond.await(100, TimeUnit.MILLISECONDS));
+        release.countDown();
+        Assert.assertTrue(slowSecond.await(5, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    public void testCheckTimeout() throws InterruptedException {
+        ConfigNotifyScheduler scheduler = new ConfigNotifyScheduler("test.timeout", 1, 500);
+        ConfigNotifyScheduler.SerialQueue queue = scheduler.newSerialQueue();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        queue.submit(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+        }, "stuck");
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(0, scheduler.checkTimeout());
+        TimeUnit.MILLISECONDS.sleep(600);
+        Assert.assertEquals(1, scheduler.checkTimeout());
+        Assert.assertEquals(1, scheduler.getRunningCount());
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (scheduler.getRunningCount() > 0 && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        Assert.assertEquals(0, scheduler.checkTimeout());
+    }
+    
+    @Test
+    public void testReplaceStuckThread() throws InterruptedException {
+        ConfigNotifyScheduler scheduler = new ConfigNotifyScheduler("test.replace", 1, 500);
+        ConfigNotifyScheduler.SerialQueue stuckQueue = scheduler.newSerialQueue();
+        ConfigNotifyScheduler.SerialQueue otherQueue = scheduler.newSerialQueue();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        stuckQueue.submit(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+        }, "stuck");
+        CountDownLatch stuckSecond = new CountDownLatch(1);
+        stuckQueue.submit(stuckSecond::countDown, "stuckSecond");
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        CountDownLatch otherDone = new CountDownLatch(1);
+        otherQueue.submit(otherDone::countDown, "other");
+        // the only thread is stuck, so the other config waits until the thread is replaced.
+        Assert.assertFalse(otherDone.await(100, TimeUnit.MILLISECONDS));
+        TimeUnit.MILLISECONDS.sleep(500);
+        Assert.assertEquals(1, scheduler.checkTimeout());
+        Assert.assertTrue(otherDone.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(2, scheduler.getPoolSize());
+        // the later notification of the stuck config still waits for the stuck one.
+        Assert.assertEquals(1L, stuckSecond.getCount());
+        release.countDown();
+        Assert.assertTrue(stuckSecond.await(5, TimeUnit.SECONDS));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (scheduler.getPoolSize() > 1 && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        Assert.assertEquals(1, scheduler.getPoolSize());
+    }
+}
@@ -18,7 +18,10 @@
 
 package com.alibaba.nacos.client.naming.remote.gprc;
 
+import com.alibaba.nacos.api.naming.NamingResponseCode;
+import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberDeltaRequest;
 import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.api.naming.remote.response.NotifySubscriberResponse;
 import com.alibaba.nacos.api.remote.request.Request;
@@ -27,9 +30,18 @@ import com.alibaba.nacos.client.naming.cache.ServiceInfoHolder;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class NamingPushRequestHandlerTest {
     
@@ -46,4 +58,50 @@ public class NamingPushRequestHandlerTest {
         Assert.assertTrue(response instanceof NotifySubscriberResponse);
         verify(holder, times(1)).processServiceInfo(info);
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testRequestReplyDelta() {
+        ServiceInfoHolder holder = mock(ServiceInfoHolder.class);
+        Map<String, ServiceInfo> serviceInfoMap = new HashMap<String, ServiceInfo>();
+        when(holder.getServiceInfoMap()).thenReturn(serviceInfoMap);
+        when(holder.processServiceInfo(any(ServiceInfo.class))).thenAnswer(invocation -> {
+            ServiceInfo serviceInfo = invocation.getArgument(0);
+            serviceInfoMap.put(serviceInfo.getKey(), serviceInfo);
+            return serviceInfo;
+        });
+        NamingPushRequestHandler handler = new NamingPushRequestHandler(holder);
+        ServiceInfo info = new ServiceInfo("G@@S");
+        info.setHosts(Arrays.asList(buildInstance("1.1.1.1", 1.0D), buildInstance("1.1.1.2", 1.0D)));
+        NotifySubscriberRequest full = NotifySubscriberRequest.buildSuccessResponse(info);
+        full.setRevision(1L);
+        Assert.assertTrue(handler.requestReply(full).isSuccess());
+        NotifySubscriberDeltaRequest delta = new NotifySubscriberDeltaRequest(new ServiceInfo("G@@S"), 1L, 2L);
+        delta.setAddedInstances(Collections.singletonList(buildInstance("1.1.1.3", 1.0D)));
+        delta.setModifiedInstances(Collections.singletonList(buildInstance("1.1.1.2", 2.0D)));
+        delta.setRemovedInstances(Collections.singletonList(buildInstance("1.1.1.1", 1.0D)));
+        Assert.assertTrue(handler.requestReply(delta).isSuccess());
+        List<Instance> actual = serviceInfoMap.get(info.getKey()).getHosts();
+        Assert.assertEquals(2, actual.size());
+        Assert.assertEquals(buildInstance("1.1.1.2", 2.0D), actual.get(0));
+        Assert.assertEquals(buildInstance("1.1.1.3", 1.0D), actual.get(1));
+    }
+    
+    @Test
+    public void testRequestReplyDeltaBaseMismatch() {
+        ServiceInfoHolder holder = mock(ServiceInfoHolder.class);
+        NamingPushRequestHandler handler = new NamingPushRequestHandler(holder);
+        NotifySubscriberDeltaRequest delta = new NotifySubscriberDeltaRequest(new ServiceInfo("G@@S"), 1L, 2L);
+        Response response = handler.requestReply(delta);
+        Assert.assertFalse(response.isSuccess());
+        Assert.assertEquals(NamingResponseCode.PUSH_DELTA_BASE_MISMATCH, response.getErrorCode());
+        verify(holder, never()).processServiceInfo(any(ServiceInfo.class));
+    }
+    
+    private Instance buildInstance(String ip, double weight) {
+        Instance result = new Instance();
+        result.setIp(ip);
+        result.setPort(8848);
+        result.setWeight(weight);
+        return result;
+    }
+}
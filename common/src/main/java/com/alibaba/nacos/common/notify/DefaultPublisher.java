@@ -25,7 +25,6 @@ import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import static com.alibaba.nacos.common.notify.NotifyCenter.ringBufferSize;
@@ -218,18 +217,7 @@ public class DefaultPublisher extends Thread implements EventPublisher {
 
         LOGGER.debug("[NotifyCenter] the {} will received by {}", event, subscriber);
 
-        final Runnable job = () -> subscriber.onEvent(event);
-
-        final Executor executor = subscriber.executor();
-
-        if (executor != null) {
-            executor.execute(job);
-        } else {
-            try {
-                job.run();
-            } catch (Throwable e) {
-                LOGGER.error("Event callback exception: ", e);
-            }
-        }
+        // Subscribers are notified by own executor, on publisher thread or by shared pool according to dispatch mode.
+        NotifyCenter.getSubscriberDispatcher().dispatch(subscriber, event);
     }
 }
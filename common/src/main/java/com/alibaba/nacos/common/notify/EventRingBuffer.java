@@ -0,0 +1,140 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Pre-allocated multi-producer single-consumer ring buffer for {@link Event}.
+ *
+ * <p>Producers claim a sequence by CAS without any lock, and publish the slot by writing the sequence into the
+ * availability array. The only consumer drains the published slots in batch and releases them at once.
+ *
+ * @author Nacos
+ */
+class EventRingBuffer {
+    
+    private final int capacity;
+    
+    private final int mask;
+    
+    private final Event[] entries;
+    
+    private final AtomicLongArray published;
+    
+    private final AtomicLong producerSequence = new AtomicLong(-1L);
+    
+    private volatile long consumerSequence = -1L;
+    
+    EventRingBuffer(int bufferSize) {
+        this.capacity = ceilingPowerOfTwo(bufferSize);
+        this.mask = capacity - 1;
+        this.entries = new Event[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1L);
+        }
+    }
+    
+    private static int ceilingPowerOfTwo(int bufferSize) {
+        if (bufferSize <= 1) {
+            return 1;
+        }
+        int result = Integer.highestOneBit(bufferSize - 1) << 1;
+        return result <= 0 ? 1 << 30 : result;
+    }
+    
+    /**
+     * Offer an event into ring buffer.
+     *
+     * @param event event
+     * @return {@code false} if ring buffer is full, otherwise {@code true}
+     */
+    boolean offer(Event event) {
+        long current;
+        long next;
+        do {
+            current = producerSequence.get();
+            next = current + 1;
+            if (next - capacity > consumerSequence) {
+                return false;
+            }
+        } while (!producerSequence.compareAndSet(current, next));
+        int index = (int) next & mask;
+        entries[index] = event;
+        published.set(index, next);
+        return true;
+    }
+    
+    /**
+     * Whether there is published event which can be drained. Only called by consumer.
+     *
+     * @return {@code true} if there is event to drain
+     */
+    boolean hasAvailable() {
+        long next = consumerSequence + 1;
+        return published.get((int) next & mask) == next;
+    }
+    
+    /**
+     * Drain published events into batch and release the slots. Only called by consumer.
+     *
+     * @param batch array to hold drained events
+     * @return count of drained events
+     */
+    int drainTo(Event[] batch) {
+        long next = consumerSequence + 1;
+        int count = 0;
+        while (count < batch.length) {
+            int index = (int) next & mask;
+            if (published.get(index) != next) {
+                break;
+            }
+            batch[count++] = entries[index];
+            entries[index] = null;
+            next++;
+        }
+        if (count > 0) {
+            consumerSequence = next - 1;
+        }
+        return count;
+    }
+    
+    /**
+     * Drop all published events. Only called by consumer or when consumer has stopped.
+     *
+     * @return count of dropped events
+     */
+    int clear() {
+        Event[] batch = new Event[Math.min(capacity, 1024)];
+        int result = 0;
+        int count;
+        while ((count = drainTo(batch)) > 0) {
+            result += count;
+        }
+        return result;
+    }
+    
+    long size() {
+        return Math.max(0L, producerSequence.get() - consumerSequence);
+    }
+    
+    int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lightweight latency histogram with fixed buckets.
+ *
+ * @author Nacos
+ */
+public class LatencyHistogram {
+    
+    private static final long[] BUCKET_BOUNDS_MILLIS = {1L, 5L, 10L, 50L, 100L, 500L, 1000L, 5000L};
+    
+    private final LongAdder[] buckets;
+    
+    private final LongAdder count = new LongAdder();
+    
+    private final LongAdder totalNanos = new LongAdder();
+    
+    private final AtomicLong maxNanos = new AtomicLong();
+    
+    public LatencyHistogram() {
+        buckets = new LongAdder[BUCKET_BOUNDS_MILLIS.length + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+    
+    /**
+     * Record one latency.
+     *
+     * @param nanos latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int index = 0;
+        while (index < BUCKET_BOUNDS_MILLIS.length && millis >= BUCKET_BOUNDS_MILLIS[index]) {
+            index++;
+        }
+        buckets[index].increment();
+        count.increment();
+        totalNanos.add(nanos);
+        long currentMax;
+        do {
+            currentMax = maxNanos.get();
+        } while (nanos > currentMax && !maxNanos.compareAndSet(currentMax, nanos));
+    }
+    
+    public long getCount() {
+        return count.sum();
+    }
+    
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+    
+    /**
+     * Get average latency.
+     *
+     * @return average latency in nanoseconds
+     */
+    public long getAverageNanos() {
+        long currentCount = count.sum();
+        return 0L == currentCount ? 0L : totalNanos.sum() / currentCount;
+    }
+    
+    /**
+     * Get counts of each bucket, bucket {@code i} holds latencies less than {@code BUCKET_BOUNDS_MILLIS[i]} and the
+     * last one holds the rest.
+     *
+     * @return counts of buckets
+     */
+    public long[] getBucketCounts() {
+        long[] result = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            result[i] = buckets[i].sum();
+        }
+        return result;
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append("count=").append(getCount()).append(", avg=")
+                .append(TimeUnit.NANOSECONDS.toMicros(getAverageNanos())).append("us, max=")
+                .append(TimeUnit.NANOSECONDS.toMicros(getMaxNanos())).append("us, buckets=[");
+        long[] counts = getBucketCounts();
+        for (int i = 0; i < counts.length; i++) {
+            if (i > 0) {
+                result.append(", ");
+            }
+            result.append(i < BUCKET_BOUNDS_MILLIS.length ? "<" + BUCKET_BOUNDS_MILLIS[i] + "ms"
+                    : ">=" + BUCKET_BOUNDS_MILLIS[i - 1] + "ms").append(':').append(counts[i]);
+        }
+        return result.append(']').toString();
+    }
+}
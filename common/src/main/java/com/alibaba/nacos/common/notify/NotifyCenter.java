@@ -46,24 +46,36 @@ import static com.alibaba.nacos.api.exception.NacosException.SERVER_ERROR;
  * @author zongtanghu
  */
 public class NotifyCenter {
-
+    
     private static final Logger LOGGER = LoggerFactory.getLogger(NotifyCenter.class);
-
+    
     public static int ringBufferSize;
-
+    
     public static int shareBufferSize;
-
+    
+    public static boolean ringBufferPublisherEnabled;
+    
+    public static RingBufferWaitStrategy ringBufferWaitStrategy;
+    
+    private static final String RING_BUFFER_PUBLISHER_TYPE = "ring-buffer";
+    
+    private static final String PARALLEL_DISPATCH_MODE = "parallel";
+    
+    private static final int MIN_DISPATCH_POOL_SIZE = 8;
+    
     private static final AtomicBoolean CLOSED = new AtomicBoolean(false);
-
+    
     private static final EventPublisherFactory DEFAULT_PUBLISHER_FACTORY;
-
+    
+    private static final SubscriberDispatcher SUBSCRIBER_DISPATCHER;
+    
     // 单例申明
     private static final NotifyCenter INSTANCE = new NotifyCenter();
-
+    
     private DefaultSharePublisher sharePublisher;
-
+    
     private static Class<? extends EventPublisher> clazz;
-
+    
     /**
      * 发布者管理容器
      * result = {ConcurrentHashMap@16419}  size = 19
@@ -88,30 +100,53 @@ public class NotifyCenter {
      *  "com.alibaba.nacos.common.event.ServerConfigChangeEvent" -> {DefaultPublisher@10365} "Thread[nacos.publisher-com.alibaba.nacos.common.event.ServerConfigChangeEvent,5,main]"
      * Publisher management container.
      */
-
+    
     // key为Event抽象类的子类，我理解为一个事件，
     // 这些values均为 DefaultPublisher/NamingEventPublisher
     private final Map<String, EventPublisher> publisherMap = new ConcurrentHashMap<>(16);
-
+    
     static {
         // Internal ArrayBlockingQueue buffer size. For applications with high write throughput,
         // this value needs to be increased appropriately. default value is 16384
         String ringBufferSizeProperty = "nacos.core.notify.ring-buffer-size";
         ringBufferSize = Integer.getInteger(ringBufferSizeProperty, 16384);
-
+        
         // The size of the public publisher's message staging queue buffer
         String shareBufferSizeProperty = "nacos.core.notify.share-buffer-size";
         shareBufferSize = Integer.getInteger(shareBufferSizeProperty, 1024);
-
+        
+        // Type of default publisher, `default` for ArrayBlockingQueue based publisher, `ring-buffer` for lock-free
+        // ring buffer based publisher.
+        String publisherTypeProperty = "nacos.core.notify.publisher-type";
+        ringBufferPublisherEnabled = RING_BUFFER_PUBLISHER_TYPE.equals(System.getProperty(publisherTypeProperty));
+        
+        // The strategy of ring buffer publisher to wait new events, see RingBufferWaitStrategy, default blocking.
+        String ringBufferWaitStrategyProperty = "nacos.core.notify.ring-buffer-wait-strategy";
+        ringBufferWaitStrategy = RingBufferWaitStrategy.of(System.getProperty(ringBufferWaitStrategyProperty));
+        
+        // Mode to notify subscribers, `serial` to notify one by one on publisher thread, `parallel` to notify by a
+        // shared pool and keep the order for each subscriber.
+        String dispatchModeProperty = "nacos.core.notify.dispatch-mode";
+        boolean parallelDispatch = PARALLEL_DISPATCH_MODE.equals(System.getProperty(dispatchModeProperty));
+        // Keep enough threads by default, so that several slow subscribers can't occupy the whole pool.
+        String dispatchPoolSizeProperty = "nacos.core.notify.dispatch-pool-size";
+        int dispatchPoolSize = Integer.getInteger(dispatchPoolSizeProperty,
+                Math.max(MIN_DISPATCH_POOL_SIZE, ThreadUtils.getSuitableThreadCount()));
+        String dispatchMailboxSizeProperty = "nacos.core.notify.dispatch-mailbox-size";
+        int dispatchMailboxSize = Integer.getInteger(dispatchMailboxSizeProperty, 1024);
+        SUBSCRIBER_DISPATCHER = new SubscriberDispatcher(parallelDispatch, dispatchPoolSize, dispatchMailboxSize);
+        
         final Collection<EventPublisher> publishers = NacosServiceLoader.load(EventPublisher.class);
         Iterator<EventPublisher> iterator = publishers.iterator();
-
+        
         if (iterator.hasNext()) {
             clazz = iterator.next().getClass();
+        } else if (ringBufferPublisherEnabled) {
+            clazz = RingBufferEventPublisher.class;
         } else {
             clazz = DefaultPublisher.class;
         }
-
+        
         DEFAULT_PUBLISHER_FACTORY = (cls, buffer) -> {
             try {
                 EventPublisher publisher = clazz.newInstance();
@@ -122,25 +157,25 @@ public class NotifyCenter {
                 throw new NacosRuntimeException(SERVER_ERROR, ex);
             }
         };
-
+        
         try {
             // 创建并初始化 DefaultSharePublisher
             // Create and init DefaultSharePublisher instance.
             INSTANCE.sharePublisher = new DefaultSharePublisher();
             INSTANCE.sharePublisher.init(SlowEvent.class, shareBufferSize);
-
+            
         } catch (Throwable ex) {
             LOGGER.error("Service class newInstance has error : ", ex);
         }
-
+        
         ThreadUtils.addShutdownHook(NotifyCenter::shutdown);
     }
-
+    
     @JustForTest
     public static Map<String, EventPublisher> getPublisherMap() {
         return INSTANCE.publisherMap;
     }
-
+    
     @JustForTest
     public static EventPublisher getPublisher(Class<? extends Event> topic) {
         if (ClassUtils.isAssignableFrom(SlowEvent.class, topic)) {
@@ -148,12 +183,16 @@ public class NotifyCenter {
         }
         return INSTANCE.publisherMap.get(topic.getCanonicalName());
     }
-
+    
     @JustForTest
     public static EventPublisher getSharePublisher() {
         return INSTANCE.sharePublisher;
     }
-
+    
+    public static SubscriberDispatcher getSubscriberDispatcher() {
+        return SUBSCRIBER_DISPATCHER;
+    }
+    
     /**
      * Shutdown the several publisher instance which notify center has.
      * 调用所有的事件发布者的shutdown  ---》Closeable 该接口定义的
@@ -163,7 +202,7 @@ public class NotifyCenter {
             return;
         }
         LOGGER.warn("[NotifyCenter] Start destroying Publisher");
-
+        
         for (Map.Entry<String, EventPublisher> entry : INSTANCE.publisherMap.entrySet()) {
             try {
                 EventPublisher eventPublisher = entry.getValue();
@@ -172,16 +211,18 @@ public class NotifyCenter {
                 LOGGER.error("[EventPublisher] shutdown has error : ", e);
             }
         }
-
+        
         try {
             INSTANCE.sharePublisher.shutdown();
         } catch (Throwable e) {
             LOGGER.error("[SharePublisher] shutdown has error : ", e);
         }
-
+        
+        SUBSCRIBER_DISPATCHER.shutdown();
+        
         LOGGER.warn("[NotifyCenter] Destruction of the end");
     }
-
+    
     /**
      * 注册订阅者
      * Register a Subscriber. If the Publisher concerned by the Subscriber does not exist, then PublihserMap will
@@ -192,7 +233,7 @@ public class NotifyCenter {
     public static void registerSubscriber(final Subscriber consumer) {
         registerSubscriber(consumer, DEFAULT_PUBLISHER_FACTORY);
     }
-
+    
     /**
      * Register a Subscriber. If the Publisher concerned by the Subscriber does not exist, then PublihserMap will
      * preempt a placeholder Publisher with specified EventPublisherFactory first.
@@ -201,6 +242,7 @@ public class NotifyCenter {
      * @param factory  publisher factory.
      */
     public static void registerSubscriber(final Subscriber consumer, final EventPublisherFactory factory) {
+        SUBSCRIBER_DISPATCHER.addSubscriber(consumer);
         // If you want to listen to multiple events, you do it separately,
         // based on subclass's subscribeTypes method return list, it can register to publisher.
         // 如果你想监听多个事件，你分开做
@@ -217,7 +259,7 @@ public class NotifyCenter {
             }
             return;
         }
-
+        
         final Class<? extends Event> subscribeType = consumer.subscribeType();
         if (ClassUtils.isAssignableFrom(SlowEvent.class, subscribeType)) {
             INSTANCE.sharePublisher.addSubscriber(consumer, subscribeType);
@@ -226,9 +268,9 @@ public class NotifyCenter {
         // 如果不是多订阅  慢订阅
         addSubscriber(consumer, subscribeType, factory);
     }
-
+    
     // TODO 这里得着重理一下
-
+    
     /**
      * 将订阅者添加到发布者。
      * Add a subscriber to publisher.
@@ -244,7 +286,7 @@ public class NotifyCenter {
      */
     private static void addSubscriber(final Subscriber consumer, Class<? extends Event> subscribeType,
                                       EventPublisherFactory factory) {
-
+        
         final String topic = ClassUtils.getCanonicalName(subscribeType);
         synchronized (NotifyCenter.class) {
             // MapUtils.computeIfAbsent is a unsafe method.
@@ -254,7 +296,7 @@ public class NotifyCenter {
         // factory 这里的INSTANCE.publisherMap 的 value 默认实现  见 DEFAULT_PUBLISHER_FACTORY 相当于放了它自己
         EventPublisher publisher = INSTANCE.publisherMap.get(topic);
         System.out.println("INSTANCE.publisherMap addKey[" + topic + "] value[" + publisher + "]");
-
+        
         if (publisher instanceof ShardedEventPublisher) {
             ((ShardedEventPublisher) publisher).addSubscriber(consumer, subscribeType);
         } else {
@@ -262,13 +304,14 @@ public class NotifyCenter {
             publisher.addSubscriber(consumer);
         }
     }
-
+    
     /**
      * Deregister subscriber.
      *
      * @param consumer subscriber instance.
      */
     public static void deregisterSubscriber(final Subscriber consumer) {
+        SUBSCRIBER_DISPATCHER.removeSubscriber(consumer);
         if (consumer instanceof SmartSubscriber) {
             for (Class<? extends Event> subscribeType : ((SmartSubscriber) consumer).subscribeTypes()) {
                 if (ClassUtils.isAssignableFrom(SlowEvent.class, subscribeType)) {
@@ -279,19 +322,19 @@ public class NotifyCenter {
             }
             return;
         }
-
+        
         final Class<? extends Event> subscribeType = consumer.subscribeType();
         if (ClassUtils.isAssignableFrom(SlowEvent.class, subscribeType)) {
             INSTANCE.sharePublisher.removeSubscriber(consumer, subscribeType);
             return;
         }
-
+        
         if (removeSubscriber(consumer, subscribeType)) {
             return;
         }
         throw new NoSuchElementException("The subscriber has no event publisher");
     }
-
+    
     /**
      * Remove subscriber.
      *
@@ -300,7 +343,7 @@ public class NotifyCenter {
      * @return whether remove subscriber successfully or not.
      */
     private static boolean removeSubscriber(final Subscriber consumer, Class<? extends Event> subscribeType) {
-
+        
         final String topic = ClassUtils.getCanonicalName(subscribeType);
         EventPublisher eventPublisher = INSTANCE.publisherMap.get(topic);
         if (null == eventPublisher) {
@@ -313,7 +356,7 @@ public class NotifyCenter {
         }
         return true;
     }
-
+    
     /**
      * 发布者发布事件
      * Request publisher publish event Publishers load lazily, calling publisher. Start () only when the event is
@@ -329,7 +372,7 @@ public class NotifyCenter {
             return false;
         }
     }
-
+    
     /**
      * Request publisher publish event Publishers load lazily, calling publisher.
      *
@@ -353,13 +396,13 @@ public class NotifyCenter {
         System.out.println("NotifyCenter#INSTANCE.publisherMap.size =" + INSTANCE.publisherMap.size());
         if (publisher != null) {
             System.out.println("A发布事件的ThreadId：" + Thread.currentThread().getId());
-
+            
             return publisher.publish(event);
         }
         LOGGER.warn("There are no [{}] publishers for this event, please register", topic);
         return false;
     }
-
+    
     /**
      * Register to share-publisher.
      *
@@ -369,7 +412,7 @@ public class NotifyCenter {
     public static EventPublisher registerToSharePublisher(final Class<? extends SlowEvent> eventType) {
         return INSTANCE.sharePublisher;
     }
-
+    
     /**
      * Register publisher with default factory.
      *
@@ -379,7 +422,7 @@ public class NotifyCenter {
     public static EventPublisher registerToPublisher(final Class<? extends Event> eventType, final int queueMaxSize) {
         return registerToPublisher(eventType, DEFAULT_PUBLISHER_FACTORY, queueMaxSize);
     }
-
+    
     /**
      * Register publisher with specified factory.
      *
@@ -392,7 +435,7 @@ public class NotifyCenter {
         if (ClassUtils.isAssignableFrom(SlowEvent.class, eventType)) {
             return INSTANCE.sharePublisher;
         }
-
+        
         final String topic = ClassUtils.getCanonicalName(eventType);
         synchronized (NotifyCenter.class) {
             // MapUtils.computeIfAbsent is a unsafe method.
@@ -400,7 +443,7 @@ public class NotifyCenter {
         }
         return INSTANCE.publisherMap.get(topic);
     }
-
+    
     /**
      * Register publisher.
      *
@@ -416,7 +459,7 @@ public class NotifyCenter {
             INSTANCE.publisherMap.putIfAbsent(topic, publisher);
         }
     }
-
+    
     /**
      * Deregister publisher.
      *
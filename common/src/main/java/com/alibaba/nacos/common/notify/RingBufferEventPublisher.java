@@ -0,0 +1,287 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import com.alibaba.nacos.common.notify.listener.Subscriber;
+import com.alibaba.nacos.common.utils.ConcurrentHashSet;
+import com.alibaba.nacos.common.utils.ThreadUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Event publisher based on a pre-allocated lock-free ring buffer.
+ *
+ * <p>Compared with {@link DefaultPublisher}, producers never contend on a queue lock, and the consumer drains events
+ * in batch. When the ring buffer is full, the event is handled on the producer thread, which is counted as overflow.
+ * The publisher can be used for one event type, or be shared by several event types like naming events.
+ *
+ * @author Nacos
+ */
+public class RingBufferEventPublisher extends Thread implements ShardedEventPublisher {
+    
+    protected static final Logger LOGGER = LoggerFactory.getLogger(NotifyCenter.class);
+    
+    private static final String THREAD_NAME = "nacos.ring-buffer-publisher-";
+    
+    private static final int DEFAULT_WAIT_TIME = 60;
+    
+    private static final int MAX_BATCH_SIZE = 1024;
+    
+    private static final int SPIN_TRIES = 100;
+    
+    private static final long BLOCKING_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100L);
+    
+    private static final long SLEEPING_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100L);
+    
+    private final Map<Class<? extends Event>, Set<Subscriber<? extends Event>>> subscribes = new ConcurrentHashMap<>();
+    
+    private final AtomicLong droppedEventCount = new AtomicLong();
+    
+    private final AtomicLong overflowEventCount = new AtomicLong();
+    
+    private final RingBufferWaitStrategy waitStrategy;
+    
+    private volatile boolean initialized = false;
+    
+    private volatile boolean shutdown = false;
+    
+    private volatile boolean consumerWaiting = false;
+    
+    private volatile long lastEventSequence = -1L;
+    
+    private EventRingBuffer ringBuffer;
+    
+    private String publisherName;
+    
+    public RingBufferEventPublisher() {
+        this(NotifyCenter.ringBufferWaitStrategy);
+    }
+    
+    public RingBufferEventPublisher(RingBufferWaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+    
+    @Override
+    public synchronized void init(Class<? extends Event> type, int bufferSize) {
+        if (initialized) {
+            return;
+        }
+        this.ringBuffer = new EventRingBuffer(bufferSize);
+        this.publisherName = type.getSimpleName();
+        setName(THREAD_NAME + type.getName());
+        setDaemon(true);
+        start();
+        initialized = true;
+    }
+    
+    @Override
+    public long currentEventSize() {
+        return ringBuffer.size();
+    }
+    
+    @Override
+    public void addSubscriber(Subscriber subscriber) {
+        addSubscriber(subscriber, subscriber.subscribeType());
+    }
+    
+    @Override
+    public void addSubscriber(Subscriber subscriber, Class<? extends Event> subscribeType) {
+        subscribes.computeIfAbsent(subscribeType, inputType -> new ConcurrentHashSet<>()).add(subscriber);
+    }
+    
+    @Override
+    public void removeSubscriber(Subscriber subscriber) {
+        removeSubscriber(subscriber, subscriber.subscribeType());
+    }
+    
+    @Override
+    public void removeSubscriber(Subscriber subscriber, Class<? extends Event> subscribeType) {
+        subscribes.computeIfPresent(subscribeType, (inputType, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+    
+    @Override
+    public boolean publish(Event event) {
+        checkIsStart();
+        if (shutdown) {
+            droppedEventCount.incrementAndGet();
+            return false;
+        }
+        if (!ringBuffer.offer(event)) {
+            overflowEventCount.incrementAndGet();
+            LOGGER.warn("Ring buffer of {} is full, synchronize sending event : {}", publisherName, event);
+            handleEvent(event);
+            return true;
+        }
+        if (consumerWaiting) {
+            LockSupport.unpark(this);
+        }
+        return true;
+    }
+    
+    @Override
+    public void notifySubscriber(Subscriber subscriber, Event event) {
+        LOGGER.debug("[NotifyCenter] the {} will received by {}", event, subscriber);
+        NotifyCenter.getSubscriberDispatcher().dispatch(subscriber, event);
+    }
+    
+    @Override
+    public void shutdown() {
+        this.shutdown = true;
+        LockSupport.unpark(this);
+    }
+    
+    @Override
+    public void run() {
+        try {
+            waitSubscriberForInit();
+            handleEvents();
+        } catch (Throwable ex) {
+            LOGGER.error("Ring buffer publisher {} stop to handle event due to unexpected exception: ", publisherName,
+                    ex);
+        } finally {
+            droppedEventCount.addAndGet(ringBuffer.clear());
+        }
+    }
+    
+    private void waitSubscriberForInit() {
+        // To ensure that messages are not lost, enable EventHandler when
+        // waiting for the first Subscriber to register
+        for (int waitTimes = DEFAULT_WAIT_TIME; waitTimes > 0; waitTimes--) {
+            if (shutdown || !subscribes.isEmpty()) {
+                break;
+            }
+            ThreadUtils.sleep(1000L);
+        }
+    }
+    
+    private void handleEvents() {
+        Event[] batch = new Event[Math.min(ringBuffer.getCapacity(), MAX_BATCH_SIZE)];
+        int idleCounter = 0;
+        while (!shutdown) {
+            int count = ringBuffer.drainTo(batch);
+            if (0 == count) {
+                idleCounter = waitForEvents(idleCounter);
+                continue;
+            }
+            idleCounter = 0;
+            for (int i = 0; i < count; i++) {
+                handleEvent(batch[i]);
+                batch[i] = null;
+            }
+        }
+    }
+    
+    private int waitForEvents(int idleCounter) {
+        switch (waitStrategy) {
+            case BUSY_SPIN:
+                return idleCounter;
+            case YIELDING:
+                if (idleCounter < SPIN_TRIES) {
+                    return idleCounter + 1;
+                }
+                Thread.yield();
+                return idleCounter;
+            case SLEEPING:
+                if (idleCounter < SPIN_TRIES) {
+                    return idleCounter + 1;
+                }
+                if (idleCounter < SPIN_TRIES * 2) {
+                    Thread.yield();
+                    return idleCounter + 1;
+                }
+                LockSupport.parkNanos(this, SLEEPING_PARK_NANOS);
+                return idleCounter;
+            default:
+                consumerWaiting = true;
+                // Check again after marking waiting, otherwise the event published just now might not wake up consumer.
+                if (!shutdown && !ringBuffer.hasAvailable()) {
+                    LockSupport.parkNanos(this, BLOCKING_PARK_NANOS);
+                }
+                consumerWaiting = false;
+                return 0;
+        }
+    }
+    
+    private void handleEvent(Event event) {
+        final long currentEventSequence = event.sequence();
+        Set<Subscriber<? extends Event>> subscribers = subscribes.get(event.getClass());
+        if (null == subscribers || subscribers.isEmpty()) {
+            droppedEventCount.incrementAndGet();
+            LOGGER.warn("[NotifyCenter] the {} is lost, because there is no subscriber.", event);
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            // Whether to ignore expiration events
+            if (subscriber.ignoreExpireEvent() && lastEventSequence > currentEventSequence) {
+                LOGGER.debug("[NotifyCenter] the {} is unacceptable to this subscriber, because had expire",
+                        event.getClass());
+                continue;
+            }
+            notifySubscriber(subscriber, event);
+        }
+        if (currentEventSequence > lastEventSequence) {
+            lastEventSequence = currentEventSequence;
+        }
+    }
+    
+    void checkIsStart() {
+        if (!initialized) {
+            throw new IllegalStateException("Publisher does not start");
+        }
+    }
+    
+    public boolean isInitialized() {
+        return initialized;
+    }
+    
+    public int getRingBufferSize() {
+        return ringBuffer.getCapacity();
+    }
+    
+    /**
+     * Get count of events dropped, such as no subscriber or published after shutdown.
+     *
+     * @return count of dropped events
+     */
+    public long getDroppedEventCount() {
+        return droppedEventCount.get();
+    }
+    
+    /**
+     * Get count of events handled on producer thread because ring buffer is full.
+     *
+     * @return count of overflow events
+     */
+    public long getOverflowEventCount() {
+        return overflowEventCount.get();
+    }
+    
+    public String getStatus() {
+        return String.format("Publisher %-30s: shutdown=%5s, queue=%7d/%-7d, dropped=%d, overflow=%d", publisherName,
+                shutdown, currentEventSize(), getRingBufferSize(), getDroppedEventCount(), getOverflowEventCount());
+    }
+}
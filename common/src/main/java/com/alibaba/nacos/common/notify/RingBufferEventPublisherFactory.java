@@ -0,0 +1,45 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+/**
+ * Event publisher factory which builds {@link RingBufferEventPublisher} for each event type.
+ *
+ * <p>Can be used by {@link NotifyCenter#registerToPublisher(Class, EventPublisherFactory, int)} and
+ * {@link NotifyCenter#registerSubscriber(com.alibaba.nacos.common.notify.listener.Subscriber, EventPublisherFactory)}
+ * for the events with high publish concurrency.
+ *
+ * @author Nacos
+ */
+public class RingBufferEventPublisherFactory implements EventPublisherFactory {
+    
+    private static final RingBufferEventPublisherFactory INSTANCE = new RingBufferEventPublisherFactory();
+    
+    private RingBufferEventPublisherFactory() {
+    }
+    
+    public static RingBufferEventPublisherFactory getInstance() {
+        return INSTANCE;
+    }
+    
+    @Override
+    public EventPublisher apply(Class<? extends Event> eventType, Integer maxQueueSize) {
+        RingBufferEventPublisher result = new RingBufferEventPublisher();
+        result.init(eventType, maxQueueSize);
+        return result;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+/**
+ * Strategies for the consumer of {@link RingBufferEventPublisher} to wait for new events.
+ *
+ * @author Nacos
+ */
+public enum RingBufferWaitStrategy {
+    
+    /**
+     * Park consumer thread until a producer wakes it up, the lowest cpu usage but highest latency.
+     */
+    BLOCKING,
+    
+    /**
+     * Spin, then yield, then park for a short time, a balance between cpu usage and latency.
+     */
+    SLEEPING,
+    
+    /**
+     * Spin, then yield the cpu, low latency but uses one cpu when idle.
+     */
+    YIELDING,
+    
+    /**
+     * Spin all the time, the lowest latency but uses one cpu when idle.
+     */
+    BUSY_SPIN;
+    
+    /**
+     * Get wait strategy by name, default {@link #BLOCKING}.
+     *
+     * @param name name of wait strategy, case insensitive
+     * @return wait strategy
+     */
+    public static RingBufferWaitStrategy of(String name) {
+        for (RingBufferWaitStrategy each : values()) {
+            if (each.name().equalsIgnoreCase(name)) {
+                return each;
+            }
+        }
+        return BLOCKING;
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import com.alibaba.nacos.common.executor.ExecutorFactory;
+import com.alibaba.nacos.common.executor.NameThreadFactory;
+import com.alibaba.nacos.common.notify.listener.Subscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Dispatch events to subscribers and record the latency of each subscriber.
+ *
+ * <p>In serial mode, subscribers without own executor are notified on the publisher thread one by one. In parallel
+ * mode, each subscriber has a bounded mailbox drained by a shared pool, so events are handled in order for one
+ * subscriber but one slow subscriber no longer blocks the others. If the mailbox of a subscriber is full, publisher
+ * thread waits for it, so the slow subscriber can be found from the latency and pending size.
+ *
+ * @author Nacos
+ */
+public class SubscriberDispatcher {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotifyCenter.class);
+    
+    private static final String THREAD_NAME = "com.alibaba.nacos.common.notify.dispatcher";
+    
+    private static final int MAX_BATCH_SIZE = 64;
+    
+    private final Map<Subscriber, SubscriberState> states = new ConcurrentHashMap<>();
+    
+    private final boolean parallel;
+    
+    private final int mailboxSize;
+    
+    private final ExecutorService executor;
+    
+    public SubscriberDispatcher() {
+        this(false, 0, 0);
+    }
+    
+    public SubscriberDispatcher(boolean parallel, int poolSize, int mailboxSize) {
+        this.parallel = parallel;
+        this.mailboxSize = mailboxSize;
+        this.executor = parallel ? ExecutorFactory.newFixedExecutorService(poolSize, new NameThreadFactory(THREAD_NAME))
+                : null;
+    }
+    
+    /**
+     * Dispatch event to subscriber.
+     *
+     * @param subscriber subscriber
+     * @param event      event
+     */
+    public void dispatch(Subscriber subscriber, Event event) {
+        SubscriberState state = states.get(subscriber);
+        Executor subscriberExecutor = subscriber.executor();
+        if (null == state) {
+            // Subscriber is not registered by NotifyCenter or has been removed, notify it without records.
+            if (null != subscriberExecutor) {
+                subscriberExecutor.execute(() -> invokeWithoutRecord(subscriber, event));
+            } else {
+                invokeWithoutRecord(subscriber, event);
+            }
+        } else if (null != subscriberExecutor) {
+            subscriberExecutor.execute(() -> state.invoke(event));
+        } else if (parallel) {
+            state.enqueue(event);
+        } else {
+            state.invoke(event);
+        }
+    }
+    
+    private void invokeWithoutRecord(Subscriber subscriber, Event event) {
+        try {
+            subscriber.onEvent(event);
+        } catch (Throwable e) {
+            LOGGER.error("Event callback exception: ", e);
+        }
+    }
+    
+    /**
+     * Add the states of subscriber, only events of added subscribers are recorded and dispatched by mailbox.
+     *
+     * @param subscriber subscriber
+     */
+    public void addSubscriber(Subscriber subscriber) {
+        states.computeIfAbsent(subscriber, SubscriberState::new);
+    }
+    
+    /**
+     * Remove the states of subscriber, events in mailbox will still be handled.
+     *
+     * @param subscriber subscriber
+     */
+    public void removeSubscriber(Subscriber subscriber) {
+        states.remove(subscriber);
+    }
+    
+    public boolean isParallel() {
+        return parallel;
+    }
+    
+    /**
+     * Get latency histogram of subscriber.
+     *
+     * @param subscriber subscriber
+     * @return latency histogram, {@code null} if subscriber is not added
+     */
+    public LatencyHistogram getLatencyHistogram(Subscriber subscriber) {
+        SubscriberState state = states.get(subscriber);
+        return null == state ? null : state.histogram;
+    }
+    
+    /**
+     * Get status of all subscribers, including pending event size and latency histogram.
+     *
+     * @return status
+     */
+    public String getStatus() {
+        StringBuilder result = new StringBuilder("Subscriber dispatch statues:\n");
+        for (SubscriberState each : states.values()) {
+            result.append('\t').append(each.subscriber.getClass().getName()).append(": pending=")
+                    .append(null == each.mailbox ? 0 : each.mailbox.size()).append(", ").append(each.histogram)
+                    .append('\n');
+        }
+        return result.toString();
+    }
+    
+    /**
+     * Shutdown the shared pool.
+     */
+    public void shutdown() {
+        if (null != executor) {
+            executor.shutdown();
+        }
+    }
+    
+    private class SubscriberState implements Runnable {
+        
+        private final Subscriber subscriber;
+        
+        private final LatencyHistogram histogram;
+        
+        private final BlockingQueue<Event> mailbox;
+        
+        private final AtomicBoolean scheduled;
+        
+        private SubscriberState(Subscriber subscriber) {
+            this.subscriber = subscriber;
+            this.histogram = new LatencyHistogram();
+            this.mailbox = parallel ? new LinkedBlockingQueue<>(mailboxSize) : null;
+            this.scheduled = new AtomicBoolean(false);
+        }
+        
+        private void invoke(Event event) {
+            long start = System.nanoTime();
+            try {
+                subscriber.onEvent(event);
+            } catch (Throwable e) {
+                LOGGER.error("Event callback exception: ", e);
+            } finally {
+                histogram.record(System.nanoTime() - start);
+            }
+        }
+        
+        private void enqueue(Event event) {
+            try {
+                mailbox.put(event);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.warn("Interrupted when dispatching {} to {}, handle it directly", event, subscriber);
+                invoke(event);
+                return;
+            }
+            schedule();
+        }
+        
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    LOGGER.warn("Dispatcher has been shutdown, {} events of {} are not handled", mailbox.size(),
+                            subscriber);
+                }
+            }
+        }
+        
+        @Override
+        public void run() {
+            for (int i = 0; i < MAX_BATCH_SIZE; i++) {
+                Event event = mailbox.poll();
+                if (null == event) {
+                    break;
+                }
+                invoke(event);
+            }
+            scheduled.set(false);
+            // Events might be enqueued after the last poll, or left by batch size limit.
+            if (!mailbox.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
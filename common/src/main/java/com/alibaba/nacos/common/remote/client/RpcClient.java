@@ -22,14 +22,18 @@ import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.remote.PayloadRegistry;
 import com.alibaba.nacos.api.remote.RequestCallBack;
 import com.alibaba.nacos.api.remote.RequestFuture;
+import com.alibaba.nacos.api.remote.request.BatchPushRequest;
 import com.alibaba.nacos.api.remote.request.ClientDetectionRequest;
 import com.alibaba.nacos.api.remote.request.ConnectResetRequest;
 import com.alibaba.nacos.api.remote.request.HealthCheckRequest;
 import com.alibaba.nacos.api.remote.request.Request;
+import com.alibaba.nacos.api.remote.request.ServerRequest;
+import com.alibaba.nacos.api.remote.response.BatchPushResponse;
 import com.alibaba.nacos.api.remote.response.ClientDetectionResponse;
 import com.alibaba.nacos.api.remote.response.ConnectResetResponse;
 import com.alibaba.nacos.api.remote.response.ErrorResponse;
 import com.alibaba.nacos.api.remote.response.Response;
+import com.alibaba.nacos.api.remote.response.ResponseCode;
 import com.alibaba.nacos.common.lifecycle.Closeable;
 import com.alibaba.nacos.common.remote.ConnectionType;
 import com.alibaba.nacos.common.utils.CollectionUtils;
@@ -417,6 +421,30 @@ public abstract class RpcClient implements Closeable {
             return null;
         });
         
+        // register batch push request, each request in batch is handled as a single server request.
+        registerServerRequestHandler(request -> {
+            if (request instanceof BatchPushRequest) {
+                return handleBatchPushRequest((BatchPushRequest) request);
+            }
+            
+            return null;
+        });
+        
+    }
+    
+    private BatchPushResponse handleBatchPushRequest(BatchPushRequest batchPushRequest) {
+        BatchPushResponse batchPushResponse = new BatchPushResponse();
+        List<ServerRequest> requests = batchPushRequest.getRequests();
+        for (int i = 0; i < requests.size(); i++) {
+            ServerRequest request = requests.get(i);
+            Response response = request == null ? null : handleServerRequest(request);
+            if (response == null) {
+                batchPushResponse.addFailure(i, ResponseCode.FAIL.getCode(), "No handler for push in batch");
+            } else if (!response.isSuccess()) {
+                batchPushResponse.addFailure(i, response.getErrorCode(), response.getMessage());
+            }
+        }
+        return batchPushResponse;
     }
     
     class ConnectResetRequestHandler implements ServerRequestHandler {
@@ -912,7 +940,7 @@ public abstract class RpcClient implements Closeable {
         if (matcher.find()) {
             serverAddress = matcher.group(1);
         }
-    
+        
         String[] ipPortTuple = serverAddress.split(Constants.COLON, 2);
         int defaultPort = Integer.parseInt(System.getProperty("nacos.server.port", "8848"));
         String serverPort = CollectionUtils.getOrDefault(ipPortTuple, 1, Integer.toString(defaultPort));
@@ -927,7 +955,7 @@ public abstract class RpcClient implements Closeable {
         protected int serverPort;
         
         public ServerInfo() {
-        
+            
         }
         
         public ServerInfo(String serverIp, int serverPort) {
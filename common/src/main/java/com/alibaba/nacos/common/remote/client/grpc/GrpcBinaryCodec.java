@@ -0,0 +1,388 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.common.remote.client.grpc;
+
+import com.alibaba.nacos.api.exception.runtime.NacosDeserializationException;
+import com.alibaba.nacos.api.exception.runtime.NacosSerializationException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary body codec for grpc payload.
+ *
+ * <p>The object is walked by the same jackson mapper as the json codec, so every request and response keeps its
+ * current mapping rules. Instead of json text, the token stream is written as tagged binary values: numbers as
+ * varints or raw IEEE754 bits, strings as length prefixed utf-8, and each field name only once per payload with later
+ * occurrences replaced by its index.
+ *
+ * @author Nacos
+ */
+public final class GrpcBinaryCodec {
+    
+    static final byte START_OBJECT = 1;
+    
+    static final byte END_OBJECT = 2;
+    
+    static final byte START_ARRAY = 3;
+    
+    static final byte END_ARRAY = 4;
+    
+    static final byte FIELD_NAME = 5;
+    
+    static final byte FIELD_NAME_REF = 6;
+    
+    static final byte STRING = 7;
+    
+    static final byte LONG = 8;
+    
+    static final byte DOUBLE = 9;
+    
+    static final byte BIG_INTEGER = 10;
+    
+    static final byte BIG_DECIMAL = 11;
+    
+    static final byte TRUE = 12;
+    
+    static final byte FALSE = 13;
+    
+    static final byte NULL = 14;
+    
+    static final byte BINARY = 15;
+    
+    private static final int INITIAL_BUFFER_SIZE = 256;
+    
+    private GrpcBinaryCodec() {
+    }
+    
+    /**
+     * Encode object to compact binary.
+     *
+     * @param mapper mapper to walk the object
+     * @param obj    object to encode
+     * @return encoded bytes
+     * @throws NacosSerializationException if encode failed
+     */
+    public static byte[] encode(ObjectMapper mapper, Object obj) {
+        try {
+            TokenBuffer tokens = new TokenBuffer(mapper, false);
+            mapper.writeValue(tokens, obj);
+            Writer writer = new Writer();
+            try (JsonParser parser = tokens.asParser()) {
+                writeTokens(mapper, parser, writer);
+            }
+            return writer.toByteArray();
+        } catch (IOException e) {
+            throw new NacosSerializationException(obj.getClass(), e);
+        }
+    }
+    
+    /**
+     * Decode compact binary to object.
+     *
+     * @param mapper mapper to bind the object
+     * @param body   encoded bytes
+     * @param cls    class of object
+     * @param <T>    General type
+     * @return object
+     * @throws NacosDeserializationException if decode failed
+     */
+    public static <T> T decode(ObjectMapper mapper, ByteBuffer body, Class<T> cls) {
+        try {
+            TokenBuffer tokens = new TokenBuffer(mapper, false);
+            List<String> fieldNames = new ArrayList<>();
+            while (body.hasRemaining()) {
+                readToken(body, tokens, fieldNames);
+            }
+            try (JsonParser parser = tokens.asParser()) {
+                return mapper.readValue(parser, cls);
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new NacosDeserializationException(cls, e);
+        }
+    }
+    
+    private static void writeTokens(ObjectMapper mapper, JsonParser parser, Writer writer) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            writeToken(mapper, parser, token, writer);
+        }
+    }
+    
+    private static void writeToken(ObjectMapper mapper, JsonParser parser, JsonToken token, Writer writer)
+            throws IOException {
+        switch (token) {
+            case START_OBJECT:
+                writer.writeByte(START_OBJECT);
+                break;
+            case END_OBJECT:
+                writer.writeByte(END_OBJECT);
+                break;
+            case START_ARRAY:
+                writer.writeByte(START_ARRAY);
+                break;
+            case END_ARRAY:
+                writer.writeByte(END_ARRAY);
+                break;
+            case FIELD_NAME:
+                writer.writeFieldName(parser.getCurrentName());
+                break;
+            case VALUE_STRING:
+                writer.writeByte(STRING);
+                writer.writeString(parser.getText());
+                break;
+            case VALUE_NUMBER_INT:
+                if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+                    writer.writeByte(BIG_INTEGER);
+                    writer.writeString(parser.getBigIntegerValue().toString());
+                } else {
+                    writer.writeByte(LONG);
+                    writer.writeVarLong(zigZag(parser.getLongValue()));
+                }
+                break;
+            case VALUE_NUMBER_FLOAT:
+                if (parser.getNumberType() == JsonParser.NumberType.BIG_DECIMAL) {
+                    writer.writeByte(BIG_DECIMAL);
+                    writer.writeString(parser.getDecimalValue().toString());
+                } else {
+                    writer.writeByte(DOUBLE);
+                    writer.writeFixedLong(Double.doubleToRawLongBits(parser.getDoubleValue()));
+                }
+                break;
+            case VALUE_TRUE:
+                writer.writeByte(TRUE);
+                break;
+            case VALUE_FALSE:
+                writer.writeByte(FALSE);
+                break;
+            case VALUE_NULL:
+                writer.writeByte(NULL);
+                break;
+            case VALUE_EMBEDDED_OBJECT:
+                writeEmbedded(mapper, parser.getEmbeddedObject(), writer);
+                break;
+            default:
+                throw new IOException("Unsupported token " + token);
+        }
+    }
+    
+    private static void writeEmbedded(ObjectMapper mapper, Object embedded, Writer writer) throws IOException {
+        if (embedded instanceof byte[]) {
+            writer.writeByte(BINARY);
+            writer.writeBytes((byte[]) embedded);
+            return;
+        }
+        if (embedded instanceof RawValue) {
+            // Pre-serialized json written by writeRawValue, such as a cached push body, is expanded back into tokens
+            // so the decoder binds it like any other nested value.
+            try (JsonParser rawParser = mapper.getFactory().createParser(mapper.writeValueAsString(embedded))) {
+                writeTokens(mapper, rawParser, writer);
+            }
+            return;
+        }
+        throw new IOException("Unsupported embedded value " + embedded);
+    }
+    
+    private static void readToken(ByteBuffer body, TokenBuffer tokens, List<String> fieldNames) throws IOException {
+        byte tag = body.get();
+        switch (tag) {
+            case START_OBJECT:
+                tokens.writeStartObject();
+                break;
+            case END_OBJECT:
+                tokens.writeEndObject();
+                break;
+            case START_ARRAY:
+                tokens.writeStartArray();
+                break;
+            case END_ARRAY:
+                tokens.writeEndArray();
+                break;
+            case FIELD_NAME:
+                String fieldName = readString(body);
+                fieldNames.add(fieldName);
+                tokens.writeFieldName(fieldName);
+                break;
+            case FIELD_NAME_REF:
+                tokens.writeFieldName(fieldNames.get((int) readVarLong(body)));
+                break;
+            case STRING:
+                tokens.writeString(readString(body));
+                break;
+            case LONG:
+                long value = unZigZag(readVarLong(body));
+                if (value == (int) value) {
+                    tokens.writeNumber((int) value);
+                } else {
+                    tokens.writeNumber(value);
+                }
+                break;
+            case DOUBLE:
+                tokens.writeNumber(Double.longBitsToDouble(body.getLong()));
+                break;
+            case BIG_INTEGER:
+                tokens.writeNumber(new BigInteger(readString(body)));
+                break;
+            case BIG_DECIMAL:
+                tokens.writeNumber(new BigDecimal(readString(body)));
+                break;
+            case TRUE:
+                tokens.writeBoolean(true);
+                break;
+            case FALSE:
+                tokens.writeBoolean(false);
+                break;
+            case NULL:
+                tokens.writeNull();
+                break;
+            case BINARY:
+                tokens.writeBinary(readBytes(body));
+                break;
+            default:
+                throw new IOException("Unknown binary tag " + tag);
+        }
+    }
+    
+    private static String readString(ByteBuffer body) throws IOException {
+        int length = readLength(body);
+        if (body.hasArray()) {
+            int offset = body.arrayOffset() + body.position();
+            body.position(body.position() + length);
+            return new String(body.array(), offset, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    private static byte[] readBytes(ByteBuffer body) throws IOException {
+        byte[] bytes = new byte[readLength(body)];
+        body.get(bytes);
+        return bytes;
+    }
+    
+    private static int readLength(ByteBuffer body) throws IOException {
+        long length = readVarLong(body);
+        if (length < 0 || length > body.remaining()) {
+            throw new IOException("Illegal binary length " + length);
+        }
+        return (int) length;
+    }
+    
+    private static long readVarLong(ByteBuffer body) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = body.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+    
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+    
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+    
+    /**
+     * Unsynchronized growable output, also owns the field name dictionary of one payload.
+     */
+    private static class Writer {
+        
+        private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+        
+        private int size;
+        
+        private Map<String, Integer> fieldNames;
+        
+        void writeFieldName(String name) {
+            if (fieldNames == null) {
+                fieldNames = new HashMap<>(16);
+            }
+            Integer index = fieldNames.get(name);
+            if (index != null) {
+                writeByte(FIELD_NAME_REF);
+                writeVarLong(index);
+                return;
+            }
+            fieldNames.put(name, fieldNames.size());
+            writeByte(FIELD_NAME);
+            writeString(name);
+        }
+        
+        void writeString(String value) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+        
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+        
+        void writeFixedLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+        
+        void writeByte(byte value) {
+            ensureCapacity(1);
+            buffer[size++] = value;
+        }
+        
+        byte[] toByteArray() {
+            return size == buffer.length ? buffer : Arrays.copyOf(buffer, size);
+        }
+        
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, size + extra));
+            }
+        }
+    }
+}
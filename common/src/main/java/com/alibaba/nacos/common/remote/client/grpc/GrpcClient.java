@@ -112,6 +112,10 @@ public abstract class GrpcClient extends RpcClient {
         return Integer.parseInt(messageSize);
     }
     
+    private boolean isBinaryCodecEnabled() {
+        return Boolean.parseBoolean(System.getProperty("nacos.remote.client.grpc.binary.codec.enable", "false"));
+    }
+    
     private int keepAliveTimeMillis() {
         String keepAliveTimeMillis = System
                 .getProperty("nacos.remote.grpc.keep.alive.millis", String.valueOf(DEFAULT_KEEP_ALIVE_TIME));
@@ -273,8 +277,11 @@ public abstract class GrpcClient extends RpcClient {
                 
                 BiRequestStreamGrpc.BiRequestStreamStub biRequestStreamStub = BiRequestStreamGrpc
                         .newStub(newChannelStubTemp.getChannel());
+                ServerCheckResponse serverCheckResponse = (ServerCheckResponse) response;
+                boolean binaryCodecEnabled = isBinaryCodecEnabled();
                 GrpcConnection grpcConn = new GrpcConnection(serverInfo, grpcExecutor);
-                grpcConn.setConnectionId(((ServerCheckResponse) response).getConnectionId());
+                grpcConn.setConnectionId(serverCheckResponse.getConnectionId());
+                grpcConn.setBinaryCodec(binaryCodecEnabled && serverCheckResponse.isSupportBinaryCodec());
                 
                 //create stream request and bind connection event to this connection.
                 StreamObserver<Payload> payloadStreamObserver = bindRequestStream(biRequestStreamStub, grpcConn);
@@ -287,6 +294,10 @@ public abstract class GrpcClient extends RpcClient {
                 ConnectionSetupRequest conSetupRequest = new ConnectionSetupRequest();
                 conSetupRequest.setClientVersion(VersionUtils.getFullClientVersion());
                 conSetupRequest.setLabels(super.getLabels());
+                if (super.clientAbilities != null) {
+                    super.clientAbilities.getRemoteAbility().setSupportBinaryCodec(binaryCodecEnabled);
+                    super.clientAbilities.getRemoteAbility().setSupportBatchPush(true);
+                }
                 conSetupRequest.setAbilities(super.clientAbilities);
                 conSetupRequest.setTenant(super.getTenant());
                 grpcConn.sendRequest(conSetupRequest);
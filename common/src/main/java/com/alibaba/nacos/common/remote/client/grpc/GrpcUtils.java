@@ -16,7 +16,6 @@
 
 package com.alibaba.nacos.common.remote.client.grpc;
 
-import com.alibaba.nacos.api.common.Constants;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.exception.runtime.NacosDeserializationException;
 import com.alibaba.nacos.api.exception.runtime.NacosSerializationException;
@@ -29,14 +28,17 @@ import com.alibaba.nacos.api.remote.response.Response;
 import com.alibaba.nacos.api.utils.NetUtils;
 import com.alibaba.nacos.common.remote.exception.RemoteException;
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.google.protobuf.Any;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 
 import java.io.IOException;
-import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * gRPC utils, use to parse request and response.
@@ -46,6 +48,25 @@ import java.nio.charset.Charset;
  */
 public class GrpcUtils {
     
+    /**
+     * Type url of payload body encoded by {@link GrpcBinaryCodec}, body without type url is json.
+     */
+    public static final String BINARY_TYPE_URL = "nacos/binary";
+    
+    /**
+     * Output buffer larger than this after encoding is dropped rather than kept by the thread.
+     */
+    private static final int MAX_POOLED_OUTPUT_SIZE = 64 * 1024;
+    
+    private static final int INITIAL_OUTPUT_SIZE = 1024;
+    
+    private static final ThreadLocal<ByteString.Output> OUTPUT_POOL = ThreadLocal
+            .withInitial(() -> ByteString.newOutput(INITIAL_OUTPUT_SIZE));
+    
+    private static final Map<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>(128);
+    
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>(128);
+    
     static ObjectMapper mapper = new ObjectMapper();
     
     static {
@@ -54,20 +75,60 @@ public class GrpcUtils {
     }
     
     /**
-     * Object to json string.
+     * Object to json bytes, written straight into a pooled {@link ByteString.Output}.
      *
      * @param obj obj
-     * @return json string
+     * @return json bytes
      * @throws NacosSerializationException if transfer failed
      */
-    private static String toJson(Object obj) {
+    private static ByteString toJsonBytes(Object obj) {
+        ByteString.Output output = OUTPUT_POOL.get();
+        output.reset();
         try {
-            return mapper.writeValueAsString(obj);
-        } catch (JsonProcessingException e) {
+            writerFor(obj.getClass()).writeValue(output, obj);
+            return output.toByteString();
+        } catch (IOException e) {
             throw new NacosSerializationException(obj.getClass(), e);
+        } finally {
+            if (output.size() > MAX_POOLED_OUTPUT_SIZE) {
+                OUTPUT_POOL.remove();
+            }
         }
     }
     
+    /**
+     * Json bytes deserialize to Object, read from the bytes without decoding to string.
+     *
+     * @param json json bytes
+     * @param cls  class of object
+     * @param <T>  General type
+     * @return object
+     * @throws NacosDeserializationException if deserialize failed
+     */
+    private static <T> T toObj(ByteString json, Class<T> cls) {
+        try {
+            return readerFor(cls).readValue(json.newInput());
+        } catch (IOException e) {
+            throw new NacosDeserializationException(cls, e);
+        }
+    }
+    
+    private static ObjectWriter writerFor(Class<?> cls) {
+        ObjectWriter writer = WRITERS.get(cls);
+        if (writer == null) {
+            writer = WRITERS.computeIfAbsent(cls, mapper::writerFor);
+        }
+        return writer;
+    }
+    
+    private static ObjectReader readerFor(Class<?> cls) {
+        ObjectReader reader = READERS.get(cls);
+        if (reader == null) {
+            reader = READERS.computeIfAbsent(cls, mapper::readerFor);
+        }
+        return reader;
+    }
+    
     /**
      * Json string deserialize to Object.
      *
@@ -104,10 +165,7 @@ public class GrpcUtils {
         
         // request body .
         request.clearHeaders();
-        String jsonString = toJson(request);
-        return payloadBuilder
-                .setBody(Any.newBuilder().setValue(ByteString.copyFrom(jsonString, Charset.forName(Constants.ENCODE))))
-                .build();
+        return payloadBuilder.setBody(toBody(request, false)).build();
         
     }
     
@@ -118,20 +176,22 @@ public class GrpcUtils {
      * @return payload.
      */
     public static Payload convert(Request request) {
+        return convert(request, false);
+    }
+    
+    /**
+     * convert request to payload with json or binary body.
+     *
+     * @param request request.
+     * @param binary  whether to encode body by {@link GrpcBinaryCodec}.
+     * @return payload.
+     */
+    public static Payload convert(Request request, boolean binary) {
         
         Metadata newMeta = Metadata.newBuilder().setType(request.getClass().getSimpleName())
                 .setClientIp(NetUtils.localIP()).putAllHeaders(request.getHeaders()).build();
         request.clearHeaders();
-        String jsonString = toJson(request);
-        // {"headers":{},"namespace":"public","serviceName":"service1","groupName":"DEFAULT_GROUP","type":"registerInstance",
-        // "instance":{"ip":"11.11.11.11","port":8888,"weight":1.0,"healthy":true,"enabled":true,"ephemeral":true,"clusterName":"DEFAULT","metadata":{},
-        // "instanceHeartBeatInterval":5000,"ipDeleteTimeout":30000,"instanceIdGenerator":"simple","instanceHeartBeatTimeOut":15000},
-        // "module":"naming"}
-        Payload.Builder builder = Payload.newBuilder();
-    
-        return builder
-                .setBody(Any.newBuilder().setValue(ByteString.copyFrom(jsonString, Charset.forName(Constants.ENCODE))))
-                .setMetadata(newMeta).build();
+        return Payload.newBuilder().setBody(toBody(request, binary)).setMetadata(newMeta).build();
         
     }
     
@@ -142,12 +202,38 @@ public class GrpcUtils {
      * @return payload.
      */
     public static Payload convert(Response response) {
-        String jsonString = toJson(response);
-        
+        return convert(response, false);
+    }
+    
+    /**
+     * convert response to payload with json or binary body.
+     *
+     * @param response response.
+     * @param binary   whether to encode body by {@link GrpcBinaryCodec}.
+     * @return payload.
+     */
+    public static Payload convert(Response response, boolean binary) {
         Metadata.Builder metaBuilder = Metadata.newBuilder().setType(response.getClass().getSimpleName());
-        return Payload.newBuilder()
-                .setBody(Any.newBuilder().setValue(ByteString.copyFrom(jsonString, Charset.forName(Constants.ENCODE))))
-                .setMetadata(metaBuilder.build()).build();
+        return Payload.newBuilder().setBody(toBody(response, binary)).setMetadata(metaBuilder.build()).build();
+    }
+    
+    private static Any toBody(Object obj, boolean binary) {
+        if (binary) {
+            byte[] bytes = GrpcBinaryCodec.encode(mapper, obj);
+            return Any.newBuilder().setTypeUrl(BINARY_TYPE_URL).setValue(UnsafeByteOperations.unsafeWrap(bytes))
+                    .build();
+        }
+        return Any.newBuilder().setValue(toJsonBytes(obj)).build();
+    }
+    
+    /**
+     * Whether the body of payload is encoded by {@link GrpcBinaryCodec}.
+     *
+     * @param payload payload.
+     * @return true if body is binary encoded
+     */
+    public static boolean isBinary(Payload payload) {
+        return BINARY_TYPE_URL.equals(payload.getBody().getTypeUrl());
     }
     
     /**
@@ -159,7 +245,12 @@ public class GrpcUtils {
     public static Object parse(Payload payload) {
         Class classType = PayloadRegistry.getClassByType(payload.getMetadata().getType());
         if (classType != null) {
-            Object obj = toObj(payload.getBody().getValue().toString(Charset.forName(Constants.ENCODE)), classType);
+            Object obj;
+            if (isBinary(payload)) {
+                obj = GrpcBinaryCodec.decode(mapper, payload.getBody().getValue().asReadOnlyByteBuffer(), classType);
+            } else {
+                obj = toObj(payload.getBody().getValue(), classType);
+            }
             if (obj instanceof Request) {
                 ((Request) obj).putAllHeader(payload.getMetadata().getHeadersMap());
             }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import com.alibaba.nacos.common.notify.listener.Subscriber;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RingBufferEventPublisherTest {
+    
+    private RingBufferEventPublisher publisher;
+    
+    @After
+    public void tearDown() {
+        if (null != publisher) {
+            publisher.shutdown();
+        }
+    }
+    
+    @Test
+    public void testRingBufferCapacity() {
+        Assert.assertEquals(8, new EventRingBuffer(5).getCapacity());
+        Assert.assertEquals(16384, new EventRingBuffer(16384).getCapacity());
+        Assert.assertEquals(1, new EventRingBuffer(0).getCapacity());
+    }
+    
+    @Test
+    public void testRingBufferOfferAndDrain() {
+        EventRingBuffer ringBuffer = new EventRingBuffer(2);
+        Assert.assertFalse(ringBuffer.hasAvailable());
+        Assert.assertTrue(ringBuffer.offer(new TestEvent()));
+        Assert.assertTrue(ringBuffer.offer(new TestEvent()));
+        Assert.assertFalse(ringBuffer.offer(new TestEvent()));
+        Assert.assertEquals(2, ringBuffer.size());
+        Assert.assertTrue(ringBuffer.hasAvailable());
+        Event[] batch = new Event[4];
+        Assert.assertEquals(2, ringBuffer.drainTo(batch));
+        Assert.assertEquals(0, ringBuffer.size());
+        Assert.assertTrue(ringBuffer.offer(new TestEvent()));
+        Assert.assertEquals(1, ringBuffer.clear());
+    }
+    
+    @Test
+    public void testPublishWithMultiProducers() throws InterruptedException {
+        for (RingBufferWaitStrategy each : RingBufferWaitStrategy.values()) {
+            int producers = 4;
+            int eventsPerProducer = 1000;
+            CountDownLatch latch = new CountDownLatch(producers * eventsPerProducer);
+            publisher = new RingBufferEventPublisher(each);
+            publisher.addSubscriber(new TestSubscriber(latch));
+            publisher.init(TestEvent.class, 16);
+            for (int i = 0; i < producers; i++) {
+                new Thread(() -> {
+                    for (int j = 0; j < eventsPerProducer; j++) {
+                        publisher.publish(new TestEvent());
+                    }
+                }).start();
+            }
+            Assert.assertTrue(latch.await(10L, TimeUnit.SECONDS));
+            Assert.assertEquals(0L, publisher.getDroppedEventCount());
+            publisher.shutdown();
+        }
+    }
+    
+    @Test
+    public void testDropEventWithoutSubscriber() throws InterruptedException {
+        publisher = new RingBufferEventPublisher(RingBufferWaitStrategy.BLOCKING);
+        publisher.init(TestEvent.class, 16);
+        publisher.addSubscriber(new TestSubscriber(new CountDownLatch(1)), OtherEvent.class);
+        publisher.publish(new TestEvent());
+        for (int i = 0; i < 100 && 0L == publisher.getDroppedEventCount(); i++) {
+            TimeUnit.MILLISECONDS.sleep(10L);
+        }
+        Assert.assertEquals(1L, publisher.getDroppedEventCount());
+    }
+    
+    @Test
+    public void testShardedSubscriber() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicInteger count = new AtomicInteger();
+        publisher = new RingBufferEventPublisher(RingBufferWaitStrategy.SLEEPING);
+        publisher.addSubscriber(new TestSubscriber(latch), OtherEvent.class);
+        publisher.addSubscriber(new Subscriber<TestEvent>() {
+            @Override
+            public void onEvent(TestEvent event) {
+                count.incrementAndGet();
+            }
+            
+            @Override
+            public Class<? extends Event> subscribeType() {
+                return TestEvent.class;
+            }
+        });
+        publisher.init(TestEvent.class, 16);
+        publisher.publish(new OtherEvent());
+        Assert.assertTrue(latch.await(5L, TimeUnit.SECONDS));
+        Assert.assertEquals(0, count.get());
+    }
+    
+    @Test
+    public void testPublishAfterShutdown() {
+        publisher = new RingBufferEventPublisher(RingBufferWaitStrategy.BLOCKING);
+        publisher.init(TestEvent.class, 16);
+        publisher.shutdown();
+        Assert.assertFalse(publisher.publish(new TestEvent()));
+        Assert.assertEquals(1L, publisher.getDroppedEventCount());
+    }
+    
+    private static class TestEvent extends Event {
+        
+        private static final long serialVersionUID = 3497232358472829349L;
+    }
+    
+    private static class OtherEvent extends Event {
+        
+        private static final long serialVersionUID = -2364093720284610322L;
+    }
+    
+    private static class TestSubscriber extends Subscriber<Event> {
+        
+        private final CountDownLatch latch;
+        
+        private TestSubscriber(CountDownLatch latch) {
+            this.latch = latch;
+        }
+        
+        @Override
+        public void onEvent(Event event) {
+            latch.countDown();
+        }
+        
+        @Override
+        public Class<? extends Event> subscribeType() {
+            return TestEvent.class;
+        }
+    }
+}
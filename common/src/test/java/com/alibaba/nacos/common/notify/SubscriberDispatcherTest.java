@@ -0,0 +1,161 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import com.alibaba.nacos.common.notify.listener.Subscriber;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class SubscriberDispatcherTest {
+    
+    private SubscriberDispatcher dispatcher;
+    
+    @After
+    public void tearDown() {
+        if (null != dispatcher) {
+            dispatcher.shutdown();
+        }
+    }
+    
+    @Test
+    public void testSerialDispatch() {
+        dispatcher = new SubscriberDispatcher();
+        RecordSubscriber subscriber = new RecordSubscriber(null, 0L);
+        dispatcher.addSubscriber(subscriber);
+        for (int i = 0; i < 10; i++) {
+            dispatcher.dispatch(subscriber, new TestEvent(i));
+        }
+        Assert.assertEquals(10, subscriber.received.size());
+        Assert.assertEquals(10L, dispatcher.getLatencyHistogram(subscriber).getCount());
+        dispatcher.removeSubscriber(subscriber);
+        Assert.assertNull(dispatcher.getLatencyHistogram(subscriber));
+    }
+    
+    @Test
+    public void testParallelDispatchKeepOrderForEachSubscriber() throws InterruptedException {
+        dispatcher = new SubscriberDispatcher(true, 4, 16);
+        int eventCount = 200;
+        CountDownLatch latch = new CountDownLatch(eventCount * 2);
+        RecordSubscriber subscriber1 = new RecordSubscriber(latch, 0L);
+        RecordSubscriber subscriber2 = new RecordSubscriber(latch, 0L);
+        dispatcher.addSubscriber(subscriber1);
+        dispatcher.addSubscriber(subscriber2);
+        for (int i = 0; i < eventCount; i++) {
+            TestEvent event = new TestEvent(i);
+            dispatcher.dispatch(subscriber1, event);
+            dispatcher.dispatch(subscriber2, event);
+        }
+        Assert.assertTrue(latch.await(10L, TimeUnit.SECONDS));
+        for (int i = 0; i < eventCount; i++) {
+            Assert.assertEquals(i, subscriber1.received.get(i).intValue());
+            Assert.assertEquals(i, subscriber2.received.get(i).intValue());
+        }
+        Assert.assertTrue(dispatcher.getStatus().contains(RecordSubscriber.class.getName()));
+    }
+    
+    @Test
+    public void testParallelDispatchSlowSubscriberNotBlockOthers() throws InterruptedException {
+        dispatcher = new SubscriberDispatcher(true, 2, 16);
+        CountDownLatch slowLatch = new CountDownLatch(1);
+        CountDownLatch fastLatch = new CountDownLatch(1);
+        RecordSubscriber slow = new RecordSubscriber(slowLatch, 2000L);
+        RecordSubscriber fast = new RecordSubscriber(fastLatch, 0L);
+        dispatcher.addSubscriber(slow);
+        dispatcher.addSubscriber(fast);
+        dispatcher.dispatch(slow, new TestEvent(0));
+        dispatcher.dispatch(fast, new TestEvent(0));
+        Assert.assertTrue(fastLatch.await(1L, TimeUnit.SECONDS));
+        Assert.assertEquals(1L, slowLatch.getCount());
+    }
+    
+    @Test
+    public void testDispatchAfterRemoveSubscriber() {
+        dispatcher = new SubscriberDispatcher(true, 2, 16);
+        RecordSubscriber subscriber = new RecordSubscriber(null, 0L);
+        dispatcher.addSubscriber(subscriber);
+        dispatcher.removeSubscriber(subscriber);
+        dispatcher.dispatch(subscriber, new TestEvent(0));
+        Assert.assertEquals(1, subscriber.received.size());
+        Assert.assertNull(dispatcher.getLatencyHistogram(subscriber));
+        Assert.assertFalse(dispatcher.getStatus().contains(RecordSubscriber.class.getName()));
+    }
+    
+    @Test
+    public void testLatencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(100L));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(20L));
+        histogram.record(TimeUnit.SECONDS.toNanos(10L));
+        Assert.assertEquals(3L, histogram.getCount());
+        Assert.assertEquals(TimeUnit.SECONDS.toNanos(10L), histogram.getMaxNanos());
+        long[] buckets = histogram.getBucketCounts();
+        Assert.assertEquals(1L, buckets[0]);
+        Assert.assertEquals(1L, buckets[3]);
+        Assert.assertEquals(1L, buckets[buckets.length - 1]);
+    }
+    
+    private static class TestEvent extends Event {
+        
+        private static final long serialVersionUID = 6305728371938127512L;
+        
+        private final int index;
+        
+        private TestEvent(int index) {
+            this.index = index;
+        }
+    }
+    
+    private static class RecordSubscriber extends Subscriber<TestEvent> {
+        
+        private final List<Integer> received = new CopyOnWriteArrayList<>();
+        
+        private final CountDownLatch latch;
+        
+        private final long sleepMillis;
+        
+        private RecordSubscriber(CountDownLatch latch, long sleepMillis) {
+            this.latch = latch;
+            this.sleepMillis = sleepMillis;
+        }
+        
+        @Override
+        public void onEvent(TestEvent event) {
+            if (sleepMillis > 0L) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(sleepMillis);
+                } catch (InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            received.add(event.index);
+            if (null != latch) {
+                latch.countDown();
+            }
+        }
+        
+        @Override
+        public Class<? extends Event> subscribeType() {
+            return TestEvent.class;
+        }
+    }
+}
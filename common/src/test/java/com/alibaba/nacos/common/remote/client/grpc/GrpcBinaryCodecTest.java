@@ -0,0 +1,227 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.common.remote.client.grpc;
+
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest;
+import com.alibaba.nacos.api.exception.runtime.NacosDeserializationException;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.InstanceRequest;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.alibaba.nacos.api.remote.PayloadRegistry;
+import com.alibaba.nacos.api.remote.request.BatchPushRequest;
+import com.alibaba.nacos.api.remote.request.ClientDetectionRequest;
+import com.alibaba.nacos.api.remote.request.ConnectResetRequest;
+import com.alibaba.nacos.api.remote.response.BatchPushResponse;
+import com.alibaba.nacos.api.remote.response.ServerCheckResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class GrpcBinaryCodecTest {
+    
+    private ObjectMapper mapper;
+    
+    @Before
+    public void setUp() {
+        mapper = new ObjectMapper();
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+    
+    @Test
+    public void testRoundTripConfigBatchListenRequest() throws Exception {
+        ConfigBatchListenRequest request = new ConfigBatchListenRequest();
+        request.setListen(true);
+        for (int i = 0; i < 10; i++) {
+            request.addConfigListenContext("group", "dataId" + i, "tenant", "md5" + i);
+        }
+        ConfigBatchListenRequest actual = roundTrip(request, ConfigBatchListenRequest.class);
+        Assert.assertEquals(mapper.writeValueAsString(request), mapper.writeValueAsString(actual));
+    }
+    
+    @Test
+    public void testRoundTripInstanceRequest() throws Exception {
+        Instance instance = new Instance();
+        instance.setIp("11.11.11.11");
+        instance.setPort(8848);
+        instance.setWeight(0.5D);
+        instance.setMetadata(new HashMap<>());
+        instance.getMetadata().put("中文", "value");
+        InstanceRequest request = new InstanceRequest("public", "service", "group", "registerInstance", instance);
+        InstanceRequest actual = roundTrip(request, InstanceRequest.class);
+        Assert.assertEquals(mapper.writeValueAsString(request), mapper.writeValueAsString(actual));
+    }
+    
+    @Test
+    public void testRoundTripBatchPushRequest() throws Exception {
+        PayloadRegistry.init();
+        ConnectResetRequest resetRequest = new ConnectResetRequest();
+        resetRequest.setServerIp("1.1.1.1");
+        resetRequest.setRequestId("2");
+        BatchPushRequest request = new BatchPushRequest(Arrays.asList(new ClientDetectionRequest(), resetRequest));
+        assertBatchPushRequest(roundTrip(request, BatchPushRequest.class));
+        assertBatchPushRequest(mapper.readValue(mapper.writeValueAsBytes(request), BatchPushRequest.class));
+    }
+    
+    @Test
+    public void testRoundTripNotifySubscriberRequestWithRawServiceInfo() throws Exception {
+        PayloadRegistry.init();
+        ServiceInfo serviceInfo = new ServiceInfo("group@@service");
+        Instance instance = new Instance();
+        instance.setIp("1.1.1.1");
+        instance.setPort(8848);
+        instance.setMetadata(Collections.singletonMap("key", "value"));
+        serviceInfo.setHosts(Collections.singletonList(instance));
+        serviceInfo.setLastRefTime(1L);
+        NotifySubscriberRequest request = NotifySubscriberRequest
+                .buildSuccessResponse(new RawServiceInfo(serviceInfo, mapper.writeValueAsString(serviceInfo)));
+        request.setRequestId("1");
+        NotifySubscriberRequest actual = roundTrip(request, NotifySubscriberRequest.class);
+        Assert.assertEquals(mapper.writeValueAsString(request), mapper.writeValueAsString(actual));
+        Assert.assertEquals(8848, actual.getServiceInfo().getHosts().get(0).getPort());
+        BatchPushRequest batch = roundTrip(new BatchPushRequest(Collections.singletonList(request)),
+                BatchPushRequest.class);
+        NotifySubscriberRequest batched = (NotifySubscriberRequest) batch.getRequests().get(0);
+        Assert.assertEquals(mapper.writeValueAsString(request), mapper.writeValueAsString(batched));
+    }
+    
+    @Test
+    public void testRoundTripBatchPushResponse() {
+        BatchPushResponse response = new BatchPushResponse();
+        response.addFailure(1, 21601, "base mismatch");
+        BatchPushResponse actual = roundTrip(response, BatchPushResponse.class);
+        Assert.assertEquals(1, actual.getFailures().size());
+        Assert.assertEquals(21601, actual.getFailures().get(1).getErrorCode());
+        Assert.assertEquals("base mismatch", actual.getFailures().get(1).getMessage());
+    }
+    
+    private void assertBatchPushRequest(BatchPushRequest actual) {
+        Assert.assertEquals(2, actual.getRequests().size());
+        Assert.assertTrue(actual.getRequests().get(0) instanceof ClientDetectionRequest);
+        ConnectResetRequest actualReset = (ConnectResetRequest) actual.getRequests().get(1);
+        Assert.assertEquals("1.1.1.1", actualReset.getServerIp());
+        Assert.assertEquals("2", actualReset.getRequestId());
+    }
+    
+    @Test
+    public void testRoundTripServerCheckResponse() {
+        ServerCheckResponse response = new ServerCheckResponse("connectionId");
+        response.setSupportBinaryCodec(true);
+        ServerCheckResponse actual = roundTrip(response, ServerCheckResponse.class);
+        Assert.assertEquals("connectionId", actual.getConnectionId());
+        Assert.assertTrue(actual.isSupportBinaryCodec());
+    }
+    
+    @Test
+    public void testRoundTripScalars() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("negative", -1);
+        map.put("long", Long.MIN_VALUE);
+        map.put("double", 1.25D);
+        map.put("bigInteger", new BigInteger("123456789012345678901234567890"));
+        map.put("bigDecimal", new BigDecimal("1.000000000000000000001"));
+        map.put("false", false);
+        map.put("list", Arrays.asList("a", null, "a"));
+        map.put("nested", new LinkedHashMap<>(map));
+        Map actual = roundTrip(map, Map.class);
+        Assert.assertEquals(-1, actual.get("negative"));
+        Assert.assertEquals(Long.MIN_VALUE, actual.get("long"));
+        Assert.assertEquals(1.25D, actual.get("double"));
+        Assert.assertEquals(new BigInteger("123456789012345678901234567890"), actual.get("bigInteger"));
+        Assert.assertEquals(Boolean.FALSE, actual.get("false"));
+        Assert.assertEquals(Arrays.asList("a", null, "a"), actual.get("list"));
+        Assert.assertEquals(7, ((Map) actual.get("nested")).size());
+    }
+    
+    @Test
+    public void testRoundTripBinary() {
+        byte[] bytes = new byte[] {0, 1, -1, 127};
+        Assert.assertArrayEquals(bytes, roundTrip(bytes, byte[].class));
+    }
+    
+    @Test
+    public void testEncodeSmallerThanJson() throws Exception {
+        ConfigBatchListenRequest request = new ConfigBatchListenRequest();
+        for (int i = 0; i < 100; i++) {
+            request.addConfigListenContext("DEFAULT_GROUP", "dataId" + i, "public", "md5" + i);
+        }
+        Assert.assertTrue(
+                GrpcBinaryCodec.encode(mapper, request).length < mapper.writeValueAsBytes(request).length);
+    }
+    
+    @Test(expected = NacosDeserializationException.class)
+    public void testDecodeTruncated() {
+        byte[] bytes = GrpcBinaryCodec.encode(mapper, new ServerCheckResponse("connectionId"));
+        GrpcBinaryCodec.decode(mapper, ByteBuffer.wrap(bytes, 0, bytes.length - 3), ServerCheckResponse.class);
+    }
+    
+    @Test(expected = NacosDeserializationException.class)
+    public void testDecodeUnknownTag() {
+        GrpcBinaryCodec.decode(mapper, ByteBuffer.wrap(new byte[] {127}), ServerCheckResponse.class);
+    }
+    
+    /**
+     * Writes cached json with {@code writeRawValue} like the naming push cache does.
+     */
+    private static class RawServiceInfo extends ServiceInfo implements JsonSerializable {
+        
+        private final SerializedString encoded;
+        
+        RawServiceInfo(ServiceInfo serviceInfo, String json) {
+            setName(serviceInfo.getName());
+            setGroupName(serviceInfo.getGroupName());
+            setHosts(serviceInfo.getHosts());
+            this.encoded = new SerializedString(json);
+        }
+        
+        @Override
+        public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeRawValue(encoded);
+        }
+        
+        @Override
+        public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+                throws IOException {
+            serialize(gen, serializers);
+        }
+    }
+    
+    private <T> T roundTrip(Object obj, Class<T> cls) {
+        byte[] bytes = GrpcBinaryCodec.encode(mapper, obj);
+        return GrpcBinaryCodec.decode(mapper, ByteBuffer.wrap(bytes).asReadOnlyBuffer(), cls);
+    }
+}
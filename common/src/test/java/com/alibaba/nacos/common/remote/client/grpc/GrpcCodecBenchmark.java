@@ -0,0 +1,100 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.common.remote.client.grpc;
+
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest;
+import com.alibaba.nacos.api.grpc.auto.Payload;
+import com.alibaba.nacos.api.remote.PayloadRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare json and binary payload body codec of {@link GrpcUtils}, run by {@link #main(String[])} in test scope.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GrpcCodecBenchmark {
+    
+    @Param({"1", "100", "1000"})
+    private int listenSize;
+    
+    private ConfigBatchListenRequest request;
+    
+    private Payload jsonPayload;
+    
+    private Payload binaryPayload;
+    
+    /**
+     * Build the listen request and the encoded payloads.
+     */
+    @Setup
+    public void setUp() {
+        PayloadRegistry.init();
+        request = new ConfigBatchListenRequest();
+        request.setListen(true);
+        for (int i = 0; i < listenSize; i++) {
+            request.addConfigListenContext("DEFAULT_GROUP", "dataId-" + i, "public", "2a9a4f46bc2e8d2a9fb7e2d8" + i);
+        }
+        jsonPayload = GrpcUtils.convert(request, false);
+        binaryPayload = GrpcUtils.convert(request, true);
+    }
+    
+    @Benchmark
+    public Payload encodeJson() {
+        return GrpcUtils.convert(request, false);
+    }
+    
+    @Benchmark
+    public Payload encodeBinary() {
+        return GrpcUtils.convert(request, true);
+    }
+    
+    @Benchmark
+    public Object decodeJson() {
+        return GrpcUtils.parse(jsonPayload);
+    }
+    
+    @Benchmark
+    public Object decodeBinary() {
+        return GrpcUtils.parse(binaryPayload);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(GrpcCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
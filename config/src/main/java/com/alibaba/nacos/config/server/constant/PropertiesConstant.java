@@ -59,4 +59,22 @@ public class PropertiesConstant {
     
     public static final String EMBEDDED_STORAGE = "embeddedStorage";
     
+    public static final String CONTENT_CACHE_MAX_BYTES = "contentCacheMaxBytes";
+    
+    public static final String CONTENT_CACHE_EVICTION_POLICY = "contentCacheEvictionPolicy";
+    
+    public static final String DUMP_ALL_PARALLELISM = "dumpAllParallelism";
+    
+    public static final String DUMP_ALL_PREFETCH_PAGES = "dumpAllPrefetchPages";
+    
+    public static final String EMBEDDED_STORAGE_GROUP_COMMIT = "embeddedStorageGroupCommit";
+    
+    public static final String EMBEDDED_STORAGE_GROUP_COMMIT_WINDOW_MS = "embeddedStorageGroupCommitWindowMs";
+    
+    public static final String EMBEDDED_STORAGE_GROUP_COMMIT_MAX_BATCH = "embeddedStorageGroupCommitMaxBatch";
+    
+    public static final String EMBEDDED_STORAGE_READ_CACHE_MAX_ENTRIES = "embeddedStorageReadCacheMaxEntries";
+    
+    public static final String EMBEDDED_STORAGE_READ_CACHE_MAX_RESULT_BYTES = "embeddedStorageReadCacheMaxResultBytes";
+    
 }
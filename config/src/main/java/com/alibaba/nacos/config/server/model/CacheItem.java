@@ -110,6 +110,14 @@ public class CacheItem {
         this.tagLastModifiedTs = tagLastModifiedTs;
     }
     
+    public CachedContent getCachedContent() {
+        return cachedContent;
+    }
+    
+    public void setCachedContent(CachedContent cachedContent) {
+        this.cachedContent = cachedContent;
+    }
+    
     public String getType() {
         return type;
     }
@@ -142,4 +150,9 @@ public class CacheItem {
     public SimpleReadWriteLock rwLock = new SimpleReadWriteLock();
     
     public String type;
+    
+    /**
+     * Cached formal content, {@code null} if content cache is disabled or the content is not cached.
+     */
+    public volatile CachedContent cachedContent;
 }
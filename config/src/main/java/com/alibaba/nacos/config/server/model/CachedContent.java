@@ -0,0 +1,83 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.model;
+
+/**
+ * Content cached in {@link CacheItem}, see {@link com.alibaba.nacos.config.server.service.ConfigContentCache}.
+ *
+ * @author Nacos
+ */
+public class CachedContent {
+    
+    private final String md5;
+    
+    private final String content;
+    
+    private final long bytes;
+    
+    private volatile long lastAccessTs;
+    
+    /**
+     * Not strictly counted under concurrent access, which is enough for LFU eviction.
+     */
+    private int accessCount;
+    
+    public CachedContent(String md5, String content, long bytes) {
+        this.md5 = md5;
+        this.content = content;
+        this.bytes = bytes;
+        this.lastAccessTs = System.currentTimeMillis();
+    }
+    
+    /**
+     * Record an access of content.
+     */
+    public void access() {
+        long now = System.currentTimeMillis();
+        if (now != lastAccessTs) {
+            lastAccessTs = now;
+        }
+        accessCount++;
+    }
+    
+    /**
+     * Halve the access count, so that contents frequently accessed long ago can be evicted.
+     */
+    public void decay() {
+        accessCount >>= 1;
+    }
+    
+    public String getMd5() {
+        return md5;
+    }
+    
+    public String getContent() {
+        return content;
+    }
+    
+    public long getBytes() {
+        return bytes;
+    }
+    
+    public long getLastAccessTs() {
+        return lastAccessTs;
+    }
+    
+    public int getAccessCount() {
+        return accessCount;
+    }
+}
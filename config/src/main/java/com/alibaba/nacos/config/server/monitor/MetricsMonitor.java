@@ -25,6 +25,8 @@ import io.micrometer.core.instrument.Timer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Metrics Monitor.
@@ -56,6 +58,26 @@ public class MetricsMonitor {
     
     private static AtomicInteger dumpTask = new AtomicInteger();
     
+    /**
+     * hit, miss and evicted count of config content cache.
+     */
+    private static LongAdder contentCacheHit = new LongAdder();
+    
+    private static LongAdder contentCacheMiss = new LongAdder();
+    
+    private static LongAdder contentCacheEvict = new LongAdder();
+    
+    private static AtomicLong contentCacheBytes = new AtomicLong();
+    
+    /**
+     * progress of the running or last dump all, configs read, dumped and failed.
+     */
+    private static AtomicLong dumpAllRead = new AtomicLong();
+    
+    private static AtomicLong dumpAllDumped = new AtomicLong();
+    
+    private static AtomicLong dumpAllFailed = new AtomicLong();
+    
     static {
         List<Tag> tags = new ArrayList<Tag>();
         tags.add(new ImmutableTag("module", "config"));
@@ -92,6 +114,46 @@ public class MetricsMonitor {
         tags.add(new ImmutableTag("name", "dumpTask"));
         
         Metrics.gauge("nacos_monitor", tags, dumpTask);
+        
+        tags = new ArrayList<Tag>();
+        tags.add(new ImmutableTag("module", "config"));
+        tags.add(new ImmutableTag("name", "contentCacheHit"));
+        Metrics.gauge("nacos_monitor", tags, contentCacheHit);
+        
+        tags = new ArrayList<Tag>();
+        tags.add(new ImmutableTag("module", "config"));
+        tags.add(new ImmutableTag("name", "contentCacheMiss"));
+        Metrics.gauge("nacos_monitor", tags, contentCacheMiss);
+        
+        tags = new ArrayList<Tag>();
+        tags.add(new ImmutableTag("module", "config"));
+        tags.add(new ImmutableTag("name", "contentCacheEvict"));
+        Metrics.gauge("nacos_monitor", tags, contentCacheEvict);
+        
+        tags = new ArrayList<Tag>();
+        tags.add(new ImmutableTag("module", "config"));
+        tags.add(new ImmutableTag("name", "contentCacheBytes"));
+        Metrics.gauge("nacos_monitor", tags, contentCacheBytes);
+        
+        tags = new ArrayList<Tag>();
+        tags.add(new ImmutableTag("module", "config"));
+        tags.add(new ImmutableTag("name", "contentCacheHitRatio"));
+        Metrics.gauge("nacos_monitor", tags, contentCacheHit, hit -> getContentCacheHitRatio());
+        
+        tags = new ArrayList<Tag>();
+        tags.add(new ImmutableTag("module", "config"));
+        tags.add(new ImmutableTag("name", "dumpAllRead"));
+        Metrics.gauge("nacos_monitor", tags, dumpAllRead);
+        
+        tags = new ArrayList<Tag>();
+        tags.add(new ImmutableTag("module", "config"));
+        tags.add(new ImmutableTag("name", "dumpAllDumped"));
+        Metrics.gauge("nacos_monitor", tags, dumpAllDumped);
+        
+        tags = new ArrayList<Tag>();
+        tags.add(new ImmutableTag("module", "config"));
+        tags.add(new ImmutableTag("name", "dumpAllFailed"));
+        Metrics.gauge("nacos_monitor", tags, dumpAllFailed);
     }
     
     public static AtomicInteger getConfigMonitor() {
@@ -122,10 +184,62 @@ public class MetricsMonitor {
         return dumpTask;
     }
     
+    public static LongAdder getContentCacheHitMonitor() {
+        return contentCacheHit;
+    }
+    
+    public static LongAdder getContentCacheMissMonitor() {
+        return contentCacheMiss;
+    }
+    
+    public static LongAdder getContentCacheEvictMonitor() {
+        return contentCacheEvict;
+    }
+    
+    public static AtomicLong getContentCacheBytesMonitor() {
+        return contentCacheBytes;
+    }
+    
+    public static AtomicLong getDumpAllReadMonitor() {
+        return dumpAllRead;
+    }
+    
+    public static AtomicLong getDumpAllDumpedMonitor() {
+        return dumpAllDumped;
+    }
+    
+    public static AtomicLong getDumpAllFailedMonitor() {
+        return dumpAllFailed;
+    }
+    
+    /**
+     * Reset the progress of dump all when a new dump all starts.
+     */
+    public static void resetDumpAllProgress() {
+        dumpAllRead.set(0);
+        dumpAllDumped.set(0);
+        dumpAllFailed.set(0);
+    }
+    
+    /**
+     * Get hit ratio of config content cache since started.
+     *
+     * @return hit ratio, 0 if never accessed
+     */
+    public static double getContentCacheHitRatio() {
+        long hit = contentCacheHit.sum();
+        long total = hit + contentCacheMiss.sum();
+        return 0 == total ? 0D : (double) hit / total;
+    }
+    
     public static Timer getNotifyRtTimer() {
         return Metrics.timer("nacos_timer", "module", "config", "name", "notifyRt");
     }
     
+    public static Timer getDumpAllTimer() {
+        return Metrics.timer("nacos_timer", "module", "config", "name", "dumpAllRt");
+    }
+    
     public static Counter getIllegalArgumentException() {
         return Metrics.counter("nacos_exception", "module", "config", "name", "illegalArgument");
     }
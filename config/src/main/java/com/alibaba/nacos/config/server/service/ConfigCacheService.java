@@ -35,6 +35,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.HashMap;
 import java.util.Map.Entry;
@@ -78,6 +79,15 @@ public class ConfigCacheService {
         return CACHE.size();
     }
     
+    /**
+     * Get all cache items.
+     *
+     * @return unmodifiable view of all cache items
+     */
+    public static Collection<CacheItem> getAllCacheItems() {
+        return Collections.unmodifiableCollection(CACHE.values());
+    }
+    
     public static boolean hasGroupKey(String groupKey) {
         return CACHE.containsKey(groupKey);
     }
@@ -121,6 +131,7 @@ public class ConfigCacheService {
                 DiskUtil.saveToDisk(dataId, group, tenant, content);
             }
             updateMd5(groupKey, md5, lastModifiedTs);
+            ConfigContentCache.put(ci, md5, content);
             return true;
         } catch (IOException ioe) {
             DUMP_LOG.error("[dump-exception] save disk error. " + groupKey + ", " + ioe.toString(), ioe);
@@ -242,7 +253,7 @@ public class ConfigCacheService {
     public static boolean dumpChange(String dataId, String group, String tenant, String content, long lastModifiedTs) {
         final String groupKey = GroupKey2.getKey(dataId, group, tenant);
         
-        makeSure(groupKey);
+        CacheItem ci = makeSure(groupKey);
         final int lockResult = tryWriteLock(groupKey);
         assert (lockResult != 0);
         
@@ -264,6 +275,7 @@ public class ConfigCacheService {
                 }
             }
             updateMd5(groupKey, md5, lastModifiedTs);
+            ConfigContentCache.put(ci, md5, content);
             return true;
         } catch (IOException ioe) {
             DUMP_LOG.error("[dump-exception] save disk error. " + groupKey + ", " + ioe.toString(), ioe);
@@ -391,7 +403,7 @@ public class ConfigCacheService {
             if (!PropertyUtil.isDirectRead()) {
                 DiskUtil.removeConfigInfo(dataId, group, tenant);
             }
-            CACHE.remove(groupKey);
+            ConfigContentCache.remove(CACHE.remove(groupKey));
             NotifyCenter.publishEvent(new LocalDataChangeEvent(groupKey));
             
             return true;
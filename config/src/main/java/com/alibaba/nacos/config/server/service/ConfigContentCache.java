@@ -0,0 +1,234 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.config.server.constant.Constants;
+import com.alibaba.nacos.config.server.model.CacheItem;
+import com.alibaba.nacos.config.server.model.CachedContent;
+import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Config content cache, which keeps the formal content in {@link CacheItem} to serve queries without reading disk or
+ * database.
+ *
+ * <p>The content is cached when dumped and when read by query after evicted. It is only served when its md5 is the
+ * same as the md5 of cache item. The total bytes are bounded by {@link PropertyUtil#getContentCacheMaxBytes()}, when
+ * exceeded the least recently used or least frequently used contents are evicted until 90 percent of the bound.
+ *
+ * @author Nacos
+ */
+public class ConfigContentCache {
+    
+    private static final String POLICY_LFU = "lfu";
+    
+    /**
+     * Estimated bytes of cached content object and string header, the chars are counted as 2 bytes each.
+     */
+    private static final int ENTRY_OVERHEAD = 64;
+    
+    private static final double EVICT_TARGET_RATIO = 0.9D;
+    
+    private static final ConcurrentHashMap<String, CacheItem> CACHED_ITEMS = new ConcurrentHashMap<>();
+    
+    private static final AtomicLong USED_BYTES = new AtomicLong();
+    
+    private static final ReentrantLock EVICT_LOCK = new ReentrantLock();
+    
+    public static boolean isEnabled() {
+        return PropertyUtil.getContentCacheMaxBytes() > 0;
+    }
+    
+    /**
+     * Get cached content of cache item.
+     *
+     * @param item cache item
+     * @return content, {@code null} if not cached or the cached content is outdated
+     */
+    public static String get(CacheItem item) {
+        if (!isEnabled()) {
+            return null;
+        }
+        CachedContent cached = item.getCachedContent();
+        if (null != cached && cached.getMd5().equals(item.getMd5())) {
+            cached.access();
+            MetricsMonitor.getContentCacheHitMonitor().increment();
+            return cached.getContent();
+        }
+        MetricsMonitor.getContentCacheMissMonitor().increment();
+        return null;
+    }
+    
+    /**
+     * Cache content of cache item, ignored if the md5 is not the same as the md5 of cache item.
+     *
+     * @param item    cache item
+     * @param md5     md5 of content
+     * @param content content
+     */
+    public static void put(CacheItem item, String md5, String content) {
+        if (!isEnabled() || null == content || !md5.equals(item.getMd5())) {
+            return;
+        }
+        long bytes = content.length() * 2L + ENTRY_OVERHEAD;
+        if (bytes > PropertyUtil.getContentCacheMaxBytes()) {
+            remove(item);
+            return;
+        }
+        synchronized (item) {
+            CachedContent previous = item.getCachedContent();
+            if (null != previous && previous.getMd5().equals(md5)) {
+                return;
+            }
+            item.setCachedContent(new CachedContent(md5, content, bytes));
+            CACHED_ITEMS.put(item.getGroupKey(), item);
+            updateUsedBytes(null == previous ? bytes : bytes - previous.getBytes());
+        }
+        if (USED_BYTES.get() > PropertyUtil.getContentCacheMaxBytes()) {
+            evict();
+        }
+    }
+    
+    /**
+     * Cache content loaded by query when not cached. The md5 is calculated to make sure that the content is not changed
+     * after the md5 of cache item is updated.
+     *
+     * @param item    cache item
+     * @param content content loaded from disk or database
+     */
+    public static void putLoaded(CacheItem item, String content) {
+        if (!isEnabled() || null == content) {
+            return;
+        }
+        put(item, MD5Utils.md5Hex(content, Constants.ENCODE), content);
+    }
+    
+    /**
+     * Remove cached content of cache item.
+     *
+     * @param item cache item, ignored if {@code null}
+     */
+    public static void remove(CacheItem item) {
+        if (null == item) {
+            return;
+        }
+        synchronized (item) {
+            CachedContent previous = item.getCachedContent();
+            if (null == previous) {
+                return;
+            }
+            item.setCachedContent(null);
+            CACHED_ITEMS.remove(item.getGroupKey(), item);
+            updateUsedBytes(-previous.getBytes());
+        }
+    }
+    
+    public static long getUsedBytes() {
+        return USED_BYTES.get();
+    }
+    
+    public static int size() {
+        return CACHED_ITEMS.size();
+    }
+    
+    private static void updateUsedBytes(long delta) {
+        MetricsMonitor.getContentCacheBytesMonitor().set(USED_BYTES.addAndGet(delta));
+    }
+    
+    private static void evict() {
+        if (!EVICT_LOCK.tryLock()) {
+            return;
+        }
+        try {
+            long target = (long) (PropertyUtil.getContentCacheMaxBytes() * EVICT_TARGET_RATIO);
+            boolean lfu = POLICY_LFU.equalsIgnoreCase(PropertyUtil.getContentCacheEvictionPolicy());
+            // Snapshot the access info, which is changed by queries during sorting.
+            List<EvictCandidate> candidates = new ArrayList<>(CACHED_ITEMS.size());
+            for (CacheItem each : CACHED_ITEMS.values()) {
+                CachedContent cached = each.getCachedContent();
+                if (null != cached) {
+                    candidates.add(new EvictCandidate(each, cached));
+                }
+            }
+            candidates.sort(lfu ? EvictCandidate.LFU_ORDER : EvictCandidate.LRU_ORDER);
+            int evicted = 0;
+            for (EvictCandidate each : candidates) {
+                if (USED_BYTES.get() <= target) {
+                    break;
+                }
+                if (evictIfSame(each.item, each.cached)) {
+                    evicted++;
+                }
+            }
+            if (lfu) {
+                for (CacheItem each : CACHED_ITEMS.values()) {
+                    CachedContent cached = each.getCachedContent();
+                    if (null != cached) {
+                        cached.decay();
+                    }
+                }
+            }
+            MetricsMonitor.getContentCacheEvictMonitor().add(evicted);
+        } finally {
+            EVICT_LOCK.unlock();
+        }
+    }
+    
+    private static boolean evictIfSame(CacheItem item, CachedContent cached) {
+        synchronized (item) {
+            if (item.getCachedContent() != cached) {
+                return false;
+            }
+            item.setCachedContent(null);
+            CACHED_ITEMS.remove(item.getGroupKey(), item);
+            updateUsedBytes(-cached.getBytes());
+            return true;
+        }
+    }
+    
+    private static class EvictCandidate {
+        
+        private static final Comparator<EvictCandidate> LRU_ORDER = Comparator
+                .comparingLong(candidate -> candidate.lastAccessTs);
+        
+        private static final Comparator<EvictCandidate> LFU_ORDER = Comparator
+                .<EvictCandidate>comparingInt(candidate -> candidate.accessCount).thenComparing(LRU_ORDER);
+        
+        private final CacheItem item;
+        
+        private final CachedContent cached;
+        
+        private final long lastAccessTs;
+        
+        private final int accessCount;
+        
+        private EvictCandidate(CacheItem item, CachedContent cached) {
+            this.item = item;
+            this.cached = cached;
+            this.lastAccessTs = cached.getLastAccessTs();
+            this.accessCount = cached.getAccessCount();
+        }
+    }
+}
@@ -29,6 +29,8 @@ import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
 import com.alibaba.nacos.config.server.model.Page;
 import com.alibaba.nacos.config.server.service.ConfigCacheService;
 import com.alibaba.nacos.config.server.service.datasource.DynamicDataSource;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigMd5Snapshot;
 import com.alibaba.nacos.config.server.service.dump.processor.DumpAllBetaProcessor;
 import com.alibaba.nacos.config.server.service.dump.processor.DumpAllProcessor;
 import com.alibaba.nacos.config.server.service.dump.processor.DumpAllTagProcessor;
@@ -102,10 +104,23 @@ public abstract class DumpService {
      */
     static final int INITIAL_DELAY_IN_MINUTE = 6 * 60;
     
+    /**
+     * config md5 snapshot interval.
+     */
+    static final int SNAPSHOT_INTERVAL_IN_MINUTE = 10;
+    
+    /**
+     * configs modified within the margin before the snapshot watermark are dumped again, for the configs saved by
+     * other nodes with clock skew or notified late.
+     */
+    static final long SNAPSHOT_WATERMARK_MARGIN = TimeUnit.HOURS.toMillis(1);
+    
     private TaskManager dumpTaskMgr;
     
     private TaskManager dumpAllTaskMgr;
     
+    private final ConfigMd5Snapshot md5Snapshot;
+    
     static final AtomicInteger FINISHED = new AtomicInteger();
     
     static final int INIT_THREAD_COUNT = 10;
@@ -145,6 +160,7 @@ public abstract class DumpService {
         this.dumpAllTaskMgr.addProcessor(DumpAllTask.TASK_ID, dumpAllProcessor);
         this.dumpAllTaskMgr.addProcessor(DumpAllBetaTask.TASK_ID, dumpAllBetaProcessor);
         this.dumpAllTaskMgr.addProcessor(DumpAllTagTask.TASK_ID, dumpAllTagProcessor);
+        this.md5Snapshot = new ConfigMd5Snapshot(DiskUtil.md5SnapshotFile());
         
         DynamicDataSource.getInstance().getDataSource();
     }
@@ -262,6 +278,17 @@ public abstract class DumpService {
             }
             
             ConfigExecutor.scheduleConfigTask(clearConfigHistory, 10, 10, TimeUnit.MINUTES);
+            
+            if (isQuickStart) {
+                Runnable saveMd5Snapshot = () -> {
+                    try {
+                        md5Snapshot.save();
+                    } catch (Throwable e) {
+                        LOGGER.error("save config md5 snapshot error : {}", e.toString());
+                    }
+                };
+                ConfigExecutor.scheduleConfigTask(saveMd5Snapshot, 0, SNAPSHOT_INTERVAL_IN_MINUTE, TimeUnit.MINUTES);
+            }
         } finally {
             TimerContext.end(dumpFileContext, LogUtil.DUMP_LOG);
         }
@@ -270,31 +297,42 @@ public abstract class DumpService {
     
     private void dumpConfigInfo(DumpAllProcessor dumpAllProcessor) throws IOException {
         int timeStep = 6;
-        boolean isAllDump = true;
-        // initial dump all
+        // configs changed after the start time are dumped, or dump all configs if null.
+        Timestamp startTime = null;
+        boolean md5Restored = false;
         FileInputStream fis = null;
-        Timestamp heartheatLastStamp = null;
         try {
-            if (isQuickStart()) {
-                File heartbeatFile = DiskUtil.heartBeatFile();
-                if (heartbeatFile.exists()) {
-                    fis = new FileInputStream(heartbeatFile);
-                    String heartheatTempLast = IoUtils.toString(fis, Constants.ENCODE);
-                    heartheatLastStamp = Timestamp.valueOf(heartheatTempLast);
-                    if (TimeUtils.getCurrentTime().getTime() - heartheatLastStamp.getTime()
-                            < timeStep * 60 * 60 * 1000) {
-                        isAllDump = false;
+            // Content dumped by another disk type can't be reused.
+            if (isQuickStart() && !ConfigDiskServiceFactory.isTypeChanged()) {
+                // Deleted configs are found in history, so snapshot older than the history retention can't be used.
+                long watermark = md5Snapshot.restore(TimeUnit.DAYS.toMillis(getRetentionDays()));
+                if (ConfigMd5Snapshot.NO_SNAPSHOT != watermark) {
+                    md5Restored = true;
+                    startTime = new Timestamp(watermark - SNAPSHOT_WATERMARK_MARGIN);
+                } else {
+                    File heartbeatFile = DiskUtil.heartBeatFile();
+                    if (heartbeatFile.exists()) {
+                        fis = new FileInputStream(heartbeatFile);
+                        String heartheatTempLast = IoUtils.toString(fis, Constants.ENCODE);
+                        Timestamp heartheatLastStamp = Timestamp.valueOf(heartheatTempLast);
+                        if (TimeUtils.getCurrentTime().getTime() - heartheatLastStamp.getTime()
+                                < timeStep * 60 * 60 * 1000) {
+                            startTime = getBeforeStamp(heartheatLastStamp, timeStep);
+                        }
                     }
                 }
             }
-            if (isAllDump) {
+            if (null == startTime) {
                 LogUtil.DEFAULT_LOG.info("start clear all config-info.");
+                // The snapshot doesn't match the content on disk any more.
+                md5Snapshot.delete();
                 DiskUtil.clearAll();
-                dumpAllProcessor.process(new DumpAllTask());
+                if (dumpAllProcessor.process(new DumpAllTask())) {
+                    ConfigDiskServiceFactory.commitTypeMarker();
+                }
             } else {
-                Timestamp beforeTimeStamp = getBeforeStamp(heartheatLastStamp, timeStep);
-                DumpChangeProcessor dumpChangeProcessor = new DumpChangeProcessor(this, beforeTimeStamp,
-                        TimeUtils.getCurrentTime());
+                DumpChangeProcessor dumpChangeProcessor = new DumpChangeProcessor(this, startTime,
+                        TimeUtils.getCurrentTime(), !md5Restored);
                 dumpChangeProcessor.process(new DumpChangeTask());
                 Runnable checkMd5Task = () -> {
                     LogUtil.DEFAULT_LOG.error("start checkMd5Task");
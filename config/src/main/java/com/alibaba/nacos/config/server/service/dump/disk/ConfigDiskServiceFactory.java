@@ -0,0 +1,137 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.dump.disk;
+
+import com.alibaba.nacos.config.server.constant.Constants;
+import com.alibaba.nacos.config.server.utils.LogUtil;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Factory of {@link ConfigDiskService}.
+ *
+ * <p>The type is chosen by {@code nacos.config.disk.type}: {@code file} (default) saves every config to its own file,
+ * {@code mmap} appends configs to memory mapped segment files, see {@link ConfigMmapDiskService}.
+ *
+ * @author Nacos
+ */
+public class ConfigDiskServiceFactory {
+    
+    public static final String DISK_TYPE = "nacos.config.disk.type";
+    
+    public static final String DISK_SEGMENT_SIZE = "nacos.config.disk.mmap.segment-size";
+    
+    public static final String TYPE_FILE = "file";
+    
+    public static final String TYPE_MMAP = "mmap";
+    
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    
+    private static final String MMAP_BASE_DIR = File.separator + "data" + File.separator + "config-store";
+    
+    private static final String TYPE_MARKER_FILE = File.separator + "data" + File.separator + "config-disk.type";
+    
+    private static volatile ConfigDiskService configDiskService;
+    
+    private static volatile boolean typeChanged;
+    
+    public static ConfigDiskService getInstance() {
+        if (null == configDiskService) {
+            synchronized (ConfigDiskServiceFactory.class) {
+                if (null == configDiskService) {
+                    configDiskService = createConfigDiskService();
+                    typeChanged = checkTypeChanged(configDiskService);
+                }
+            }
+        }
+        return configDiskService;
+    }
+    
+    /**
+     * Whether the disk type is different from last running. The content saved by last running can't be reused and all
+     * configs should be dumped again if changed.
+     *
+     * @return {@code true} if disk type changed
+     */
+    public static boolean isTypeChanged() {
+        getInstance();
+        return typeChanged;
+    }
+    
+    /**
+     * Record the current disk type after all configs are dumped by it. Until then, the disk type is still treated as
+     * changed by next running, so the content partly dumped is never reused.
+     */
+    public static void commitTypeMarker() {
+        getInstance();
+        if (!typeChanged) {
+            return;
+        }
+        String type = getType(configDiskService);
+        try {
+            FileUtils.writeStringToFile(new File(EnvUtil.getNacosHome(), TYPE_MARKER_FILE), type, Constants.ENCODE);
+            typeChanged = false;
+        } catch (IOException e) {
+            LogUtil.FATAL_LOG.error("[config-disk] commit disk type marker failed.", e);
+        }
+    }
+    
+    private static ConfigDiskService createConfigDiskService() {
+        if (null == EnvUtil.getEnvironment()) {
+            return new ConfigRawDiskService();
+        }
+        String type = EnvUtil.getProperty(DISK_TYPE, TYPE_FILE);
+        if (TYPE_MMAP.equalsIgnoreCase(type)) {
+            File baseDir = new File(EnvUtil.getNacosHome(), MMAP_BASE_DIR);
+            int segmentSize = EnvUtil.getProperty(DISK_SEGMENT_SIZE, Integer.class, DEFAULT_SEGMENT_SIZE);
+            try {
+                ConfigDiskService result = new ConfigMmapDiskService(baseDir, segmentSize);
+                LogUtil.DEFAULT_LOG.info("[config-disk] use mmap config disk service, base dir {}", baseDir);
+                return result;
+            } catch (Exception e) {
+                LogUtil.FATAL_LOG.error("[config-disk] init mmap config disk service failed, use file instead.", e);
+            }
+        }
+        return new ConfigRawDiskService();
+    }
+    
+    private static boolean checkTypeChanged(ConfigDiskService configDiskService) {
+        if (null == EnvUtil.getEnvironment()) {
+            return false;
+        }
+        String type = getType(configDiskService);
+        File marker = new File(EnvUtil.getNacosHome(), TYPE_MARKER_FILE);
+        try {
+            // Content saved before the marker is introduced is always saved by file.
+            String lastType = marker.exists() ? FileUtils.readFileToString(marker, Constants.ENCODE).trim() : TYPE_FILE;
+            if (type.equals(lastType)) {
+                return false;
+            }
+        } catch (IOException e) {
+            LogUtil.FATAL_LOG.error("[config-disk] read disk type marker failed.", e);
+        }
+        LogUtil.DEFAULT_LOG.warn("[config-disk] config disk type changed to {}", type);
+        return true;
+    }
+    
+    private static String getType(ConfigDiskService configDiskService) {
+        return configDiskService instanceof ConfigMmapDiskService ? TYPE_MMAP : TYPE_FILE;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service.dump.disk;
+
+import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.config.server.constant.Constants;
+import com.alibaba.nacos.config.server.model.CacheItem;
+import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.utils.LogUtil;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Local snapshot of the config md5 index.
+ *
+ * <p>The snapshot saves the md5, last modified time and type of every formal config, with the max last modified time
+ * as watermark. The content is kept by {@link ConfigDiskService} already, so a restarted node could restore the md5
+ * index from the snapshot and only dump the configs changed after the watermark, instead of dumping all configs.
+ *
+ * @author Nacos
+ */
+public class ConfigMd5Snapshot {
+    
+    /**
+     * Returned by {@link #restore(long)} if there is no usable snapshot.
+     */
+    public static final long NO_SNAPSHOT = -1L;
+    
+    private static final int MAGIC = 0x4e43534e;
+    
+    private static final int VERSION = 1;
+    
+    private final File file;
+    
+    public ConfigMd5Snapshot(File file) {
+        this.file = file;
+    }
+    
+    /**
+     * Save the md5 index of all formal configs in {@link ConfigCacheService}. The snapshot is written to a temp file
+     * and then moved, so a broken save never replaces the last snapshot.
+     *
+     * @return the watermark of the saved snapshot
+     * @throws IOException if write snapshot failed
+     */
+    public long save() throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (!parent.exists() && !parent.mkdirs() && !parent.exists()) {
+            throw new IOException("create snapshot dir failed: " + parent);
+        }
+        List<Entry> entries = new ArrayList<>(ConfigCacheService.groupCount());
+        long watermark = 0;
+        for (CacheItem item : ConfigCacheService.getAllCacheItems()) {
+            String md5 = item.getMd5();
+            // items only for beta or tag have no formal md5.
+            if (StringUtils.isEmpty(md5) || Constants.NULL.equals(md5)) {
+                continue;
+            }
+            long lastModifiedTs = item.getLastModifiedTs();
+            entries.add(new Entry(item.getGroupKey(), md5, lastModifiedTs, item.getType()));
+            watermark = Math.max(watermark, lastModifiedTs);
+        }
+        File temp = new File(parent, file.getName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (FileOutputStream fos = new FileOutputStream(temp)) {
+            BufferedOutputStream buffer = new BufferedOutputStream(fos);
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(buffer, crc));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeLong(watermark);
+            out.writeInt(entries.size());
+            for (Entry entry : entries) {
+                out.writeUTF(entry.groupKey);
+                out.writeUTF(entry.md5);
+                out.writeLong(entry.lastModifiedTs);
+                out.writeUTF(null == entry.type ? StringUtils.EMPTY : entry.type);
+            }
+            out.flush();
+            // the checksum is written to the buffer directly, so it doesn't cover itself.
+            DataOutputStream tail = new DataOutputStream(buffer);
+            tail.writeLong(crc.getValue());
+            tail.flush();
+            fos.getFD().sync();
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LogUtil.DEFAULT_LOG.info("[config-snapshot] saved {} configs, watermark={}", entries.size(), watermark);
+        return watermark;
+    }
+    
+    /**
+     * Restore the md5 index into {@link ConfigCacheService} from the snapshot.
+     *
+     * @param maxAge snapshot saved before {@code maxAge} milliseconds is not used
+     * @return the watermark of the snapshot, or {@link #NO_SNAPSHOT} if there is no usable snapshot
+     */
+    public long restore(long maxAge) {
+        if (!file.exists()) {
+            return NO_SNAPSHOT;
+        }
+        List<Entry> entries;
+        long watermark;
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(
+                new CheckedInputStream(new BufferedInputStream(new FileInputStream(file)), crc))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                LogUtil.DEFAULT_LOG.warn("[config-snapshot] unknown snapshot format, ignore {}", file);
+                return NO_SNAPSHOT;
+            }
+            long savedTime = in.readLong();
+            if (System.currentTimeMillis() - savedTime > maxAge) {
+                LogUtil.DEFAULT_LOG.warn("[config-snapshot] snapshot saved at {} is expired, ignore", savedTime);
+                return NO_SNAPSHOT;
+            }
+            watermark = in.readLong();
+            int size = in.readInt();
+            entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                entries.add(new Entry(in.readUTF(), in.readUTF(), in.readLong(), in.readUTF()));
+            }
+            long expected = crc.getValue();
+            if (in.readLong() != expected) {
+                LogUtil.DEFAULT_LOG.warn("[config-snapshot] snapshot checksum mismatch, ignore {}", file);
+                return NO_SNAPSHOT;
+            }
+        } catch (IOException e) {
+            LogUtil.DEFAULT_LOG.warn("[config-snapshot] read snapshot failed, ignore {}", file, e);
+            return NO_SNAPSHOT;
+        }
+        // apply after the whole snapshot is verified, so a broken snapshot never restores a part of configs.
+        for (Entry entry : entries) {
+            ConfigCacheService.updateMd5(entry.groupKey, entry.md5, entry.lastModifiedTs);
+            if (StringUtils.isNotEmpty(entry.type)) {
+                CacheItem item = ConfigCacheService.getContentCache(entry.groupKey);
+                if (null != item) {
+                    item.setType(entry.type);
+                }
+            }
+        }
+        LogUtil.DEFAULT_LOG.info("[config-snapshot] restored {} configs, watermark={}", entries.size(), watermark);
+        return watermark;
+    }
+    
+    /**
+     * Delete the snapshot, the snapshot is not consistent with the content on disk any more.
+     */
+    public void delete() {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            LogUtil.DEFAULT_LOG.warn("[config-snapshot] delete snapshot failed, {}", file, e);
+        }
+    }
+    
+    private static class Entry {
+        
+        private final String groupKey;
+        
+        private final String md5;
+        
+        private final long lastModifiedTs;
+        
+        private final String type;
+        
+        Entry(String groupKey, String md5, long lastModifiedTs, String type) {
+            this.groupKey = groupKey;
+            this.md5 = md5;
+            this.lastModifiedTs = lastModifiedTs;
+            this.type = type;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.dump.disk;
+
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.config.server.utils.LogUtil;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Config disk service which saves config content into memory mapped segment files, see {@link MappedContentStore}.
+ *
+ * <p>Formal, beta and tag configs are saved in different stores, so that each of them can be cleared by dropping the
+ * segment files directly before dumping all.
+ *
+ * @author Nacos
+ */
+public class ConfigMmapDiskService implements ConfigDiskService {
+    
+    private final MappedContentStore formalStore;
+    
+    private final MappedContentStore betaStore;
+    
+    private final MappedContentStore tagStore;
+    
+    public ConfigMmapDiskService(File baseDir, int segmentSize) throws IOException {
+        this.formalStore = new MappedContentStore(new File(baseDir, "formal"), segmentSize);
+        this.betaStore = new MappedContentStore(new File(baseDir, "beta"), segmentSize);
+        this.tagStore = new MappedContentStore(new File(baseDir, "tag"), segmentSize);
+    }
+    
+    @Override
+    public void saveToDisk(String dataId, String group, String tenant, String content) throws IOException {
+        formalStore.put(GroupKey2.getKey(dataId, group, tenant), content);
+    }
+    
+    @Override
+    public void saveBetaToDisk(String dataId, String group, String tenant, String content) throws IOException {
+        betaStore.put(GroupKey2.getKey(dataId, group, tenant), content);
+    }
+    
+    @Override
+    public void saveTagToDisk(String dataId, String group, String tenant, String tag, String content)
+            throws IOException {
+        tagStore.put(tagKey(dataId, group, tenant, tag), content);
+    }
+    
+    @Override
+    public void removeConfigInfo(String dataId, String group, String tenant) {
+        remove(formalStore, GroupKey2.getKey(dataId, group, tenant));
+    }
+    
+    @Override
+    public void removeConfigInfo4Beta(String dataId, String group, String tenant) {
+        remove(betaStore, GroupKey2.getKey(dataId, group, tenant));
+    }
+    
+    @Override
+    public void removeConfigInfo4Tag(String dataId, String group, String tenant, String tag) {
+        remove(tagStore, tagKey(dataId, group, tenant, tag));
+    }
+    
+    @Override
+    public String getContent(String dataId, String group, String tenant) {
+        return formalStore.get(GroupKey2.getKey(dataId, group, tenant));
+    }
+    
+    @Override
+    public String getBetaContent(String dataId, String group, String tenant) {
+        return betaStore.get(GroupKey2.getKey(dataId, group, tenant));
+    }
+    
+    @Override
+    public String getTagContent(String dataId, String group, String tenant, String tag) {
+        return tagStore.get(tagKey(dataId, group, tenant, tag));
+    }
+    
+    @Override
+    public void clearAll() {
+        clear(formalStore, "config-info");
+    }
+    
+    @Override
+    public void clearAllBeta() {
+        clear(betaStore, "config-info-beta");
+    }
+    
+    @Override
+    public void clearAllTag() {
+        clear(tagStore, "config-info-tag");
+    }
+    
+    private static String tagKey(String dataId, String group, String tenant, String tag) {
+        // Tag is escaped as part of a group key, so that different tags of different configs never conflict.
+        return GroupKey2.getKey(GroupKey2.getKey(dataId, group, tenant), tag);
+    }
+    
+    private static void remove(MappedContentStore store, String key) {
+        try {
+            store.remove(key);
+        } catch (IOException e) {
+            LogUtil.FATAL_LOG.error("[config-disk] remove config content failed, key " + key, e);
+        }
+    }
+    
+    private static void clear(MappedContentStore store, String name) {
+        try {
+            store.clear();
+            LogUtil.DEFAULT_LOG.info("clear all {} success.", name);
+        } catch (IOException e) {
+            LogUtil.DEFAULT_LOG.warn("clear all {} failed.", name, e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.dump.disk;
+
+import com.alibaba.nacos.config.server.constant.Constants;
+import com.alibaba.nacos.config.server.utils.DiskUtil;
+import com.alibaba.nacos.config.server.utils.LogUtil;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+/**
+ * Config disk service which saves every config content to its own file.
+ *
+ * @author Nacos
+ */
+public class ConfigRawDiskService implements ConfigDiskService {
+    
+    @Override
+    public void saveToDisk(String dataId, String group, String tenant, String content) throws IOException {
+        File targetFile = DiskUtil.targetFile(dataId, group, tenant);
+        // 用户目录下的 \nacos\data\config-data\DEFAULT_GROUP\xxxxx.yml
+        FileUtils.writeStringToFile(targetFile, content, Constants.ENCODE);
+    }
+    
+    @Override
+    public void saveBetaToDisk(String dataId, String group, String tenant, String content) throws IOException {
+        File targetFile = DiskUtil.targetBetaFile(dataId, group, tenant);
+        FileUtils.writeStringToFile(targetFile, content, Constants.ENCODE);
+    }
+    
+    @Override
+    public void saveTagToDisk(String dataId, String group, String tenant, String tag, String content)
+            throws IOException {
+        File targetFile = DiskUtil.targetTagFile(dataId, group, tenant, tag);
+        FileUtils.writeStringToFile(targetFile, content, Constants.ENCODE);
+    }
+    
+    @Override
+    public void removeConfigInfo(String dataId, String group, String tenant) {
+        FileUtils.deleteQuietly(DiskUtil.targetFile(dataId, group, tenant));
+    }
+    
+    @Override
+    public void removeConfigInfo4Beta(String dataId, String group, String tenant) {
+        FileUtils.deleteQuietly(DiskUtil.targetBetaFile(dataId, group, tenant));
+    }
+    
+    @Override
+    public void removeConfigInfo4Tag(String dataId, String group, String tenant, String tag) {
+        FileUtils.deleteQuietly(DiskUtil.targetTagFile(dataId, group, tenant, tag));
+    }
+    
+    @Override
+    public String getContent(String dataId, String group, String tenant) throws IOException {
+        return readFile(DiskUtil.targetFile(dataId, group, tenant));
+    }
+    
+    @Override
+    public String getBetaContent(String dataId, String group, String tenant) throws IOException {
+        return readFile(DiskUtil.targetBetaFile(dataId, group, tenant));
+    }
+    
+    @Override
+    public String getTagContent(String dataId, String group, String tenant, String tag) throws IOException {
+        return readFile(DiskUtil.targetTagFile(dataId, group, tenant, tag));
+    }
+    
+    private String readFile(File file) throws IOException {
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            return FileUtils.readFileToString(file, Constants.ENCODE);
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+    }
+    
+    @Override
+    public void clearAll() {
+        clearDir(DiskUtil.BASE_DIR, "config-info");
+        clearDir(DiskUtil.TENANT_BASE_DIR, "config-info-tenant");
+    }
+    
+    @Override
+    public void clearAllBeta() {
+        clearDir(DiskUtil.BETA_DIR, "config-info-beta");
+        clearDir(DiskUtil.TENANT_BETA_DIR, "config-info-beta-tenant");
+    }
+    
+    @Override
+    public void clearAllTag() {
+        clearDir(DiskUtil.TAG_DIR, "config-info-tag");
+        clearDir(DiskUtil.TENANT_TAG_DIR, "config-info-tag-tenant");
+    }
+    
+    private void clearDir(String dir, String name) {
+        File file = new File(EnvUtil.getNacosHome(), dir);
+        if (FileUtils.deleteQuietly(file)) {
+            LogUtil.DEFAULT_LOG.info("clear all {} success.", name);
+        } else {
+            LogUtil.DEFAULT_LOG.warn("clear all {} failed.", name);
+        }
+    }
+}
@@ -0,0 +1,356 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.dump.disk;
+
+import com.alibaba.nacos.config.server.utils.LogUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only key value store based on memory mapped segment files.
+ *
+ * <p>Every put or remove appends a record to the active segment and updates the in-memory offset index, so a full
+ * dump is a sequential write into a few large files instead of creating one small file per config. Reads are lock
+ * free and decode the value from the mapped segment directly.
+ *
+ * <p>Record layout: {@code magic(4) | crc32(4) | type(1) | keyLength(4) | valueLength(4) | key | value}, the crc covers
+ * all bytes after itself. When opened, segments are replayed in order and the replay of a segment stops at the first
+ * broken record, which is the torn tail written when crashed. The rest of that segment is zeroed and reused.
+ *
+ * <p>When the garbage bytes exceed the live bytes and one segment size, live records are copied to new segments and the
+ * old segments are deleted in order, so that an old put can never revive after a newer remove is deleted.
+ *
+ * @author Nacos
+ */
+class MappedContentStore {
+    
+    private static final int RECORD_MAGIC = 0x4E43534D;
+    
+    private static final int HEADER_SIZE = 17;
+    
+    private static final int CRC_OFFSET = 8;
+    
+    private static final byte TYPE_PUT = 1;
+    
+    private static final byte TYPE_REMOVE = 2;
+    
+    private static final String SEGMENT_SUFFIX = ".seg";
+    
+    private final File baseDir;
+    
+    private final int segmentSize;
+    
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    
+    private final ReentrantLock writeLock = new ReentrantLock();
+    
+    private final List<Segment> segments = new ArrayList<>();
+    
+    private Segment active;
+    
+    private long nextSegmentId;
+    
+    private long liveBytes;
+    
+    private long totalBytes;
+    
+    MappedContentStore(File baseDir, int segmentSize) throws IOException {
+        this.baseDir = baseDir;
+        this.segmentSize = segmentSize;
+        if (!baseDir.exists() && !baseDir.mkdirs()) {
+            throw new IOException("create dir failed: " + baseDir);
+        }
+        recover();
+    }
+    
+    private void recover() throws IOException {
+        File[] files = baseDir.listFiles((dir, name) -> name.endsWith(SEGMENT_SUFFIX));
+        long[] ids = new long[null == files ? 0 : files.length];
+        for (int i = 0; i < ids.length; i++) {
+            String name = files[i].getName();
+            ids[i] = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        }
+        Arrays.sort(ids);
+        for (long each : ids) {
+            File file = segmentFile(each);
+            Segment segment = new Segment(file, mapFile(file, (int) file.length()));
+            replay(segment);
+            segments.add(segment);
+            nextSegmentId = each + 1;
+        }
+        if (segments.isEmpty()) {
+            active = newSegment(segmentSize);
+        } else {
+            active = segments.get(segments.size() - 1);
+        }
+        LogUtil.DEFAULT_LOG.info("[config-disk] recovered {} configs from {} segments in {}", index.size(),
+                segments.size(), baseDir);
+    }
+    
+    private void replay(Segment segment) {
+        ByteBuffer buffer = segment.buffer.duplicate();
+        int position = 0;
+        while (position + HEADER_SIZE <= buffer.capacity() && RECORD_MAGIC == buffer.getInt(position)) {
+            int keyLength = buffer.getInt(position + CRC_OFFSET + 1);
+            int valueLength = buffer.getInt(position + CRC_OFFSET + 5);
+            int end = position + HEADER_SIZE + keyLength + valueLength;
+            if (keyLength < 0 || valueLength < 0 || end > buffer.capacity() || end < position) {
+                break;
+            }
+            byte[] body = new byte[end - position - CRC_OFFSET];
+            buffer.position(position + CRC_OFFSET);
+            buffer.get(body);
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            String key = new String(body, HEADER_SIZE - CRC_OFFSET, keyLength, StandardCharsets.UTF_8);
+            if (TYPE_PUT == body[0]) {
+                applyPut(key, new Location(segment, position + HEADER_SIZE + keyLength, valueLength,
+                        end - position));
+            } else {
+                applyRemove(key, end - position);
+            }
+            position = end;
+        }
+        if (position + 4 <= buffer.capacity() && 0 != buffer.getInt(position)) {
+            LogUtil.DEFAULT_LOG.warn("[config-disk] found broken record in {} at {}, drop the tail", segment.file,
+                    position);
+            for (int i = position; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+        segment.writePosition = position;
+    }
+    
+    String get(String key) {
+        Location location = index.get(key);
+        if (null == location) {
+            return null;
+        }
+        ByteBuffer value = location.segment.buffer.duplicate();
+        value.position(location.valueOffset);
+        value.limit(location.valueOffset + location.valueLength);
+        return StandardCharsets.UTF_8.decode(value).toString();
+    }
+    
+    boolean contains(String key) {
+        return index.containsKey(key);
+    }
+    
+    int size() {
+        return index.size();
+    }
+    
+    void put(String key, String value) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+        writeLock.lock();
+        try {
+            int offset = append(TYPE_PUT, keyBytes, valueBytes);
+            applyPut(key, new Location(active, offset + HEADER_SIZE + keyBytes.length, valueBytes.length,
+                    HEADER_SIZE + keyBytes.length + valueBytes.length));
+            compactIfNecessary();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    void remove(String key) throws IOException {
+        writeLock.lock();
+        try {
+            if (!index.containsKey(key)) {
+                return;
+            }
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            append(TYPE_REMOVE, keyBytes, new byte[0]);
+            applyRemove(key, HEADER_SIZE + keyBytes.length);
+            compactIfNecessary();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Remove all keys and delete all segment files.
+     */
+    void clear() throws IOException {
+        writeLock.lock();
+        try {
+            index.clear();
+            deleteSegments(new ArrayList<>(segments));
+            segments.clear();
+            liveBytes = 0L;
+            totalBytes = 0L;
+            active = newSegment(segmentSize);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    private void applyPut(String key, Location location) {
+        Location previous = index.put(key, location);
+        if (null != previous) {
+            liveBytes -= previous.recordLength;
+        }
+        liveBytes += location.recordLength;
+        totalBytes += location.recordLength;
+    }
+    
+    private void applyRemove(String key, int recordLength) {
+        Location previous = index.remove(key);
+        if (null != previous) {
+            liveBytes -= previous.recordLength;
+        }
+        totalBytes += recordLength;
+    }
+    
+    private int append(byte type, byte[] key, byte[] value) throws IOException {
+        int recordLength = HEADER_SIZE + key.length + value.length;
+        ByteBuffer record = ByteBuffer.allocate(recordLength);
+        record.putInt(RECORD_MAGIC).putInt(0).put(type).putInt(key.length).putInt(value.length).put(key).put(value);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), CRC_OFFSET, recordLength - CRC_OFFSET);
+        record.putInt(4, (int) crc.getValue());
+        record.flip();
+        if (active.remaining() < recordLength) {
+            active.buffer.force();
+            active = newSegment(Math.max(segmentSize, recordLength));
+        }
+        int offset = active.writePosition;
+        ByteBuffer target = active.buffer.duplicate();
+        target.position(offset);
+        target.put(record);
+        active.writePosition += recordLength;
+        return offset;
+    }
+    
+    private void compactIfNecessary() throws IOException {
+        long garbageBytes = totalBytes - liveBytes;
+        if (garbageBytes <= segmentSize || garbageBytes <= liveBytes) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        List<Segment> oldSegments = new ArrayList<>(segments);
+        active = newSegment(segmentSize);
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            Location location = entry.getValue();
+            ByteBuffer value = location.segment.buffer.duplicate();
+            value.position(location.valueOffset);
+            value.limit(location.valueOffset + location.valueLength);
+            byte[] keyBytes = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            byte[] valueBytes = new byte[location.valueLength];
+            value.get(valueBytes);
+            int offset = append(TYPE_PUT, keyBytes, valueBytes);
+            applyPut(entry.getKey(), new Location(active, offset + HEADER_SIZE + keyBytes.length, valueBytes.length,
+                    location.recordLength));
+        }
+        for (Segment each : segments) {
+            if (!oldSegments.contains(each)) {
+                each.buffer.force();
+            }
+        }
+        deleteSegments(oldSegments);
+        segments.removeAll(oldSegments);
+        totalBytes = liveBytes;
+        LogUtil.DEFAULT_LOG.info("[config-disk] compact {} finished, {} configs, {} segments, cost {} ms", baseDir,
+                index.size(), segments.size(), System.currentTimeMillis() - start);
+    }
+    
+    private void deleteSegments(List<Segment> toDelete) throws IOException {
+        // Delete in order, the newer segments may hold the removes of records in the older ones.
+        for (Segment each : toDelete) {
+            if (each.file.exists() && !each.file.delete()) {
+                throw new IOException("delete segment failed: " + each.file);
+            }
+        }
+    }
+    
+    private Segment newSegment(int capacity) throws IOException {
+        File file = segmentFile(nextSegmentId++);
+        Segment result = new Segment(file, mapFile(file, capacity));
+        segments.add(result);
+        return result;
+    }
+    
+    private File segmentFile(long id) {
+        return new File(baseDir, String.format("%020d%s", id, SEGMENT_SUFFIX));
+    }
+    
+    private static MappedByteBuffer mapFile(File file, int capacity) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()) {
+            if (raf.length() < capacity) {
+                raf.setLength(capacity);
+            }
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+    }
+    
+    private static class Segment {
+        
+        private final File file;
+        
+        private final MappedByteBuffer buffer;
+        
+        private int writePosition;
+        
+        private Segment(File file, MappedByteBuffer buffer) {
+            this.file = file;
+            this.buffer = buffer;
+        }
+        
+        private int remaining() {
+            return buffer.capacity() - writePosition;
+        }
+    }
+    
+    /**
+     * Location of a value. Written bytes are never modified, so it is safe to read after the location is published by
+     * the index.
+     */
+    private static class Location {
+        
+        private final Segment segment;
+        
+        private final int valueOffset;
+        
+        private final int valueLength;
+        
+        private final int recordLength;
+        
+        private Location(Segment segment, int valueOffset, int valueLength, int recordLength) {
+            this.segment = segment;
+            this.valueOffset = valueOffset;
+            this.valueLength = valueLength;
+            this.recordLength = recordLength;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service.dump.processor;
+
+import com.alibaba.nacos.common.executor.NameThreadFactory;
+import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
+import com.alibaba.nacos.config.server.model.Page;
+import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
+import com.alibaba.nacos.config.server.service.AggrWhitelist;
+import com.alibaba.nacos.config.server.service.ClientIpWhiteList;
+import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.service.SwitchService;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.config.server.utils.LogUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static com.alibaba.nacos.config.server.utils.LogUtil.DEFAULT_LOG;
+
+/**
+ * Pipelined dump of all configs.
+ *
+ * <p>The pipeline has three stages:
+ * <ol>
+ *     <li>a reader prefetches config pages by id into a bounded queue, so the next pages are read while the current
+ *     page is dumped;</li>
+ *     <li>configs are partitioned by group key to parallel workers, which compute md5 and save content by
+ *     {@link ConfigCacheService#dump}, so dumps of one group key keep the read order;</li>
+ *     <li>after all workers finish, the totals are published to the dump all metrics and log.</li>
+ * </ol>
+ *
+ * @author Nacos
+ */
+class DumpAllPipeline {
+    
+    private static final List<ConfigInfoWrapper> END_OF_PAGES = new ArrayList<>(0);
+    
+    private static final ConfigInfoWrapper END_OF_CONFIGS = new ConfigInfoWrapper();
+    
+    private final LongSupplier maxIdSupplier;
+    
+    private final FragmentReader fragmentReader;
+    
+    private final int pageSize;
+    
+    private final int prefetchPages;
+    
+    private final int parallelism;
+    
+    DumpAllPipeline(LongSupplier maxIdSupplier, FragmentReader fragmentReader, int pageSize, int prefetchPages,
+            int parallelism) {
+        this.maxIdSupplier = maxIdSupplier;
+        this.fragmentReader = fragmentReader;
+        this.pageSize = pageSize;
+        this.prefetchPages = Math.max(1, prefetchPages);
+        this.parallelism = Math.max(1, parallelism);
+    }
+    
+    /**
+     * Dump all configs.
+     *
+     * @return true if all configs are read and dumped
+     */
+    boolean run() {
+        long start = System.currentTimeMillis();
+        MetricsMonitor.resetDumpAllProgress();
+        BlockingQueue<List<ConfigInfoWrapper>> pages = new ArrayBlockingQueue<>(prefetchPages);
+        List<BlockingQueue<ConfigInfoWrapper>> partitions = new ArrayList<>(parallelism);
+        ExecutorService executor = Executors
+                .newFixedThreadPool(parallelism + 1, new NameThreadFactory("com.alibaba.nacos.config.dump.all"));
+        PageReader reader = new PageReader(pages);
+        Throwable failure = null;
+        try {
+            executor.execute(reader);
+            for (int i = 0; i < parallelism; i++) {
+                BlockingQueue<ConfigInfoWrapper> partition = new ArrayBlockingQueue<>(pageSize);
+                partitions.add(partition);
+                executor.execute(new DumpWorker(partition));
+            }
+            dispatch(pages, partitions);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        if (null == failure) {
+            // let workers finish the dispatched configs.
+            for (BlockingQueue<ConfigInfoWrapper> partition : partitions) {
+                putUninterruptibly(partition, END_OF_CONFIGS);
+            }
+            executor.shutdown();
+            failure = reader.failure;
+        } else {
+            executor.shutdownNow();
+        }
+        awaitTermination(executor);
+        long cost = System.currentTimeMillis() - start;
+        MetricsMonitor.getDumpAllTimer().record(cost, TimeUnit.MILLISECONDS);
+        DEFAULT_LOG.info("[all-dump] finished, read={}, dumped={}, failed={}, parallelism={}, cost={} ms",
+                MetricsMonitor.getDumpAllReadMonitor().get(), MetricsMonitor.getDumpAllDumpedMonitor().get(),
+                MetricsMonitor.getDumpAllFailedMonitor().get(), parallelism, cost);
+        if (null != failure) {
+            DEFAULT_LOG.error("[all-dump] dump all config fail", failure);
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            return false;
+        }
+        return true;
+    }
+    
+    private void dispatch(BlockingQueue<List<ConfigInfoWrapper>> pages,
+            List<BlockingQueue<ConfigInfoWrapper>> partitions) throws InterruptedException {
+        while (true) {
+            List<ConfigInfoWrapper> page = pages.take();
+            if (page == END_OF_PAGES) {
+                return;
+            }
+            for (ConfigInfoWrapper cf : page) {
+                loadMetadata(cf);
+                partitions.get(partition(cf)).put(cf);
+            }
+        }
+    }
+    
+    private void loadMetadata(ConfigInfoWrapper cf) {
+        if (cf.getDataId().equals(AggrWhitelist.AGGRIDS_METADATA)) {
+            AggrWhitelist.load(cf.getContent());
+        }
+        
+        if (cf.getDataId().equals(ClientIpWhiteList.CLIENT_IP_WHITELIST_METADATA)) {
+            ClientIpWhiteList.load(cf.getContent());
+        }
+        
+        if (cf.getDataId().equals(SwitchService.SWITCH_META_DATAID)) {
+            SwitchService.load(cf.getContent());
+        }
+    }
+    
+    private int partition(ConfigInfoWrapper cf) {
+        int hash = Objects.hash(cf.getDataId(), cf.getGroup(), cf.getTenant());
+        return (hash & Integer.MAX_VALUE) % parallelism;
+    }
+    
+    private static void putUninterruptibly(BlockingQueue<ConfigInfoWrapper> queue, ConfigInfoWrapper item) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(item);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                DEFAULT_LOG.info("[all-dump] waiting for dump workers, dumped={}",
+                        MetricsMonitor.getDumpAllDumpedMonitor().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Reader of a config page with id greater than the last max id.
+     */
+    @FunctionalInterface
+    interface FragmentReader {
+        
+        /**
+         * Read a config page by id.
+         *
+         * @param lastMaxId last max id
+         * @param pageSize  page size
+         * @return configs with id greater than the last max id in id order
+         */
+        Page<ConfigInfoWrapper> read(long lastMaxId, int pageSize);
+    }
+    
+    private class PageReader implements Runnable {
+        
+        private final BlockingQueue<List<ConfigInfoWrapper>> pages;
+        
+        private volatile Throwable failure;
+        
+        PageReader(BlockingQueue<List<ConfigInfoWrapper>> pages) {
+            this.pages = pages;
+        }
+        
+        @Override
+        public void run() {
+            boolean finished = false;
+            try {
+                long currentMaxId = maxIdSupplier.getAsLong();
+                long lastMaxId = 0;
+                while (lastMaxId < currentMaxId) {
+                    Page<ConfigInfoWrapper> page = fragmentReader.read(lastMaxId, pageSize);
+                    List<ConfigInfoWrapper> items = page == null ? null : page.getPageItems();
+                    if (items == null || items.isEmpty()) {
+                        lastMaxId += pageSize;
+                        continue;
+                    }
+                    for (ConfigInfoWrapper cf : items) {
+                        lastMaxId = Math.max(cf.getId(), lastMaxId);
+                    }
+                    MetricsMonitor.getDumpAllReadMonitor().addAndGet(items.size());
+                    pages.put(Collections.unmodifiableList(items));
+                    DEFAULT_LOG.info("[all-dump] {} / {}", lastMaxId, currentMaxId);
+                }
+                pages.put(END_OF_PAGES);
+                finished = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = e;
+            } catch (Throwable t) {
+                failure = t;
+            } finally {
+                if (!finished) {
+                    // the reader is the only producer, so the end mark always fits after clear.
+                    pages.clear();
+                    pages.offer(END_OF_PAGES);
+                }
+            }
+        }
+    }
+    
+    private static class DumpWorker implements Runnable {
+        
+        private final BlockingQueue<ConfigInfoWrapper> partition;
+        
+        DumpWorker(BlockingQueue<ConfigInfoWrapper> partition) {
+            this.partition = partition;
+        }
+        
+        @Override
+        public void run() {
+            while (true) {
+                ConfigInfoWrapper cf;
+                try {
+                    cf = partition.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (cf == END_OF_CONFIGS) {
+                    return;
+                }
+                dump(cf);
+            }
+        }
+        
+        private void dump(ConfigInfoWrapper cf) {
+            boolean result = false;
+            try {
+                result = ConfigCacheService
+                        .dump(cf.getDataId(), cf.getGroup(), cf.getTenant(), cf.getContent(), cf.getLastModified(),
+                                cf.getType());
+            } catch (Throwable t) {
+                LogUtil.DUMP_LOG.error("[dump-all-error] {}", GroupKey2.getKey(cf.getDataId(), cf.getGroup()), t);
+            }
+            if (!result) {
+                MetricsMonitor.getDumpAllFailedMonitor().incrementAndGet();
+                return;
+            }
+            MetricsMonitor.getDumpAllDumpedMonitor().incrementAndGet();
+            // reuse the md5 computed by dump instead of hashing the content again.
+            String md5 = ConfigCacheService
+                    .getContentMd5(GroupKey2.getKey(cf.getDataId(), cf.getGroup(), cf.getTenant()));
+            LogUtil.DUMP_LOG.info("[dump-all-ok] {}, {}, length={}, md5={}",
+                    GroupKey2.getKey(cf.getDataId(), cf.getGroup()), cf.getLastModified(), cf.getContent().length(),
+                    md5);
+        }
+    }
+}
@@ -47,26 +47,39 @@ public class DumpChangeProcessor implements NacosTaskProcessor {
 
     final Timestamp endTime;
     
+    /**
+     * Whether load md5 of all configs from db, not needed if the md5 index is restored from the local snapshot.
+     */
+    final boolean updateAllMd5;
+    
     public DumpChangeProcessor(DumpService dumpService, Timestamp startTime, Timestamp endTime) {
+        this(dumpService, startTime, endTime, true);
+    }
+    
+    public DumpChangeProcessor(DumpService dumpService, Timestamp startTime, Timestamp endTime,
+            boolean updateAllMd5) {
         this.dumpService = dumpService;
         this.persistService = dumpService.getPersistService();
         this.startTime = startTime;
         this.endTime = endTime;
+        this.updateAllMd5 = updateAllMd5;
     }
     
     @Override
     public boolean process(NacosTask task) {
         LogUtil.DEFAULT_LOG.warn("quick start; startTime:{},endTime:{}", startTime, endTime);
-        LogUtil.DEFAULT_LOG.warn("updateMd5 start");
-        long startUpdateMd5 = System.currentTimeMillis();
-        List<ConfigInfoWrapper> updateMd5List = persistService.listAllGroupKeyMd5();
-        LogUtil.DEFAULT_LOG.warn("updateMd5 count:{}", updateMd5List.size());
-        for (ConfigInfoWrapper config : updateMd5List) {
-            final String groupKey = GroupKey2.getKey(config.getDataId(), config.getGroup());
-            ConfigCacheService.updateMd5(groupKey, config.getMd5(), config.getLastModified());
+        if (updateAllMd5) {
+            LogUtil.DEFAULT_LOG.warn("updateMd5 start");
+            long startUpdateMd5 = System.currentTimeMillis();
+            List<ConfigInfoWrapper> updateMd5List = persistService.listAllGroupKeyMd5();
+            LogUtil.DEFAULT_LOG.warn("updateMd5 count:{}", updateMd5List.size());
+            for (ConfigInfoWrapper config : updateMd5List) {
+                final String groupKey = GroupKey2.getKey(config.getDataId(), config.getGroup());
+                ConfigCacheService.updateMd5(groupKey, config.getMd5(), config.getLastModified());
+            }
+            long endUpdateMd5 = System.currentTimeMillis();
+            LogUtil.DEFAULT_LOG.warn("updateMd5 done,cost:{}", endUpdateMd5 - startUpdateMd5);
         }
-        long endUpdateMd5 = System.currentTimeMillis();
-        LogUtil.DEFAULT_LOG.warn("updateMd5 done,cost:{}", endUpdateMd5 - startUpdateMd5);
         
         LogUtil.DEFAULT_LOG.warn("deletedConfig start");
         long startDeletedConfigTime = System.currentTimeMillis();
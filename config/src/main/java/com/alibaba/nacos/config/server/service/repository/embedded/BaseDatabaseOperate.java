@@ -18,6 +18,7 @@ package com.alibaba.nacos.config.server.service.repository.embedded;
 
 import com.alibaba.nacos.common.utils.ExceptionUtil;
 import com.alibaba.nacos.common.utils.LoggerUtils;
+import com.alibaba.nacos.config.server.service.sql.ModifyContext;
 import com.alibaba.nacos.config.server.service.sql.ModifyRequest;
 import com.alibaba.nacos.config.server.utils.DerbyUtils;
 import com.alibaba.nacos.config.server.utils.LogUtil;
@@ -30,6 +31,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
@@ -242,6 +244,47 @@ public interface BaseDatabaseOperate extends DatabaseOperate {
         });
     }
     
+    /**
+     * Execute the updates of group commit in one transaction. Each update runs in its own savepoint, so a sql error
+     * only rolls back the update itself.
+     *
+     * @param transactionTemplate {@link TransactionTemplate}
+     * @param jdbcTemplate        {@link JdbcTemplate}
+     * @param contexts            {@link List} ModifyContext list
+     * @return error message of each update, {@code null} if success
+     */
+    default ArrayList<String> batchUpdate(TransactionTemplate transactionTemplate, JdbcTemplate jdbcTemplate,
+            List<ModifyContext> contexts) {
+        return transactionTemplate.execute(status -> {
+            ArrayList<String> errMsgs = new ArrayList<>(contexts.size());
+            String errSql = null;
+            Object[] args = null;
+            for (ModifyContext context : contexts) {
+                Object savepoint = status.createSavepoint();
+                try {
+                    for (ModifyRequest request : context.getModifyRequests()) {
+                        errSql = request.getSql();
+                        args = request.getArgs();
+                        LoggerUtils.printIfDebugEnabled(LogUtil.DEFAULT_LOG, "current sql : {}", errSql);
+                        LoggerUtils.printIfDebugEnabled(LogUtil.DEFAULT_LOG, "current args : {}", args);
+                        jdbcTemplate.update(errSql, args);
+                    }
+                    status.releaseSavepoint(savepoint);
+                    errMsgs.add(null);
+                } catch (BadSqlGrammarException | DataIntegrityViolationException e) {
+                    FATAL_LOG.error("[db-error] sql : {}, args : {}, error : {}", errSql, args, e.toString());
+                    status.rollbackToSavepoint(savepoint);
+                    errMsgs.add(e.toString());
+                } catch (DataAccessException e) {
+                    FATAL_LOG.error("[db-error] DataAccessException sql : {}, args : {}, error : {}", errSql, args,
+                            ExceptionUtil.getAllExceptionMsg(e));
+                    throw e;
+                }
+            }
+            return errMsgs;
+        });
+    }
+    
     /**
      * Perform data import.
      *
@@ -69,8 +69,22 @@ public class DerbySnapshotOperation implements SnapshotOperation {
     
     private final ReentrantReadWriteLock.WriteLock writeLock;
     
+    private final Runnable afterLoad;
+    
     public DerbySnapshotOperation(ReentrantReadWriteLock.WriteLock writeLock) {
+        this(writeLock, () -> {
+        });
+    }
+    
+    /**
+     * Create derby snapshot operation.
+     *
+     * @param writeLock write lock of the database
+     * @param afterLoad run with the write lock held after the snapshot is loaded, even if loading failed
+     */
+    public DerbySnapshotOperation(ReentrantReadWriteLock.WriteLock writeLock, Runnable afterLoad) {
         this.writeLock = writeLock;
+        this.afterLoad = afterLoad;
     }
     
     @Override
@@ -146,6 +160,7 @@ public class DerbySnapshotOperation implements SnapshotOperation {
                     .error("Fail to load snapshot, path={}, file list={}, {}.", readerPath, reader.listFiles(), t);
             return false;
         } finally {
+            afterLoad.run();
             lock.unlock();
             TimerContext.end(DERBY_SNAPSHOT_LOAD, LogUtil.FATAL_LOG);
         }
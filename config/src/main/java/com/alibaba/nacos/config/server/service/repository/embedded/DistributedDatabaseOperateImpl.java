@@ -41,11 +41,13 @@ import com.alibaba.nacos.config.server.service.datasource.LocalDataSourceService
 import com.alibaba.nacos.config.server.service.dump.DumpConfigHandler;
 import com.alibaba.nacos.config.server.service.repository.RowMapperManager;
 import com.alibaba.nacos.config.server.service.sql.EmbeddedStorageContextUtils;
+import com.alibaba.nacos.config.server.service.sql.ModifyContext;
 import com.alibaba.nacos.config.server.service.sql.ModifyRequest;
 import com.alibaba.nacos.config.server.service.sql.QueryType;
 import com.alibaba.nacos.config.server.service.sql.SelectRequest;
 import com.alibaba.nacos.config.server.utils.ConfigExecutor;
 import com.alibaba.nacos.config.server.utils.LogUtil;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
 import com.alibaba.nacos.consistency.SerializeFactory;
 import com.alibaba.nacos.consistency.Serializer;
 import com.alibaba.nacos.consistency.cp.CPProtocol;
@@ -74,10 +76,12 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -149,6 +153,16 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
      */
     private static final String DATA_IMPORT_KEY = "00--0-data_import-0--00";
     
+    /**
+     * The group commit log is dedicated key, whose data is a list of {@link ModifyContext}.
+     */
+    private static final String GROUP_COMMIT_KEY = "00--0-group_commit-0--00";
+    
+    /**
+     * Same as the timeout of {@link CPProtocol#write(WriteRequest)}.
+     */
+    private static final long WRITE_TIMEOUT_MS = 10_000L;
+    
     private ServerMemberManager memberManager;
     
     private CPProtocol protocol;
@@ -167,6 +181,10 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
     
     private ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
     
+    private GroupCommitWriter groupCommitWriter;
+    
+    private ReadResultCache readResultCache;
+    
     public DistributedDatabaseOperateImpl(ServerMemberManager memberManager, ProtocolManager protocolManager)
             throws Exception {
         this.memberManager = memberManager;
@@ -206,6 +224,19 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         NotifyCenter.registerSubscriber(new DumpConfigHandler());
         
         this.protocol.addRequestProcessors(Collections.singletonList(this));
+        
+        if (PropertyUtil.isEmbeddedStorageGroupCommit()) {
+            this.groupCommitWriter = new GroupCommitWriter("com.alibaba.nacos.config.embedded.group-commit",
+                    this::groupCommit, PropertyUtil.getEmbeddedStorageGroupCommitMaxBatch(),
+                    PropertyUtil.getEmbeddedStorageGroupCommitWindowMs());
+            LogUtil.DEFAULT_LOG.info("use group commit, window : {} ms, max batch : {}",
+                    PropertyUtil.getEmbeddedStorageGroupCommitWindowMs(),
+                    PropertyUtil.getEmbeddedStorageGroupCommitMaxBatch());
+        }
+        if (PropertyUtil.getEmbeddedStorageReadCacheMaxEntries() > 0) {
+            this.readResultCache = new ReadResultCache(PropertyUtil.getEmbeddedStorageReadCacheMaxEntries(),
+                    PropertyUtil.getEmbeddedStorageReadCacheMaxResultBytes());
+        }
         LogUtil.DEFAULT_LOG.info("use DistributedTransactionServicesImpl");
     }
     
@@ -422,6 +453,10 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
             
             LoggerUtils.printIfDebugEnabled(LogUtil.DEFAULT_LOG, "modifyRequests info : {}", sqlContext);
             
+            if (null != groupCommitWriter) {
+                return groupCommitUpdate(sqlContext, consumer);
+            }
+            
             // {timestamp}-{group}-{ip:port}-{signature}
             
             final String key =
@@ -455,9 +490,58 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         }
     }
     
+    private Boolean groupCommitUpdate(List<ModifyRequest> sqlContext, BiConsumer<Boolean, Throwable> consumer)
+            throws Exception {
+        // the sql and extend info of current thread are cleared once update returns.
+        ModifyContext context = new ModifyContext(new ArrayList<>(sqlContext),
+                new HashMap<>(EmbeddedStorageContextUtils.getCurrentExtendInfo()));
+        CompletableFuture<Response> future = groupCommitWriter.submit(context);
+        if (Objects.isNull(consumer)) {
+            Response response = future.get(WRITE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            if (response.getSuccess()) {
+                return true;
+            }
+            LogUtil.DEFAULT_LOG.error("execute sql modify operation failed : {}", response.getErrMsg());
+            return false;
+        }
+        future.whenComplete((response, ex) -> {
+            String errMsg = Objects.isNull(ex) ? response.getErrMsg() : ExceptionUtil.getCause(ex).getMessage();
+            consumer.accept(Objects.isNull(ex) && response.getSuccess(),
+                    StringUtils.isBlank(errMsg) ? null : new NJdbcException(errMsg));
+        });
+        return true;
+    }
+    
+    private CompletableFuture<List<Response>> groupCommit(List<ModifyContext> contexts) {
+        final String key = System.currentTimeMillis() + "-" + group() + "-" + memberManager.getSelf().getAddress() + "-"
+                + GROUP_COMMIT_KEY + "-" + contexts.size();
+        WriteRequest request = WriteRequest.newBuilder().setGroup(group()).setKey(key)
+                .setData(ByteString.copyFrom(serializer.serialize(contexts)))
+                .putExtendInfo(GROUP_COMMIT_KEY, Boolean.TRUE.toString())
+                .setType(contexts.getClass().getCanonicalName()).build();
+        return protocol.writeAsync(request).thenApply(response -> {
+            List<Response> responses = new ArrayList<>(contexts.size());
+            if (!response.getSuccess()) {
+                // the whole log failed.
+                contexts.forEach(context -> responses.add(response));
+                return responses;
+            }
+            List<String> errMsgs = serializer.deserialize(response.getData().toByteArray(), List.class);
+            for (String errMsg : errMsgs) {
+                responses.add(null == errMsg ? Response.newBuilder().setSuccess(true).build()
+                        : Response.newBuilder().setSuccess(false).setErrMsg(errMsg).build());
+            }
+            return responses;
+        });
+    }
+    
     @Override
     public List<SnapshotOperation> loadSnapshotOperate() {
-        return Collections.singletonList(new DerbySnapshotOperation(writeLock));
+        return Collections.singletonList(new DerbySnapshotOperation(writeLock, () -> {
+            if (null != readResultCache) {
+                readResultCache.invalidateAll();
+            }
+        }));
     }
     
     @SuppressWarnings("all")
@@ -473,6 +557,15 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         readLock.lock();
         Object data;
         try {
+            // The read index is confirmed before this request, so the cached result is not stale.
+            ReadResultCache.Stamp stamp = null;
+            if (null != readResultCache) {
+                ByteString cached = readResultCache.get(selectRequest);
+                if (null != cached) {
+                    return Response.newBuilder().setSuccess(true).setData(cached).build();
+                }
+                stamp = readResultCache.stamp(selectRequest);
+            }
             switch (type) {
                 case QueryType.QUERY_ONE_WITH_MAPPER_WITH_ARGS:
                     data = queryOne(jdbcTemplate, selectRequest.getSql(), selectRequest.getArgs(), mapper);
@@ -499,6 +592,9 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
                     throw new IllegalArgumentException("Unsupported data query categories");
             }
             ByteString bytes = data == null ? ByteString.EMPTY : ByteString.copyFrom(serializer.serialize(data));
+            if (null != stamp) {
+                readResultCache.put(selectRequest, stamp, bytes);
+            }
             return Response.newBuilder().setSuccess(true).setData(bytes).build();
         } catch (Exception e) {
             LogUtil.FATAL_LOG.error("There was an error querying the data, request : {}, error : {}", selectRequest,
@@ -515,6 +611,9 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         LoggerUtils.printIfDebugEnabled(LogUtil.DEFAULT_LOG, "onApply info : log : {}", log);
         final ByteString byteString = log.getData();
         Preconditions.checkArgument(byteString != null, "Log.getData() must not null");
+        if (log.containsExtendInfo(GROUP_COMMIT_KEY)) {
+            return onGroupCommitApply(byteString);
+        }
         List<ModifyRequest> sqlContext = serializer.deserialize(byteString.toByteArray(), List.class);
         final Lock lock = readLock;
         lock.lock();
@@ -540,6 +639,41 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         } catch (DataAccessException e) {
             throw new ConsistencyException(e.toString());
         } finally {
+            if (null != readResultCache) {
+                if (log.containsExtendInfo(DATA_IMPORT_KEY)) {
+                    readResultCache.invalidateAll();
+                } else {
+                    readResultCache.invalidate(sqlContext);
+                }
+            }
+            lock.unlock();
+        }
+    }
+    
+    private Response onGroupCommitApply(ByteString byteString) {
+        List<ModifyContext> contexts = serializer.deserialize(byteString.toByteArray(), List.class);
+        final Lock lock = readLock;
+        lock.lock();
+        try {
+            for (ModifyContext context : contexts) {
+                context.getModifyRequests().sort(Comparator.comparingInt(ModifyRequest::getExecuteNo));
+            }
+            ArrayList<String> errMsgs = batchUpdate(transactionTemplate, jdbcTemplate, contexts);
+            ConfigExecutor.executeEmbeddedDump(() -> contexts.forEach(context -> {
+                if (null != context.getExtendInfo()) {
+                    handleExtendInfo(context.getExtendInfo());
+                }
+            }));
+            return Response.newBuilder().setSuccess(true).setData(ByteString.copyFrom(serializer.serialize(errMsgs)))
+                    .build();
+        } catch (BadSqlGrammarException | DataIntegrityViolationException e) {
+            return Response.newBuilder().setSuccess(false).setErrMsg(e.toString()).build();
+        } catch (DataAccessException e) {
+            throw new ConsistencyException(e.toString());
+        } finally {
+            if (null != readResultCache) {
+                contexts.forEach(context -> readResultCache.invalidate(context.getModifyRequests()));
+            }
             lock.unlock();
         }
     }
@@ -0,0 +1,173 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service.repository.embedded;
+
+import com.alibaba.nacos.common.executor.NameThreadFactory;
+import com.alibaba.nacos.common.utils.LoggerUtils;
+import com.alibaba.nacos.config.server.service.sql.ModifyContext;
+import com.alibaba.nacos.config.server.utils.LogUtil;
+import com.alibaba.nacos.consistency.entity.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit of config writes.
+ *
+ * <p>Updates submitted concurrently are gathered by one flusher thread, up to {@code maxBatchSize} updates or until
+ * the window after the first update passes, and committed as one raft log. The result of the log is split back to each
+ * update. With window {@code 0}, only the updates already queued while the last batch was committed are gathered, so
+ * a single writer sees no extra latency.
+ *
+ * @author Nacos
+ */
+class GroupCommitWriter {
+    
+    private final Committer committer;
+    
+    private final int maxBatchSize;
+    
+    private final long windowNanos;
+    
+    private final BlockingQueue<PendingUpdate> queue = new LinkedBlockingQueue<>();
+    
+    private final Thread flusher;
+    
+    private volatile boolean shutdown;
+    
+    GroupCommitWriter(String name, Committer committer, int maxBatchSize, long windowMillis) {
+        this.committer = committer;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, windowMillis));
+        this.flusher = new NameThreadFactory(name).newThread(this::flushLoop);
+        this.flusher.start();
+    }
+    
+    /**
+     * Submit an update to the next group commit.
+     *
+     * @param context modify requests and extend info of the update
+     * @return result of the update
+     */
+    CompletableFuture<Response> submit(ModifyContext context) {
+        PendingUpdate update = new PendingUpdate(context);
+        if (shutdown) {
+            update.future.completeExceptionally(new IllegalStateException("group commit writer is shutdown"));
+            return update.future;
+        }
+        queue.add(update);
+        // the flusher may stop before the update is queued.
+        if (shutdown && queue.remove(update)) {
+            update.future.completeExceptionally(new IllegalStateException("group commit writer is shutdown"));
+        }
+        return update.future;
+    }
+    
+    /**
+     * Stop gathering updates, updates not committed yet are failed.
+     */
+    void shutdown() {
+        shutdown = true;
+        flusher.interrupt();
+    }
+    
+    private void flushLoop() {
+        List<PendingUpdate> batch = new ArrayList<>(maxBatchSize);
+        while (!shutdown) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    PendingUpdate update = queue.poll();
+                    if (null == update) {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0 || null == (update = queue.poll(remaining, TimeUnit.NANOSECONDS))) {
+                            break;
+                        }
+                    }
+                    batch.add(update);
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+            flush(batch);
+            batch = new ArrayList<>(maxBatchSize);
+        }
+        IllegalStateException ex = new IllegalStateException("group commit writer is shutdown");
+        queue.drainTo(batch);
+        batch.forEach(update -> update.future.completeExceptionally(ex));
+    }
+    
+    private void flush(List<PendingUpdate> batch) {
+        List<ModifyContext> contexts = new ArrayList<>(batch.size());
+        for (PendingUpdate update : batch) {
+            contexts.add(update.context);
+        }
+        LoggerUtils.printIfDebugEnabled(LogUtil.DEFAULT_LOG, "group commit {} updates", contexts.size());
+        CompletableFuture<List<Response>> future;
+        try {
+            future = committer.commit(contexts);
+        } catch (Throwable e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        future.whenComplete((responses, ex) -> {
+            if (null == ex && responses.size() != batch.size()) {
+                ex = new IllegalStateException(
+                        "group commit of " + batch.size() + " updates returns " + responses.size() + " results");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                if (null == ex) {
+                    batch.get(i).future.complete(responses.get(i));
+                } else {
+                    batch.get(i).future.completeExceptionally(ex);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Commit a batch of updates as one log.
+     */
+    @FunctionalInterface
+    interface Committer {
+        
+        /**
+         * Commit the updates.
+         *
+         * @param contexts updates in submit order
+         * @return result of each update in the same order
+         */
+        CompletableFuture<List<Response>> commit(List<ModifyContext> contexts);
+    }
+    
+    private static class PendingUpdate {
+        
+        private final ModifyContext context;
+        
+        private final CompletableFuture<Response> future = new CompletableFuture<>();
+        
+        PendingUpdate(ModifyContext context) {
+            this.context = context;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service.repository.embedded;
+
+import com.alibaba.nacos.config.server.service.sql.ModifyRequest;
+import com.alibaba.nacos.config.server.service.sql.SelectRequest;
+import com.google.protobuf.ByteString;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cache of serialized query results of embedded storage.
+ *
+ * <p>Each table has a version, which is increased after a raft log modifies the table. A result is cached with the
+ * versions of the tables found in its sql, and is only returned while none of them changed. The cache is looked up
+ * after the read index is confirmed, so a cached result is as fresh as querying the local database.
+ *
+ * @author Nacos
+ */
+class ReadResultCache {
+    
+    private static final Pattern MODIFY_TABLE = Pattern
+            .compile("^\\s*(?:INSERT\\s+INTO|UPDATE|DELETE\\s+FROM)\\s+([\\w.]+)", Pattern.CASE_INSENSITIVE);
+    
+    private final int maxEntries;
+    
+    private final int maxResultBytes;
+    
+    /**
+     * Version of all tables, increased when a table is seen first or the whole database changes.
+     */
+    private final AtomicLong globalVersion = new AtomicLong();
+    
+    private final Map<String, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+    
+    private final Map<String, SqlTables> sqlTables = new ConcurrentHashMap<>();
+    
+    private final LinkedHashMap<Key, Entry> entries;
+    
+    ReadResultCache(int maxEntries, int maxResultBytes) {
+        this.maxEntries = maxEntries;
+        this.maxResultBytes = maxResultBytes;
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            
+            private static final long serialVersionUID = 6024598377046744573L;
+            
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > ReadResultCache.this.maxEntries;
+            }
+        };
+    }
+    
+    /**
+     * Get the cached result of the query.
+     *
+     * @param request query
+     * @return serialized result, or {@code null} if not cached or stale
+     */
+    ByteString get(SelectRequest request) {
+        Key key = new Key(request);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (null == entry || !entry.stamp.isValid()) {
+            return null;
+        }
+        return entry.data;
+    }
+    
+    /**
+     * Capture the versions of the tables used by the query, should be called before querying.
+     *
+     * @param request query
+     * @return versions of the tables
+     */
+    Stamp stamp(SelectRequest request) {
+        long global = globalVersion.get();
+        SqlTables cached = sqlTables.get(request.getSql());
+        if (null == cached || cached.global != global) {
+            // the tables known may have changed since global version changed.
+            cached = new SqlTables(global, findTables(request.getSql()));
+            sqlTables.put(request.getSql(), cached);
+        }
+        String[] tables = cached.tables;
+        AtomicLong[] versions = new AtomicLong[tables.length];
+        long[] values = new long[tables.length];
+        for (int i = 0; i < tables.length; i++) {
+            versions[i] = tableVersions.get(tables[i]);
+            values[i] = versions[i].get();
+        }
+        return new Stamp(global, versions, values);
+    }
+    
+    /**
+     * Cache the result of the query.
+     *
+     * @param request query
+     * @param stamp   versions captured before querying
+     * @param data    serialized result
+     */
+    void put(SelectRequest request, Stamp stamp, ByteString data) {
+        if (data.size() > maxResultBytes || !stamp.isValid()) {
+            return;
+        }
+        Key key = new Key(request);
+        synchronized (entries) {
+            entries.put(key, new Entry(stamp, data));
+        }
+    }
+    
+    /**
+     * Invalidate the results of the tables modified, should be called after the modification is committed.
+     *
+     * @param requests modification
+     */
+    void invalidate(List<ModifyRequest> requests) {
+        for (ModifyRequest request : requests) {
+            Matcher matcher = MODIFY_TABLE.matcher(request.getSql());
+            if (!matcher.find()) {
+                invalidateAll();
+                return;
+            }
+            String table = normalize(matcher.group(1));
+            AtomicLong version = tableVersions.get(table);
+            if (null != version) {
+                version.incrementAndGet();
+                continue;
+            }
+            // results cached before the table is known don't hold its version.
+            tableVersions.putIfAbsent(table, new AtomicLong());
+            invalidateAll();
+        }
+    }
+    
+    /**
+     * Invalidate all results, such as the database is loaded from snapshot.
+     */
+    void invalidateAll() {
+        globalVersion.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+    
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+    
+    private String[] findTables(String sql) {
+        String lowerSql = sql.toLowerCase(Locale.ENGLISH);
+        return tableVersions.keySet().stream()
+                .filter(table -> Pattern.compile("\\b" + Pattern.quote(table) + "\\b").matcher(lowerSql).find())
+                .toArray(String[]::new);
+    }
+    
+    private static String normalize(String table) {
+        // drop the schema.
+        int index = table.lastIndexOf('.');
+        return (index < 0 ? table : table.substring(index + 1)).toLowerCase(Locale.ENGLISH);
+    }
+    
+    /**
+     * Versions of the tables used by a query.
+     */
+    class Stamp {
+        
+        private final long global;
+        
+        private final AtomicLong[] versions;
+        
+        private final long[] values;
+        
+        Stamp(long global, AtomicLong[] versions, long[] values) {
+            this.global = global;
+            this.versions = versions;
+            this.values = values;
+        }
+        
+        boolean isValid() {
+            if (global != globalVersion.get()) {
+                return false;
+            }
+            for (int i = 0; i < versions.length; i++) {
+                if (versions[i].get() != values[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    
+    private static class SqlTables {
+        
+        private final long global;
+        
+        private final String[] tables;
+        
+        SqlTables(long global, String[] tables) {
+            this.global = global;
+            this.tables = tables;
+        }
+    }
+    
+    private static class Entry {
+        
+        private final Stamp stamp;
+        
+        private final ByteString data;
+        
+        Entry(Stamp stamp, ByteString data) {
+            this.stamp = stamp;
+            this.data = data;
+        }
+    }
+    
+    private static class Key {
+        
+        private final byte queryType;
+        
+        private final String sql;
+        
+        private final Object[] args;
+        
+        private final String className;
+        
+        private final int hash;
+        
+        Key(SelectRequest request) {
+            this.queryType = request.getQueryType();
+            this.sql = request.getSql();
+            this.args = request.getArgs();
+            this.className = request.getClassName();
+            this.hash = 31 * (31 * (31 * queryType + sql.hashCode()) + Arrays.deepHashCode(args)) + (null == className
+                    ? 0 : className.hashCode());
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return hash == that.hash && queryType == that.queryType && sql.equals(that.sql) && Arrays
+                    .deepEquals(args, that.args) && (null == className ? null == that.className
+                    : className.equals(that.className));
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service.sql;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The modify requests and extend info of one update, several of them are committed in one raft log by group commit.
+ *
+ * @author Nacos
+ */
+public class ModifyContext implements Serializable {
+    
+    private static final long serialVersionUID = -3202535129461829735L;
+    
+    private List<ModifyRequest> modifyRequests;
+    
+    private Map<String, String> extendInfo;
+    
+    public ModifyContext() {
+    }
+    
+    public ModifyContext(List<ModifyRequest> modifyRequests, Map<String, String> extendInfo) {
+        this.modifyRequests = modifyRequests;
+        this.extendInfo = extendInfo;
+    }
+    
+    public List<ModifyRequest> getModifyRequests() {
+        return modifyRequests;
+    }
+    
+    public void setModifyRequests(List<ModifyRequest> modifyRequests) {
+        this.modifyRequests = modifyRequests;
+    }
+    
+    public Map<String, String> getExtendInfo() {
+        return extendInfo;
+    }
+    
+    public void setExtendInfo(Map<String, String> extendInfo) {
+        this.extendInfo = extendInfo;
+    }
+    
+    @Override
+    public String toString() {
+        return "ModifyContext{" + "modifyRequests=" + modifyRequests + ", extendInfo=" + extendInfo + '}';
+    }
+}
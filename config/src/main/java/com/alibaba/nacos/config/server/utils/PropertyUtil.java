@@ -102,6 +102,52 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
      */
     private static boolean embeddedStorage = EnvUtil.getStandaloneMode();
     
+    /**
+     * Max bytes of cached config content, the content cache is disabled if not positive.
+     */
+    private static long contentCacheMaxBytes = 0L;
+    
+    /**
+     * Eviction policy of content cache, lru or lfu.
+     */
+    private static String contentCacheEvictionPolicy = "lru";
+    
+    /**
+     * Parallel workers of dump all, default is the count of processors.
+     */
+    private static int dumpAllParallelism = Runtime.getRuntime().availableProcessors();
+    
+    /**
+     * Config pages read ahead of the dump all workers.
+     */
+    private static int dumpAllPrefetchPages = 4;
+    
+    /**
+     * Whether commit concurrent writes of embedded storage in one raft log. All nodes of the cluster should support
+     * group commit before it is enabled.
+     */
+    private static boolean embeddedStorageGroupCommit = false;
+    
+    /**
+     * Max time to wait for more writes after the first write of a group commit.
+     */
+    private static long embeddedStorageGroupCommitWindowMs = 2;
+    
+    /**
+     * Max writes of a group commit.
+     */
+    private static int embeddedStorageGroupCommitMaxBatch = 128;
+    
+    /**
+     * Max query results cached of embedded storage, 0 means disable the cache.
+     */
+    private static int embeddedStorageReadCacheMaxEntries = 1024;
+    
+    /**
+     * Max bytes of a query result to be cached.
+     */
+    private static int embeddedStorageReadCacheMaxResultBytes = 32 * 1024;
+    
     public static int getNotifyConnectTimeout() {
         return notifyConnectTimeout;
     }
@@ -251,6 +297,78 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
         PropertyUtil.embeddedStorage = embeddedStorage;
     }
     
+    public static long getContentCacheMaxBytes() {
+        return contentCacheMaxBytes;
+    }
+    
+    public static void setContentCacheMaxBytes(long contentCacheMaxBytes) {
+        PropertyUtil.contentCacheMaxBytes = contentCacheMaxBytes;
+    }
+    
+    public static String getContentCacheEvictionPolicy() {
+        return contentCacheEvictionPolicy;
+    }
+    
+    public static void setContentCacheEvictionPolicy(String contentCacheEvictionPolicy) {
+        PropertyUtil.contentCacheEvictionPolicy = contentCacheEvictionPolicy;
+    }
+    
+    public static int getDumpAllParallelism() {
+        return dumpAllParallelism;
+    }
+    
+    public static void setDumpAllParallelism(int dumpAllParallelism) {
+        PropertyUtil.dumpAllParallelism = dumpAllParallelism;
+    }
+    
+    public static int getDumpAllPrefetchPages() {
+        return dumpAllPrefetchPages;
+    }
+    
+    public static void setDumpAllPrefetchPages(int dumpAllPrefetchPages) {
+        PropertyUtil.dumpAllPrefetchPages = dumpAllPrefetchPages;
+    }
+    
+    public static boolean isEmbeddedStorageGroupCommit() {
+        return embeddedStorageGroupCommit;
+    }
+    
+    public static void setEmbeddedStorageGroupCommit(boolean embeddedStorageGroupCommit) {
+        PropertyUtil.embeddedStorageGroupCommit = embeddedStorageGroupCommit;
+    }
+    
+    public static long getEmbeddedStorageGroupCommitWindowMs() {
+        return embeddedStorageGroupCommitWindowMs;
+    }
+    
+    public static void setEmbeddedStorageGroupCommitWindowMs(long embeddedStorageGroupCommitWindowMs) {
+        PropertyUtil.embeddedStorageGroupCommitWindowMs = embeddedStorageGroupCommitWindowMs;
+    }
+    
+    public static int getEmbeddedStorageGroupCommitMaxBatch() {
+        return embeddedStorageGroupCommitMaxBatch;
+    }
+    
+    public static void setEmbeddedStorageGroupCommitMaxBatch(int embeddedStorageGroupCommitMaxBatch) {
+        PropertyUtil.embeddedStorageGroupCommitMaxBatch = embeddedStorageGroupCommitMaxBatch;
+    }
+    
+    public static int getEmbeddedStorageReadCacheMaxEntries() {
+        return embeddedStorageReadCacheMaxEntries;
+    }
+    
+    public static void setEmbeddedStorageReadCacheMaxEntries(int embeddedStorageReadCacheMaxEntries) {
+        PropertyUtil.embeddedStorageReadCacheMaxEntries = embeddedStorageReadCacheMaxEntries;
+    }
+    
+    public static int getEmbeddedStorageReadCacheMaxResultBytes() {
+        return embeddedStorageReadCacheMaxResultBytes;
+    }
+    
+    public static void setEmbeddedStorageReadCacheMaxResultBytes(int embeddedStorageReadCacheMaxResultBytes) {
+        PropertyUtil.embeddedStorageReadCacheMaxResultBytes = embeddedStorageReadCacheMaxResultBytes;
+    }
+    
     private void loadSetting() {
         try {
             setNotifyConnectTimeout(Integer.parseInt(EnvUtil.getProperty(PropertiesConstant.NOTIFY_CONNECT_TIMEOUT,
@@ -280,6 +398,25 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
             setDefaultMaxAggrSize(getInt(PropertiesConstant.DEFAULT_MAX_AGGR_SIZE, defaultMaxAggrSize));
             setCorrectUsageDelay(getInt(PropertiesConstant.CORRECT_USAGE_DELAY, correctUsageDelay));
             setInitialExpansionPercent(getInt(PropertiesConstant.INITIAL_EXPANSION_PERCENT, initialExpansionPercent));
+            // content cache
+            setContentCacheMaxBytes(getLong(PropertiesConstant.CONTENT_CACHE_MAX_BYTES, contentCacheMaxBytes));
+            setContentCacheEvictionPolicy(
+                    getString(PropertiesConstant.CONTENT_CACHE_EVICTION_POLICY, contentCacheEvictionPolicy));
+            // dump all
+            setDumpAllParallelism(getInt(PropertiesConstant.DUMP_ALL_PARALLELISM, dumpAllParallelism));
+            setDumpAllPrefetchPages(getInt(PropertiesConstant.DUMP_ALL_PREFETCH_PAGES, dumpAllPrefetchPages));
+            // group commit of embedded storage
+            setEmbeddedStorageGroupCommit(
+                    getBoolean(PropertiesConstant.EMBEDDED_STORAGE_GROUP_COMMIT, embeddedStorageGroupCommit));
+            setEmbeddedStorageGroupCommitWindowMs(getLong(PropertiesConstant.EMBEDDED_STORAGE_GROUP_COMMIT_WINDOW_MS,
+                    embeddedStorageGroupCommitWindowMs));
+            setEmbeddedStorageGroupCommitMaxBatch(getInt(PropertiesConstant.EMBEDDED_STORAGE_GROUP_COMMIT_MAX_BATCH,
+                    embeddedStorageGroupCommitMaxBatch));
+            setEmbeddedStorageReadCacheMaxEntries(getInt(PropertiesConstant.EMBEDDED_STORAGE_READ_CACHE_MAX_ENTRIES,
+                    embeddedStorageReadCacheMaxEntries));
+            setEmbeddedStorageReadCacheMaxResultBytes(
+                    getInt(PropertiesConstant.EMBEDDED_STORAGE_READ_CACHE_MAX_RESULT_BYTES,
+                            embeddedStorageReadCacheMaxResultBytes));
             // External data sources are used by default in cluster mode
             setUseExternalDB(PropertiesConstant.MYSQL
                     .equalsIgnoreCase(getString(PropertiesConstant.SPRING_DATASOURCE_PLATFORM, "")));
@@ -316,6 +453,10 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
         return Integer.parseInt(getString(key, String.valueOf(defaultValue)));
     }
     
+    private long getLong(String key, long defaultValue) {
+        return Long.parseLong(getString(key, String.valueOf(defaultValue)));
+    }
+    
     private String getString(String key, String defaultValue) {
         String value = getProperty(key);
         if (value == null) {
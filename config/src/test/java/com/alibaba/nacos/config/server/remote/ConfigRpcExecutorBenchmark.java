@@ -0,0 +1,228 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.remote;
+
+import com.alibaba.nacos.api.config.remote.request.ConfigPublishRequest;
+import com.alibaba.nacos.api.config.remote.request.ConfigQueryRequest;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.remote.request.Request;
+import com.alibaba.nacos.api.remote.request.RequestMeta;
+import com.alibaba.nacos.api.remote.response.Response;
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.config.server.model.ConfigInfo;
+import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
+import com.alibaba.nacos.config.server.model.event.ConfigDataChangeEvent;
+import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.service.repository.PersistService;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import com.alibaba.nacos.core.remote.RequestFilters;
+import com.alibaba.nacos.core.remote.RequestHandler;
+import com.alibaba.nacos.core.utils.RemoteUtils;
+import com.alibaba.nacos.core.utils.VirtualThreadExecutor;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Benchmark of {@link ConfigPublishRequestHandler} and {@link ConfigQueryRequestHandler} on the platform thread rpc
+ * executor and the {@link VirtualThreadExecutor}, run by {@link #main(String[])} in test scope. The virtual mode needs
+ * jdk 21+.
+ *
+ * <p>Requests go through {@link RequestHandler#handleRequest(Request, RequestMeta)} as the grpc acceptor calls it, and
+ * the persist service sleeps as the database latency. Configs are read in direct read mode with the content cache
+ * disabled, so every query reads the persist service. {@code concurrency=0} uses the default cap of each mode, the
+ * pool size for platform and {@code remote.executor.virtual.concurrency} for virtual, other values cap both modes to
+ * the same number.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ConfigRpcExecutorBenchmark {
+    
+    private static final int REQUESTS = 4096;
+    
+    private static final int CONFIGS = 1024;
+    
+    /**
+     * Simulated database latency of a publish, which is a transaction with a few statements.
+     */
+    private static final long PUBLISH_LATENCY_MILLIS = 10L;
+    
+    /**
+     * Simulated database latency of a query.
+     */
+    private static final long QUERY_LATENCY_MILLIS = 2L;
+    
+    @Param({"platform", RemoteUtils.REMOTE_EXECUTOR_MODE_VIRTUAL})
+    private String mode;
+    
+    @Param({"0", "256"})
+    private int concurrency;
+    
+    private Executor executor;
+    
+    private ThreadPoolExecutor platformExecutor;
+    
+    private ConfigPublishRequestHandler publishHandler;
+    
+    private ConfigQueryRequestHandler queryHandler;
+    
+    private final ConfigPublishRequest[] publishRequests = new ConfigPublishRequest[CONFIGS];
+    
+    private final ConfigQueryRequest[] queryRequests = new ConfigQueryRequest[CONFIGS];
+    
+    private final RequestMeta meta = new RequestMeta();
+    
+    private final AtomicInteger failures = new AtomicInteger();
+    
+    /**
+     * Build the handlers with the sleeping persist service, and the executor of the mode.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        EnvUtil.setEnvironment(new StandardEnvironment());
+        EnvUtil.setIsStandalone(true);
+        PropertyUtil.setEmbeddedStorage(true);
+        PropertyUtil.setContentCacheMaxBytes(0L);
+        NotifyCenter.registerToPublisher(ConfigDataChangeEvent.class, NotifyCenter.ringBufferSize);
+        PersistService persistService = Mockito.mock(PersistService.class, Mockito.withSettings().stubOnly());
+        doAnswer(invocation -> {
+            TimeUnit.MILLISECONDS.sleep(PUBLISH_LATENCY_MILLIS);
+            return null;
+        }).when(persistService).insertOrUpdate(anyString(), any(), any(ConfigInfo.class), any(Timestamp.class),
+                anyMap(), anyBoolean());
+        doAnswer(invocation -> {
+            TimeUnit.MILLISECONDS.sleep(QUERY_LATENCY_MILLIS);
+            ConfigInfoWrapper result = new ConfigInfoWrapper();
+            result.setContent("content" + invocation.getArgument(0));
+            return result;
+        }).when(persistService).findConfigInfo(anyString(), anyString(), any());
+        publishHandler = buildHandler(new ConfigPublishRequestHandler(persistService));
+        queryHandler = buildHandler(new ConfigQueryRequestHandler(persistService));
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < CONFIGS; i++) {
+            String dataId = "dataId" + i;
+            ConfigCacheService.dump(dataId, "group", "", "content" + dataId, now, "text");
+            publishRequests[i] = new ConfigPublishRequest(dataId, "group", "", "content" + dataId);
+            queryRequests[i] = ConfigQueryRequest.build(dataId, "group", "");
+        }
+        meta.setClientIp("127.0.0.1");
+        int threads = Runtime.getRuntime().availableProcessors() * RemoteUtils.getRemoteExecutorTimesOfProcessors();
+        if (RemoteUtils.REMOTE_EXECUTOR_MODE_VIRTUAL.equals(mode)) {
+            int cap = concurrency > 0 ? concurrency : RemoteUtils.getRemoteExecutorVirtualConcurrency();
+            executor = new VirtualThreadExecutor("benchmark-virtual-", cap, RemoteUtils.getRemoteExecutorQueueSize());
+        } else {
+            int cap = concurrency > 0 ? concurrency : threads;
+            platformExecutor = new ThreadPoolExecutor(cap, cap, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(RemoteUtils.getRemoteExecutorQueueSize()));
+            executor = platformExecutor;
+        }
+    }
+    
+    private <T extends RequestHandler<?, ?>> T buildHandler(T handler) {
+        ReflectionTestUtils.setField(handler, "requestFilters", new RequestFilters());
+        return handler;
+    }
+    
+    /**
+     * Shutdown the executor and make sure all requests are handled successfully.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (platformExecutor != null) {
+            platformExecutor.shutdownNow();
+        }
+        if (failures.get() > 0) {
+            throw new IllegalStateException(failures.get() + " requests failed");
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void publish() throws InterruptedException {
+        runRequests(publishHandler, publishRequests);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void query() throws InterruptedException {
+        runRequests(queryHandler, queryRequests);
+    }
+    
+    private <T extends Request> void runRequests(RequestHandler<T, ?> handler, T[] requests)
+            throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            T request = requests[i % CONFIGS];
+            executor.execute(() -> {
+                try {
+                    Response response = handler.handleRequest(request, meta);
+                    if (!response.isSuccess()) {
+                        failures.incrementAndGet();
+                    }
+                } catch (NacosException e) {
+                    failures.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ConfigRpcExecutorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.config.server.constant.Constants;
+import com.alibaba.nacos.config.server.model.CacheItem;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConfigContentCacheTest {
+    
+    /**
+     * Each content of 10 chars is 84 bytes.
+     */
+    private static final long MAX_BYTES = 84 * 4;
+    
+    private CacheItem[] items;
+    
+    @Before
+    public void setUp() {
+        PropertyUtil.setContentCacheMaxBytes(MAX_BYTES);
+        PropertyUtil.setContentCacheEvictionPolicy("lru");
+        items = new CacheItem[5];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = newItem("key" + i, "content-0" + i);
+        }
+    }
+    
+    @After
+    public void tearDown() {
+        for (CacheItem each : items) {
+            ConfigContentCache.remove(each);
+        }
+        PropertyUtil.setContentCacheMaxBytes(0L);
+    }
+    
+    @Test
+    public void testDisabled() {
+        PropertyUtil.setContentCacheMaxBytes(0L);
+        ConfigContentCache.put(items[0], items[0].getMd5(), "content-00");
+        Assert.assertNull(ConfigContentCache.get(items[0]));
+        Assert.assertEquals(0, ConfigContentCache.getUsedBytes());
+    }
+    
+    @Test
+    public void testPutAndGet() {
+        ConfigContentCache.put(items[0], items[0].getMd5(), "content-00");
+        Assert.assertEquals("content-00", ConfigContentCache.get(items[0]));
+        Assert.assertEquals(84, ConfigContentCache.getUsedBytes());
+        // Outdated content is not served.
+        items[0].setMd5(md5("content-new"));
+        Assert.assertNull(ConfigContentCache.get(items[0]));
+        ConfigContentCache.put(items[0], md5("content-new"), "content-new");
+        Assert.assertEquals("content-new", ConfigContentCache.get(items[0]));
+        Assert.assertEquals(86, ConfigContentCache.getUsedBytes());
+        ConfigContentCache.remove(items[0]);
+        Assert.assertNull(ConfigContentCache.get(items[0]));
+        Assert.assertEquals(0, ConfigContentCache.getUsedBytes());
+    }
+    
+    @Test
+    public void testPutIgnoreMismatchedMd5() {
+        ConfigContentCache.put(items[0], md5("other"), "other");
+        Assert.assertNull(ConfigContentCache.get(items[0]));
+        ConfigContentCache.putLoaded(items[1], "changed-01");
+        Assert.assertNull(ConfigContentCache.get(items[1]));
+        ConfigContentCache.putLoaded(items[1], "content-01");
+        Assert.assertEquals("content-01", ConfigContentCache.get(items[1]));
+    }
+    
+    @Test
+    public void testLruEviction() throws InterruptedException {
+        for (int i = 0; i < 4; i++) {
+            ConfigContentCache.put(items[i], items[i].getMd5(), "content-0" + i);
+            Thread.sleep(2);
+        }
+        ConfigContentCache.get(items[0]);
+        Thread.sleep(2);
+        ConfigContentCache.put(items[4], items[4].getMd5(), "content-04");
+        Assert.assertTrue(ConfigContentCache.getUsedBytes() <= MAX_BYTES * 0.9);
+        Assert.assertEquals("content-00", ConfigContentCache.get(items[0]));
+        Assert.assertNull(ConfigContentCache.get(items[1]));
+        Assert.assertNull(ConfigContentCache.get(items[2]));
+        Assert.assertEquals("content-04", ConfigContentCache.get(items[4]));
+    }
+    
+    @Test
+    public void testLfuEviction() throws InterruptedException {
+        PropertyUtil.setContentCacheEvictionPolicy("lfu");
+        for (int i = 0; i < 4; i++) {
+            ConfigContentCache.put(items[i], items[i].getMd5(), "content-0" + i);
+        }
+        for (int i = 0; i < 3; i++) {
+            ConfigContentCache.get(items[1]);
+            ConfigContentCache.get(items[3]);
+        }
+        ConfigContentCache.get(items[0]);
+        ConfigContentCache.get(items[0]);
+        Thread.sleep(2);
+        ConfigContentCache.get(items[2]);
+        ConfigContentCache.put(items[4], items[4].getMd5(), "content-04");
+        Assert.assertNull(ConfigContentCache.get(items[2]));
+        Assert.assertNull(ConfigContentCache.get(items[4]));
+        Assert.assertEquals("content-00", ConfigContentCache.get(items[0]));
+        Assert.assertEquals("content-01", ConfigContentCache.get(items[1]));
+        Assert.assertEquals("content-03", ConfigContentCache.get(items[3]));
+    }
+    
+    private static CacheItem newItem(String groupKey, String content) {
+        CacheItem result = new CacheItem(groupKey);
+        result.setMd5(md5(content));
+        return result;
+    }
+    
+    private static String md5(String content) {
+        return MD5Utils.md5Hex(content, Constants.ENCODE);
+    }
+}
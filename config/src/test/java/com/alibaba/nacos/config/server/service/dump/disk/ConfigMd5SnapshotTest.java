@@ -0,0 +1,100 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service.dump.disk;
+
+import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ConfigMd5SnapshotTest {
+    
+    private File baseDir;
+    
+    private ConfigMd5Snapshot snapshot;
+    
+    @Before
+    public void setUp() throws IOException {
+        baseDir = Files.createTempDirectory("configMd5SnapshotTest").toFile();
+        snapshot = new ConfigMd5Snapshot(new File(baseDir, "status" + File.separator + "configMd5.snapshot"));
+    }
+    
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(baseDir);
+    }
+    
+    @Test
+    public void testSaveAndRestore() throws IOException {
+        ConfigCacheService.updateMd5("snapshotA+group+", "md5A", 1000L);
+        ConfigCacheService.updateMd5("snapshotB+group+", "md5B", 3000L);
+        ConfigCacheService.getContentCache("snapshotB+group+").setType("yaml");
+        long watermark = snapshot.save();
+        assertTrue(watermark >= 3000L);
+        
+        ConfigCacheService.updateMd5("snapshotA+group+", "md5A2", 2000L);
+        ConfigCacheService.getContentCache("snapshotB+group+").setType(null);
+        assertEquals(watermark, snapshot.restore(Long.MAX_VALUE));
+        assertEquals("md5A", ConfigCacheService.getContentMd5("snapshotA+group+"));
+        assertEquals(1000L, ConfigCacheService.getLastModifiedTs("snapshotA+group+"));
+        assertEquals("yaml", ConfigCacheService.getContentCache("snapshotB+group+").getType());
+    }
+    
+    @Test
+    public void testRestoreWithoutSnapshot() {
+        assertEquals(ConfigMd5Snapshot.NO_SNAPSHOT, snapshot.restore(Long.MAX_VALUE));
+    }
+    
+    @Test
+    public void testRestoreExpiredSnapshot() throws IOException {
+        ConfigCacheService.updateMd5("snapshotC+group+", "md5C", 1000L);
+        snapshot.save();
+        assertEquals(ConfigMd5Snapshot.NO_SNAPSHOT, snapshot.restore(-1L));
+    }
+    
+    @Test
+    public void testRestoreBrokenSnapshot() throws IOException {
+        ConfigCacheService.updateMd5("snapshotD+group+", "md5D", 1000L);
+        snapshot.save();
+        ConfigCacheService.updateMd5("snapshotD+group+", "md5D2", 2000L);
+        File file = new File(baseDir, "status" + File.separator + "configMd5.snapshot");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            // flip a byte of the last entry before the checksum.
+            long position = raf.length() - 9;
+            raf.seek(position);
+            int b = raf.read();
+            raf.seek(position);
+            raf.write(b ^ 1);
+        }
+        assertEquals(ConfigMd5Snapshot.NO_SNAPSHOT, snapshot.restore(Long.MAX_VALUE));
+        assertEquals("md5D2", ConfigCacheService.getContentMd5("snapshotD+group+"));
+        
+        snapshot.delete();
+        assertFalse(file.exists());
+    }
+}
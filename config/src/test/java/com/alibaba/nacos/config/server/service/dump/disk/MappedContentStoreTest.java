@@ -0,0 +1,142 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.dump.disk;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MappedContentStoreTest {
+    
+    private static final int SEGMENT_SIZE = 1024;
+    
+    private File baseDir;
+    
+    @Before
+    public void setUp() throws IOException {
+        baseDir = Files.createTempDirectory("mappedContentStoreTest").toFile();
+    }
+    
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(baseDir);
+    }
+    
+    @Test
+    public void testPutGetAndRemove() throws IOException {
+        MappedContentStore store = new MappedContentStore(baseDir, SEGMENT_SIZE);
+        store.put("key", "value");
+        store.put("key2", "配置内容");
+        assertEquals("value", store.get("key"));
+        assertEquals("配置内容", store.get("key2"));
+        store.put("key", "newValue");
+        assertEquals("newValue", store.get("key"));
+        store.remove("key");
+        assertNull(store.get("key"));
+        assertFalse(store.contains("key"));
+        assertEquals(1, store.size());
+    }
+    
+    @Test
+    public void testRecover() throws IOException {
+        MappedContentStore store = new MappedContentStore(baseDir, SEGMENT_SIZE);
+        store.put("key", "value");
+        store.put("key2", "value2");
+        store.put("key", "newValue");
+        store.remove("key2");
+        MappedContentStore recovered = new MappedContentStore(baseDir, SEGMENT_SIZE);
+        assertEquals("newValue", recovered.get("key"));
+        assertNull(recovered.get("key2"));
+        assertEquals(1, recovered.size());
+    }
+    
+    @Test
+    public void testRecoverWithTornTail() throws IOException {
+        MappedContentStore store = new MappedContentStore(baseDir, SEGMENT_SIZE);
+        store.put("k1", "v1");
+        File[] segments = baseDir.listFiles();
+        assertEquals(1, segments.length);
+        // Record of k1 is 17 bytes header and 4 bytes key value, write a broken record after it.
+        try (RandomAccessFile raf = new RandomAccessFile(segments[0], "rw")) {
+            raf.seek(21);
+            raf.writeInt(0x4E43534D);
+            raf.writeInt(12345);
+            raf.writeByte(1);
+        }
+        MappedContentStore recovered = new MappedContentStore(baseDir, SEGMENT_SIZE);
+        assertEquals("v1", recovered.get("k1"));
+        assertEquals(1, recovered.size());
+        recovered.put("k2", "v2");
+        MappedContentStore recoveredAgain = new MappedContentStore(baseDir, SEGMENT_SIZE);
+        assertEquals("v1", recoveredAgain.get("k1"));
+        assertEquals("v2", recoveredAgain.get("k2"));
+    }
+    
+    @Test
+    public void testLargeValue() throws IOException {
+        MappedContentStore store = new MappedContentStore(baseDir, SEGMENT_SIZE);
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < SEGMENT_SIZE; i++) {
+            value.append(i % 10);
+        }
+        store.put("small", "value");
+        store.put("large", value.toString());
+        assertEquals(value.toString(), store.get("large"));
+        assertEquals(value.toString(), new MappedContentStore(baseDir, SEGMENT_SIZE).get("large"));
+    }
+    
+    @Test
+    public void testCompact() throws IOException {
+        MappedContentStore store = new MappedContentStore(baseDir, SEGMENT_SIZE);
+        store.put("stable", "stableValue");
+        for (int i = 0; i < 200; i++) {
+            store.put("key", "value-" + i);
+            store.put("removed" + i, "value-" + i);
+            store.remove("removed" + i);
+        }
+        assertTrue(baseDir.listFiles().length <= 2);
+        assertEquals("value-199", store.get("key"));
+        assertEquals("stableValue", store.get("stable"));
+        MappedContentStore recovered = new MappedContentStore(baseDir, SEGMENT_SIZE);
+        assertEquals(2, recovered.size());
+        assertEquals("value-199", recovered.get("key"));
+        assertEquals("stableValue", recovered.get("stable"));
+    }
+    
+    @Test
+    public void testClear() throws IOException {
+        MappedContentStore store = new MappedContentStore(baseDir, SEGMENT_SIZE);
+        store.put("key", "value");
+        store.clear();
+        assertNull(store.get("key"));
+        store.put("key2", "value2");
+        MappedContentStore recovered = new MappedContentStore(baseDir, SEGMENT_SIZE);
+        assertNull(recovered.get("key"));
+        assertEquals("value2", recovered.get("key2"));
+    }
+}
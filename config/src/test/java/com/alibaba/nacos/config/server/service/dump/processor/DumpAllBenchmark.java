@@ -0,0 +1,182 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service.dump.processor;
+
+import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
+import com.alibaba.nacos.config.server.model.Page;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link DumpAllPipeline} over 100k configs in an embedded in-memory derby, run by {@link #main(String[])}
+ * in test scope. {@code parallelism=1} is close to the former single thread dump all. Configs are dumped in direct read
+ * mode, so the result covers reading, md5 and content cache but not the disk.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DumpAllBenchmark {
+    
+    private static final String JDBC_URL = "jdbc:derby:memory:dumpAllBenchmark";
+    
+    private static final String SQL_FRAGMENT =
+            "SELECT id,data_id,group_id,tenant_id,content,gmt_modified,type FROM config_info WHERE id > ? "
+                    + "ORDER BY id ASC OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY";
+    
+    private static final String SQL_INSERT =
+            "INSERT INTO config_info (data_id,group_id,tenant_id,content,gmt_modified,type) VALUES (?,?,?,?,?,?)";
+    
+    private static final int CONFIG_COUNT = 100000;
+    
+    private static final int CONTENT_SIZE = 1024;
+    
+    @Param({"1", "4", "8"})
+    private int parallelism;
+    
+    private Connection connection;
+    
+    /**
+     * Create the config table and insert the configs.
+     */
+    @Setup
+    public void setUp() throws SQLException {
+        EnvUtil.setEnvironment(new StandardEnvironment());
+        EnvUtil.setIsStandalone(true);
+        PropertyUtil.setEmbeddedStorage(true);
+        connection = DriverManager.getConnection(JDBC_URL + ";create=true");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE config_info (id bigint NOT NULL generated by default as identity, "
+                    + "data_id varchar(255) NOT NULL, group_id varchar(128) NOT NULL, tenant_id varchar(128) "
+                    + "default '', content CLOB, gmt_modified timestamp NOT NULL, type varchar(64), "
+                    + "constraint configinfo_id_key PRIMARY KEY (id))");
+        }
+        StringBuilder content = new StringBuilder(CONTENT_SIZE);
+        while (content.length() < CONTENT_SIZE) {
+            content.append("key=value\n");
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(SQL_INSERT)) {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            for (int i = 0; i < CONFIG_COUNT; i++) {
+                insert.setString(1, "dataId" + i);
+                insert.setString(2, "group" + i % 100);
+                insert.setString(3, "");
+                insert.setString(4, content.toString() + i);
+                insert.setTimestamp(5, now);
+                insert.setString(6, "properties");
+                insert.addBatch();
+                if (i % DumpAllProcessor.PAGE_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+    
+    /**
+     * Drop the in-memory database.
+     */
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+        try {
+            DriverManager.getConnection(JDBC_URL + ";drop=true");
+        } catch (SQLException ignore) {
+            // derby reports a dropped database by exception.
+        }
+    }
+    
+    @Benchmark
+    public boolean dumpAll() {
+        return new DumpAllPipeline(this::findConfigMaxId, this::findAllConfigInfoFragment, DumpAllProcessor.PAGE_SIZE,
+                4, parallelism).run();
+    }
+    
+    private long findConfigMaxId() {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT max(id) FROM config_info")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private Page<ConfigInfoWrapper> findAllConfigInfoFragment(long lastMaxId, int pageSize) {
+        List<ConfigInfoWrapper> items = new ArrayList<>(pageSize);
+        try (PreparedStatement statement = connection.prepareStatement(SQL_FRAGMENT)) {
+            statement.setLong(1, lastMaxId);
+            statement.setInt(2, pageSize);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    ConfigInfoWrapper cf = new ConfigInfoWrapper();
+                    cf.setId(rs.getLong("id"));
+                    cf.setDataId(rs.getString("data_id"));
+                    cf.setGroup(rs.getString("group_id"));
+                    cf.setTenant(rs.getString("tenant_id"));
+                    cf.setContent(rs.getString("content"));
+                    cf.setLastModified(rs.getTimestamp("gmt_modified").getTime());
+                    cf.setType(rs.getString("type"));
+                    items.add(cf);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        Page<ConfigInfoWrapper> page = new Page<>();
+        page.setPageItems(items);
+        return page;
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DumpAllBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service.dump.processor;
+
+import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.config.server.constant.Constants;
+import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
+import com.alibaba.nacos.config.server.model.Page;
+import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
+import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DumpAllPipelineTest {
+    
+    private static final int PAGE_SIZE = 100;
+    
+    private List<ConfigInfoWrapper> configs;
+    
+    @Before
+    public void setUp() {
+        EnvUtil.setEnvironment(new StandardEnvironment());
+        // read content from the cache directly, so the dump does not write files.
+        EnvUtil.setIsStandalone(true);
+        PropertyUtil.setEmbeddedStorage(true);
+        configs = new ArrayList<>();
+        // ids have gaps, as rows deleted from the table.
+        for (int i = 0; i < 950; i++) {
+            configs.add(config(i * 3L + 1, "dumpAllPipelineTest" + i, "content" + i));
+        }
+    }
+    
+    @After
+    public void tearDown() {
+        PropertyUtil.setEmbeddedStorage(false);
+        EnvUtil.setIsStandalone(false);
+    }
+    
+    @Test
+    public void testRunDumpsAllConfigs() {
+        DumpAllPipeline pipeline = new DumpAllPipeline(this::maxId, this::read, PAGE_SIZE, 2, 4);
+        assertTrue(pipeline.run());
+        assertEquals(configs.size(), MetricsMonitor.getDumpAllReadMonitor().get());
+        assertEquals(configs.size(), MetricsMonitor.getDumpAllDumpedMonitor().get());
+        assertEquals(0, MetricsMonitor.getDumpAllFailedMonitor().get());
+        for (ConfigInfoWrapper cf : configs) {
+            String groupKey = GroupKey2.getKey(cf.getDataId(), cf.getGroup(), cf.getTenant());
+            assertEquals(MD5Utils.md5Hex(cf.getContent(), Constants.ENCODE),
+                    ConfigCacheService.getContentMd5(groupKey));
+        }
+    }
+    
+    @Test
+    public void testRunWithSingleWorker() {
+        DumpAllPipeline pipeline = new DumpAllPipeline(this::maxId, this::read, PAGE_SIZE, 1, 1);
+        assertTrue(pipeline.run());
+        assertEquals(configs.size(), MetricsMonitor.getDumpAllDumpedMonitor().get());
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testRunRethrowsReadFailure() {
+        AtomicInteger reads = new AtomicInteger();
+        DumpAllPipeline pipeline = new DumpAllPipeline(this::maxId, (lastMaxId, pageSize) -> {
+            if (reads.incrementAndGet() > 3) {
+                throw new IllegalStateException("read failed");
+            }
+            return read(lastMaxId, pageSize);
+        }, PAGE_SIZE, 1, 2);
+        pipeline.run();
+    }
+    
+    private long maxId() {
+        return configs.get(configs.size() - 1).getId();
+    }
+    
+    private Page<ConfigInfoWrapper> read(long lastMaxId, int pageSize) {
+        List<ConfigInfoWrapper> items = new ArrayList<>();
+        for (ConfigInfoWrapper cf : configs) {
+            if (cf.getId() > lastMaxId && items.size() < pageSize) {
+                items.add(cf);
+            }
+        }
+        Page<ConfigInfoWrapper> page = new Page<>();
+        page.setPageItems(items);
+        return page;
+    }
+    
+    private static ConfigInfoWrapper config(long id, String dataId, String content) {
+        ConfigInfoWrapper cf = new ConfigInfoWrapper();
+        cf.setId(id);
+        cf.setDataId(dataId);
+        cf.setGroup("DEFAULT_GROUP");
+        cf.setTenant("");
+        cf.setContent(content);
+        cf.setLastModified(System.currentTimeMillis());
+        cf.setType("text");
+        return cf;
+    }
+}
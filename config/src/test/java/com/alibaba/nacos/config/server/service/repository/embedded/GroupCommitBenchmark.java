@@ -0,0 +1,120 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service.repository.embedded;
+
+import com.alibaba.nacos.config.server.service.sql.ModifyContext;
+import com.alibaba.nacos.config.server.service.sql.ModifyRequest;
+import com.alibaba.nacos.consistency.entity.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Benchmark of {@link GroupCommitWriter} with 64 concurrent writers, run by {@link #main(String[])} in test scope.
+ *
+ * <p>The raft group is simulated by one thread which applies logs in order. Each log costs {@code 1 ms}, as the
+ * replication and the derby transaction commit, and each update in the log costs {@code 20 us} more. {@code
+ * groupCommit=false} commits every update as its own log, as before.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class GroupCommitBenchmark {
+    
+    private static final long LOG_COST_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    
+    private static final long UPDATE_COST_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+    
+    @Param({"false", "true"})
+    private boolean groupCommit;
+    
+    private ExecutorService raftGroup;
+    
+    private GroupCommitWriter writer;
+    
+    private ModifyContext context;
+    
+    /**
+     * Start the simulated raft group and the writer.
+     */
+    @Setup
+    public void setUp() {
+        raftGroup = Executors.newSingleThreadExecutor();
+        writer = new GroupCommitWriter("benchmark.group-commit", this::commit, 128, 2);
+        ModifyRequest request = new ModifyRequest("UPDATE config_info SET content = ? WHERE id = ?");
+        request.setArgs(new Object[] {"content", 1L});
+        context = new ModifyContext(Collections.singletonList(request), Collections.emptyMap());
+    }
+    
+    @TearDown
+    public void tearDown() {
+        writer.shutdown();
+        raftGroup.shutdownNow();
+    }
+    
+    @Benchmark
+    public Response update() throws Exception {
+        if (groupCommit) {
+            return writer.submit(context).get();
+        }
+        return commit(Collections.singletonList(context)).get().get(0);
+    }
+    
+    private CompletableFuture<List<Response>> commit(List<ModifyContext> contexts) {
+        return CompletableFuture.supplyAsync(() -> {
+            LockSupport.parkNanos(LOG_COST_NANOS + UPDATE_COST_NANOS * contexts.size());
+            List<Response> responses = new ArrayList<>(contexts.size());
+            for (int i = 0; i < contexts.size(); i++) {
+                responses.add(Response.newBuilder().setSuccess(true).build());
+            }
+            return responses;
+        }, raftGroup);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(GroupCommitBenchmark.class.getSimpleName()).build()).run();
+    }
+}
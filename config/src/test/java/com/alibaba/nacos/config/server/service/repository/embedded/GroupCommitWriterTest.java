@@ -0,0 +1,146 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service.repository.embedded;
+
+import com.alibaba.nacos.config.server.service.sql.ModifyContext;
+import com.alibaba.nacos.config.server.service.sql.ModifyRequest;
+import com.alibaba.nacos.consistency.entity.Response;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class GroupCommitWriterTest {
+    
+    private GroupCommitWriter writer;
+    
+    @After
+    public void tearDown() {
+        if (null != writer) {
+            writer.shutdown();
+        }
+    }
+    
+    @Test
+    public void testGatherConcurrentUpdates() throws Exception {
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        writer = new GroupCommitWriter("test.group-commit", contexts -> {
+            batchSizes.add(contexts.size());
+            return CompletableFuture.completedFuture(success(contexts.size()));
+        }, 128, 200);
+        List<CompletableFuture<Response>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(writer.submit(context("update" + i)));
+        }
+        for (CompletableFuture<Response> future : futures) {
+            assertTrue(future.get(5, TimeUnit.SECONDS).getSuccess());
+        }
+        assertEquals(1, batchSizes.size());
+        assertEquals(10, (int) batchSizes.get(0));
+    }
+    
+    @Test
+    public void testSplitBatchByMaxSize() throws Exception {
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        writer = new GroupCommitWriter("test.group-commit", contexts -> {
+            batchSizes.add(contexts.size());
+            return CompletableFuture.completedFuture(success(contexts.size()));
+        }, 4, 50);
+        List<CompletableFuture<Response>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(writer.submit(context("update" + i)));
+        }
+        for (CompletableFuture<Response> future : futures) {
+            assertTrue(future.get(5, TimeUnit.SECONDS).getSuccess());
+        }
+        int total = 0;
+        for (int size : batchSizes) {
+            assertTrue(size <= 4);
+            total += size;
+        }
+        assertEquals(10, total);
+    }
+    
+    @Test
+    public void testDemultiplexResults() throws Exception {
+        writer = new GroupCommitWriter("test.group-commit", contexts -> {
+            List<Response> responses = new ArrayList<>();
+            for (ModifyContext context : contexts) {
+                String sql = context.getModifyRequests().get(0).getSql();
+                responses.add(sql.startsWith("bad") ? Response.newBuilder().setSuccess(false).setErrMsg(sql).build()
+                        : Response.newBuilder().setSuccess(true).build());
+            }
+            return CompletableFuture.completedFuture(responses);
+        }, 128, 10);
+        CompletableFuture<Response> good = writer.submit(context("good"));
+        CompletableFuture<Response> bad = writer.submit(context("bad"));
+        assertTrue(good.get(5, TimeUnit.SECONDS).getSuccess());
+        Response badResponse = bad.get(5, TimeUnit.SECONDS);
+        assertFalse(badResponse.getSuccess());
+        assertEquals("bad", badResponse.getErrMsg());
+    }
+    
+    @Test
+    public void testCommitFailure() throws Exception {
+        writer = new GroupCommitWriter("test.group-commit", contexts -> {
+            throw new IllegalStateException("not leader");
+        }, 128, 0);
+        try {
+            writer.submit(context("update")).get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertEquals("not leader", e.getCause().getMessage());
+        }
+    }
+    
+    @Test
+    public void testSubmitAfterShutdown() throws Exception {
+        writer = new GroupCommitWriter("test.group-commit",
+                contexts -> CompletableFuture.completedFuture(success(contexts.size())), 128, 0);
+        writer.shutdown();
+        try {
+            writer.submit(context("update")).get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+    
+    private static List<Response> success(int size) {
+        List<Response> responses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            responses.add(Response.newBuilder().setSuccess(true).build());
+        }
+        return responses;
+    }
+    
+    private static ModifyContext context(String sql) {
+        ModifyRequest request = new ModifyRequest(sql);
+        return new ModifyContext(Collections.singletonList(request), Collections.emptyMap());
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service.repository.embedded;
+
+import com.alibaba.nacos.config.server.service.sql.ModifyRequest;
+import com.alibaba.nacos.config.server.service.sql.QueryType;
+import com.alibaba.nacos.config.server.service.sql.SelectRequest;
+import com.google.protobuf.ByteString;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ReadResultCacheTest {
+    
+    private static final String QUERY_CONFIG = "SELECT id,content FROM config_info WHERE data_id=? AND group_id=?";
+    
+    private static final String QUERY_BETA = "SELECT id,content FROM config_info_beta WHERE data_id=? AND group_id=?";
+    
+    private ReadResultCache cache;
+    
+    @Before
+    public void setUp() {
+        cache = new ReadResultCache(16, 1024);
+        // make the tables known.
+        cache.invalidate(Collections.singletonList(new ModifyRequest("INSERT INTO config_info(id) VALUES(?)")));
+        cache.invalidate(Collections.singletonList(new ModifyRequest("INSERT INTO config_info_beta(id) VALUES(?)")));
+    }
+    
+    @Test
+    public void testHitWithSameSqlAndArgs() {
+        query(QUERY_CONFIG, "content", "dataId", "group");
+        assertEquals(bytes("content"), cache.get(request(QUERY_CONFIG, "dataId", "group")));
+        assertNull(cache.get(request(QUERY_CONFIG, "dataId", "otherGroup")));
+    }
+    
+    @Test
+    public void testInvalidateByModifiedTable() {
+        query(QUERY_CONFIG, "content", "dataId", "group");
+        query(QUERY_BETA, "beta", "dataId", "group");
+        cache.invalidate(Collections.singletonList(new ModifyRequest("UPDATE config_info SET content=? WHERE id=?")));
+        assertNull(cache.get(request(QUERY_CONFIG, "dataId", "group")));
+        assertEquals(bytes("beta"), cache.get(request(QUERY_BETA, "dataId", "group")));
+        cache.invalidate(
+                Collections.singletonList(new ModifyRequest("delete from NACOS.CONFIG_INFO_BETA where id=?")));
+        assertNull(cache.get(request(QUERY_BETA, "dataId", "group")));
+    }
+    
+    @Test
+    public void testNotCacheResultModifiedWhileQuerying() {
+        SelectRequest request = request(QUERY_CONFIG, "dataId", "group");
+        ReadResultCache.Stamp stamp = cache.stamp(request);
+        cache.invalidate(Collections.singletonList(new ModifyRequest("UPDATE config_info SET content=? WHERE id=?")));
+        cache.put(request, stamp, bytes("old"));
+        assertNull(cache.get(request));
+    }
+    
+    @Test
+    public void testInvalidateByUnknownTable() {
+        query(QUERY_CONFIG, "content", "dataId", "group");
+        String sql = "SELECT id FROM tenant_info WHERE kp=?";
+        query(sql, "tenant", "1");
+        assertEquals(bytes("tenant"), cache.get(request(sql, "1")));
+        // the first modification of a table invalidates the results cached before.
+        cache.invalidate(Collections.singletonList(new ModifyRequest("INSERT INTO tenant_info(id) VALUES(?)")));
+        assertNull(cache.get(request(sql, "1")));
+        assertNull(cache.get(request(QUERY_CONFIG, "dataId", "group")));
+        query(sql, "tenant", "1");
+        cache.invalidate(Collections.singletonList(new ModifyRequest("UPDATE tenant_info SET kp=? WHERE id=?")));
+        assertNull(cache.get(request(sql, "1")));
+    }
+    
+    @Test
+    public void testInvalidateAll() {
+        query(QUERY_CONFIG, "content", "dataId", "group");
+        cache.invalidateAll();
+        assertNull(cache.get(request(QUERY_CONFIG, "dataId", "group")));
+        assertEquals(0, cache.size());
+    }
+    
+    @Test
+    public void testEvictAndSizeLimit() {
+        for (int i = 0; i < 32; i++) {
+            query(QUERY_CONFIG, "content", "dataId" + i, "group");
+        }
+        assertEquals(16, cache.size());
+        assertNull(cache.get(request(QUERY_CONFIG, "dataId0", "group")));
+        assertEquals(bytes("content"), cache.get(request(QUERY_CONFIG, "dataId31", "group")));
+        SelectRequest request = request(QUERY_CONFIG, "large", "group");
+        cache.put(request, cache.stamp(request), ByteString.copyFrom(new byte[2048]));
+        assertNull(cache.get(request));
+    }
+    
+    private void query(String sql, String result, Object... args) {
+        SelectRequest request = request(sql, args);
+        cache.put(request, cache.stamp(request), bytes(result));
+    }
+    
+    private static SelectRequest request(String sql, Object... args) {
+        return SelectRequest.builder().queryType(QueryType.QUERY_ONE_WITH_MAPPER_WITH_ARGS).sql(sql).args(args)
+                .className("com.alibaba.nacos.config.server.model.ConfigInfo").build();
+    }
+    
+    private static ByteString bytes(String value) {
+        return ByteString.copyFrom(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -171,6 +171,7 @@ public class ServerMemberManager implements ApplicationListener<WebServerInitial
     private ServerAbilities initMemberAbilities() {
         ServerAbilities serverAbilities = new ServerAbilities();
         serverAbilities.getRemoteAbility().setSupportRemoteConnection(true);
+        serverAbilities.getRemoteAbility().setSupportBinaryCodec(true);
         // TODO naming and config ability should build and init by sub module.
         serverAbilities.getNamingAbility().setSupportJraft(true);
         return serverAbilities;
@@ -36,12 +36,22 @@ public class DistroConfig extends AbstractDynamicConfig {
     
     private long syncRetryDelayMillis = DistroConstants.DEFAULT_DATA_SYNC_RETRY_DELAY_MILLISECONDS;
     
+    private int syncBatchSize = DistroConstants.DEFAULT_DATA_SYNC_BATCH_SIZE;
+    
+    private long syncBatchWindowMillis = DistroConstants.DEFAULT_DATA_SYNC_BATCH_WINDOW_MILLISECONDS;
+    
     private long verifyIntervalMillis = DistroConstants.DEFAULT_DATA_VERIFY_INTERVAL_MILLISECONDS;
     
     private long verifyTimeoutMillis = DistroConstants.DEFAULT_DATA_VERIFY_TIMEOUT_MILLISECONDS;
     
+    private int verifyDigestBuckets = DistroConstants.DEFAULT_DATA_VERIFY_DIGEST_BUCKETS;
+    
     private long loadDataRetryDelayMillis = DistroConstants.DEFAULT_DATA_LOAD_RETRY_DELAY_MILLISECONDS;
     
+    private int loadDataPageSize = DistroConstants.DEFAULT_DATA_LOAD_PAGE_SIZE;
+    
+    private int loadDataMaxPageSize = DistroConstants.DEFAULT_DATA_LOAD_MAX_PAGE_SIZE;
+    
     private DistroConfig() {
         super(DISTRO);
     }
@@ -54,12 +64,22 @@ public class DistroConfig extends AbstractDynamicConfig {
                 DistroConstants.DEFAULT_DATA_SYNC_TIMEOUT_MILLISECONDS);
         syncRetryDelayMillis = EnvUtil.getProperty(DistroConstants.DATA_SYNC_RETRY_DELAY_MILLISECONDS, Long.class,
                 DistroConstants.DEFAULT_DATA_SYNC_RETRY_DELAY_MILLISECONDS);
+        syncBatchSize = EnvUtil.getProperty(DistroConstants.DATA_SYNC_BATCH_SIZE, Integer.class,
+                DistroConstants.DEFAULT_DATA_SYNC_BATCH_SIZE);
+        syncBatchWindowMillis = EnvUtil.getProperty(DistroConstants.DATA_SYNC_BATCH_WINDOW_MILLISECONDS, Long.class,
+                DistroConstants.DEFAULT_DATA_SYNC_BATCH_WINDOW_MILLISECONDS);
         verifyIntervalMillis = EnvUtil.getProperty(DistroConstants.DATA_VERIFY_INTERVAL_MILLISECONDS, Long.class,
                 DistroConstants.DEFAULT_DATA_VERIFY_INTERVAL_MILLISECONDS);
         verifyTimeoutMillis = EnvUtil.getProperty(DistroConstants.DATA_VERIFY_TIMEOUT_MILLISECONDS, Long.class,
                 DistroConstants.DEFAULT_DATA_VERIFY_TIMEOUT_MILLISECONDS);
+        verifyDigestBuckets = EnvUtil.getProperty(DistroConstants.DATA_VERIFY_DIGEST_BUCKETS, Integer.class,
+                DistroConstants.DEFAULT_DATA_VERIFY_DIGEST_BUCKETS);
         loadDataRetryDelayMillis = EnvUtil.getProperty(DistroConstants.DATA_LOAD_RETRY_DELAY_MILLISECONDS, Long.class,
                 DistroConstants.DEFAULT_DATA_LOAD_RETRY_DELAY_MILLISECONDS);
+        loadDataPageSize = EnvUtil.getProperty(DistroConstants.DATA_LOAD_PAGE_SIZE, Integer.class,
+                DistroConstants.DEFAULT_DATA_LOAD_PAGE_SIZE);
+        loadDataMaxPageSize = EnvUtil.getProperty(DistroConstants.DATA_LOAD_MAX_PAGE_SIZE, Integer.class,
+                DistroConstants.DEFAULT_DATA_LOAD_MAX_PAGE_SIZE);
     }
     
     public static DistroConfig getInstance() {
@@ -90,6 +110,31 @@ public class DistroConfig extends AbstractDynamicConfig {
         this.syncRetryDelayMillis = syncRetryDelayMillis;
     }
     
+    public int getSyncBatchSize() {
+        return syncBatchSize;
+    }
+    
+    public void setSyncBatchSize(int syncBatchSize) {
+        this.syncBatchSize = syncBatchSize;
+    }
+    
+    public long getSyncBatchWindowMillis() {
+        return syncBatchWindowMillis;
+    }
+    
+    public void setSyncBatchWindowMillis(long syncBatchWindowMillis) {
+        this.syncBatchWindowMillis = syncBatchWindowMillis;
+    }
+    
+    /**
+     * Whether sync data changes to other members in batch.
+     *
+     * @return true if batch size is larger than 1
+     */
+    public boolean isSyncBatchEnabled() {
+        return syncBatchSize > 1;
+    }
+    
     public long getVerifyIntervalMillis() {
         return verifyIntervalMillis;
     }
@@ -106,6 +151,23 @@ public class DistroConfig extends AbstractDynamicConfig {
         this.verifyTimeoutMillis = verifyTimeoutMillis;
     }
     
+    public int getVerifyDigestBuckets() {
+        return verifyDigestBuckets;
+    }
+    
+    public void setVerifyDigestBuckets(int verifyDigestBuckets) {
+        this.verifyDigestBuckets = verifyDigestBuckets;
+    }
+    
+    /**
+     * Whether verify data by digest of buckets instead of verifying every data.
+     *
+     * @return true if digest buckets is larger than 0
+     */
+    public boolean isVerifyDigestEnabled() {
+        return verifyDigestBuckets > 0;
+    }
+    
     public long getLoadDataRetryDelayMillis() {
         return loadDataRetryDelayMillis;
     }
@@ -114,11 +176,29 @@ public class DistroConfig extends AbstractDynamicConfig {
         this.loadDataRetryDelayMillis = loadDataRetryDelayMillis;
     }
     
+    public int getLoadDataPageSize() {
+        return loadDataPageSize;
+    }
+    
+    public void setLoadDataPageSize(int loadDataPageSize) {
+        this.loadDataPageSize = loadDataPageSize;
+    }
+    
+    public int getLoadDataMaxPageSize() {
+        return loadDataMaxPageSize;
+    }
+    
+    public void setLoadDataMaxPageSize(int loadDataMaxPageSize) {
+        this.loadDataMaxPageSize = loadDataMaxPageSize;
+    }
+    
     @Override
     protected String printConfig() {
         return "DistroConfig{" + "syncDelayMillis=" + syncDelayMillis + ", syncTimeoutMillis=" + syncTimeoutMillis
-                + ", syncRetryDelayMillis=" + syncRetryDelayMillis + ", verifyIntervalMillis=" + verifyIntervalMillis
-                + ", verifyTimeoutMillis=" + verifyTimeoutMillis + ", loadDataRetryDelayMillis="
-                + loadDataRetryDelayMillis + '}';
+                + ", syncRetryDelayMillis=" + syncRetryDelayMillis + ", syncBatchSize=" + syncBatchSize
+                + ", syncBatchWindowMillis=" + syncBatchWindowMillis + ", verifyIntervalMillis=" + verifyIntervalMillis
+                + ", verifyTimeoutMillis=" + verifyTimeoutMillis + ", verifyDigestBuckets=" + verifyDigestBuckets
+                + ", loadDataRetryDelayMillis=" + loadDataRetryDelayMillis + ", loadDataPageSize=" + loadDataPageSize
+                + ", loadDataMaxPageSize=" + loadDataMaxPageSize + '}';
     }
 }
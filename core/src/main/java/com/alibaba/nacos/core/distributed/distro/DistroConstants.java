@@ -35,6 +35,18 @@ public class DistroConstants {
     
     public static final long DEFAULT_DATA_SYNC_RETRY_DELAY_MILLISECONDS = 3000L;
     
+    public static final String DATA_SYNC_BATCH_SIZE = "nacos.core.protocol.distro.data.sync.batchSize";
+    
+    /**
+     * Batch size less than or equal to 1 means batched sync is disabled.
+     */
+    public static final int DEFAULT_DATA_SYNC_BATCH_SIZE = 0;
+    
+    public static final String DATA_SYNC_BATCH_WINDOW_MILLISECONDS =
+            "nacos.core.protocol.distro.data.sync.batchWindowMs";
+    
+    public static final long DEFAULT_DATA_SYNC_BATCH_WINDOW_MILLISECONDS = 100L;
+    
     public static final String DATA_VERIFY_INTERVAL_MILLISECONDS = "nacos.core.protocol.distro.data.verify.intervalMs";
     
     public static final long DEFAULT_DATA_VERIFY_INTERVAL_MILLISECONDS = 5000L;
@@ -43,8 +55,29 @@ public class DistroConstants {
     
     public static final long DEFAULT_DATA_VERIFY_TIMEOUT_MILLISECONDS = 3000L;
     
+    public static final String DATA_VERIFY_DIGEST_BUCKETS = "nacos.core.protocol.distro.data.verify.digestBuckets";
+    
+    /**
+     * Digest buckets less than or equal to 0 means verify every data one by one.
+     */
+    public static final int DEFAULT_DATA_VERIFY_DIGEST_BUCKETS = 0;
+    
     public static final String DATA_LOAD_RETRY_DELAY_MILLISECONDS = "nacos.core.protocol.distro.data.load.retryDelayMs";
     
     public static final long DEFAULT_DATA_LOAD_RETRY_DELAY_MILLISECONDS = 30000L;
     
+    public static final String DATA_LOAD_PAGE_SIZE = "nacos.core.protocol.distro.data.load.pageSize";
+    
+    /**
+     * Page size less than or equal to 0 means load whole snapshot in one request.
+     */
+    public static final int DEFAULT_DATA_LOAD_PAGE_SIZE = 0;
+    
+    public static final String DATA_LOAD_MAX_PAGE_SIZE = "nacos.core.protocol.distro.data.load.maxPageSize";
+    
+    /**
+     * Max page size served to other members, larger page size requested is reduced to it.
+     */
+    public static final int DEFAULT_DATA_LOAD_MAX_PAGE_SIZE = 1000;
+
 }
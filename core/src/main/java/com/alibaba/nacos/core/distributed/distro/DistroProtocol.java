@@ -26,6 +26,7 @@ import com.alibaba.nacos.core.distributed.distro.component.DistroDataStorage;
 import com.alibaba.nacos.core.distributed.distro.component.DistroTransportAgent;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroSnapshotPage;
 import com.alibaba.nacos.core.distributed.distro.task.DistroTaskEngineHolder;
 import com.alibaba.nacos.core.distributed.distro.task.delay.DistroDelayTask;
 import com.alibaba.nacos.core.distributed.distro.task.load.DistroLoadDataTask;
@@ -194,6 +195,23 @@ public class DistroProtocol {
         return dataProcessor.processVerifyData(distroData, sourceAddress);
     }
     
+    /**
+     * Receive verify digest data, find processor to process.
+     *
+     * @param digestData    verify digest data
+     * @param sourceAddress source server address
+     * @return verify result which should be responded to source server, {@code null} if digest is not supported
+     */
+    public DistroData onVerifyDigest(DistroData digestData, String sourceAddress) {
+        String resourceType = digestData.getDistroKey().getResourceType();
+        DistroDataProcessor dataProcessor = distroComponentHolder.findDataProcessor(resourceType);
+        if (null == dataProcessor) {
+            Loggers.DISTRO.warn("[DISTRO] Can't find verify digest process for received data {}", resourceType);
+            return null;
+        }
+        return dataProcessor.processVerifyDigest(digestData, sourceAddress);
+    }
+    
     /**
      * Query data of input distro key.
      *
@@ -224,4 +242,21 @@ public class DistroProtocol {
         }
         return distroDataStorage.getDatumSnapshot();
     }
+    
+    /**
+     * Query one page of snapshot data for target type.
+     *
+     * @param type     type of data
+     * @param cursor   cursor returned by last page, {@code null} means the first page
+     * @param pageSize max count of datum in one page
+     * @return one page of snapshot data, {@code null} if not supported
+     */
+    public DistroSnapshotPage onSnapshotPage(String type, String cursor, int pageSize) {
+        DistroDataStorage distroDataStorage = distroComponentHolder.findDataStorage(type);
+        if (null == distroDataStorage) {
+            Loggers.DISTRO.warn("[DISTRO] Can't find data storage for received key {}", type);
+            return null;
+        }
+        return distroDataStorage.getDatumSnapshotPage(cursor, pageSize);
+    }
 }
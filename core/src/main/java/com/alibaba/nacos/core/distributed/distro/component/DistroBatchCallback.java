@@ -0,0 +1,44 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.distributed.distro.component;
+
+import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+
+import java.util.Collection;
+
+/**
+ * Distro batch callback.
+ *
+ * @author Nacos
+ */
+public interface DistroBatchCallback {
+    
+    /**
+     * Callback when batch request is handled by target server, some data in the batch might still be failed.
+     *
+     * @param failedKeys distro keys which failed to be handled by target server, empty if all successfully
+     */
+    void onComplete(Collection<DistroKey> failedKeys);
+    
+    /**
+     * Callback when the whole batch request failed.
+     *
+     * @param throwable throwable if execute failed caused by exception
+     */
+    void onFailed(Throwable throwable);
+}
@@ -49,6 +49,17 @@ public interface DistroDataProcessor {
      */
     boolean processVerifyData(DistroData distroData, String sourceAddress);
     
+    /**
+     * Process received verify digest data, which summarizes a range of data of source server instead of a single one.
+     *
+     * @param digestData    verify digest data
+     * @param sourceAddress source server address
+     * @return verify result which should be responded to source server, {@code null} if digest is not supported
+     */
+    default DistroData processVerifyDigest(DistroData digestData, String sourceAddress) {
+        return null;
+    }
+    
     /**
      * Process snapshot data.
      *
@@ -18,6 +18,7 @@ package com.alibaba.nacos.core.distributed.distro.component;
 
 import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroSnapshotPage;
 
 import java.util.List;
 
@@ -57,6 +58,19 @@ public interface DistroDataStorage {
      */
     DistroData getDatumSnapshot();
     
+    /**
+     * Get one page of distro datum snapshot.
+     *
+     * <p>Datum should be ordered by a stable key, so that the cursor can be used to resume from any server.
+     *
+     * @param cursor   cursor returned by last page, {@code null} means the first page
+     * @param pageSize max count of datum in one page
+     * @return one page of datum, {@code null} if page snapshot is not supported
+     */
+    default DistroSnapshotPage getDatumSnapshotPage(String cursor, int pageSize) {
+        return null;
+    }
+    
     /**
      * Get verify datum.
      *
@@ -18,6 +18,9 @@ package com.alibaba.nacos.core.distributed.distro.component;
 
 import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroSnapshotPage;
+
+import java.util.List;
 
 /**
  * Distro transport agent.
@@ -53,6 +56,28 @@ public interface DistroTransportAgent {
      */
     void syncData(DistroData data, String targetServer, DistroCallback callback);
     
+    /**
+     * Whether support transport several data to target server in one request.
+     *
+     * @return true if support, otherwise false
+     */
+    default boolean supportBatchSync() {
+        return false;
+    }
+    
+    /**
+     * Sync several data to target server in one request with callback.
+     *
+     * @param data         data list
+     * @param targetServer target server
+     * @param callback     callback
+     * @throws UnsupportedOperationException if method supportBatchSync is false, should throw {@code
+     *                                       UnsupportedOperationException}
+     */
+    default void syncBatchData(List<DistroData> data, String targetServer, DistroBatchCallback callback) {
+        throw new UnsupportedOperationException("Batch sync is not supported by " + getClass().getSimpleName());
+    }
+    
     /**
      * Sync verify data.
      *
@@ -89,4 +114,29 @@ public interface DistroTransportAgent {
      * @return distro data
      */
     DistroData getDatumSnapshot(String targetServer);
+    
+    /**
+     * Whether support getting datum snapshot page by page.
+     *
+     * @return true if support, otherwise false
+     */
+    default boolean supportSnapshotPage() {
+        return false;
+    }
+    
+    /**
+     * Get one page of datum snapshot from target server.
+     *
+     * @param resourceType resource type of datum
+     * @param targetServer target server
+     * @param cursor       cursor returned by last page, {@code null} means the first page
+     * @param pageSize     max count of datum in one page
+     * @return one page of datum
+     * @throws UnsupportedOperationException if method supportSnapshotPage is false, should throw {@code
+     *                                       UnsupportedOperationException}
+     */
+    default DistroSnapshotPage getDatumSnapshotPage(String resourceType, String targetServer, String cursor,
+            int pageSize) {
+        throw new UnsupportedOperationException("Snapshot page is not supported by " + getClass().getSimpleName());
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.distributed.distro.entity;
+
+/**
+ * One page of distro snapshot.
+ *
+ * @author Nacos
+ */
+public class DistroSnapshotPage {
+    
+    private DistroData distroData;
+    
+    /**
+     * Cursor to get next page, {@code null} means there is no more page.
+     */
+    private String nextCursor;
+    
+    public DistroSnapshotPage() {
+    }
+    
+    public DistroSnapshotPage(DistroData distroData, String nextCursor) {
+        this.distroData = distroData;
+        this.nextCursor = nextCursor;
+    }
+    
+    public DistroData getDistroData() {
+        return distroData;
+    }
+    
+    public void setDistroData(DistroData distroData) {
+        this.distroData = distroData;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public boolean hasNextPage() {
+        return null != nextCursor;
+    }
+}
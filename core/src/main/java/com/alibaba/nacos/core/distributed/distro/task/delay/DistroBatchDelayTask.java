@@ -0,0 +1,104 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.distributed.distro.task.delay;
+
+import com.alibaba.nacos.common.task.AbstractDelayTask;
+import com.alibaba.nacos.consistency.DataOperation;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Distro batch delay task, collect distro keys which need to sync to the same target server.
+ *
+ * <p>The task will be processed once the number of pending keys reaches batch size or the batch window passed.
+ *
+ * @author Nacos
+ */
+public class DistroBatchDelayTask extends AbstractDelayTask {
+    
+    private static final String TASK_KEY_PREFIX = "distro-batch@";
+    
+    private final String resourceType;
+    
+    private final String targetServer;
+    
+    private final int batchSize;
+    
+    private LinkedHashMap<DistroKey, DataOperation> pendingKeys = new LinkedHashMap<>();
+    
+    public DistroBatchDelayTask(DistroKey distroKey, DataOperation action, int batchSize, long batchWindow) {
+        this.resourceType = distroKey.getResourceType();
+        this.targetServer = distroKey.getTargetServer();
+        this.batchSize = batchSize;
+        this.pendingKeys.put(distroKey, action);
+        setLastProcessTime(System.currentTimeMillis());
+        setTaskInterval(batchWindow);
+    }
+    
+    /**
+     * Build the key of batch task in delay task engine.
+     *
+     * @param distroKey distro key of data
+     * @return batch task key for resource type and target server of distro key
+     */
+    public static String buildTaskKey(DistroKey distroKey) {
+        return TASK_KEY_PREFIX + distroKey.getResourceType() + "@" + distroKey.getTargetServer();
+    }
+    
+    public String getResourceType() {
+        return resourceType;
+    }
+    
+    public String getTargetServer() {
+        return targetServer;
+    }
+    
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    public Map<DistroKey, DataOperation> getPendingKeys() {
+        return pendingKeys;
+    }
+    
+    @Override
+    public void merge(AbstractDelayTask task) {
+        if (!(task instanceof DistroBatchDelayTask)) {
+            return;
+        }
+        DistroBatchDelayTask oldTask = (DistroBatchDelayTask) task;
+        // Take over the keys of old task instead of copying them, the old task is dropped by the engine after merge.
+        // Keep the order of old keys, and the action of new task is newer.
+        oldTask.pendingKeys.putAll(pendingKeys);
+        pendingKeys = oldTask.pendingKeys;
+        setLastProcessTime(oldTask.getLastProcessTime());
+    }
+    
+    @Override
+    public boolean shouldProcess() {
+        return pendingKeys.size() >= batchSize || super.shouldProcess();
+    }
+    
+    @Override
+    public String toString() {
+        return "DistroBatchDelayTask{" + "resourceType='" + resourceType + '\'' + ", targetServer='" + targetServer
+                + '\'' + ", size=" + pendingKeys.size() + '}';
+    }
+}
@@ -18,12 +18,20 @@ package com.alibaba.nacos.core.distributed.distro.task.delay;
 
 import com.alibaba.nacos.common.task.NacosTask;
 import com.alibaba.nacos.common.task.NacosTaskProcessor;
+import com.alibaba.nacos.consistency.DataOperation;
+import com.alibaba.nacos.core.distributed.distro.DistroConfig;
 import com.alibaba.nacos.core.distributed.distro.component.DistroComponentHolder;
+import com.alibaba.nacos.core.distributed.distro.component.DistroTransportAgent;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
 import com.alibaba.nacos.core.distributed.distro.task.DistroTaskEngineHolder;
+import com.alibaba.nacos.core.distributed.distro.task.execute.DistroSyncBatchTask;
 import com.alibaba.nacos.core.distributed.distro.task.execute.DistroSyncChangeTask;
 import com.alibaba.nacos.core.distributed.distro.task.execute.DistroSyncDeleteTask;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Distro delay task processor.
  *
@@ -43,11 +51,23 @@ public class DistroDelayTaskProcessor implements NacosTaskProcessor {
     
     @Override
     public boolean process(NacosTask task) {
+        if (task instanceof DistroBatchDelayTask) {
+            processBatchTask((DistroBatchDelayTask) task);
+            return true;
+        }
         if (!(task instanceof DistroDelayTask)) {
             return true;
         }
         DistroDelayTask distroDelayTask = (DistroDelayTask) task;
         DistroKey distroKey = distroDelayTask.getDistroKey();
+        if (isSyncBatchEnabled(distroKey)) {
+            DistroConfig distroConfig = DistroConfig.getInstance();
+            DistroBatchDelayTask batchDelayTask = new DistroBatchDelayTask(distroKey, distroDelayTask.getAction(),
+                    distroConfig.getSyncBatchSize(), distroConfig.getSyncBatchWindowMillis());
+            distroTaskEngineHolder.getDelayTaskExecuteEngine()
+                    .addTask(DistroBatchDelayTask.buildTaskKey(distroKey), batchDelayTask);
+            return true;
+        }
         switch (distroDelayTask.getAction()) {
             case DELETE:
                 DistroSyncDeleteTask syncDeleteTask = new DistroSyncDeleteTask(distroKey, distroComponentHolder);
@@ -62,4 +82,28 @@ public class DistroDelayTaskProcessor implements NacosTaskProcessor {
                 return false;
         }
     }
+    
+    private boolean isSyncBatchEnabled(DistroKey distroKey) {
+        if (!DistroConfig.getInstance().isSyncBatchEnabled()) {
+            return false;
+        }
+        DistroTransportAgent transportAgent = distroComponentHolder.findTransportAgent(distroKey.getResourceType());
+        return null != transportAgent && transportAgent.supportBatchSync();
+    }
+    
+    private void processBatchTask(DistroBatchDelayTask batchDelayTask) {
+        int batchSize = Math.max(1, batchDelayTask.getBatchSize());
+        Iterator<Map.Entry<DistroKey, DataOperation>> iterator = batchDelayTask.getPendingKeys().entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map<DistroKey, DataOperation> batchKeys = new LinkedHashMap<>(batchSize);
+            while (iterator.hasNext() && batchKeys.size() < batchSize) {
+                Map.Entry<DistroKey, DataOperation> entry = iterator.next();
+                batchKeys.put(entry.getKey(), entry.getValue());
+            }
+            DistroSyncBatchTask syncBatchTask = new DistroSyncBatchTask(batchDelayTask.getResourceType(),
+                    batchDelayTask.getTargetServer(), batchKeys, distroComponentHolder);
+            distroTaskEngineHolder.getExecuteWorkersManager()
+                    .addTask(batchDelayTask.getResourceType() + "@" + batchDelayTask.getTargetServer(), syncBatchTask);
+        }
+    }
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.distributed.distro.task.execute;
+
+import com.alibaba.nacos.common.task.AbstractExecuteTask;
+import com.alibaba.nacos.consistency.DataOperation;
+import com.alibaba.nacos.core.distributed.distro.component.DistroBatchCallback;
+import com.alibaba.nacos.core.distributed.distro.component.DistroComponentHolder;
+import com.alibaba.nacos.core.distributed.distro.component.DistroFailedTaskHandler;
+import com.alibaba.nacos.core.distributed.distro.component.DistroTransportAgent;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+import com.alibaba.nacos.core.distributed.distro.monitor.DistroRecord;
+import com.alibaba.nacos.core.distributed.distro.monitor.DistroRecordsHolder;
+import com.alibaba.nacos.core.utils.Loggers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Distro sync batch task, sync several changed or deleted data to target server in one request.
+ *
+ * @author Nacos
+ */
+public class DistroSyncBatchTask extends AbstractExecuteTask {
+    
+    private final String resourceType;
+    
+    private final String targetServer;
+    
+    private final Map<DistroKey, DataOperation> batchKeys;
+    
+    private final DistroComponentHolder distroComponentHolder;
+    
+    public DistroSyncBatchTask(String resourceType, String targetServer, Map<DistroKey, DataOperation> batchKeys,
+            DistroComponentHolder distroComponentHolder) {
+        this.resourceType = resourceType;
+        this.targetServer = targetServer;
+        this.batchKeys = batchKeys;
+        this.distroComponentHolder = distroComponentHolder;
+    }
+    
+    @Override
+    public void run() {
+        DistroTransportAgent transportAgent = distroComponentHolder.findTransportAgent(resourceType);
+        if (null == transportAgent) {
+            Loggers.DISTRO.warn("No found transport agent for type [{}]", resourceType);
+            return;
+        }
+        List<DistroData> batchData = buildBatchData();
+        if (batchData.isEmpty()) {
+            return;
+        }
+        List<DistroKey> syncKeys = new ArrayList<>(batchData.size());
+        for (DistroData each : batchData) {
+            syncKeys.add(each.getDistroKey());
+        }
+        Loggers.DISTRO.info("[DISTRO-START] {}", toString());
+        DistroBatchExecuteCallback callback = new DistroBatchExecuteCallback(syncKeys);
+        try {
+            transportAgent.syncBatchData(batchData, targetServer, callback);
+        } catch (Exception e) {
+            callback.onFailed(e);
+        }
+    }
+    
+    private List<DistroData> buildBatchData() {
+        List<DistroData> result = new ArrayList<>(batchKeys.size());
+        for (Map.Entry<DistroKey, DataOperation> entry : batchKeys.entrySet()) {
+            DistroKey distroKey = entry.getKey();
+            if (DataOperation.DELETE.equals(entry.getValue())) {
+                DistroData distroData = new DistroData();
+                distroData.setDistroKey(distroKey);
+                distroData.setType(DataOperation.DELETE);
+                result.add(distroData);
+                continue;
+            }
+            DistroData distroData = distroComponentHolder.findDataStorage(resourceType).getDistroData(distroKey);
+            if (null == distroData) {
+                Loggers.DISTRO.warn("[DISTRO] {} with null data to sync, skip", distroKey);
+                continue;
+            }
+            distroData.setType(DataOperation.CHANGE);
+            result.add(distroData);
+        }
+        return result;
+    }
+    
+    private void handleFailedKeys(Collection<DistroKey> failedKeys) {
+        DistroFailedTaskHandler failedTaskHandler = distroComponentHolder.findFailedTaskHandler(resourceType);
+        if (null == failedTaskHandler) {
+            Loggers.DISTRO.warn("[DISTRO] Can't find failed task for type {}, so discarded", resourceType);
+            return;
+        }
+        for (DistroKey each : failedKeys) {
+            DataOperation action = batchKeys.get(each);
+            failedTaskHandler.retry(each, null == action ? DataOperation.CHANGE : action);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "DistroSyncBatchTask for " + resourceType + " to " + targetServer + " with " + batchKeys.size()
+                + " keys";
+    }
+    
+    private class DistroBatchExecuteCallback implements DistroBatchCallback {
+        
+        private final List<DistroKey> syncKeys;
+        
+        private DistroBatchExecuteCallback(List<DistroKey> syncKeys) {
+            this.syncKeys = syncKeys;
+        }
+        
+        @Override
+        public void onComplete(Collection<DistroKey> failedKeys) {
+            DistroRecord distroRecord = DistroRecordsHolder.getInstance().getRecord(resourceType);
+            for (int i = failedKeys.size(); i < syncKeys.size(); i++) {
+                distroRecord.syncSuccess();
+            }
+            for (int i = 0; i < failedKeys.size(); i++) {
+                distroRecord.syncFail();
+            }
+            Loggers.DISTRO.info("[DISTRO-END] {} result: {} failed", DistroSyncBatchTask.this.toString(),
+                    failedKeys.size());
+            if (!failedKeys.isEmpty()) {
+                handleFailedKeys(failedKeys);
+            }
+        }
+        
+        @Override
+        public void onFailed(Throwable throwable) {
+            DistroRecord distroRecord = DistroRecordsHolder.getInstance().getRecord(resourceType);
+            for (int i = 0; i < syncKeys.size(); i++) {
+                distroRecord.syncFail();
+            }
+            if (null == throwable) {
+                Loggers.DISTRO.info("[DISTRO-END] {} result: false", DistroSyncBatchTask.this.toString());
+            } else {
+                Loggers.DISTRO.warn("[DISTRO] Sync batch data failed.", throwable);
+            }
+            handleFailedKeys(syncKeys);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import com.alibaba.nacos.core.distributed.distro.component.DistroComponentHolder
 import com.alibaba.nacos.core.distributed.distro.component.DistroDataProcessor;
 import com.alibaba.nacos.core.distributed.distro.component.DistroTransportAgent;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroSnapshotPage;
 import com.alibaba.nacos.core.utils.GlobalExecutor;
 import com.alibaba.nacos.core.utils.Loggers;
 
@@ -48,6 +49,11 @@ public class DistroLoadDataTask implements Runnable {
     
     private final Map<String, Boolean> loadCompletedMap;
     
+    /**
+     * Cursor of the next snapshot page for each type, so that page loading can resume from it after failure.
+     */
+    private final Map<String, String> loadCursorMap;
+    
     public DistroLoadDataTask(ServerMemberManager memberManager, DistroComponentHolder distroComponentHolder,
             DistroConfig distroConfig, DistroCallback loadCallback) {
         this.memberManager = memberManager;
@@ -55,6 +61,7 @@ public class DistroLoadDataTask implements Runnable {
         this.distroConfig = distroConfig;
         this.loadCallback = loadCallback;
         loadCompletedMap = new HashMap<>(1);
+        loadCursorMap = new HashMap<>(1);
     }
     
     @Override
@@ -97,6 +104,9 @@ public class DistroLoadDataTask implements Runnable {
                     resourceType, transportAgent, dataProcessor);
             return false;
         }
+        if (distroConfig.getLoadDataPageSize() > 0 && transportAgent.supportSnapshotPage()) {
+            return loadSnapshotPagesFromRemote(resourceType, transportAgent, dataProcessor);
+        }
         for (Member each : memberManager.allMembersWithoutSelf()) {
             try {
                 Loggers.DISTRO.info("[DISTRO-INIT] load snapshot {} from {}", resourceType, each.getAddress());
@@ -116,6 +126,39 @@ public class DistroLoadDataTask implements Runnable {
         return false;
     }
     
+    private boolean loadSnapshotPagesFromRemote(String resourceType, DistroTransportAgent transportAgent,
+            DistroDataProcessor dataProcessor) {
+        int pageSize = distroConfig.getLoadDataPageSize();
+        for (Member each : memberManager.allMembersWithoutSelf()) {
+            try {
+                while (true) {
+                    String cursor = loadCursorMap.get(resourceType);
+                    Loggers.DISTRO.info("[DISTRO-INIT] load snapshot {} page from {} after cursor {}", resourceType,
+                            each.getAddress(), cursor);
+                    DistroSnapshotPage page = transportAgent
+                            .getDatumSnapshotPage(resourceType, each.getAddress(), cursor, pageSize);
+                    if (null != page.getDistroData() && !dataProcessor.processSnapshot(page.getDistroData())) {
+                        Loggers.DISTRO.warn("[DISTRO-INIT] process snapshot {} page from {} failed", resourceType,
+                                each.getAddress());
+                        break;
+                    }
+                    if (!page.hasNextPage()) {
+                        loadCursorMap.remove(resourceType);
+                        distroComponentHolder.findDataStorage(resourceType).finishInitial();
+                        Loggers.DISTRO.info("[DISTRO-INIT] load snapshot {} pages from {} finished", resourceType,
+                                each.getAddress());
+                        return true;
+                    }
+                    loadCursorMap.put(resourceType, page.getNextCursor());
+                }
+            } catch (Exception e) {
+                Loggers.DISTRO.error("[DISTRO-INIT] load snapshot {} page from {} failed, resume from cursor {}.",
+                        resourceType, each.getAddress(), loadCursorMap.get(resourceType), e);
+            }
+        }
+        return false;
+    }
+    
     private boolean checkCompleted() {
         if (distroComponentHolder.getDataStorageTypes().size() != loadCompletedMap.size()) {
             return false;
@@ -150,6 +150,10 @@ public class JRaftServer {
     
     private int rpcRequestTimeoutMs;
     
+    private boolean readIndexBatch;
+    
+    private final Map<String, ReadIndexBatcher> readIndexBatchers = new ConcurrentHashMap<>();
+    
     public JRaftServer() {
         this.conf = new Configuration();
     }
@@ -178,6 +182,9 @@ public class JRaftServer {
         rpcRequestTimeoutMs = ConvertUtils.toInt(raftConfig.getVal(RaftSysConstants.RAFT_RPC_REQUEST_TIMEOUT_MS),
                 RaftSysConstants.DEFAULT_RAFT_RPC_REQUEST_TIMEOUT_MS);
         
+        readIndexBatch = ConvertUtils.toBoolean(raftConfig.getVal(RaftSysConstants.RAFT_READ_INDEX_BATCH),
+                RaftSysConstants.DEFAULT_READ_INDEX_BATCH);
+        
         nodeOptions.setSharedElectionTimer(true);
         nodeOptions.setSharedVoteTimer(true);
         nodeOptions.setSharedStepDownTimer(true);
@@ -291,7 +298,7 @@ public class JRaftServer {
         final Node node = tuple.node;
         final RequestProcessor processor = tuple.processor;
         try {
-            node.readIndex(BytesUtil.EMPTY_BYTES, new ReadIndexClosure() {
+            ReadIndexClosure closure = new ReadIndexClosure() {
                 @Override
                 public void run(Status status, long index, byte[] reqCtx) {
                     if (status.isOk()) {
@@ -310,7 +317,14 @@ public class JRaftServer {
                     MetricsMonitor.raftReadFromLeader();
                     readFromLeader(request, future);
                 }
-            });
+            };
+            if (readIndexBatch) {
+                readIndexBatchers.computeIfAbsent(group, key -> new ReadIndexBatcher(
+                        readClosure -> findTupleByGroup(key).node.readIndex(BytesUtil.EMPTY_BYTES, readClosure),
+                        RaftExecutor.getRaftCoreExecutor())).submit(closure);
+            } else {
+                node.readIndex(BytesUtil.EMPTY_BYTES, closure);
+            }
             return future;
         } catch (Throwable e) {
             MetricsMonitor.raftReadFromLeader();
@@ -126,6 +126,11 @@ public final class RaftSysConstants {
      */
     public static final boolean DEFAULT_ENABLE_LOG_ENTRY_CHECKSUM = false;
     
+    /**
+     * Whether concurrent reads share one read index request, default is false.
+     */
+    public static final boolean DEFAULT_READ_INDEX_BATCH = false;
+    
     // ========= setting key ========= //
     
     /**
@@ -158,6 +163,11 @@ public final class RaftSysConstants {
      */
     public static final String RAFT_READ_INDEX_TYPE = "read_index_type";
     
+    /**
+     * Whether concurrent reads of a raft group share one read index request
+     */
+    public static final String RAFT_READ_INDEX_BATCH = "read_index_batch";
+    
     /**
      * rpc request timeout, default 5 seconds
      */
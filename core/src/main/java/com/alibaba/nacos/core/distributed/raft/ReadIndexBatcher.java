@@ -0,0 +1,125 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.distributed.raft;
+
+import com.alibaba.nacos.core.utils.Loggers;
+import com.alipay.sofa.jraft.Status;
+import com.alipay.sofa.jraft.closure.ReadIndexClosure;
+import com.alipay.sofa.jraft.error.RaftError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Share one read index request among the concurrent reads of a raft group.
+ *
+ * <p>At most one read index request is in flight. Reads arriving meanwhile wait for it to complete and are sent
+ * together as the next request, so a read never uses the result of a request started before it arrived.
+ *
+ * @author Nacos
+ */
+class ReadIndexBatcher {
+    
+    private final Consumer<ReadIndexClosure> readIndex;
+    
+    private final Executor executor;
+    
+    private List<ReadIndexClosure> waiting = new ArrayList<>();
+    
+    private boolean inFlight = false;
+    
+    /**
+     * Create read index batcher.
+     *
+     * @param readIndex send a read index request, such as {@code closure -> node.readIndex(EMPTY_BYTES, closure)}
+     * @param executor  executor to run the reads of a batch
+     */
+    ReadIndexBatcher(Consumer<ReadIndexClosure> readIndex, Executor executor) {
+        this.readIndex = readIndex;
+        this.executor = executor;
+    }
+    
+    /**
+     * Submit a read, which is called back when the read index of its batch is confirmed or failed.
+     *
+     * @param closure read
+     */
+    void submit(ReadIndexClosure closure) {
+        List<ReadIndexClosure> batch;
+        synchronized (this) {
+            waiting.add(closure);
+            if (inFlight) {
+                return;
+            }
+            inFlight = true;
+            batch = takeWaiting();
+        }
+        send(batch);
+    }
+    
+    private List<ReadIndexClosure> takeWaiting() {
+        List<ReadIndexClosure> batch = waiting;
+        waiting = new ArrayList<>();
+        return batch;
+    }
+    
+    private void send(List<ReadIndexClosure> batch) {
+        try {
+            readIndex.accept(new ReadIndexClosure() {
+                @Override
+                public void run(Status status, long index, byte[] reqCtx) {
+                    complete(batch, status, index, reqCtx);
+                }
+            });
+        } catch (Throwable t) {
+            Loggers.RAFT.warn("Fail to send read index request for {} reads : {}", batch.size(), t.toString());
+            complete(batch, new Status(RaftError.EINTERNAL, t.toString()), ReadIndexClosure.INVALID_LOG_INDEX, null);
+        }
+    }
+    
+    private void complete(List<ReadIndexClosure> batch, Status status, long index, byte[] reqCtx) {
+        List<ReadIndexClosure> next = null;
+        synchronized (this) {
+            if (waiting.isEmpty()) {
+                inFlight = false;
+            } else {
+                next = takeWaiting();
+            }
+        }
+        if (null != next) {
+            send(next);
+        }
+        // run the last read in the current thread, the others in parallel.
+        for (int i = 0; i < batch.size(); i++) {
+            ReadIndexClosure closure = batch.get(i);
+            closure.setResult(index, reqCtx);
+            if (i == batch.size() - 1) {
+                closure.run(status);
+            } else {
+                try {
+                    executor.execute(() -> closure.run(status));
+                } catch (RejectedExecutionException e) {
+                    closure.run(status);
+                }
+            }
+        }
+    }
+}
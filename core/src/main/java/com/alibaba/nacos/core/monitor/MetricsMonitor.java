@@ -16,7 +16,9 @@
 
 package com.alibaba.nacos.core.monitor;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.ImmutableTag;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Tag;
@@ -24,7 +26,11 @@ import io.micrometer.core.instrument.Timer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * The Metrics center.
@@ -43,6 +49,10 @@ public final class MetricsMonitor {
     
     private static AtomicInteger longConnection = new AtomicInteger();
     
+    private static final Map<String, Map<String, Counter>> TPS_CONTROL_REJECTED = new ConcurrentHashMap<>();
+    
+    private static final Map<String, AtomicReference<Supplier<Number>>> TPS_CONTROL_GAUGES = new ConcurrentHashMap<>();
+    
     static {
         RAFT_READ_INDEX_FAILED = NacosMeterRegistry.summary("protocol", "raft_read_index_failed");
         RAFT_FROM_LEADER = NacosMeterRegistry.summary("protocol", "raft_read_from_leader");
@@ -84,4 +94,37 @@ public final class MetricsMonitor {
     public static DistributionSummary getRaftFromLeader() {
         return RAFT_FROM_LEADER;
     }
+    
+    /**
+     * Count a request rejected by tps control.
+     *
+     * @param pointName tps point name.
+     * @param barrier   monitor key pattern or point rule which rejected the request.
+     */
+    public static void tpsControlRejected(String pointName, String barrier) {
+        TPS_CONTROL_REJECTED.computeIfAbsent(pointName, k -> new ConcurrentHashMap<>(4)).computeIfAbsent(barrier,
+                k -> Metrics.counter("nacos_monitor", "module", "core", "name", "tps_control_rejected", "point",
+                        pointName, "barrier", barrier)).increment();
+    }
+    
+    /**
+     * Register or replace the value supplier of a tps control gauge.
+     *
+     * @param pointName tps point name.
+     * @param barrier   monitor key pattern or point rule.
+     * @param name      gauge name.
+     * @param supplier  value supplier, the gauge reports 0 if null.
+     */
+    public static void registerTpsControlGauge(String pointName, String barrier, String name,
+            Supplier<Number> supplier) {
+        TPS_CONTROL_GAUGES.computeIfAbsent(pointName + '|' + barrier + '|' + name, key -> {
+            AtomicReference<Supplier<Number>> holder = new AtomicReference<>();
+            Gauge.builder("nacos_monitor", holder, each -> {
+                Supplier<Number> current = each.get();
+                return current == null ? 0D : current.get().doubleValue();
+            }).tags("module", "core", "name", "tps_" + name, "point", pointName, "barrier", barrier)
+                    .register(Metrics.globalRegistry);
+            return holder;
+        }).set(supplier);
+    }
 }
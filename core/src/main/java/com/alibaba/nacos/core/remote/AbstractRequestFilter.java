@@ -87,4 +87,14 @@ public abstract class AbstractRequestFilter {
      * @throws NacosException NacosException.
      */
     protected abstract Response filter(Request request, RequestMeta meta, Class handlerClazz) throws NacosException;
+    
+    /**
+     * Callback after request handled or rejected by any filter, default do nothing.
+     *
+     * @param request      request.
+     * @param meta         request meta.
+     * @param handlerClazz request handler clazz.
+     */
+    protected void afterHandle(Request request, RequestMeta meta, Class handlerClazz) {
+    }
 }
@@ -36,6 +36,8 @@ public abstract class Connection implements Requester {
     
     private final ConnectionMeta metaInfo;
     
+    private volatile RpcPushPipeline pushPipeline;
+    
     public Connection(ConnectionMeta metaInfo) {
         this.metaInfo = metaInfo;
     }
@@ -84,6 +86,19 @@ public abstract class Connection implements Requester {
         metaInfo.setLastActiveTime(System.currentTimeMillis());
     }
     
+    /**
+     * get push pipeline of this connection, created by {@link RpcPushService} on first push.
+     *
+     * @return push pipeline, null if never pushed.
+     */
+    RpcPushPipeline getPushPipeline() {
+        return pushPipeline;
+    }
+    
+    void setPushPipeline(RpcPushPipeline pushPipeline) {
+        this.pushPipeline = pushPipeline;
+    }
+    
     /**
      * Getter method for property <tt>metaInfo</tt>.
      *
@@ -18,7 +18,6 @@ package com.alibaba.nacos.core.remote;
 
 import com.alibaba.nacos.api.common.Constants;
 import com.alibaba.nacos.api.exception.NacosException;
-import com.alibaba.nacos.api.remote.RemoteConstants;
 import com.alibaba.nacos.api.remote.RequestCallBack;
 import com.alibaba.nacos.api.remote.RpcScheduledExecutor;
 import com.alibaba.nacos.api.remote.request.ClientDetectionRequest;
@@ -49,16 +48,14 @@ import javax.annotation.PostConstruct;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -78,6 +75,16 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
      */
     private static final long KEEP_ALIVE_TIME = 20000L;
     
+    private static final long KEEP_ALIVE_TICK = 1000L;
+    
+    private static final int KEEP_ALIVE_WHEEL_SIZE = 64;
+    
+    private static final long KEEP_ALIVE_PROBE_TIMEOUT = 1000L;
+    
+    private static final String KEEP_ALIVE_PROBE_CONCURRENCY = "nacos.remote.server.keepalive.probe.concurrency";
+    
+    private static final int DEFAULT_KEEP_ALIVE_PROBE_CONCURRENCY = 256;
+    
     /**
      * connection limit rule.
      */
@@ -90,9 +97,15 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
     
     String redirectAddress = null;
     
-    private Map<String, AtomicInteger> connectionForClientIp = new ConcurrentHashMap<String, AtomicInteger>(16);
+    final ConnectionRegistry connectionRegistry = new ConnectionRegistry();
+    
+    /**
+     * connections scheduled by keep alive deadline, only accessed by the keep alive task except scheduling.
+     */
+    private final KeepAliveTimingWheel<Connection> keepAliveWheel = new KeepAliveTimingWheel<>(KEEP_ALIVE_TICK,
+            KEEP_ALIVE_WHEEL_SIZE, System.currentTimeMillis());
     
-    Map<String, Connection> connections = new ConcurrentHashMap<String, Connection>();
+    private Semaphore keepAliveProbePermits;
     
     @Autowired
     private ClientConnectionEventListenerRegistry clientConnectionEventListenerRegistry;
@@ -130,7 +143,7 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
      * @return is valid or not.
      */
     public boolean checkValid(String connectionId) {
-        return connections.containsKey(connectionId);
+        return connectionRegistry.contains(connectionId);
     }
     
     /**
@@ -139,21 +152,23 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
      * @param connectionId connectionId
      * @param connection   connection
      */
-    public synchronized boolean register(String connectionId, Connection connection) {
+    public boolean register(String connectionId, Connection connection) {
         
         if (connection.isConnected()) {
-            if (connections.containsKey(connectionId)) {
+            if (traced(connection.getMetaInfo().clientIp)) {
+                connection.setTraced(true);
+            }
+            ConnectionRegistry.RegisterResult result = connectionRegistry
+                    .register(connectionId, connection, connectionLimitRule.getCountLimit(),
+                            getCountLimitOfClient(connection));
+            if (result == ConnectionRegistry.RegisterResult.EXISTED) {
                 return true;
             }
-            if (!checkLimit(connection)) {
+            if (result != ConnectionRegistry.RegisterResult.SUCCESS) {
                 return false;
             }
-            if (traced(connection.getMetaInfo().clientIp)) {
-                connection.setTraced(true);
-            }
-            connections.put(connectionId, connection);
-            connectionForClientIp.get(connection.getMetaInfo().clientIp).getAndIncrement();
             
+            keepAliveWheel.schedule(connection, connection.getMetaInfo().getLastActiveTime() + KEEP_ALIVE_TIME);
             clientConnectionEventListenerRegistry.notifyClientConnected(connection);
             Loggers.REMOTE_DIGEST
                     .info("new connection registered successfully, connectionId = {},connection={} ", connectionId,
@@ -165,50 +180,33 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
         
     }
     
-    private boolean checkLimit(Connection connection) {
-        String clientIp = connection.getMetaInfo().clientIp;
-        
-        if (connection.getMetaInfo().isClusterSource()) {
-            if (!connectionForClientIp.containsKey(clientIp)) {
-                connectionForClientIp.putIfAbsent(clientIp, new AtomicInteger(0));
-            }
-            return true;
-        }
-        if (isOverLimit()) {
-            return false;
+    /**
+     * get max connection count of the client ip of connection.
+     *
+     * @param connection connection to register.
+     * @return max count, negative means no limit.
+     */
+    private int getCountLimitOfClient(Connection connection) {
+        ConnectionMeta metaInfo = connection.getMetaInfo();
+        if (metaInfo.isClusterSource() || connectionLimitRule == null) {
+            return -1;
         }
-        
-        if (!connectionForClientIp.containsKey(clientIp)) {
-            connectionForClientIp.putIfAbsent(clientIp, new AtomicInteger(0));
+        // 1.check rule of specific client ip limit.
+        int countLimit = connectionLimitRule.getCountLimitOfIp(metaInfo.clientIp);
+        if (countLimit >= 0) {
+            return countLimit;
         }
-        
-        AtomicInteger currentCount = connectionForClientIp.get(clientIp);
-        
-        if (connectionLimitRule != null) {
-            // 1.check rule of specific client ip limit.
-            if (connectionLimitRule.getCountLimitPerClientIp().containsKey(clientIp)) {
-                Integer integer = connectionLimitRule.getCountLimitPerClientIp().get(clientIp);
-                if (integer != null && integer >= 0) {
-                    return currentCount.get() < integer;
-                }
-            }
-            // 2.check rule of specific client app limit.
-            String appName = connection.getMetaInfo().getAppName();
-            if (StringUtils.isNotBlank(appName) && connectionLimitRule.getCountLimitPerClientApp()
-                    .containsKey(appName)) {
-                Integer integerApp = connectionLimitRule.getCountLimitPerClientApp().get(appName);
-                if (integerApp != null && integerApp >= 0) {
-                    return currentCount.get() < integerApp;
-                }
+        // 2.check rule of specific client app limit.
+        String appName = metaInfo.getAppName();
+        if (StringUtils.isNotBlank(appName)) {
+            countLimit = connectionLimitRule.getCountLimitOfApp(appName);
+            if (countLimit >= 0) {
+                return countLimit;
             }
-            
-            // 3.check rule of default client ip.
-            int countLimitPerClientIpDefault = connectionLimitRule.getCountLimitPerClientIpDefault();
-            return countLimitPerClientIpDefault <= 0 || currentCount.get() < countLimitPerClientIpDefault;
         }
-        
-        return true;
-        
+        // 3.check rule of default client ip.
+        int countLimitPerClientIpDefault = connectionLimitRule.getCountLimitPerClientIpDefault();
+        return countLimitPerClientIpDefault <= 0 ? -1 : countLimitPerClientIpDefault;
     }
     
     /**
@@ -216,17 +214,9 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
      *
      * @param connectionId connectionId.
      */
-    public synchronized void unregister(String connectionId) {
-        Connection remove = this.connections.remove(connectionId);
+    public void unregister(String connectionId) {
+        Connection remove = connectionRegistry.unregister(connectionId);
         if (remove != null) {
-            String clientIp = remove.getMetaInfo().clientIp;
-            AtomicInteger atomicInteger = connectionForClientIp.get(clientIp);
-            if (atomicInteger != null) {
-                int count = atomicInteger.decrementAndGet();
-                if (count <= 0) {
-                    connectionForClientIp.remove(clientIp);
-                }
-            }
             remove.close();
             Loggers.REMOTE_DIGEST.info("[{}]Connection unregistered successfully. ", connectionId);
             clientConnectionEventListenerRegistry.notifyClientDisConnected(remove);
@@ -240,7 +230,7 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
      * @return connection of the id.
      */
     public Connection getConnection(String connectionId) {
-        return connections.get(connectionId);
+        return connectionRegistry.get(connectionId);
     }
     
     /**
@@ -250,15 +240,27 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
      * @return connections of the client ip.
      */
     public List<Connection> getConnectionByIp(String clientIp) {
-        Set<Map.Entry<String, Connection>> entries = connections.entrySet();
-        List<Connection> connections = new ArrayList<>();
-        for (Map.Entry<String, Connection> entry : entries) {
-            Connection value = entry.getValue();
-            if (clientIp.equals(value.getMetaInfo().clientIp)) {
-                connections.add(value);
-            }
-        }
-        return connections;
+        return connectionRegistry.getByClientIp(clientIp);
+    }
+    
+    /**
+     * get connection count of client ip.
+     *
+     * @param clientIp client ip.
+     * @return connection count of the client ip.
+     */
+    public int getConnectionCountByIp(String clientIp) {
+        return connectionRegistry.countOfClientIp(clientIp);
+    }
+    
+    /**
+     * get by client app name.
+     *
+     * @param appName client app name.
+     * @return connections of the app name.
+     */
+    public List<Connection> getConnectionByAppName(String appName) {
+        return connectionRegistry.getByAppName(appName);
     }
     
     /**
@@ -267,7 +269,7 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
      * @return get all connection count
      */
     public int getCurrentConnectionCount() {
-        return this.connections.size();
+        return connectionRegistry.size();
     }
     
     /**
@@ -276,7 +278,7 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
      * @param connectionId connectionId.
      */
     public void refreshActiveTime(String connectionId) {
-        Connection connection = connections.get(connectionId);
+        Connection connection = connectionRegistry.get(connectionId);
         if (connection != null) {
             connection.freshActiveTime();
         }
@@ -288,16 +290,22 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
     @PostConstruct
     public void start() {
         
+        keepAliveProbePermits = new Semaphore(Math.max(1, EnvUtil
+                .getProperty(KEEP_ALIVE_PROBE_CONCURRENCY, Integer.class, DEFAULT_KEEP_ALIVE_PROBE_CONCURRENCY)));
+        // Start Keep Alive Check Task, only connections reaching keep alive deadline are visited.
+        RpcScheduledExecutor.COMMON_SERVER_EXECUTOR
+                .scheduleWithFixedDelay(this::checkKeepAlive, KEEP_ALIVE_TICK, KEEP_ALIVE_TICK, TimeUnit.MILLISECONDS);
+        
         // Start UnHealthy Connection Expel Task.
         RpcScheduledExecutor.COMMON_SERVER_EXECUTOR.scheduleWithFixedDelay(new Runnable() {
             @Override
             public void run() {
                 try {
                     
-                    int totalCount = connections.size();
+                    int totalCount = connectionRegistry.size();
                     Loggers.REMOTE_DIGEST.info("Connection check task start");
                     MetricsMonitor.getLongConnectionMonitor().set(totalCount);
-                    Set<Map.Entry<String, Connection>> entries = connections.entrySet();
+                    Set<Map.Entry<String, Connection>> entries = connectionRegistry.all().entrySet();
                     int currentSdkClientCount = currentSdkClientCount();
                     boolean isLoaderClient = loadClient >= 0;
                     int currentMaxClient = isLoaderClient ? loadClient : connectionLimitRule.countLimit;
@@ -313,29 +321,32 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
                     Map<String, AtomicInteger> expelForIp = new HashMap<>(16);
                     
                     //1. calculate expel count  of ip.
-                    for (Map.Entry<String, Connection> entry : entries) {
-                        
-                        Connection client = entry.getValue();
-                        String appName = client.getMetaInfo().getAppName();
-                        String clientIp = client.getMetaInfo().getClientIp();
-                        if (client.getMetaInfo().isSdkSource() && !expelForIp.containsKey(clientIp)) {
-                            //get limit for current ip.
-                            int countLimitOfIp = connectionLimitRule.getCountLimitOfIp(clientIp);
-                            if (countLimitOfIp < 0) {
-                                int countLimitOfApp = connectionLimitRule.getCountLimitOfApp(appName);
-                                countLimitOfIp = countLimitOfApp < 0 ? countLimitOfIp : countLimitOfApp;
-                            }
-                            if (countLimitOfIp < 0) {
-                                countLimitOfIp = connectionLimitRule.getCountLimitPerClientIpDefault();
-                            }
-                            
-                            if (countLimitOfIp >= 0 && connectionForClientIp.containsKey(clientIp)) {
-                                AtomicInteger currentCountIp = connectionForClientIp.get(clientIp);
-                                if (currentCountIp != null && currentCountIp.get() > countLimitOfIp) {
-                                    expelForIp.put(clientIp, new AtomicInteger(currentCountIp.get() - countLimitOfIp));
-                                }
+                    for (String clientIp : connectionRegistry.clientIps()) {
+                        List<Connection> ipConnections = connectionRegistry.getByClientIp(clientIp);
+                        Connection client = null;
+                        for (Connection each : ipConnections) {
+                            if (each.getMetaInfo().isSdkSource()) {
+                                client = each;
+                                break;
                             }
                         }
+                        if (client == null) {
+                            continue;
+                        }
+                        String appName = client.getMetaInfo().getAppName();
+                        //get limit for current ip.
+                        int countLimitOfIp = connectionLimitRule.getCountLimitOfIp(clientIp);
+                        if (countLimitOfIp < 0) {
+                            int countLimitOfApp = connectionLimitRule.getCountLimitOfApp(appName);
+                            countLimitOfIp = countLimitOfApp < 0 ? countLimitOfIp : countLimitOfApp;
+                        }
+                        if (countLimitOfIp < 0) {
+                            countLimitOfIp = connectionLimitRule.getCountLimitPerClientIpDefault();
+                        }
+                        
+                        if (countLimitOfIp >= 0 && ipConnections.size() > countLimitOfIp) {
+                            expelForIp.put(clientIp, new AtomicInteger(ipConnections.size() - countLimitOfIp));
+                        }
                     }
                     
                     Loggers.REMOTE_DIGEST
@@ -345,21 +356,16 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
                         Loggers.REMOTE_DIGEST.info("Over limit ip expel info, {}", expelForIp);
                     }
                     
-                    Set<String> outDatedConnections = new HashSet<>();
-                    long now = System.currentTimeMillis();
                     //2.get expel connection for ip limit.
-                    for (Map.Entry<String, Connection> entry : entries) {
-                        Connection client = entry.getValue();
-                        String clientIp = client.getMetaInfo().getClientIp();
-                        AtomicInteger integer = expelForIp.get(clientIp);
-                        if (integer != null && integer.intValue() > 0) {
-                            integer.decrementAndGet();
+                    for (Map.Entry<String, AtomicInteger> entry : expelForIp.entrySet()) {
+                        int ipExpelCount = entry.getValue().get();
+                        for (Connection client : connectionRegistry.getByClientIp(entry.getKey())) {
+                            if (ipExpelCount-- <= 0) {
+                                break;
+                            }
                             expelClient.add(client.getMetaInfo().getConnectionId());
                             expelCount--;
-                        } else if (now - client.getMetaInfo().getLastActiveTime() >= KEEP_ALIVE_TIME) {
-                            outDatedConnections.add(client.getMetaInfo().getConnectionId());
                         }
-                        
                     }
                     
                     //3. if total count is still over limit.
@@ -370,7 +376,6 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
                                     .isSdkSource() && expelCount > 0) {
                                 expelClient.add(client.getMetaInfo().getConnectionId());
                                 expelCount--;
-                                outDatedConnections.remove(client.getMetaInfo().getConnectionId());
                             }
                         }
                     }
@@ -404,71 +409,6 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
                         }
                     }
                     
-                    //4.client active detection.
-                    Loggers.REMOTE_DIGEST.info("Out dated connection ,size={}", outDatedConnections.size());
-                    if (CollectionUtils.isNotEmpty(outDatedConnections)) {
-                        Set<String> successConnections = new HashSet<>();
-                        final CountDownLatch latch = new CountDownLatch(outDatedConnections.size());
-                        for (String outDateConnectionId : outDatedConnections) {
-                            try {
-                                Connection connection = getConnection(outDateConnectionId);
-                                if (connection != null) {
-                                    ClientDetectionRequest clientDetectionRequest = new ClientDetectionRequest();
-                                    connection.asyncRequest(clientDetectionRequest, new RequestCallBack() {
-                                        @Override
-                                        public Executor getExecutor() {
-                                            return null;
-                                        }
-                                        
-                                        @Override
-                                        public long getTimeout() {
-                                            return 1000L;
-                                        }
-                                        
-                                        @Override
-                                        public void onResponse(Response response) {
-                                            latch.countDown();
-                                            if (response != null && response.isSuccess()) {
-                                                connection.freshActiveTime();
-                                                successConnections.add(outDateConnectionId);
-                                            }
-                                        }
-                                        
-                                        @Override
-                                        public void onException(Throwable e) {
-                                            latch.countDown();
-                                        }
-                                    });
-                                    
-                                    Loggers.REMOTE_DIGEST
-                                            .info("[{}]send connection active request ", outDateConnectionId);
-                                } else {
-                                    latch.countDown();
-                                }
-                                
-                            } catch (ConnectionAlreadyClosedException e) {
-                                latch.countDown();
-                            } catch (Exception e) {
-                                Loggers.REMOTE_DIGEST
-                                        .error("[{}]Error occurs when check client active detection ,error={}",
-                                                outDateConnectionId, e);
-                                latch.countDown();
-                            }
-                        }
-                        
-                        latch.await(3000L, TimeUnit.MILLISECONDS);
-                        Loggers.REMOTE_DIGEST
-                                .info("Out dated connection check successCount={}", successConnections.size());
-                        
-                        for (String outDateConnectionId : outDatedConnections) {
-                            if (!successConnections.contains(outDateConnectionId)) {
-                                Loggers.REMOTE_DIGEST
-                                        .info("[{}]Unregister Out dated connection....", outDateConnectionId);
-                                unregister(outDateConnectionId);
-                            }
-                        }
-                    }
-                    
                     //reset loader client
                     
                     if (isLoaderClient) {
@@ -486,6 +426,83 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
         
     }
     
+    private void checkKeepAlive() {
+        try {
+            long now = System.currentTimeMillis();
+            int probeCount = 0;
+            for (Connection connection : keepAliveWheel.advance(now)) {
+                // unregistered connections are dropped from the wheel.
+                if (connectionRegistry.get(connection.getMetaInfo().getConnectionId()) != connection) {
+                    continue;
+                }
+                long deadline = connection.getMetaInfo().getLastActiveTime() + KEEP_ALIVE_TIME;
+                if (deadline > now) {
+                    keepAliveWheel.schedule(connection, deadline);
+                } else if (keepAliveProbePermits.tryAcquire()) {
+                    probeCount++;
+                    probeActive(connection);
+                } else {
+                    // too many probes in flight, retry at next tick.
+                    keepAliveWheel.schedule(connection, now + KEEP_ALIVE_TICK);
+                }
+            }
+            if (probeCount > 0) {
+                Loggers.REMOTE_DIGEST.info("Out dated connection ,size={}", probeCount);
+            }
+        } catch (Throwable e) {
+            Loggers.REMOTE.error("Error occurs during connection keep alive check... ", e);
+        }
+    }
+    
+    private void probeActive(Connection connection) {
+        String connectionId = connection.getMetaInfo().getConnectionId();
+        try {
+            connection.asyncRequest(new ClientDetectionRequest(), new RequestCallBack() {
+                @Override
+                public Executor getExecutor() {
+                    return RpcScheduledExecutor.COMMON_SERVER_EXECUTOR;
+                }
+                
+                @Override
+                public long getTimeout() {
+                    return KEEP_ALIVE_PROBE_TIMEOUT;
+                }
+                
+                @Override
+                public void onResponse(Response response) {
+                    keepAliveProbePermits.release();
+                    if (response != null && response.isSuccess()) {
+                        connection.freshActiveTime();
+                        keepAliveWheel.schedule(connection,
+                                connection.getMetaInfo().getLastActiveTime() + KEEP_ALIVE_TIME);
+                    } else {
+                        unregisterOutDated(connectionId);
+                    }
+                }
+                
+                @Override
+                public void onException(Throwable e) {
+                    keepAliveProbePermits.release();
+                    unregisterOutDated(connectionId);
+                }
+            });
+            Loggers.REMOTE_DIGEST.info("[{}]send connection active request ", connectionId);
+        } catch (ConnectionAlreadyClosedException e) {
+            keepAliveProbePermits.release();
+            unregisterOutDated(connectionId);
+        } catch (Exception e) {
+            keepAliveProbePermits.release();
+            Loggers.REMOTE_DIGEST
+                    .error("[{}]Error occurs when check client active detection ,error={}", connectionId, e);
+            unregisterOutDated(connectionId);
+        }
+    }
+    
+    private void unregisterOutDated(String connectionId) {
+        Loggers.REMOTE_DIGEST.info("[{}]Unregister Out dated connection....", connectionId);
+        unregister(connectionId);
+    }
+    
     private RequestMeta buildMeta() {
         RequestMeta meta = new RequestMeta();
         meta.setClientVersion(VersionUtils.getFullClientVersion());
@@ -533,7 +550,7 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
      * @return client count.
      */
     public int currentClientsCount() {
-        return connections.size();
+        return connectionRegistry.size();
     }
     
     /**
@@ -543,21 +560,7 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
      * @return count with the specific filter labels.
      */
     public int currentClientsCount(Map<String, String> filterLabels) {
-        int count = 0;
-        for (Connection connection : connections.values()) {
-            Map<String, String> labels = connection.getMetaInfo().labels;
-            boolean disMatchFound = false;
-            for (Map.Entry<String, String> entry : filterLabels.entrySet()) {
-                if (!entry.getValue().equals(labels.get(entry.getKey()))) {
-                    disMatchFound = true;
-                    break;
-                }
-            }
-            if (!disMatchFound) {
-                count++;
-            }
-        }
-        return count;
+        return connectionRegistry.countOfLabels(filterLabels);
     }
     
     /**
@@ -566,22 +569,11 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
      * @return sdk client count.
      */
     public int currentSdkClientCount() {
-        Map<String, String> filter = new HashMap<String, String>(2);
-        filter.put(RemoteConstants.LABEL_SOURCE, RemoteConstants.LABEL_SOURCE_SDK);
-        return currentClientsCount(filter);
+        return connectionRegistry.sdkCount();
     }
     
     public Map<String, Connection> currentClients() {
-        return connections;
-    }
-    
-    /**
-     * check if over limit.
-     *
-     * @return over limit or not.
-     */
-    private boolean isOverLimit() {
-        return connectionLimitRule.countLimit > 0 && currentSdkClientCount() >= connectionLimitRule.getCountLimit();
+        return connectionRegistry.all();
     }
     
     @Override
@@ -703,7 +695,7 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
         if (connectionLimitRule != null) {
             this.connectionLimitRule = connectionLimitRule;
             Set<String> monitorIpList = connectionLimitRule.monitorIpList;
-            for (Connection connection : this.connections.values()) {
+            for (Connection connection : connectionRegistry.all().values()) {
                 String clientIp = connection.getMetaInfo().getClientIp();
                 if (!CollectionUtils.isEmpty(monitorIpList) && monitorIpList.contains(clientIp)) {
                     connection.setTraced(true);
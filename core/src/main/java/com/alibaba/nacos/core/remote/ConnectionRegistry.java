@@ -0,0 +1,309 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.remote;
+
+import com.alibaba.nacos.api.remote.RemoteConstants;
+import com.alibaba.nacos.common.utils.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrent connection registry with secondary indexes by client ip, app name and labels.
+ *
+ * <p>Each index bucket is only created and removed inside {@link ConcurrentHashMap#compute}, so register and
+ * unregister only contend on the bucket of the same key instead of the whole registry, and bucket sizes can be read
+ * without scanning all connections.
+ *
+ * @author Nacos
+ */
+class ConnectionRegistry {
+    
+    private final Map<String, Connection> connections = new ConcurrentHashMap<>();
+    
+    private final Map<String, Map<String, Connection>> byClientIp = new ConcurrentHashMap<>();
+    
+    private final Map<String, Map<String, Connection>> byAppName = new ConcurrentHashMap<>();
+    
+    private final Map<String, Map<String, Map<String, Connection>>> byLabel = new ConcurrentHashMap<>();
+    
+    private final AtomicInteger sdkCount = new AtomicInteger();
+    
+    /**
+     * Register a connection.
+     *
+     * @param connectionId connection id
+     * @param connection   connection
+     * @param sdkLimit     max sdk connections of the registry, negative or zero means no limit, only checked for
+     *                     non-cluster connections
+     * @param ipLimit      max connections of the client ip, negative means no limit
+     * @return {@link RegisterResult}
+     */
+    RegisterResult register(String connectionId, Connection connection, int sdkLimit, int ipLimit) {
+        if (connections.containsKey(connectionId)) {
+            return RegisterResult.EXISTED;
+        }
+        ConnectionMeta meta = connection.getMetaInfo();
+        boolean sdk = isSdk(meta);
+        boolean checkSdkLimit = sdkLimit > 0 && !meta.isClusterSource();
+        if (sdk ? !tryIncreaseSdkCount(checkSdkLimit ? sdkLimit : -1)
+                : checkSdkLimit && sdkCount.get() >= sdkLimit) {
+            return RegisterResult.OVER_LIMIT;
+        }
+        if (connections.putIfAbsent(connectionId, connection) != null) {
+            if (sdk) {
+                sdkCount.decrementAndGet();
+            }
+            return RegisterResult.EXISTED;
+        }
+        if (!addToIpBucket(meta.clientIp, connectionId, connection, ipLimit)) {
+            // the count is released by unregister if it removed the connection first.
+            if (connections.remove(connectionId, connection) && sdk) {
+                sdkCount.decrementAndGet();
+            }
+            return RegisterResult.OVER_LIMIT;
+        }
+        if (StringUtils.isNotBlank(meta.appName)) {
+            addToBucket(byAppName, meta.appName, connectionId, connection);
+        }
+        if (meta.labels != null) {
+            for (Map.Entry<String, String> label : meta.labels.entrySet()) {
+                if (label.getValue() != null) {
+                    addToBucket(byLabel.computeIfAbsent(label.getKey(), key -> new ConcurrentHashMap<>(4)),
+                            label.getValue(), connectionId, connection);
+                }
+            }
+        }
+        // unregistered before indexed, indexes added after its removal need clean.
+        if (connections.get(connectionId) != connection) {
+            removeFromIndexes(meta, connectionId);
+            return RegisterResult.UNREGISTERED;
+        }
+        return RegisterResult.SUCCESS;
+    }
+    
+    /**
+     * Unregister a connection.
+     *
+     * @param connectionId connection id
+     * @return removed connection, null if not registered
+     */
+    Connection unregister(String connectionId) {
+        Connection removed = connections.remove(connectionId);
+        if (removed == null) {
+            return null;
+        }
+        ConnectionMeta meta = removed.getMetaInfo();
+        if (isSdk(meta)) {
+            sdkCount.decrementAndGet();
+        }
+        removeFromIndexes(meta, connectionId);
+        return removed;
+    }
+    
+    private void removeFromIndexes(ConnectionMeta meta, String connectionId) {
+        removeFromBucket(byClientIp, meta.clientIp, connectionId);
+        if (StringUtils.isNotBlank(meta.appName)) {
+            removeFromBucket(byAppName, meta.appName, connectionId);
+        }
+        if (meta.labels != null) {
+            for (Map.Entry<String, String> label : meta.labels.entrySet()) {
+                Map<String, Map<String, Connection>> valueIndex = byLabel.get(label.getKey());
+                if (valueIndex != null && label.getValue() != null) {
+                    removeFromBucket(valueIndex, label.getValue(), connectionId);
+                }
+            }
+        }
+    }
+    
+    Connection get(String connectionId) {
+        return connections.get(connectionId);
+    }
+    
+    boolean contains(String connectionId) {
+        return connections.containsKey(connectionId);
+    }
+    
+    Map<String, Connection> all() {
+        return connections;
+    }
+    
+    int size() {
+        return connections.size();
+    }
+    
+    int sdkCount() {
+        return sdkCount.get();
+    }
+    
+    Set<String> clientIps() {
+        return byClientIp.keySet();
+    }
+    
+    List<Connection> getByClientIp(String clientIp) {
+        return snapshot(byClientIp.get(clientIp));
+    }
+    
+    int countOfClientIp(String clientIp) {
+        Map<String, Connection> bucket = byClientIp.get(clientIp);
+        return bucket == null ? 0 : bucket.size();
+    }
+    
+    List<Connection> getByAppName(String appName) {
+        return snapshot(byAppName.get(appName));
+    }
+    
+    int countOfAppName(String appName) {
+        Map<String, Connection> bucket = byAppName.get(appName);
+        return bucket == null ? 0 : bucket.size();
+    }
+    
+    /**
+     * Count connections matching all the labels.
+     *
+     * @param filterLabels labels to match
+     * @return count of matched connections
+     */
+    int countOfLabels(Map<String, String> filterLabels) {
+        if (filterLabels == null || filterLabels.isEmpty()) {
+            return connections.size();
+        }
+        if (filterLabels.size() == 1) {
+            Map.Entry<String, String> label = filterLabels.entrySet().iterator().next();
+            if (RemoteConstants.LABEL_SOURCE.equals(label.getKey()) && RemoteConstants.LABEL_SOURCE_SDK
+                    .equals(label.getValue())) {
+                return sdkCount.get();
+            }
+            Map<String, Connection> bucket = labelBucket(label.getKey(), label.getValue());
+            return bucket == null ? 0 : bucket.size();
+        }
+        // scan the smallest bucket only.
+        Map<String, Connection> smallest = null;
+        for (Map.Entry<String, String> label : filterLabels.entrySet()) {
+            Map<String, Connection> bucket = labelBucket(label.getKey(), label.getValue());
+            if (bucket == null) {
+                return 0;
+            }
+            if (smallest == null || bucket.size() < smallest.size()) {
+                smallest = bucket;
+            }
+        }
+        int count = 0;
+        for (Connection connection : smallest.values()) {
+            if (matchLabels(connection.getMetaInfo().labels, filterLabels)) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    private Map<String, Connection> labelBucket(String key, String value) {
+        Map<String, Map<String, Connection>> valueIndex = byLabel.get(key);
+        return valueIndex == null || value == null ? null : valueIndex.get(value);
+    }
+    
+    private static boolean matchLabels(Map<String, String> labels, Map<String, String> filterLabels) {
+        for (Map.Entry<String, String> entry : filterLabels.entrySet()) {
+            if (!entry.getValue().equals(labels.get(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean isSdk(ConnectionMeta meta) {
+        return meta.labels != null && RemoteConstants.LABEL_SOURCE_SDK
+                .equals(meta.labels.get(RemoteConstants.LABEL_SOURCE));
+    }
+    
+    private boolean tryIncreaseSdkCount(int limit) {
+        while (true) {
+            int current = sdkCount.get();
+            if (limit > 0 && current >= limit) {
+                return false;
+            }
+            if (sdkCount.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    private boolean addToIpBucket(String clientIp, String connectionId, Connection connection, int ipLimit) {
+        Map<String, Connection> bucket = byClientIp.compute(clientIp, (ip, current) -> {
+            if (current == null) {
+                current = new ConcurrentHashMap<>(4);
+            }
+            if (ipLimit < 0 || current.size() < ipLimit) {
+                current.put(connectionId, connection);
+            }
+            return current.isEmpty() ? null : current;
+        });
+        return bucket != null && bucket.get(connectionId) == connection;
+    }
+    
+    private static void addToBucket(Map<String, Map<String, Connection>> index, String key, String connectionId,
+            Connection connection) {
+        index.compute(key, (k, current) -> {
+            if (current == null) {
+                current = new ConcurrentHashMap<>(4);
+            }
+            current.put(connectionId, connection);
+            return current;
+        });
+    }
+    
+    private static void removeFromBucket(Map<String, Map<String, Connection>> index, String key,
+            String connectionId) {
+        index.computeIfPresent(key, (k, current) -> {
+            current.remove(connectionId);
+            return current.isEmpty() ? null : current;
+        });
+    }
+    
+    private static List<Connection> snapshot(Map<String, Connection> bucket) {
+        return bucket == null ? Collections.emptyList() : new ArrayList<>(bucket.values());
+    }
+    
+    enum RegisterResult {
+        
+        /**
+         * Registered.
+         */
+        SUCCESS,
+        
+        /**
+         * The connection id is registered already.
+         */
+        EXISTED,
+        
+        /**
+         * Over sdk count limit or client ip count limit.
+         */
+        OVER_LIMIT,
+        
+        /**
+         * Unregistered by other thread during registering.
+         */
+        UNREGISTERED
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.remote;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timing wheel for keep-alive deadlines.
+ *
+ * <p>{@link #schedule(Object, long)} is thread safe and O(1), new timeouts are buffered and moved into the wheel by
+ * {@link #advance(long)}, which must be called by a single thread. Only the buckets of passed ticks are visited.
+ *
+ * <p>The wheel does not support cancel or reschedule, owners are expected to re-check expired targets and schedule
+ * them again with their latest deadline, so refreshing a target only needs to update its own timestamp.
+ *
+ * @author Nacos
+ */
+class KeepAliveTimingWheel<T> {
+    
+    private final long tickMillis;
+    
+    private final int mask;
+    
+    private final ArrayDeque<Timeout<T>>[] buckets;
+    
+    private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+    
+    private long currentTick;
+    
+    @SuppressWarnings("unchecked")
+    KeepAliveTimingWheel(long tickMillis, int wheelSize, long nowMillis) {
+        this.tickMillis = tickMillis;
+        int size = Integer.highestOneBit(Math.max(2, wheelSize) * 2 - 1);
+        this.mask = size - 1;
+        this.buckets = new ArrayDeque[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+    
+    /**
+     * Schedule target to expire at deadline.
+     *
+     * @param target         target
+     * @param deadlineMillis deadline in milliseconds
+     */
+    void schedule(T target, long deadlineMillis) {
+        pending.offer(new Timeout<>(target, (deadlineMillis + tickMillis - 1) / tickMillis));
+    }
+    
+    /**
+     * Advance the wheel to now and collect expired targets.
+     *
+     * @param nowMillis current time in milliseconds
+     * @return targets whose deadline passed
+     */
+    List<T> advance(long nowMillis) {
+        transferPending();
+        long targetTick = nowMillis / tickMillis;
+        long passedTicks = Math.min(targetTick - currentTick, buckets.length);
+        List<T> expired = Collections.emptyList();
+        for (long i = 1; i <= passedTicks; i++) {
+            Iterator<Timeout<T>> iterator = buckets[(int) ((currentTick + i) & mask)].iterator();
+            while (iterator.hasNext()) {
+                Timeout<T> timeout = iterator.next();
+                if (timeout.deadlineTick <= targetTick) {
+                    iterator.remove();
+                    if (expired.isEmpty()) {
+                        expired = new ArrayList<>();
+                    }
+                    expired.add(timeout.target);
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick);
+        return expired;
+    }
+    
+    private void transferPending() {
+        Timeout<T> timeout;
+        while ((timeout = pending.poll()) != null) {
+            // already passed deadline expires at next tick.
+            long tick = Math.max(timeout.deadlineTick, currentTick + 1);
+            buckets[(int) (tick & mask)].add(timeout);
+        }
+    }
+    
+    private static class Timeout<T> {
+        
+        private final T target;
+        
+        private final long deadlineTick;
+        
+        private Timeout(T target, long deadlineTick) {
+            this.target = target;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -44,18 +44,28 @@ public abstract class RequestHandler<T extends Request, S extends Response> {
      * @throws NacosException nacos exception when handle request has problem.
      */
     public Response handleRequest(T request, RequestMeta meta) throws NacosException {
-        for (AbstractRequestFilter filter : requestFilters.filters) {
-            try {
-                Response filterResult = filter.filter(request, meta, this.getClass());
-                if (filterResult != null && !filterResult.isSuccess()) {
-                    return filterResult;
+        try {
+            for (AbstractRequestFilter filter : requestFilters.filters) {
+                try {
+                    Response filterResult = filter.filter(request, meta, this.getClass());
+                    if (filterResult != null && !filterResult.isSuccess()) {
+                        return filterResult;
+                    }
+                } catch (Throwable throwable) {
+                    Loggers.REMOTE.error("filter error", throwable);
+                }
+                
+            }
+            return handle(request, meta);
+        } finally {
+            for (AbstractRequestFilter filter : requestFilters.filters) {
+                try {
+                    filter.afterHandle(request, meta, this.getClass());
+                } catch (Throwable throwable) {
+                    Loggers.REMOTE.error("filter after handle error", throwable);
                 }
-            } catch (Throwable throwable) {
-                Loggers.REMOTE.error("filter error", throwable);
             }
-            
         }
-        return handle(request, meta);
     }
     
     /**
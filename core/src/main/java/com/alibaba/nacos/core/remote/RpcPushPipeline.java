@@ -0,0 +1,267 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.remote;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.remote.AbstractRequestCallBack;
+import com.alibaba.nacos.api.remote.PushCallBack;
+import com.alibaba.nacos.api.remote.request.BatchPushRequest;
+import com.alibaba.nacos.api.remote.request.ServerRequest;
+import com.alibaba.nacos.api.remote.response.BatchPushResponse;
+import com.alibaba.nacos.api.remote.response.Response;
+import com.alibaba.nacos.common.remote.exception.ConnectionAlreadyClosedException;
+import com.alibaba.nacos.core.utils.Loggers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pipelined pushes of one connection.
+ *
+ * <p>At most {@code window} push frames wait for ack at the same time, pushes arriving while the window is full are
+ * queued. For clients supporting batch push, queued pushes are sent together in one {@link BatchPushRequest} when a
+ * frame is acked, so batches only form under load and a single push is never delayed.
+ *
+ * @author Nacos
+ */
+class RpcPushPipeline {
+    
+    private final Connection connection;
+    
+    private final ConnectionManager connectionManager;
+    
+    private final int window;
+    
+    private final int maxBatchSize;
+    
+    private final Queue<PendingPush> pending = new ConcurrentLinkedQueue<>();
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    RpcPushPipeline(Connection connection, ConnectionManager connectionManager, int window, int maxBatchSize) {
+        this.connection = connection;
+        this.connectionManager = connectionManager;
+        this.window = Math.max(1, window);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+    
+    /**
+     * Push request to the connection, callback is invoked in executor when acked.
+     *
+     * @param request  request
+     * @param callBack callback
+     * @param executor executor of callback, invoked in ack thread if null
+     */
+    void push(ServerRequest request, PushCallBack callBack, Executor executor) {
+        pending.offer(new PendingPush(request, callBack, executor));
+        drain();
+    }
+    
+    int getInFlight() {
+        return inFlight.get();
+    }
+    
+    int getPendingCount() {
+        return pending.size();
+    }
+    
+    private void drain() {
+        while (!pending.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= window) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            List<PendingPush> frame = pollFrame();
+            if (frame.isEmpty()) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            send(frame);
+        }
+    }
+    
+    private List<PendingPush> pollFrame() {
+        int batchSize = isBatchPushSupported() ? maxBatchSize : 1;
+        List<PendingPush> frame = new ArrayList<>(Math.min(batchSize, 16));
+        long now = System.currentTimeMillis();
+        PendingPush each;
+        while (frame.size() < batchSize && (each = pending.poll()) != null) {
+            if (now - each.createTime >= each.callBack.getTimeout()) {
+                // waited longer than its timeout in queue, let the pusher retry.
+                each.complete(new TimeoutException("Push wait in queue timeout " + each.callBack.getTimeout()));
+                continue;
+            }
+            frame.add(each);
+        }
+        return frame;
+    }
+    
+    private void send(List<PendingPush> frame) {
+        try {
+            if (frame.size() == 1) {
+                sendSingle(frame.get(0));
+            } else {
+                sendBatch(frame);
+            }
+        } catch (ConnectionAlreadyClosedException e) {
+            inFlight.decrementAndGet();
+            connectionManager.unregister(connection.getMetaInfo().getConnectionId());
+            for (PendingPush each : frame) {
+                each.complete(null);
+            }
+        } catch (Exception e) {
+            inFlight.decrementAndGet();
+            Loggers.REMOTE_DIGEST.error("error to send push response to connectionId ={},push size={}",
+                    connection.getMetaInfo().getConnectionId(), frame.size(), e);
+            for (PendingPush each : frame) {
+                each.complete(e);
+            }
+        }
+    }
+    
+    private void sendSingle(PendingPush push) throws NacosException {
+        connection.asyncRequest(push.request, new AbstractRequestCallBack(push.callBack.getTimeout()) {
+            
+            @Override
+            public Executor getExecutor() {
+                return push.executor;
+            }
+            
+            @Override
+            public void onResponse(Response response) {
+                onFrameDone();
+                push.invoke(response.isSuccess() ? null
+                        : new NacosException(response.getErrorCode(), response.getMessage()));
+            }
+            
+            @Override
+            public void onException(Throwable e) {
+                onFrameDone();
+                push.invoke(e);
+            }
+        });
+    }
+    
+    private void sendBatch(List<PendingPush> frame) throws NacosException {
+        List<ServerRequest> requests = new ArrayList<>(frame.size());
+        long timeout = 0L;
+        for (PendingPush each : frame) {
+            requests.add(each.request);
+            timeout = Math.max(timeout, each.callBack.getTimeout());
+        }
+        connection.asyncRequest(new BatchPushRequest(requests), new AbstractRequestCallBack(timeout) {
+            
+            @Override
+            public Executor getExecutor() {
+                return null;
+            }
+            
+            @Override
+            public void onResponse(Response response) {
+                onFrameDone();
+                if (!response.isSuccess()) {
+                    NacosException exception = new NacosException(response.getErrorCode(), response.getMessage());
+                    for (PendingPush each : frame) {
+                        each.complete(exception);
+                    }
+                    return;
+                }
+                Map<Integer, BatchPushResponse.Failure> failures = response instanceof BatchPushResponse
+                        ? ((BatchPushResponse) response).getFailures() : Collections.emptyMap();
+                for (int i = 0; i < frame.size(); i++) {
+                    // keep the error code of each push, so pushers can handle it as if it was pushed alone.
+                    BatchPushResponse.Failure failure = failures.get(i);
+                    frame.get(i).complete(null == failure ? null
+                            : new NacosException(failure.getErrorCode(), failure.getMessage()));
+                }
+            }
+            
+            @Override
+            public void onException(Throwable e) {
+                onFrameDone();
+                for (PendingPush each : frame) {
+                    each.complete(e);
+                }
+            }
+        });
+    }
+    
+    private void onFrameDone() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+    
+    private boolean isBatchPushSupported() {
+        return maxBatchSize > 1 && connection.getAbilities() != null
+                && connection.getAbilities().getRemoteAbility() != null && connection.getAbilities().getRemoteAbility()
+                .isSupportBatchPush();
+    }
+    
+    private static class PendingPush {
+        
+        private final ServerRequest request;
+        
+        private final PushCallBack callBack;
+        
+        private final Executor executor;
+        
+        private final long createTime = System.currentTimeMillis();
+        
+        private PendingPush(ServerRequest request, PushCallBack callBack, Executor executor) {
+            this.request = request;
+            this.callBack = callBack;
+            this.executor = executor;
+        }
+        
+        /**
+         * Complete in executor of the push.
+         *
+         * @param throwable fail cause, null means success
+         */
+        private void complete(Throwable throwable) {
+            if (executor == null) {
+                invoke(throwable);
+            } else {
+                executor.execute(() -> invoke(throwable));
+            }
+        }
+        
+        /**
+         * Complete in current thread.
+         *
+         * @param throwable fail cause, null means success
+         */
+        private void invoke(Throwable throwable) {
+            if (throwable == null) {
+                callBack.onSuccess();
+            } else {
+                callBack.onFail(throwable);
+            }
+        }
+    }
+}
@@ -16,16 +16,15 @@
 
 package com.alibaba.nacos.core.remote;
 
-import com.alibaba.nacos.api.exception.NacosException;
-import com.alibaba.nacos.api.remote.AbstractRequestCallBack;
 import com.alibaba.nacos.api.remote.request.ServerRequest;
 import com.alibaba.nacos.api.remote.PushCallBack;
-import com.alibaba.nacos.api.remote.response.Response;
 import com.alibaba.nacos.common.remote.exception.ConnectionAlreadyClosedException;
 import com.alibaba.nacos.core.utils.Loggers;
+import com.alibaba.nacos.sys.env.EnvUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
 import java.util.concurrent.Executor;
 
 /**
@@ -37,11 +36,30 @@ import java.util.concurrent.Executor;
 @Service
 public class RpcPushService {
     
+    private static final String PUSH_WINDOW = "nacos.remote.server.push.window";
+    
+    private static final String PUSH_BATCH_MAX_SIZE = "nacos.remote.server.push.batch.maxSize";
+    
+    private static final int DEFAULT_PUSH_WINDOW = 64;
+    
+    private static final int DEFAULT_PUSH_BATCH_MAX_SIZE = 32;
+    
     @Autowired
     private ConnectionManager connectionManager;
     
+    private int pushWindow = DEFAULT_PUSH_WINDOW;
+    
+    private int maxBatchSize = DEFAULT_PUSH_BATCH_MAX_SIZE;
+    
+    @PostConstruct
+    public void init() {
+        pushWindow = EnvUtil.getProperty(PUSH_WINDOW, Integer.class, DEFAULT_PUSH_WINDOW);
+        maxBatchSize = EnvUtil.getProperty(PUSH_BATCH_MAX_SIZE, Integer.class, DEFAULT_PUSH_BATCH_MAX_SIZE);
+    }
+    
     /**
-     * push response with no ack.
+     * push response with ack, pushes to the same connection are pipelined in a bounded window and batched if the
+     * client supports.
      *
      * @param connectionId    connectionId.
      * @param request         request.
@@ -51,42 +69,26 @@ public class RpcPushService {
             Executor executor) {
         Connection connection = connectionManager.getConnection(connectionId);
         if (connection != null) {
-            try {
-                connection.asyncRequest(request, new AbstractRequestCallBack(requestCallBack.getTimeout()) {
-                    
-                    @Override
-                    public Executor getExecutor() {
-                        return executor;
-                    }
-                    
-                    @Override
-                    public void onResponse(Response response) {
-                        if (response.isSuccess()) {
-                            requestCallBack.onSuccess();
-                        } else {
-                            requestCallBack.onFail(new NacosException(response.getErrorCode(), response.getMessage()));
-                        }
-                    }
-                    
-                    @Override
-                    public void onException(Throwable e) {
-                        requestCallBack.onFail(e);
-                    }
-                });
-            } catch (ConnectionAlreadyClosedException e) {
-                connectionManager.unregister(connectionId);
-                requestCallBack.onSuccess();
-            } catch (Exception e) {
-                Loggers.REMOTE_DIGEST
-                        .error("error to send push response to connectionId ={},push response={}", connectionId,
-                                request, e);
-                requestCallBack.onFail(e);
-            }
+            getPushPipeline(connection).push(request, requestCallBack, executor);
         } else {
             requestCallBack.onSuccess();
         }
     }
     
+    private RpcPushPipeline getPushPipeline(Connection connection) {
+        RpcPushPipeline pushPipeline = connection.getPushPipeline();
+        if (pushPipeline == null) {
+            synchronized (connection) {
+                pushPipeline = connection.getPushPipeline();
+                if (pushPipeline == null) {
+                    pushPipeline = new RpcPushPipeline(connection, connectionManager, pushWindow, maxBatchSize);
+                    connection.setPushPipeline(pushPipeline);
+                }
+            }
+        }
+        return pushPipeline;
+    }
+    
     /**
      * push response with no ack.
      *
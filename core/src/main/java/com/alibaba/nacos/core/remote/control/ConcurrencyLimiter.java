@@ -0,0 +1,155 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.remote.control;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive in-flight request limiter based on latency gradient.
+ *
+ * <p>Each window of samples compares the long term rtt with the window average rtt. While latency is stable the
+ * limit grows by a queue allowance of {@code sqrt(limit)}, when latency rises the limit shrinks by the gradient
+ * {@code longRtt / shortRtt}. The limit is bounded by {@code [max(1, maxLimit / 10), maxLimit]}.
+ *
+ * @author Nacos
+ */
+public class ConcurrencyLimiter {
+    
+    private static final int WINDOW_SAMPLES = 100;
+    
+    private static final double MIN_GRADIENT = 0.5D;
+    
+    private static final double LIMIT_SMOOTHING = 0.2D;
+    
+    private static final double LONG_RTT_SMOOTHING = 0.05D;
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    private final AtomicLong windowRttSum = new AtomicLong();
+    
+    private final AtomicInteger windowCount = new AtomicInteger();
+    
+    private final AtomicBoolean updating = new AtomicBoolean();
+    
+    private volatile int maxLimit;
+    
+    private volatile int minLimit;
+    
+    private volatile double estimatedLimit;
+    
+    private volatile int limit;
+    
+    private double longRttNanos;
+    
+    public ConcurrencyLimiter(int maxLimit) {
+        setMaxLimit(maxLimit);
+        this.estimatedLimit = this.maxLimit;
+        this.limit = this.maxLimit;
+    }
+    
+    /**
+     * Update max limit, estimated limit is kept if still in bound.
+     *
+     * @param maxLimit max in-flight requests.
+     */
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = Math.max(0, maxLimit);
+        this.minLimit = Math.min(this.maxLimit, Math.max(1, this.maxLimit / 10));
+        this.estimatedLimit = Math.min(this.maxLimit, Math.max(minLimit, estimatedLimit));
+        this.limit = (int) estimatedLimit;
+    }
+    
+    /**
+     * Try to take one in-flight permit.
+     *
+     * @return true if permit taken, must be released by {@link #release(long, boolean)}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Release a permit taken by {@link #tryAcquire()}.
+     *
+     * @param rttNanos request latency.
+     * @param sample   whether the latency is a valid sample, false for requests not handled.
+     */
+    public void release(long rttNanos, boolean sample) {
+        int inFlightBeforeRelease = inFlight.getAndDecrement();
+        if (!sample || rttNanos <= 0) {
+            return;
+        }
+        windowRttSum.addAndGet(rttNanos);
+        if (windowCount.incrementAndGet() >= WINDOW_SAMPLES && updating.compareAndSet(false, true)) {
+            try {
+                int count = windowCount.getAndSet(0);
+                long sum = windowRttSum.getAndSet(0L);
+                if (count > 0) {
+                    updateLimit((double) sum / count, inFlightBeforeRelease);
+                }
+            } finally {
+                updating.set(false);
+            }
+        }
+    }
+    
+    private void updateLimit(double shortRttNanos, int currentInFlight) {
+        if (longRttNanos <= 0) {
+            longRttNanos = shortRttNanos;
+        } else {
+            longRttNanos = longRttNanos * (1 - LONG_RTT_SMOOTHING) + shortRttNanos * LONG_RTT_SMOOTHING;
+        }
+        // long term rtt drifts above the current rtt after a recovery, pull it back.
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos = shortRttNanos;
+        }
+        double current = estimatedLimit;
+        // do not grow when the limit is far from being used.
+        if (currentInFlight < current / 2 && shortRttNanos <= longRttNanos) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0D, longRttNanos / shortRttNanos));
+        double newLimit = current * gradient + Math.sqrt(current);
+        newLimit = current * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING;
+        newLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        estimatedLimit = newLimit;
+        limit = (int) newLimit;
+    }
+    
+    public int getLimit() {
+        return limit;
+    }
+    
+    public int getInFlight() {
+        return inFlight.get();
+    }
+    
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+}
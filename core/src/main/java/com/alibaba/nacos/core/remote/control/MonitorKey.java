@@ -29,6 +29,8 @@ public abstract class MonitorKey {
     
     String key;
     
+    private transient String builtKey;
+    
     public MonitorKey() {
     
     }
@@ -50,9 +52,20 @@ public abstract class MonitorKey {
     
     public void setKey(String key) {
         this.key = key;
+        this.builtKey = null;
     }
     
+    /**
+     * build the full monitor key "type:key", cached as it is used for every matched rule.
+     *
+     * @return full monitor key.
+     */
     public String build() {
-        return this.getType() + Constants.COLON + this.getKey();
+        String result = builtKey;
+        if (result == null) {
+            result = this.getType() + Constants.COLON + this.getKey();
+            builtKey = result;
+        }
+        return result;
     }
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.remote.control;
+
+import com.alibaba.nacos.api.common.Constants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-compiled monitor key rules of one tps point.
+ *
+ * <p>Rules are grouped by monitor key type. Patterns without {@code *} are looked up by hash, prefix patterns are
+ * kept in a small char trie and the optional suffix is checked on the trie hit. Matching has the same result as
+ * {@link MonitorKeyMatcher#matchWithType(String, String)}. The index is immutable, a rule change builds a new one.
+ *
+ * @author Nacos
+ */
+public class MonitorKeyIndex {
+    
+    static final MonitorKeyIndex EMPTY = new MonitorKeyIndex(Collections.emptyMap());
+    
+    private static final Entry[] NO_ENTRY = new Entry[0];
+    
+    /**
+     * Max cached pattern match results per type, cache is cleared when full.
+     */
+    private static final int MAX_CACHED_KEYS = 4096;
+    
+    private final Map<String, TypeIndex> typeIndexes = new HashMap<>(4);
+    
+    public MonitorKeyIndex(Map<String, TpsRecorder> monitorKeysRecorder) {
+        for (Map.Entry<String, TpsRecorder> each : monitorKeysRecorder.entrySet()) {
+            compile(each.getKey(), each.getValue());
+        }
+    }
+    
+    private void compile(String pattern, TpsRecorder tpsRecorder) {
+        int colonIndex = pattern.indexOf(Constants.COLON);
+        if (colonIndex < 0) {
+            return;
+        }
+        TypeIndex typeIndex = typeIndexes.computeIfAbsent(pattern.substring(0, colonIndex), k -> new TypeIndex());
+        // key part keeps the leading colon, same as MonitorKeyMatcher.
+        String keyPart = pattern.substring(colonIndex).trim();
+        if (!keyPart.contains(Constants.ALL_PATTERN)) {
+            typeIndex.addExact(keyPart.substring(1), new Entry(pattern, tpsRecorder, null));
+            return;
+        }
+        String[] split = keyPart.split("\\" + Constants.ALL_PATTERN);
+        if (split.length == 1) {
+            typeIndex.addPrefix(split[0].substring(1), new Entry(pattern, tpsRecorder, null));
+        } else if (split.length == 2) {
+            typeIndex.addPrefix(split[0].substring(1), new Entry(pattern, tpsRecorder, split[1]));
+        }
+    }
+    
+    public boolean isEmpty() {
+        return typeIndexes.isEmpty();
+    }
+    
+    /**
+     * Get all rules matched the monitor key.
+     *
+     * @param monitorKey monitor key.
+     * @return matched rules, never null.
+     */
+    public Entry[] match(MonitorKey monitorKey) {
+        TypeIndex typeIndex = typeIndexes.get(monitorKey.getType());
+        if (typeIndex == null) {
+            return NO_ENTRY;
+        }
+        return typeIndex.match(trimTrailing(String.valueOf(monitorKey.getKey())));
+    }
+    
+    private static String trimTrailing(String key) {
+        int length = key.length();
+        while (length > 0 && key.charAt(length - 1) <= ' ') {
+            length--;
+        }
+        return length == key.length() ? key : key.substring(0, length);
+    }
+    
+    /**
+     * Whether {@code ":" + key} ends with suffix.
+     */
+    private static boolean endsWithColonKey(String key, String suffix) {
+        if (suffix.length() <= key.length()) {
+            return key.endsWith(suffix);
+        }
+        return suffix.length() == key.length() + 1 && suffix.charAt(0) == ':' && suffix.endsWith(key);
+    }
+    
+    /**
+     * A monitor key rule.
+     */
+    public static class Entry {
+        
+        final String pattern;
+        
+        final TpsRecorder tpsRecorder;
+        
+        final String suffix;
+        
+        Entry(String pattern, TpsRecorder tpsRecorder, String suffix) {
+            this.pattern = pattern;
+            this.tpsRecorder = tpsRecorder;
+            this.suffix = suffix;
+        }
+        
+        public String getPattern() {
+            return pattern;
+        }
+        
+        public TpsRecorder getTpsRecorder() {
+            return tpsRecorder;
+        }
+    }
+    
+    private static class TypeIndex {
+        
+        private final Map<String, Entry[]> exact = new HashMap<>(16);
+        
+        private final PrefixNode prefixRoot = new PrefixNode();
+        
+        private boolean hasPrefix;
+        
+        private final Map<String, Entry[]> matchedCache = new ConcurrentHashMap<>(16);
+        
+        void addExact(String key, Entry entry) {
+            exact.put(key, append(exact.getOrDefault(key, NO_ENTRY), entry));
+        }
+        
+        void addPrefix(String prefix, Entry entry) {
+            PrefixNode node = prefixRoot;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.childOrCreate(prefix.charAt(i));
+            }
+            node.entries = append(node.entries, entry);
+            hasPrefix = true;
+        }
+        
+        Entry[] match(String key) {
+            Entry[] exactEntries = exact.getOrDefault(key, NO_ENTRY);
+            if (!hasPrefix) {
+                return exactEntries;
+            }
+            Entry[] cached = matchedCache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            List<Entry> matched = new ArrayList<>(Arrays.asList(exactEntries));
+            PrefixNode node = prefixRoot;
+            int depth = 0;
+            while (node != null) {
+                for (Entry entry : node.entries) {
+                    if (entry.suffix == null || endsWithColonKey(key, entry.suffix)) {
+                        matched.add(entry);
+                    }
+                }
+                node = depth < key.length() ? node.child(key.charAt(depth++)) : null;
+            }
+            Entry[] result = matched.isEmpty() ? NO_ENTRY : matched.toArray(new Entry[0]);
+            if (matchedCache.size() >= MAX_CACHED_KEYS) {
+                matchedCache.clear();
+            }
+            matchedCache.put(key, result);
+            return result;
+        }
+        
+        private static Entry[] append(Entry[] entries, Entry entry) {
+            Entry[] result = Arrays.copyOf(entries, entries.length + 1);
+            result[entries.length] = entry;
+            return result;
+        }
+    }
+    
+    private static class PrefixNode {
+        
+        private char[] chars = new char[0];
+        
+        private PrefixNode[] children = new PrefixNode[0];
+        
+        private Entry[] entries = NO_ENTRY;
+        
+        PrefixNode child(char c) {
+            int index = Arrays.binarySearch(chars, c);
+            return index < 0 ? null : children[index];
+        }
+        
+        PrefixNode childOrCreate(char c) {
+            int index = Arrays.binarySearch(chars, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            PrefixNode node = new PrefixNode();
+            char[] newChars = new char[chars.length + 1];
+            PrefixNode[] newChildren = new PrefixNode[children.length + 1];
+            System.arraycopy(chars, 0, newChars, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newChars[insertAt] = c;
+            newChildren[insertAt] = node;
+            System.arraycopy(chars, insertAt, newChars, insertAt + 1, chars.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            chars = newChars;
+            children = newChildren;
+            return node;
+        }
+    }
+}
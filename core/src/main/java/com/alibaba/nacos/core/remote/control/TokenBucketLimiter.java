@@ -0,0 +1,66 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.remote.control;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock free token bucket, implemented as generic cell rate algorithm.
+ *
+ * <p>Tokens refill at {@code rate} per period and at most {@code burst} tokens can be taken at once, so a burst can
+ * not exceed the bucket size no matter how it is aligned with a counting window.
+ *
+ * @author Nacos
+ */
+public class TokenBucketLimiter {
+    
+    private final long intervalNanos;
+    
+    private final long burstNanos;
+    
+    private final AtomicLong theoreticalArrival;
+    
+    public TokenBucketLimiter(long rate, long burst, TimeUnit period) {
+        this.intervalNanos = rate <= 0 ? 0 : Math.max(1L, period.toNanos(1) / rate);
+        this.burstNanos = intervalNanos * Math.max(1L, burst);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+    
+    /**
+     * Try to take one token.
+     *
+     * @return true if token taken.
+     */
+    public boolean tryAcquire() {
+        if (intervalNanos == 0) {
+            return false;
+        }
+        long now = System.nanoTime();
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long newArrival = (arrival - now > 0 ? arrival : now) + intervalNanos;
+            if (newArrival - now > burstNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, newArrival)) {
+                return true;
+            }
+        }
+    }
+}
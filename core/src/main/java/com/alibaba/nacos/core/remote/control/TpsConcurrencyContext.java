@@ -0,0 +1,103 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.remote.control;
+
+import java.util.Arrays;
+
+/**
+ * Thread bound holder of concurrency permits taken while handling one request.
+ *
+ * <p>Concurrency rules only take effect between {@link #begin()} and {@link #end()}, which {@link
+ * TpsControlRequestFilter} calls around the request handling. Outside of it, e.g. for push tps counting, concurrency
+ * rules always pass.
+ *
+ * @author Nacos
+ */
+public final class TpsConcurrencyContext {
+    
+    private static final ThreadLocal<TpsConcurrencyContext> CONTEXT = ThreadLocal
+            .withInitial(TpsConcurrencyContext::new);
+    
+    private ConcurrencyLimiter[] acquired = new ConcurrencyLimiter[2];
+    
+    private int size;
+    
+    private boolean active;
+    
+    private long startNanos;
+    
+    private TpsConcurrencyContext() {
+    }
+    
+    /**
+     * Start to hold permits for current request.
+     */
+    public static void begin() {
+        TpsConcurrencyContext context = CONTEXT.get();
+        context.releaseAll(false, 0L);
+        context.active = true;
+        context.startNanos = System.nanoTime();
+    }
+    
+    /**
+     * Try to take a permit of the limiter for current request.
+     *
+     * @param limiter concurrency limiter.
+     * @return true if permit taken or no request in handling.
+     */
+    static boolean tryAcquire(ConcurrencyLimiter limiter) {
+        TpsConcurrencyContext context = CONTEXT.get();
+        if (!context.active) {
+            return true;
+        }
+        if (!limiter.tryAcquire()) {
+            return false;
+        }
+        if (context.size == context.acquired.length) {
+            context.acquired = Arrays.copyOf(context.acquired, context.size << 1);
+        }
+        context.acquired[context.size++] = limiter;
+        return true;
+    }
+    
+    /**
+     * Release permits of a request rejected before handling, without latency sample.
+     */
+    static void cancel() {
+        CONTEXT.get().releaseAll(false, 0L);
+    }
+    
+    /**
+     * Release permits of current request with its latency.
+     */
+    public static void end() {
+        TpsConcurrencyContext context = CONTEXT.get();
+        if (context.active) {
+            context.releaseAll(true, System.nanoTime() - context.startNanos);
+            context.active = false;
+        }
+    }
+    
+    private void releaseAll(boolean sample, long rttNanos) {
+        for (int i = 0; i < size; i++) {
+            acquired[i].release(rttNanos, sample);
+            acquired[i] = null;
+        }
+        size = 0;
+    }
+}
@@ -74,6 +74,7 @@ public class TpsControlRequestFilter extends AbstractRequestFilter {
                 }
             }
             
+            TpsConcurrencyContext.begin();
             boolean pass = tpsMonitorManager.applyTps(pointName, meta.getConnectionId(), monitorKeys);
             
             if (!pass) {
@@ -93,4 +94,9 @@ public class TpsControlRequestFilter extends AbstractRequestFilter {
         
         return null;
     }
+    
+    @Override
+    protected void afterHandle(Request request, RequestMeta meta, Class handlerClazz) {
+        TpsConcurrencyContext.end();
+    }
 }
@@ -71,6 +71,16 @@ public class TpsControlRule {
         
         public static final String MODEL_PROTO = "PROTO";
         
+        /**
+         * token bucket, maxCount tokens refilled per period, at most burst tokens taken at once.
+         */
+        public static final String MODEL_TOKEN_BUCKET = "TOKEN_BUCKET";
+        
+        /**
+         * adaptive in-flight limit, maxCount is the upper bound of concurrent requests.
+         */
+        public static final String MODEL_CONCURRENCY = "CONCURRENCY";
+        
         String model = MODEL_FUZZY;
         
         /**
@@ -78,6 +88,11 @@ public class TpsControlRule {
          */
         String monitorType = "";
         
+        /**
+         * bucket size of token bucket model, maxCount is used if not positive.
+         */
+        long burst = -1;
+        
         public Rule() {
         
         }
@@ -90,6 +105,14 @@ public class TpsControlRule {
             return MODEL_PROTO.equalsIgnoreCase(model);
         }
         
+        public boolean isTokenBucketModel() {
+            return MODEL_TOKEN_BUCKET.equalsIgnoreCase(model);
+        }
+        
+        public boolean isConcurrencyModel() {
+            return MODEL_CONCURRENCY.equalsIgnoreCase(model);
+        }
+        
         public Rule(long maxCount, TimeUnit period, String model, String monitorType) {
             this.maxCount = maxCount;
             this.period = period;
@@ -129,9 +152,18 @@ public class TpsControlRule {
             this.monitorType = monitorType;
         }
         
+        public long getBurst() {
+            return burst;
+        }
+        
+        public void setBurst(long burst) {
+            this.burst = burst;
+        }
+        
         @Override
         public String toString() {
-            return "Rule{" + "maxTps=" + maxCount + ", monitorType='" + monitorType + '\'' + '}';
+            return "Rule{" + "maxTps=" + maxCount + ", model='" + model + '\'' + ", burst=" + burst + ", monitorType='"
+                    + monitorType + '\'' + '}';
         }
     }
     
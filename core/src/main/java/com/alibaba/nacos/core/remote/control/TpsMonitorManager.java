@@ -35,7 +35,7 @@ import org.springframework.stereotype.Service;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Paths;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -128,9 +128,9 @@ public class TpsMonitorManager extends Subscriber<TpsControlRuleChangeEvent> {
      * @return pass or not.
      */
     public boolean applyTpsForClientIp(String pointName, String connectionId, String clientIp) {
-        if (points.containsKey(pointName)) {
-            
-            return points.get(pointName).applyTps(connectionId, Arrays.asList(new ClientIpMonitorKey(clientIp)));
+        TpsMonitorPoint tpsMonitorPoint = points.get(pointName);
+        if (tpsMonitorPoint != null) {
+            return tpsMonitorPoint.applyTps(connectionId, Collections.singletonList(new ClientIpMonitorKey(clientIp)));
         }
         return true;
     }
@@ -143,8 +143,9 @@ public class TpsMonitorManager extends Subscriber<TpsControlRuleChangeEvent> {
      * @return pass or not.
      */
     public boolean applyTps(String pointName, String connectionId, List<MonitorKey> monitorKeyList) {
-        if (points.containsKey(pointName)) {
-            return points.get(pointName).applyTps(connectionId, monitorKeyList);
+        TpsMonitorPoint tpsMonitorPoint = points.get(pointName);
+        if (tpsMonitorPoint != null) {
+            return tpsMonitorPoint.applyTps(connectionId, monitorKeyList);
         }
         return true;
     }
@@ -216,8 +217,8 @@ public class TpsMonitorManager extends Subscriber<TpsControlRuleChangeEvent> {
                     tempSecond = pointSlot.time;
                     stringBuilder.append(point).append('|').append("point|").append(value.getTpsRecorder().period)
                             .append('|').append(formatString).append('|')
-                            .append(pointSlot.getCountHolder(point).count.get()).append('|')
-                            .append(pointSlot.getCountHolder(point).interceptedCount.get()).append('\n');
+                            .append(pointSlot.getCountHolder(point).count.sum()).append('|')
+                            .append(pointSlot.getCountHolder(point).interceptedCount.sum()).append('\n');
                     for (Map.Entry<String, TpsRecorder> monitorKeyEntry : value.monitorKeysRecorder.entrySet()) {
                         String monitorPattern = monitorKeyEntry.getKey();
                         TpsRecorder ipRecord = monitorKeyEntry.getValue();
@@ -251,8 +252,8 @@ public class TpsMonitorManager extends Subscriber<TpsControlRuleChangeEvent> {
                         } else {
                             stringBuilder.append(point).append('|').append(monitorPattern).append('|')
                                     .append(ipRecord.period).append('|').append(timeFormatOfSecond).append('|')
-                                    .append(keySlot.getCountHolder(point).count.get()).append('|')
-                                    .append(keySlot.getCountHolder(point).interceptedCount.get()).append('\n');
+                                    .append(keySlot.getCountHolder(point).count.sum()).append('|')
+                                    .append(keySlot.getCountHolder(point).interceptedCount.sum()).append('\n');
                         }
                     }
                 }
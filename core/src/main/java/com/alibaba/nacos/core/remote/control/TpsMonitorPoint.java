@@ -16,10 +16,10 @@
 
 package com.alibaba.nacos.core.remote.control;
 
+import com.alibaba.nacos.core.monitor.MetricsMonitor;
 import com.alibaba.nacos.core.utils.Loggers;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -40,14 +40,27 @@ public class TpsMonitorPoint {
     
     private static final String DATETIME_PATTERN = "yyyy-MM-dd HH:mm:ss";
     
+    private static final String POINT_RULE = "pointRule";
+    
+    private static final long MILLS_OF_SECOND = TimeUnit.SECONDS.toMillis(1);
+    
+    private static final long MILLS_OF_MINUTE = TimeUnit.MINUTES.toMillis(1);
+    
+    private static final long MILLS_OF_HOUR = TimeUnit.HOURS.toMillis(1);
+    
     private long startTime;
     
     private String pointName;
     
-    private TpsRecorder tpsRecorder;
+    private volatile TpsRecorder tpsRecorder;
     
     public Map<String, TpsRecorder> monitorKeysRecorder = new HashMap<String, TpsRecorder>();
     
+    /**
+     * compiled view of {@link #monitorKeysRecorder} used by {@link #applyTps(String, List)}, rebuilt on rule change.
+     */
+    private volatile MonitorKeyIndex monitorKeyIndex = MonitorKeyIndex.EMPTY;
+    
     public TpsMonitorPoint(String pointName) {
         this(pointName, -1, "monitor");
     }
@@ -69,10 +82,7 @@ public class TpsMonitorPoint {
      * @return mills of second.
      */
     public static long getTrimMillsOfSecond(long timeStamp) {
-        String millString = String.valueOf(timeStamp);
-        String substring = millString.substring(0, millString.length() - 3);
-        return Long.parseLong(substring + "000");
-        
+        return timeStamp - timeStamp % MILLS_OF_SECOND;
     }
     
     /**
@@ -82,9 +92,7 @@ public class TpsMonitorPoint {
      * @return minis of minute.
      */
     public static long getTrimMillsOfMinute(long timeStamp) {
-        String millString = String.valueOf(timeStamp);
-        String substring = millString.substring(0, millString.length() - 3);
-        return Long.parseLong(Long.parseLong(substring) / 60 * 60 + "000");
+        return timeStamp - timeStamp % MILLS_OF_MINUTE;
     }
     
     /**
@@ -94,9 +102,7 @@ public class TpsMonitorPoint {
      * @return mills of hour.
      */
     public static long getTrimMillsOfHour(long timeStamp) {
-        String millString = String.valueOf(timeStamp);
-        String substring = millString.substring(0, millString.length() - 3);
-        return Long.parseLong(Long.parseLong(substring) / (60 * 60) * (60 * 60) + "000");
+        return timeStamp - timeStamp % MILLS_OF_HOUR;
     }
     
     /**
@@ -111,6 +117,7 @@ public class TpsMonitorPoint {
     
     private void stopAllMonitorClient() {
         monitorKeysRecorder.clear();
+        monitorKeyIndex = MonitorKeyIndex.EMPTY;
     }
     
     /**
@@ -122,56 +129,85 @@ public class TpsMonitorPoint {
     public boolean applyTps(String connectionId, List<MonitorKey> monitorKeys) {
         
         long now = System.currentTimeMillis();
-        TpsRecorder.TpsSlot currentTps = tpsRecorder.createSlotIfAbsent(now);
+        TpsRecorder pointRecorder = this.tpsRecorder;
+        TpsRecorder.TpsSlot currentTps = pointRecorder.createSlotIfAbsent(now);
+        MonitorKeyIndex keyIndex = this.monitorKeyIndex;
         
         //1.check monitor keys.
-        List<TpsRecorder.SlotCountHolder> passedSlots = new ArrayList<>();
-        for (MonitorKey monitorKey : monitorKeys) {
-            for (Map.Entry<String, TpsRecorder> entry : monitorKeysRecorder.entrySet()) {
-                if (MonitorKeyMatcher.matchWithType(entry.getKey(), monitorKey.build())) {
-                    TpsRecorder tpsRecorderKey = entry.getValue();
-                    TpsRecorder.TpsSlot currentKeySlot = tpsRecorderKey.createSlotIfAbsent(now);
-                    long maxTpsCount = tpsRecorderKey.getMaxCount();
-                    TpsRecorder.SlotCountHolder countHolder = currentKeySlot.getCountHolder(monitorKey.build());
-                    boolean overLimit = maxTpsCount >= 0 && countHolder.count.longValue() >= maxTpsCount;
-                    if (overLimit) {
+        if (!keyIndex.isEmpty()) {
+            for (MonitorKey monitorKey : monitorKeys) {
+                for (MonitorKeyIndex.Entry entry : keyIndex.match(monitorKey)) {
+                    TpsRecorder tpsRecorderKey = entry.getTpsRecorder();
+                    TpsRecorder.SlotCountHolder countHolder = tpsRecorderKey.createSlotIfAbsent(now)
+                            .getCountHolder(monitorKey.build());
+                    if (!tryPass(tpsRecorderKey, countHolder)) {
+                        long maxTpsCount = tpsRecorderKey.getMaxCount();
                         Loggers.TPS_CONTROL_DETAIL
                                 .info("[{}]Tps over limit ,pointName=[{}],barrier=[{}]，monitorModel={},maxTps={}",
-                                        connectionId, this.getPointName(), entry.getKey(),
+                                        connectionId, this.getPointName(), entry.getPattern(),
                                         tpsRecorderKey.getMonitorType(), maxTpsCount + "/" + tpsRecorderKey.period);
                         if (tpsRecorderKey.isInterceptMode()) {
-                            currentKeySlot.getCountHolder(monitorKey.build()).interceptedCount.incrementAndGet();
-                            currentTps.getCountHolder(monitorKey.build()).interceptedCount.incrementAndGet();
+                            countHolder.interceptedCount.increment();
+                            currentTps.getCountHolder(monitorKey.build()).interceptedCount.increment();
+                            TpsConcurrencyContext.cancel();
+                            MetricsMonitor.tpsControlRejected(pointName, entry.getPattern());
                             return false;
                         }
-                    } else {
-                        passedSlots.add(countHolder);
                     }
                 }
             }
         }
         
         //2.check total tps.
-        long maxTps = tpsRecorder.getMaxCount();
-        boolean overLimit = maxTps >= 0 && currentTps.getCountHolder(pointName).count.longValue() >= maxTps;
-        if (overLimit) {
+        TpsRecorder.SlotCountHolder pointCountHolder = currentTps.getCountHolder(pointName);
+        if (!tryPass(pointRecorder, pointCountHolder)) {
             Loggers.TPS_CONTROL_DETAIL
                     .info("[{}]Tps over limit ,pointName=[{}],barrier=[{}]，monitorType={}", connectionId,
-                            this.getPointName(), "pointRule", tpsRecorder.getMonitorType());
-            if (tpsRecorder.isInterceptMode()) {
-                currentTps.getCountHolder(pointName).interceptedCount.incrementAndGet();
+                            this.getPointName(), POINT_RULE, pointRecorder.getMonitorType());
+            if (pointRecorder.isInterceptMode()) {
+                pointCountHolder.interceptedCount.increment();
+                TpsConcurrencyContext.cancel();
+                MetricsMonitor.tpsControlRejected(pointName, POINT_RULE);
                 return false;
             }
         }
         
-        currentTps.getCountHolder(pointName).count.incrementAndGet();
-        for (TpsRecorder.SlotCountHolder passedTpsSlot : passedSlots) {
-            passedTpsSlot.count.incrementAndGet();
+        //3.check pass, count the point and the monitor keys not over limit.
+        pointCountHolder.count.increment();
+        if (!keyIndex.isEmpty()) {
+            for (MonitorKey monitorKey : monitorKeys) {
+                for (MonitorKeyIndex.Entry entry : keyIndex.match(monitorKey)) {
+                    TpsRecorder tpsRecorderKey = entry.getTpsRecorder();
+                    TpsRecorder.SlotCountHolder countHolder = tpsRecorderKey.createSlotIfAbsent(now)
+                            .getCountHolder(monitorKey.build());
+                    // limiter models already decided in step 1, window models are checked again.
+                    if (tpsRecorderKey.isTokenBucketModel() || tpsRecorderKey.isConcurrencyModel() || !isOverLimit(
+                            tpsRecorderKey, countHolder)) {
+                        countHolder.count.increment();
+                    }
+                }
+            }
         }
-        //3.check pass.
         return true;
     }
     
+    private boolean tryPass(TpsRecorder recorder, TpsRecorder.SlotCountHolder countHolder) {
+        if (recorder.isTokenBucketModel()) {
+            TokenBucketLimiter limiter = recorder.getTokenBucketLimiter();
+            return limiter == null || limiter.tryAcquire();
+        }
+        if (recorder.isConcurrencyModel()) {
+            ConcurrencyLimiter limiter = recorder.getConcurrencyLimiter();
+            return limiter == null || TpsConcurrencyContext.tryAcquire(limiter);
+        }
+        return !isOverLimit(recorder, countHolder);
+    }
+    
+    private boolean isOverLimit(TpsRecorder recorder, TpsRecorder.SlotCountHolder countHolder) {
+        long maxCount = recorder.getMaxCount();
+        return maxCount >= 0 && countHolder.count.sum() >= maxCount;
+    }
+    
     public TpsRecorder getTpsRecorder() {
         return tpsRecorder;
     }
@@ -212,9 +248,24 @@ public class TpsMonitorPoint {
                     this.tpsRecorder.getMaxCount(), newPointRule.maxCount, this.tpsRecorder.getMonitorType(),
                     newPointRule.monitorType);
             
-            this.tpsRecorder.setMaxCount(newPointRule.maxCount);
-            this.tpsRecorder.setMonitorType(newPointRule.monitorType);
+            String newPointModel =
+                    newPointRule.model == null ? TpsControlRule.Rule.MODEL_FUZZY : newPointRule.model;
+            boolean limiterModel = newPointRule.isTokenBucketModel() || newPointRule.isConcurrencyModel()
+                    || this.tpsRecorder.isTokenBucketModel() || this.tpsRecorder.isConcurrencyModel();
+            if (limiterModel && !newPointModel.equalsIgnoreCase(this.tpsRecorder.getModel())) {
+                TpsRecorder pointRecorderNew = new TpsRecorder(startTime, TimeUnit.SECONDS, newPointModel,
+                        DEFAULT_RECORD_SIZE);
+                pointRecorderNew.setBurst(newPointRule.burst);
+                pointRecorderNew.setMaxCount(newPointRule.maxCount);
+                pointRecorderNew.setMonitorType(newPointRule.monitorType);
+                this.tpsRecorder = pointRecorderNew;
+            } else {
+                this.tpsRecorder.setBurst(newPointRule.burst);
+                this.tpsRecorder.setMaxCount(newPointRule.maxCount);
+                this.tpsRecorder.setMonitorType(newPointRule.monitorType);
+            }
         }
+        registerConcurrencyMetrics(POINT_RULE, this.tpsRecorder);
         
         //3.check monitor key rules.
         Map<String, TpsControlRule.Rule> newMonitorKeyRules = newControlRule.getMonitorKeyRule();
@@ -258,10 +309,12 @@ public class TpsMonitorPoint {
                             .equals(tpsRecorder.getModel(), newRule.model)) {
                         TpsRecorder tpsRecorderNew = new TpsRecorder(startTime, newRule.period, newRule.model,
                                 DEFAULT_RECORD_SIZE);
+                        tpsRecorderNew.setBurst(newRule.burst);
                         tpsRecorderNew.setMaxCount(newRule.maxCount);
                         tpsRecorderNew.setMonitorType(newRule.monitorType);
                         monitorKeysRecorderCurrent.put(newMonitorRule.getKey(), tpsRecorderNew);
                     } else {
+                        tpsRecorder.setBurst(newRule.burst);
                         tpsRecorder.setMaxCount(newRule.maxCount);
                         tpsRecorder.setMonitorType(newRule.monitorType);
                     }
@@ -274,6 +327,7 @@ public class TpsMonitorPoint {
                     // add rule
                     TpsRecorder tpsRecorderAdd = new TpsRecorder(startTime, newRule.period, newRule.model,
                             DEFAULT_RECORD_SIZE);
+                    tpsRecorderAdd.setBurst(newRule.burst);
                     tpsRecorderAdd.setMaxCount(newRule.maxCount);
                     tpsRecorderAdd.setMonitorType(newRule.monitorType);
                     monitorKeysRecorderCurrent.put(newMonitorRule.getKey(), tpsRecorderAdd);
@@ -290,9 +344,20 @@ public class TpsMonitorPoint {
                     iteratorCurrent.remove();
                 }
             }
-            
+            this.monitorKeyIndex = new MonitorKeyIndex(monitorKeysRecorderCurrent);
+            for (Map.Entry<String, TpsRecorder> entry : monitorKeysRecorderCurrent.entrySet()) {
+                registerConcurrencyMetrics(entry.getKey(), entry.getValue());
+            }
         }
         
     }
     
+    private void registerConcurrencyMetrics(String barrier, TpsRecorder recorder) {
+        final ConcurrencyLimiter limiter = recorder.getConcurrencyLimiter();
+        if (limiter != null) {
+            MetricsMonitor.registerTpsControlGauge(pointName, barrier, "concurrency_limit", limiter::getLimit);
+            MetricsMonitor.registerTpsControlGauge(pointName, barrier, "concurrency_in_flight", limiter::getInFlight);
+        }
+    }
+    
 }
@@ -17,11 +17,11 @@
 package com.alibaba.nacos.core.remote.control;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * tps record.
@@ -35,14 +35,28 @@ public class TpsRecorder {
     
     TimeUnit period;
     
+    private final long periodMillis;
+    
     private int slotSize;
     
     private List<TpsSlot> slotList;
     
     private long maxCount = -1;
     
+    private long burst = -1;
+    
     private String model;
     
+    /**
+     * limiter of token bucket model, null if no limit.
+     */
+    private volatile TokenBucketLimiter tokenBucketLimiter;
+    
+    /**
+     * limiter of concurrency model, null if no limit.
+     */
+    private volatile ConcurrencyLimiter concurrencyLimiter;
+    
     /**
      * monitor/intercept.
      */
@@ -58,6 +72,7 @@ public class TpsRecorder {
             this.startTime = TpsMonitorPoint.getTrimMillsOfHour(startTime);
         }
         this.period = period;
+        this.periodMillis = period.toMillis(1);
         this.model = model;
         this.slotSize = recordSize + 1;
         slotList = new ArrayList<>(slotSize);
@@ -70,6 +85,14 @@ public class TpsRecorder {
         return TpsControlRule.Rule.MODEL_PROTO.equalsIgnoreCase(this.model);
     }
     
+    public boolean isTokenBucketModel() {
+        return TpsControlRule.Rule.MODEL_TOKEN_BUCKET.equalsIgnoreCase(this.model);
+    }
+    
+    public boolean isConcurrencyModel() {
+        return TpsControlRule.Rule.MODEL_CONCURRENCY.equalsIgnoreCase(this.model);
+    }
+    
     public String getModel() {
         return model;
     }
@@ -85,15 +108,13 @@ public class TpsRecorder {
      * @return tps slot.
      */
     public TpsSlot createSlotIfAbsent(long timeStamp) {
-        long distance = timeStamp - startTime;
-        
-        long diff = (distance < 0 ? distance + period.toMillis(1) * slotSize : distance) / period.toMillis(1);
-        long currentWindowTime = startTime + diff * period.toMillis(1);
-        int index = (int) diff % slotSize;
-        if (slotList.get(index).time != currentWindowTime) {
-            slotList.get(index).reset(currentWindowTime);
+        long diff = windowDiff(timeStamp);
+        long currentWindowTime = startTime + diff * periodMillis;
+        TpsSlot tpsSlot = slotList.get((int) (diff % slotSize));
+        if (tpsSlot.time != currentWindowTime) {
+            tpsSlot.reset(currentWindowTime);
         }
-        return slotList.get(index);
+        return tpsSlot;
     }
     
     /**
@@ -103,23 +124,62 @@ public class TpsRecorder {
      * @return tps slot.
      */
     public TpsSlot getPoint(long timeStamp) {
-        long distance = timeStamp - startTime;
-        long diff = (distance < 0 ? distance + period.toMillis(1) * slotSize : distance) / period.toMillis(1);
-        long currentWindowTime = startTime + diff * period.toMillis(1);
-        int index = (int) diff % slotSize;
-        TpsSlot tpsSlot = slotList.get(index);
+        long diff = windowDiff(timeStamp);
+        long currentWindowTime = startTime + diff * periodMillis;
+        TpsSlot tpsSlot = slotList.get((int) (diff % slotSize));
         if (tpsSlot.time != currentWindowTime) {
             return null;
         }
         return tpsSlot;
     }
     
+    private long windowDiff(long timeStamp) {
+        long distance = timeStamp - startTime;
+        return (distance < 0 ? distance + periodMillis * slotSize : distance) / periodMillis;
+    }
+    
     public long getMaxCount() {
         return maxCount;
     }
     
     public void setMaxCount(long maxCount) {
         this.maxCount = maxCount;
+        refreshLimiter();
+    }
+    
+    public long getBurst() {
+        return burst;
+    }
+    
+    public void setBurst(long burst) {
+        this.burst = burst;
+        refreshLimiter();
+    }
+    
+    public TokenBucketLimiter getTokenBucketLimiter() {
+        return tokenBucketLimiter;
+    }
+    
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+    
+    private synchronized void refreshLimiter() {
+        if (maxCount < 0) {
+            tokenBucketLimiter = null;
+            concurrencyLimiter = null;
+            return;
+        }
+        if (isTokenBucketModel()) {
+            tokenBucketLimiter = new TokenBucketLimiter(maxCount, burst > 0 ? burst : maxCount, period);
+        } else if (isConcurrencyModel()) {
+            int maxLimit = (int) Math.min(Integer.MAX_VALUE, maxCount);
+            if (concurrencyLimiter == null) {
+                concurrencyLimiter = new ConcurrencyLimiter(maxLimit);
+            } else {
+                concurrencyLimiter.setMaxLimit(maxLimit);
+            }
+        }
     }
     
     public boolean isInterceptMode() {
@@ -156,8 +216,8 @@ public class TpsRecorder {
             synchronized (this) {
                 if (this.time != second) {
                     this.time = second;
-                    countHolder.count.set(0L);
-                    countHolder.interceptedCount.set(0);
+                    countHolder.count.reset();
+                    countHolder.interceptedCount.reset();
                 }
             }
         }
@@ -171,14 +231,15 @@ public class TpsRecorder {
     
     static class MultiKeyTpsSlot extends TpsSlot {
         
-        Map<String, SlotCountHolder> keySlots = new HashMap<>(16);
+        Map<String, SlotCountHolder> keySlots = new ConcurrentHashMap<>(16);
         
         @Override
         public SlotCountHolder getCountHolder(String key) {
-            if (!keySlots.containsKey(key)) {
-                keySlots.putIfAbsent(key, new SlotCountHolder());
+            SlotCountHolder countHolder = keySlots.get(key);
+            if (countHolder == null) {
+                countHolder = keySlots.computeIfAbsent(key, k -> new SlotCountHolder());
             }
-            return keySlots.get(key);
+            return countHolder;
         }
         
         public Map<String, SlotCountHolder> getKeySlots() {
@@ -204,9 +265,9 @@ public class TpsRecorder {
     
     static class SlotCountHolder {
         
-        AtomicLong count = new AtomicLong();
+        LongAdder count = new LongAdder();
         
-        AtomicLong interceptedCount = new AtomicLong();
+        LongAdder interceptedCount = new LongAdder();
         
         @Override
         public String toString() {
@@ -23,6 +23,8 @@ import com.alibaba.nacos.common.utils.StringUtils;
 import com.alibaba.nacos.core.remote.BaseRpcServer;
 import com.alibaba.nacos.core.remote.ConnectionManager;
 import com.alibaba.nacos.core.utils.Loggers;
+import com.alibaba.nacos.core.utils.RemoteUtils;
+import com.alibaba.nacos.core.utils.VirtualThreadExecutor;
 import io.grpc.Attributes;
 import io.grpc.CompressorRegistry;
 import io.grpc.Context;
@@ -47,6 +49,7 @@ import io.grpc.util.MutableHandlerRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.net.InetSocketAddress;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 
 /**
@@ -109,7 +112,7 @@ public abstract class BaseGrpcServer extends BaseRpcServer {
         
         addServices(handlerRegistry, serverInterceptor);
         
-        server = ServerBuilder.forPort(getServicePort()).executor(getRpcExecutor())
+        server = ServerBuilder.forPort(getServicePort()).executor(getServerExecutor())
                 .maxInboundMessageSize(getInboundMessageSize()).fallbackHandlerRegistry(handlerRegistry)
                 .compressorRegistry(CompressorRegistry.getDefaultInstance())
                 .decompressorRegistry(DecompressorRegistry.getDefaultInstance())
@@ -152,6 +155,21 @@ public abstract class BaseGrpcServer extends BaseRpcServer {
         server.start();
     }
     
+    private Executor getServerExecutor() {
+        if (RemoteUtils.REMOTE_EXECUTOR_MODE_VIRTUAL.equalsIgnoreCase(RemoteUtils.getRemoteExecutorMode())) {
+            if (VirtualThreadExecutor.isSupported()) {
+                int concurrency = RemoteUtils.getRemoteExecutorVirtualConcurrency();
+                Loggers.REMOTE.info("{} runs requests on virtual threads, concurrency={}", getClass().getSimpleName(),
+                        concurrency);
+                return new VirtualThreadExecutor(getVirtualExecutorNamePrefix(), concurrency,
+                        RemoteUtils.getRemoteExecutorQueueSize());
+            }
+            Loggers.REMOTE.warn("Virtual thread is not supported by jdk {}, {} runs requests on platform threads",
+                    System.getProperty("java.version"), getClass().getSimpleName());
+        }
+        return getRpcExecutor();
+    }
+    
     private int getInboundMessageSize() {
         String messageSize = System
                 .getProperty(GRPC_MAX_INBOUND_MSG_SIZE_PROPERTY, String.valueOf(DEFAULT_GRPC_MAX_INBOUND_MSG_SIZE));
@@ -211,6 +229,15 @@ public abstract class BaseGrpcServer extends BaseRpcServer {
      */
     public abstract ThreadPoolExecutor getRpcExecutor();
     
+    /**
+     * get name prefix of the virtual threads when the remote executor mode is virtual.
+     *
+     * @return name prefix.
+     */
+    protected String getVirtualExecutorNamePrefix() {
+        return "nacos-grpc-virtual-executor-";
+    }
+    
     static final Attributes.Key<String> TRANS_KEY_CONN_ID = Attributes.Key.create("conn_id");
     
     static final Attributes.Key<String> TRANS_KEY_REMOTE_IP = Attributes.Key.create("remote_ip");
@@ -44,4 +44,9 @@ public class GrpcClusterServer extends BaseGrpcServer {
         }
         return GlobalExecutor.clusterRpcExecutor;
     }
+    
+    @Override
+    protected String getVirtualExecutorNamePrefix() {
+        return "nacos-cluster-grpc-virtual-executor-";
+    }
 }
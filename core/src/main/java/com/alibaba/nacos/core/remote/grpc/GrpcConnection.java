@@ -57,7 +57,7 @@ public class GrpcConnection extends Connection {
             //StreamObserver#onNext() is not thread-safe,synchronized is required to avoid direct memory leak.
             synchronized (streamObserver) {
                 
-                Payload payload = GrpcUtils.convert(request);
+                Payload payload = GrpcUtils.convert(request, isBinaryCodecSupported());
                 traceIfNecessary(payload);
                 streamObserver.onNext(payload);
             }
@@ -69,6 +69,11 @@ public class GrpcConnection extends Connection {
         }
     }
     
+    private boolean isBinaryCodecSupported() {
+        return getAbilities() != null && getAbilities().getRemoteAbility() != null && getAbilities()
+                .getRemoteAbility().isSupportBinaryCodec();
+    }
+    
     private void traceIfNecessary(Payload payload) {
         String connectionId = null;
         if (this.isTraced()) {
@@ -75,11 +75,14 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
         
         traceIfNecessary(grpcRequest, true);
         String type = grpcRequest.getMetadata().getType();
+        // answer in the codec the client has chosen.
+        boolean binary = GrpcUtils.isBinary(grpcRequest);
         
         //server is on starting.
         if (!ApplicationUtils.isStarted()) {
             Payload payloadResponse = GrpcUtils.convert(
-                    buildErrorResponse(NacosException.INVALID_SERVER_STATUS, "Server is starting,please try later."));
+                    buildErrorResponse(NacosException.INVALID_SERVER_STATUS, "Server is starting,please try later."),
+                    binary);
             traceIfNecessary(payloadResponse, false);
             responseObserver.onNext(payloadResponse);
             
@@ -89,7 +92,9 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
         
         // server check.
         if (ServerCheckRequest.class.getSimpleName().equals(type)) {
-            Payload serverCheckResponseP = GrpcUtils.convert(new ServerCheckResponse(CONTEXT_KEY_CONN_ID.get()));
+            ServerCheckResponse serverCheckResponse = new ServerCheckResponse(CONTEXT_KEY_CONN_ID.get());
+            serverCheckResponse.setSupportBinaryCodec(true);
+            Payload serverCheckResponseP = GrpcUtils.convert(serverCheckResponse, binary);
             traceIfNecessary(serverCheckResponseP, false);
             responseObserver.onNext(serverCheckResponseP);
             responseObserver.onCompleted();
@@ -101,7 +106,7 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
         if (requestHandler == null) {
             Loggers.REMOTE_DIGEST.warn(String.format("[%s] No handler for request type : %s :", "grpc", type));
             Payload payloadResponse = GrpcUtils
-                    .convert(buildErrorResponse(NacosException.NO_HANDLER, "RequestHandler Not Found"));
+                    .convert(buildErrorResponse(NacosException.NO_HANDLER, "RequestHandler Not Found"), binary);
             traceIfNecessary(payloadResponse, false);
             responseObserver.onNext(payloadResponse);
             responseObserver.onCompleted();
@@ -115,7 +120,7 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
             Loggers.REMOTE_DIGEST
                     .warn("[{}] Invalid connection Id ,connection [{}] is un registered ,", "grpc", connectionId);
             Payload payloadResponse = GrpcUtils
-                    .convert(buildErrorResponse(NacosException.UN_REGISTER, "Connection is unregistered."));
+                    .convert(buildErrorResponse(NacosException.UN_REGISTER, "Connection is unregistered."), binary);
             traceIfNecessary(payloadResponse, false);
             responseObserver.onNext(payloadResponse);
             responseObserver.onCompleted();
@@ -128,7 +133,8 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
         } catch (Exception e) {
             Loggers.REMOTE_DIGEST
                     .warn("[{}] Invalid request receive from connection [{}] ,error={}", "grpc", connectionId, e);
-            Payload payloadResponse = GrpcUtils.convert(buildErrorResponse(NacosException.BAD_GATEWAY, e.getMessage()));
+            Payload payloadResponse = GrpcUtils
+                    .convert(buildErrorResponse(NacosException.BAD_GATEWAY, e.getMessage()), binary);
             traceIfNecessary(payloadResponse, false);
             responseObserver.onNext(payloadResponse);
             responseObserver.onCompleted();
@@ -138,7 +144,7 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
         if (parseObj == null) {
             Loggers.REMOTE_DIGEST.warn("[{}] Invalid request receive  ,parse request is null", connectionId);
             Payload payloadResponse = GrpcUtils
-                    .convert(buildErrorResponse(NacosException.BAD_GATEWAY, "Invalid request"));
+                    .convert(buildErrorResponse(NacosException.BAD_GATEWAY, "Invalid request"), binary);
             traceIfNecessary(payloadResponse, false);
             responseObserver.onNext(payloadResponse);
             responseObserver.onCompleted();
@@ -149,7 +155,7 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
                     .warn("[{}] Invalid request receive  ,parsed payload is not a request,parseObj={}", connectionId,
                             parseObj);
             Payload payloadResponse = GrpcUtils
-                    .convert(buildErrorResponse(NacosException.BAD_GATEWAY, "Invalid request"));
+                    .convert(buildErrorResponse(NacosException.BAD_GATEWAY, "Invalid request"), binary);
             traceIfNecessary(payloadResponse, false);
             responseObserver.onNext(payloadResponse);
             responseObserver.onCompleted();
@@ -166,7 +172,7 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
             requestMeta.setLabels(connection.getMetaInfo().getLabels());
             connectionManager.refreshActiveTime(requestMeta.getConnectionId());
             Response response = requestHandler.handleRequest(request, requestMeta);
-            Payload payloadResponse = GrpcUtils.convert(response);
+            Payload payloadResponse = GrpcUtils.convert(response, binary);
             traceIfNecessary(payloadResponse, false);
             responseObserver.onNext(payloadResponse);
             responseObserver.onCompleted();
@@ -176,7 +182,7 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
                             e);
             Payload payloadResponse = GrpcUtils.convert(buildErrorResponse(
                     (e instanceof NacosException) ? ((NacosException) e).getErrCode() : ResponseCode.FAIL.getCode(),
-                    e.getMessage()));
+                    e.getMessage()), binary);
             traceIfNecessary(payloadResponse, false);
             responseObserver.onNext(payloadResponse);
             responseObserver.onCompleted();
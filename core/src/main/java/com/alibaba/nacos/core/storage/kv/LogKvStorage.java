@@ -0,0 +1,735 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.storage.kv;
+
+import com.alibaba.nacos.common.executor.ExecutorFactory;
+import com.alibaba.nacos.common.executor.NameThreadFactory;
+import com.alibaba.nacos.common.utils.ByteUtils;
+import com.alibaba.nacos.core.exception.ErrorCode;
+import com.alibaba.nacos.core.exception.KvStorageException;
+import com.alibaba.nacos.core.utils.Loggers;
+import com.alibaba.nacos.sys.utils.DiskUtils;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Kv storage based on append-only log files.
+ *
+ * <p>Writes are appended to the active segment file as records checked by crc32, and the location of the latest
+ * record of each key is indexed in memory. The active segment is sealed when it is full. Sealed segments with too
+ * much garbage are compacted in background by moving their live records to the active segment. Sealed segments are
+ * never modified, so snapshots are made and loaded by hard links of the segment files.
+ *
+ * <p>Files of {@link FileKvStorage} in the base dir or in the snapshot are imported when opening or loading snapshot.
+ *
+ * @author Nacos
+ */
+public class LogKvStorage implements KvStorage {
+    
+    private static final String SEGMENT_SUFFIX = ".log";
+    
+    private static final Pattern SEGMENT_NAME = Pattern.compile("\\d{20}\\.log");
+    
+    private static final byte PUT = 1;
+    
+    private static final byte DELETE = 2;
+    
+    /**
+     * crc32, type, key length and value length.
+     */
+    private static final int HEADER_SIZE = 4 + 1 + 4 + 4;
+    
+    private static final int COMPACTION_CHUNK_BYTES = 1024 * 1024;
+    
+    private static final long DEFAULT_SEGMENT_BYTES = 64L * 1024 * 1024;
+    
+    private static final double DEFAULT_COMPACTION_GARBAGE_RATIO = 0.5D;
+    
+    private static final long DEFAULT_COMPACTION_INTERVAL_MS = TimeUnit.MINUTES.toMillis(1);
+    
+    /**
+     * Sealed segments of snapshot carry at most this ratio of garbage, the others are compacted before snapshot.
+     */
+    private static final double SNAPSHOT_COMPACTION_GARBAGE_RATIO = 0.2D;
+    
+    private static final ScheduledExecutorService COMPACTION_EXECUTOR = ExecutorFactory
+            .newSingleScheduledExecutorService(new NameThreadFactory("com.alibaba.nacos.core.storage.log-compaction"));
+    
+    private final String baseDir;
+    
+    private final long segmentBytes;
+    
+    private final double compactionGarbageRatio;
+    
+    /**
+     * Read lock for reads and writes, write lock for replacing or removing segments.
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private final ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
+    
+    private final ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
+    
+    /**
+     * Serialize the appends to the active segment and the updates of index.
+     */
+    private final Object appendLock = new Object();
+    
+    private final Map<Key, Location> index = new ConcurrentHashMap<>();
+    
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    
+    private final ScheduledFuture<?> compactionFuture;
+    
+    private volatile Segment active;
+    
+    private volatile boolean shutdown = false;
+    
+    public LogKvStorage(String baseDir) throws KvStorageException {
+        this(baseDir, DEFAULT_SEGMENT_BYTES, DEFAULT_COMPACTION_GARBAGE_RATIO, DEFAULT_COMPACTION_INTERVAL_MS);
+    }
+    
+    /**
+     * Create log kv storage.
+     *
+     * @param baseDir                base dir of segment files
+     * @param segmentBytes           size to seal the active segment
+     * @param compactionGarbageRatio ratio of garbage to compact a sealed segment
+     * @param compactionIntervalMs   interval of background compaction
+     * @throws KvStorageException if fail to open the segments
+     */
+    public LogKvStorage(String baseDir, long segmentBytes, double compactionGarbageRatio, long compactionIntervalMs)
+            throws KvStorageException {
+        this.baseDir = baseDir;
+        this.segmentBytes = segmentBytes;
+        this.compactionGarbageRatio = compactionGarbageRatio;
+        try {
+            DiskUtils.forceMkdir(baseDir);
+            open();
+        } catch (IOException e) {
+            throw new KvStorageException(ErrorCode.KVStorageCreateError, e);
+        }
+        this.compactionFuture = COMPACTION_EXECUTOR
+                .scheduleWithFixedDelay(this::compactQuietly, compactionIntervalMs, compactionIntervalMs,
+                        TimeUnit.MILLISECONDS);
+    }
+    
+    @Override
+    public byte[] get(byte[] key) throws KvStorageException {
+        readLock.lock();
+        try {
+            Location location = index.get(new Key(key));
+            return null == location ? null : read(location);
+        } catch (IOException e) {
+            throw new KvStorageException(ErrorCode.KVStorageReadError, e);
+        } finally {
+            readLock.unlock();
+        }
+    }
+    
+    @Override
+    public Map<byte[], byte[]> batchGet(List<byte[]> keys) throws KvStorageException {
+        readLock.lock();
+        try {
+            Map<byte[], byte[]> result = new HashMap<>(keys.size());
+            for (byte[] key : keys) {
+                byte[] val = get(key);
+                if (val != null) {
+                    result.put(key, val);
+                }
+            }
+            return result;
+        } finally {
+            readLock.unlock();
+        }
+    }
+    
+    @Override
+    public void put(byte[] key, byte[] value) throws KvStorageException {
+        readLock.lock();
+        try {
+            synchronized (appendLock) {
+                append(Collections.singletonList(new Record(PUT, key, value)));
+            }
+        } catch (IOException e) {
+            throw new KvStorageException(ErrorCode.KVStorageWriteError, e);
+        } finally {
+            readLock.unlock();
+        }
+    }
+    
+    @Override
+    public void batchPut(List<byte[]> keys, List<byte[]> values) throws KvStorageException {
+        if (keys.size() != values.size()) {
+            throw new KvStorageException(ErrorCode.KVStorageBatchWriteError,
+                    "key's size must be equal to value's size");
+        }
+        List<Record> records = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            records.add(new Record(PUT, keys.get(i), values.get(i)));
+        }
+        readLock.lock();
+        try {
+            synchronized (appendLock) {
+                append(records);
+            }
+        } catch (IOException e) {
+            throw new KvStorageException(ErrorCode.KVStorageBatchWriteError, e);
+        } finally {
+            readLock.unlock();
+        }
+    }
+    
+    @Override
+    public void delete(byte[] key) throws KvStorageException {
+        batchDelete(Collections.singletonList(key));
+    }
+    
+    @Override
+    public void batchDelete(List<byte[]> keys) throws KvStorageException {
+        List<Record> records = new ArrayList<>(keys.size());
+        readLock.lock();
+        try {
+            synchronized (appendLock) {
+                for (byte[] key : keys) {
+                    // no need to record the deletion of absent key.
+                    if (index.containsKey(new Key(key))) {
+                        records.add(new Record(DELETE, key, new byte[0]));
+                    }
+                }
+                append(records);
+            }
+        } catch (IOException e) {
+            throw new KvStorageException(ErrorCode.KVStorageDeleteError, e);
+        } finally {
+            readLock.unlock();
+        }
+    }
+    
+    @Override
+    public void doSnapshot(String backupPath) throws KvStorageException {
+        // seal the records written so far and compact the segments with garbage first, so the snapshot only carries
+        // a little garbage.
+        sealActive();
+        compact(Math.min(compactionGarbageRatio, SNAPSHOT_COMPACTION_GARBAGE_RATIO));
+        writeLock.lock();
+        try {
+            // seal the records moved by compaction, then all segments of snapshot are immutable.
+            sealActive();
+            DiskUtils.forceMkdir(backupPath);
+            for (Segment each : segments.values()) {
+                if (each != active) {
+                    link(each.file, new File(backupPath, each.file.getName()));
+                }
+            }
+        } catch (IOException e) {
+            throw new KvStorageException(ErrorCode.KVStorageSnapshotSaveError, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    @Override
+    public void snapshotLoad(String path) throws KvStorageException {
+        writeLock.lock();
+        try {
+            File srcDir = new File(path);
+            // If snapshot path is non-exist, means snapshot is empty
+            if (!srcDir.exists()) {
+                return;
+            }
+            synchronized (appendLock) {
+                closeSegments();
+                for (File each : listFiles(new File(baseDir))) {
+                    Files.delete(each.toPath());
+                }
+                for (File each : listFiles(srcDir)) {
+                    link(each, new File(baseDir, each.getName()));
+                }
+                open();
+            }
+        } catch (IOException e) {
+            throw new KvStorageException(ErrorCode.KVStorageSnapshotLoadError, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    @Override
+    public List<byte[]> allKeys() throws KvStorageException {
+        List<byte[]> result = new LinkedList<>();
+        for (Key each : index.keySet()) {
+            result.add(each.origin);
+        }
+        return result;
+    }
+    
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        compactionFuture.cancel(false);
+        writeLock.lock();
+        try {
+            synchronized (appendLock) {
+                active.channel.force(false);
+                closeSegments();
+            }
+        } catch (IOException e) {
+            Loggers.RAFT.warn("Fail to close log kv storage {} : {}", baseDir, e.toString());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Compact the sealed segments with too much garbage, which is also done in background periodically.
+     *
+     * @throws KvStorageException if fail to move the live records
+     */
+    public void compact() throws KvStorageException {
+        compact(compactionGarbageRatio);
+    }
+    
+    private void compact(double garbageRatio) throws KvStorageException {
+        List<Segment> compacted = new ArrayList<>();
+        readLock.lock();
+        try {
+            if (shutdown) {
+                return;
+            }
+            for (Segment each : segments.headMap(active.id).values()) {
+                // small segments, such as sealed by snapshot, are merged too.
+                if (each.garbage.get() >= each.size * garbageRatio || each.size < segmentBytes / 16) {
+                    // deleted keys have no older records to cover when it is the oldest segment.
+                    moveLiveRecords(each, each.id == segments.firstKey());
+                    compacted.add(each);
+                }
+            }
+            if (compacted.isEmpty()) {
+                return;
+            }
+            synchronized (appendLock) {
+                active.channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new KvStorageException(ErrorCode.KVStorageWriteError, e);
+        } finally {
+            readLock.unlock();
+        }
+        writeLock.lock();
+        try {
+            for (Segment each : compacted) {
+                // the segment may be replaced by snapshot load meanwhile.
+                if (segments.remove(each.id, each)) {
+                    each.channel.close();
+                    Files.delete(each.file.toPath());
+                }
+            }
+        } catch (IOException e) {
+            throw new KvStorageException(ErrorCode.KVStorageDeleteError, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Seal the active segment if it is not empty.
+     */
+    private void sealActive() throws KvStorageException {
+        writeLock.lock();
+        try {
+            synchronized (appendLock) {
+                if (active.size > 0) {
+                    roll();
+                }
+            }
+        } catch (IOException e) {
+            throw new KvStorageException(ErrorCode.KVStorageSnapshotSaveError, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (Throwable e) {
+            Loggers.RAFT.error("Fail to compact log kv storage {}", baseDir, e);
+        }
+    }
+    
+    private void moveLiveRecords(Segment segment, boolean oldest) throws IOException {
+        List<Record> chunk = new ArrayList<>();
+        long[] chunkBytes = new long[1];
+        scan(segment.file, (offset, length, type, key, value) -> {
+            chunk.add(new Record(type, key, value, segment.id, offset));
+            chunkBytes[0] += length;
+            if (chunkBytes[0] >= COMPACTION_CHUNK_BYTES) {
+                moveIfLive(chunk, oldest);
+                chunk.clear();
+                chunkBytes[0] = 0;
+            }
+        });
+        moveIfLive(chunk, oldest);
+    }
+    
+    private void moveIfLive(List<Record> records, boolean oldest) throws IOException {
+        synchronized (appendLock) {
+            List<Record> live = new ArrayList<>(records.size());
+            for (Record each : records) {
+                Location current = index.get(new Key(each.key));
+                if (PUT == each.type) {
+                    if (null != current && current.segmentId == each.segmentId && current.offset == each.offset) {
+                        live.add(each);
+                    }
+                } else if (null == current && !oldest) {
+                    live.add(each);
+                }
+            }
+            append(live);
+        }
+    }
+    
+    /**
+     * Replay all segments to build the index, then import the files of {@link FileKvStorage}.
+     */
+    private void open() throws IOException {
+        index.clear();
+        segments.clear();
+        File dir = new File(baseDir);
+        List<File> legacyFiles = new ArrayList<>();
+        List<File> segmentFiles = new ArrayList<>();
+        for (File each : listFiles(dir)) {
+            (SEGMENT_NAME.matcher(each.getName()).matches() ? segmentFiles : legacyFiles).add(each);
+        }
+        segmentFiles.sort(null);
+        long nextId = 1;
+        for (int i = 0; i < segmentFiles.size(); i++) {
+            File file = segmentFiles.get(i);
+            Segment segment = new Segment(segmentId(file), file, false);
+            segments.put(segment.id, segment);
+            long validBytes = scan(file, (offset, length, type, key, value) -> {
+                Location location = new Location(segment.id, offset, length);
+                index(type, new Key(key), location, segment);
+            });
+            if (validBytes < segment.channel.size()) {
+                if (i != segmentFiles.size() - 1) {
+                    throw new IOException("Broken segment " + file + " at " + validBytes);
+                }
+                // the tail of the last segment may be partially written before crash.
+                Loggers.RAFT.warn("Truncate broken tail of segment {} from {} to {}", file, segment.channel.size(),
+                        validBytes);
+                segment.channel.truncate(validBytes);
+            }
+            segment.size = validBytes;
+            nextId = segment.id + 1;
+        }
+        // never append to the segments opened, which may be hard linked by snapshot.
+        active = new Segment(nextId, new File(dir, segmentName(nextId)), true);
+        segments.put(active.id, active);
+        if (!legacyFiles.isEmpty()) {
+            List<Record> records = new ArrayList<>(legacyFiles.size());
+            for (File each : legacyFiles) {
+                records.add(new Record(PUT, ByteUtils.toBytes(each.getName()), Files.readAllBytes(each.toPath())));
+            }
+            append(records);
+            active.channel.force(false);
+            for (File each : legacyFiles) {
+                Files.delete(each.toPath());
+            }
+            Loggers.RAFT.info("Import {} files into log kv storage {}", legacyFiles.size(), baseDir);
+        }
+    }
+    
+    private void append(List<Record> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        long total = 0;
+        for (Record each : records) {
+            total += each.length();
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IOException("Too large records to append : " + total);
+        }
+        Segment segment = active;
+        ByteBuffer buffer = ByteBuffer.allocate((int) total);
+        for (Record each : records) {
+            each.encode(buffer);
+        }
+        buffer.flip();
+        long start = segment.size;
+        while (buffer.hasRemaining()) {
+            segment.channel.write(buffer, start + buffer.position());
+        }
+        segment.size = start + total;
+        long offset = start;
+        for (Record each : records) {
+            index(each.type, new Key(each.key), new Location(segment.id, offset, each.length()), segment);
+            offset += each.length();
+        }
+        if (segment.size >= segmentBytes) {
+            roll();
+        }
+    }
+    
+    private void index(byte type, Key key, Location location, Segment segment) {
+        Location old = PUT == type ? index.put(key, location) : index.remove(key);
+        if (null != old) {
+            Segment oldSegment = segments.get(old.segmentId);
+            if (null != oldSegment) {
+                oldSegment.garbage.addAndGet(old.length);
+            }
+        }
+        if (DELETE == type) {
+            segment.garbage.addAndGet(location.length);
+        }
+    }
+    
+    private void roll() throws IOException {
+        active.channel.force(false);
+        long nextId = active.id + 1;
+        Segment segment = new Segment(nextId, new File(baseDir, segmentName(nextId)), true);
+        segments.put(segment.id, segment);
+        active = segment;
+    }
+    
+    private byte[] read(Location location) throws IOException {
+        Segment segment = segments.get(location.segmentId);
+        ByteBuffer buffer = ByteBuffer.allocate(location.length);
+        while (buffer.hasRemaining()) {
+            if (segment.channel.read(buffer, location.offset + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of segment " + segment.file + " at " + location.offset);
+            }
+        }
+        byte[] record = buffer.array();
+        if (checksum(record, 0, location.length) != buffer.getInt(0)) {
+            throw new IOException("Checksum failed, segment " + segment.file + " at " + location.offset);
+        }
+        int keyLength = buffer.getInt(5);
+        return Arrays.copyOfRange(record, HEADER_SIZE + keyLength, location.length);
+    }
+    
+    private void closeSegments() throws IOException {
+        for (Segment each : segments.values()) {
+            each.channel.close();
+        }
+    }
+    
+    private static void link(File src, File dest) throws IOException {
+        Files.deleteIfExists(dest.toPath());
+        try {
+            Files.createLink(dest.toPath(), src.toPath());
+        } catch (IOException | UnsupportedOperationException e) {
+            // such as different file stores.
+            Files.copy(src.toPath(), dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    private static List<File> listFiles(File dir) {
+        File[] files = dir.listFiles(File::isFile);
+        return null == files ? Collections.emptyList() : Arrays.asList(files);
+    }
+    
+    private static String segmentName(long id) {
+        return String.format("%020d", id) + SEGMENT_SUFFIX;
+    }
+    
+    private static long segmentId(File file) {
+        String name = file.getName();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+    
+    /**
+     * Checksum of the record except the crc32 field.
+     */
+    private static int checksum(byte[] record, int start, int length) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(record, start + 4, length - 4);
+        return (int) crc32.getValue();
+    }
+    
+    /**
+     * Scan the valid records of the segment file.
+     *
+     * @return the end offset of the last valid record
+     */
+    private static long scan(File file, RecordVisitor visitor) throws IOException {
+        long fileSize = file.length();
+        long offset = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 64 * 1024))) {
+            byte[] header = new byte[HEADER_SIZE];
+            while (fileSize - offset >= HEADER_SIZE) {
+                in.readFully(header);
+                ByteBuffer headerBuffer = ByteBuffer.wrap(header);
+                final int crc = headerBuffer.getInt();
+                final byte type = headerBuffer.get();
+                final int keyLength = headerBuffer.getInt();
+                final int valueLength = headerBuffer.getInt();
+                long length = HEADER_SIZE + (long) keyLength + valueLength;
+                if ((PUT != type && DELETE != type) || keyLength < 0 || valueLength < 0 || length > fileSize - offset
+                        || length > Integer.MAX_VALUE) {
+                    break;
+                }
+                byte[] record = new byte[(int) length];
+                System.arraycopy(header, 0, record, 0, HEADER_SIZE);
+                in.readFully(record, HEADER_SIZE, keyLength + valueLength);
+                if (checksum(record, 0, record.length) != crc) {
+                    break;
+                }
+                byte[] key = Arrays.copyOfRange(record, HEADER_SIZE, HEADER_SIZE + keyLength);
+                byte[] value = Arrays.copyOfRange(record, HEADER_SIZE + keyLength, record.length);
+                visitor.visit(offset, (int) length, type, key, value);
+                offset += length;
+            }
+        }
+        return offset;
+    }
+    
+    @FunctionalInterface
+    private interface RecordVisitor {
+        
+        void visit(long offset, int length, byte type, byte[] key, byte[] value) throws IOException;
+    }
+    
+    private static class Segment {
+        
+        private final long id;
+        
+        private final File file;
+        
+        private final FileChannel channel;
+        
+        /**
+         * Bytes of garbage, including the records overwritten or deleted and the deletions.
+         */
+        private final AtomicLong garbage = new AtomicLong();
+        
+        private volatile long size;
+        
+        private Segment(long id, File file, boolean create) throws IOException {
+            this.id = id;
+            this.file = file;
+            this.channel = create ? FileChannel
+                    .open(file.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                            StandardOpenOption.WRITE)
+                    : FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+    }
+    
+    private static class Location {
+        
+        private final long segmentId;
+        
+        private final long offset;
+        
+        private final int length;
+        
+        private Location(long segmentId, long offset, int length) {
+            this.segmentId = segmentId;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+    
+    private static class Record {
+        
+        private final byte type;
+        
+        private final byte[] key;
+        
+        private final byte[] value;
+        
+        private final long segmentId;
+        
+        private final long offset;
+        
+        private Record(byte type, byte[] key, byte[] value) {
+            this(type, key, value, -1L, -1L);
+        }
+        
+        private Record(byte type, byte[] key, byte[] value, long segmentId, long offset) {
+            this.type = type;
+            this.key = key;
+            this.value = value;
+            this.segmentId = segmentId;
+            this.offset = offset;
+        }
+        
+        private int length() {
+            return HEADER_SIZE + key.length + value.length;
+        }
+        
+        private void encode(ByteBuffer buffer) {
+            int start = buffer.position();
+            buffer.putInt(0).put(type).putInt(key.length).putInt(value.length).put(key).put(value);
+            buffer.putInt(start, checksum(buffer.array(), start, buffer.position() - start));
+        }
+    }
+    
+    private static class Key {
+        
+        private final byte[] origin;
+        
+        private Key(byte[] origin) {
+            this.origin = origin;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Arrays.equals(origin, key.origin);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(origin);
+        }
+    }
+}
@@ -38,6 +38,16 @@ public class RemoteUtils {
      */
     private static final int REMOTE_EXECUTOR_QUEUE_SIZE = 1 << 14;
     
+    /**
+     * Default max concurrent requests of the virtual thread remote executor: 1024.
+     */
+    private static final int REMOTE_EXECUTOR_VIRTUAL_CONCURRENCY = 1 << 10;
+    
+    /**
+     * Remote executor mode which runs each request on a virtual thread.
+     */
+    public static final String REMOTE_EXECUTOR_MODE_VIRTUAL = "virtual";
+    
     /**
      * get remote executors thread times of processors,default is 64. see the usage of this method for detail.
      *
@@ -62,4 +72,29 @@ public class RemoteUtils {
             return REMOTE_EXECUTOR_QUEUE_SIZE;
         }
     }
+    
+    /**
+     * get remote executor mode, {@link #REMOTE_EXECUTOR_MODE_VIRTUAL} runs each request on a virtual thread if the jdk
+     * supports, otherwise requests run on the platform thread pool.
+     *
+     * @return remote executor mode.
+     */
+    public static String getRemoteExecutorMode() {
+        return System.getProperty("remote.executor.mode", "platform");
+    }
+    
+    /**
+     * get max concurrent requests of the virtual thread remote executor, default is 1024.
+     *
+     * @return max concurrent requests.
+     */
+    public static int getRemoteExecutorVirtualConcurrency() {
+        String concurrencyString = System.getProperty("remote.executor.virtual.concurrency");
+        if (NumberUtils.isDigits(concurrencyString)) {
+            int concurrency = Integer.parseInt(concurrencyString);
+            return concurrency > 0 ? concurrency : REMOTE_EXECUTOR_VIRTUAL_CONCURRENCY;
+        } else {
+            return REMOTE_EXECUTOR_VIRTUAL_CONCURRENCY;
+        }
+    }
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.utils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor which runs each task on a new virtual thread, with a semaphore to cap the concurrent tasks.
+ *
+ * <p>Virtual threads are created by reflection, so it builds on jdk 8 and is only available at runtime on jdk 21+,
+ * see {@link #isSupported()}. Tasks over the concurrency wait for a permit on their own virtual thread instead of
+ * blocking the caller, and tasks over the concurrency plus the queue size are rejected like a bounded thread pool.
+ *
+ * @author Nacos
+ */
+public class VirtualThreadExecutor implements Executor {
+    
+    private static final Method OF_VIRTUAL = findOfVirtual();
+    
+    private final ThreadFactory threadFactory;
+    
+    private final int concurrency;
+    
+    private final int maxPending;
+    
+    private final Semaphore permits;
+    
+    private final AtomicInteger pending = new AtomicInteger();
+    
+    public VirtualThreadExecutor(String namePrefix, int concurrency, int queueSize) {
+        this(newVirtualThreadFactory(namePrefix), concurrency, queueSize);
+    }
+    
+    VirtualThreadExecutor(ThreadFactory threadFactory, int concurrency, int queueSize) {
+        this.threadFactory = threadFactory;
+        this.concurrency = concurrency;
+        this.maxPending = concurrency + queueSize;
+        this.permits = new Semaphore(concurrency);
+    }
+    
+    /**
+     * Whether virtual threads are supported by the running jdk.
+     *
+     * @return true if virtual threads can be created
+     */
+    public static boolean isSupported() {
+        if (OF_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            newVirtualThreadFactory("nacos-virtual-check-");
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+    
+    private static Method findOfVirtual() {
+        try {
+            return Thread.class.getMethod("ofVirtual");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+    
+    private static ThreadFactory newVirtualThreadFactory(String namePrefix) {
+        if (OF_VIRTUAL == null) {
+            throw new IllegalStateException("Virtual thread is not supported by jdk " + System
+                    .getProperty("java.version"));
+        }
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = OF_VIRTUAL.invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (Exception e) {
+            // jdk 19 and 20 throw UnsupportedOperationException without --enable-preview.
+            throw new IllegalStateException("Virtual thread is not supported by jdk " + System
+                    .getProperty("java.version"), e);
+        }
+    }
+    
+    @Override
+    public void execute(Runnable command) {
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            throw new RejectedExecutionException(
+                    "Task " + command + " rejected from virtual thread executor, pending tasks over " + maxPending);
+        }
+        try {
+            threadFactory.newThread(() -> {
+                try {
+                    permits.acquireUninterruptibly();
+                    try {
+                        command.run();
+                    } finally {
+                        permits.release();
+                    }
+                } finally {
+                    pending.decrementAndGet();
+                }
+            }).start();
+        } catch (Throwable t) {
+            pending.decrementAndGet();
+            throw new RejectedExecutionException("Start virtual thread for task " + command + " failed", t);
+        }
+    }
+    
+    public int getActiveCount() {
+        return concurrency - permits.availablePermits();
+    }
+    
+    public int getPendingCount() {
+        return pending.get();
+    }
+}
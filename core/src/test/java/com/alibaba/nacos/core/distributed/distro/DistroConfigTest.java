@@ -26,6 +26,8 @@ import org.springframework.mock.env.MockEnvironment;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class DistroConfigTest {
     
@@ -57,18 +59,44 @@ public class DistroConfigTest {
         assertEquals(syncRetryDelayMillis, distroConfig.getSyncRetryDelayMillis());
     }
     
+    @Test
+    public void testSetSyncBatchSize() {
+        distroConfig.setSyncBatchSize(1);
+        assertFalse(distroConfig.isSyncBatchEnabled());
+        distroConfig.setSyncBatchSize(100);
+        assertEquals(100, distroConfig.getSyncBatchSize());
+        assertTrue(distroConfig.isSyncBatchEnabled());
+        distroConfig.setSyncBatchSize(DistroConstants.DEFAULT_DATA_SYNC_BATCH_SIZE);
+    }
+    
     @Test
     public void testSetVerifyIntervalMillis() {
         distroConfig.setVerifyIntervalMillis(verifyIntervalMillis);
         assertEquals(verifyIntervalMillis, distroConfig.getVerifyIntervalMillis());
     }
     
+    @Test
+    public void testSetVerifyDigestBuckets() {
+        assertFalse(distroConfig.isVerifyDigestEnabled());
+        distroConfig.setVerifyDigestBuckets(1024);
+        assertEquals(1024, distroConfig.getVerifyDigestBuckets());
+        assertTrue(distroConfig.isVerifyDigestEnabled());
+        distroConfig.setVerifyDigestBuckets(DistroConstants.DEFAULT_DATA_VERIFY_DIGEST_BUCKETS);
+    }
+    
     @Test
     public void testSetLoadDataRetryDelayMillis() {
         distroConfig.setLoadDataRetryDelayMillis(loadDataRetryDelayMillis);
         assertEquals(loadDataRetryDelayMillis, distroConfig.getLoadDataRetryDelayMillis());
     }
     
+    @Test
+    public void testSetLoadDataPageSize() {
+        distroConfig.setLoadDataPageSize(500);
+        assertEquals(500, distroConfig.getLoadDataPageSize());
+        distroConfig.setLoadDataPageSize(DistroConstants.DEFAULT_DATA_LOAD_PAGE_SIZE);
+    }
+    
     @Test
     public void testUpgradeConfig() throws InterruptedException {
         assertEquals(DistroConstants.DEFAULT_DATA_SYNC_DELAY_MILLISECONDS, distroConfig.getSyncDelayMillis());
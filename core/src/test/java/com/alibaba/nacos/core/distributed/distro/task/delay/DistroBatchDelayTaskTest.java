@@ -0,0 +1,97 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.distributed.distro.task.delay;
+
+import com.alibaba.nacos.consistency.DataOperation;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DistroBatchDelayTaskTest {
+    
+    private static final String TYPE = "type";
+    
+    private static final String TARGET = "1.1.1.1:8848";
+    
+    @Test
+    public void testBuildTaskKey() {
+        assertEquals(DistroBatchDelayTask.buildTaskKey(new DistroKey("a", TYPE, TARGET)),
+                DistroBatchDelayTask.buildTaskKey(new DistroKey("b", TYPE, TARGET)));
+        assertFalse(DistroBatchDelayTask.buildTaskKey(new DistroKey("a", TYPE, TARGET))
+                .equals(DistroBatchDelayTask.buildTaskKey(new DistroKey("a", TYPE, "2.2.2.2:8848"))));
+    }
+    
+    @Test
+    public void testMergeKeepOrderAndNewAction() {
+        DistroKey key1 = new DistroKey("1", TYPE, TARGET);
+        DistroKey key2 = new DistroKey("2", TYPE, TARGET);
+        DistroBatchDelayTask oldTask = new DistroBatchDelayTask(key1, DataOperation.CHANGE, 10, 1000L);
+        DistroBatchDelayTask task = new DistroBatchDelayTask(key2, DataOperation.CHANGE, 10, 1000L);
+        task.merge(oldTask);
+        DistroBatchDelayTask newTask = new DistroBatchDelayTask(key1, DataOperation.DELETE, 10, 1000L);
+        newTask.merge(task);
+        List<DistroKey> keys = new ArrayList<>(newTask.getPendingKeys().keySet());
+        assertEquals(2, keys.size());
+        assertEquals(key1, keys.get(0));
+        assertEquals(key2, keys.get(1));
+        assertEquals(DataOperation.DELETE, newTask.getPendingKeys().get(key1));
+        assertEquals(oldTask.getLastProcessTime(), newTask.getLastProcessTime());
+    }
+    
+    @Test
+    public void testMergeTakeOverPendingKeys() {
+        DistroBatchDelayTask task = new DistroBatchDelayTask(new DistroKey("0", TYPE, TARGET), DataOperation.CHANGE,
+                100000, 1000L);
+        Map<DistroKey, DataOperation> pendingKeys = task.getPendingKeys();
+        for (int i = 1; i < 10000; i++) {
+            DistroBatchDelayTask newTask = new DistroBatchDelayTask(new DistroKey(String.valueOf(i), TYPE, TARGET),
+                    DataOperation.CHANGE, 100000, 1000L);
+            newTask.merge(task);
+            task = newTask;
+        }
+        assertSame(pendingKeys, task.getPendingKeys());
+        assertEquals(10000, task.getPendingKeys().size());
+        assertEquals(new DistroKey("0", TYPE, TARGET), task.getPendingKeys().keySet().iterator().next());
+    }
+    
+    @Test
+    public void testShouldProcessWhenReachBatchSize() {
+        DistroBatchDelayTask task = new DistroBatchDelayTask(new DistroKey("1", TYPE, TARGET), DataOperation.CHANGE,
+                2, 100000L);
+        assertFalse(task.shouldProcess());
+        DistroBatchDelayTask newTask = new DistroBatchDelayTask(new DistroKey("2", TYPE, TARGET),
+                DataOperation.CHANGE, 2, 100000L);
+        newTask.merge(task);
+        assertTrue(newTask.shouldProcess());
+    }
+    
+    @Test
+    public void testShouldProcessWhenWindowPassed() {
+        DistroBatchDelayTask task = new DistroBatchDelayTask(new DistroKey("1", TYPE, TARGET), DataOperation.CHANGE,
+                100, 0L);
+        assertTrue(task.shouldProcess());
+    }
+}
@@ -26,6 +26,7 @@ import com.alibaba.nacos.core.distributed.distro.component.DistroDataStorage;
 import com.alibaba.nacos.core.distributed.distro.component.DistroFailedTaskHandler;
 import com.alibaba.nacos.core.distributed.distro.component.DistroTransportAgent;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroSnapshotPage;
 import com.alibaba.nacos.sys.env.EnvUtil;
 import junit.framework.TestCase;
 import org.junit.Before;
@@ -42,6 +43,10 @@ import java.util.List;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -109,4 +114,21 @@ public class DistroLoadDataTaskTest extends TestCase {
         assertTrue(loadCompletedMap.containsKey(type));
         verify(distroTransportAgent).getDatumSnapshot(any(String.class));
     }
+    
+    @Test
+    public void testRunWithSnapshotPage() {
+        when(distroConfig.getLoadDataPageSize()).thenReturn(2);
+        when(distroTransportAgent.supportSnapshotPage()).thenReturn(true);
+        when(distroTransportAgent.getDatumSnapshotPage(eq(type), eq("2.2.2.2:8848"), isNull(), eq(2)))
+                .thenReturn(new DistroSnapshotPage(distroData, "b"));
+        when(distroTransportAgent.getDatumSnapshotPage(eq(type), eq("2.2.2.2:8848"), eq("b"), eq(2)))
+                .thenThrow(new RuntimeException("test"));
+        when(distroTransportAgent.getDatumSnapshotPage(eq(type), eq("1.1.1.1:8848"), eq("b"), eq(2)))
+                .thenReturn(new DistroSnapshotPage(distroData, null));
+        distroLoadDataTask.run();
+        verify(distroDataProcessor, times(2)).processSnapshot(distroData);
+        verify(distroTransportAgent, never()).getDatumSnapshot(any(String.class));
+        verify(distroDataStorage).finishInitial();
+        verify(loadCallback).onSuccess();
+    }
 }
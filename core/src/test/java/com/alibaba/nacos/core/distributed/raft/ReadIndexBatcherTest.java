@@ -0,0 +1,94 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.distributed.raft;
+
+import com.alipay.sofa.jraft.Status;
+import com.alipay.sofa.jraft.closure.ReadIndexClosure;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReadIndexBatcherTest {
+    
+    @Test
+    public void testShareReadIndexAmongWaitingReads() throws Exception {
+        List<ReadIndexClosure> requests = new ArrayList<>();
+        ReadIndexBatcher batcher = new ReadIndexBatcher(requests::add, Runnable::run);
+        List<Long> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            batcher.submit(read(results));
+        }
+        // the first read is sent alone, the others wait for it.
+        assertEquals(1, requests.size());
+        complete(requests.get(0), 10L);
+        assertEquals(1, results.size());
+        assertEquals(2, requests.size());
+        complete(requests.get(1), 11L);
+        assertEquals(5, results.size());
+        for (int i = 1; i < 5; i++) {
+            assertEquals(11L, (long) results.get(i));
+        }
+        // nothing in flight, the next read is sent at once.
+        batcher.submit(read(results));
+        assertEquals(3, requests.size());
+    }
+    
+    @Test
+    public void testFailAllReadsOfBatch() throws Exception {
+        AtomicInteger sent = new AtomicInteger();
+        ReadIndexBatcher batcher = new ReadIndexBatcher(closure -> {
+            sent.incrementAndGet();
+            throw new IllegalStateException("not started");
+        }, Runnable::run);
+        CountDownLatch failed = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            batcher.submit(new ReadIndexClosure() {
+                @Override
+                public void run(Status status, long index, byte[] reqCtx) {
+                    assertFalse(status.isOk());
+                    failed.countDown();
+                }
+            });
+        }
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        assertEquals(3, sent.get());
+    }
+    
+    private static ReadIndexClosure read(List<Long> results) {
+        return new ReadIndexClosure() {
+            @Override
+            public void run(Status status, long index, byte[] reqCtx) {
+                assertTrue(status.isOk());
+                results.add(index);
+            }
+        };
+    }
+    
+    private static void complete(ReadIndexClosure request, long index) {
+        request.setResult(index, new byte[0]);
+        request.run(Status.OK());
+    }
+}
@@ -34,6 +34,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.env.MockEnvironment;
 
 import java.io.File;
 import java.nio.file.Paths;
@@ -71,6 +72,7 @@ public class ConnectionManagerTest {
     
     @Before
     public void setUp() {
+        EnvUtil.setEnvironment(new MockEnvironment());
         // create base file path
         File baseDir = new File(EnvUtil.getNacosHome(), "data");
         if (!baseDir.exists()) {
@@ -0,0 +1,133 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.remote;
+
+import com.alibaba.nacos.api.remote.RemoteConstants;
+import com.alibaba.nacos.api.remote.RequestCallBack;
+import com.alibaba.nacos.api.remote.RequestFuture;
+import com.alibaba.nacos.api.remote.request.Request;
+import com.alibaba.nacos.api.remote.response.Response;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link ConnectionRegistry} unit test.
+ *
+ * @author Nacos
+ */
+public class ConnectionRegistryTest {
+    
+    private final ConnectionRegistry registry = new ConnectionRegistry();
+    
+    @Test
+    public void testRegisterAndUnregister() {
+        Connection connection = buildConnection("id1", "1.1.1.1", "app", RemoteConstants.LABEL_SOURCE_SDK);
+        Assert.assertEquals(ConnectionRegistry.RegisterResult.SUCCESS, registry.register("id1", connection, -1, -1));
+        Assert.assertEquals(ConnectionRegistry.RegisterResult.EXISTED, registry.register("id1", connection, -1, -1));
+        Assert.assertTrue(registry.contains("id1"));
+        Assert.assertEquals(1, registry.size());
+        Assert.assertEquals(1, registry.sdkCount());
+        Assert.assertEquals(1, registry.countOfClientIp("1.1.1.1"));
+        Assert.assertEquals(1, registry.getByAppName("app").size());
+        
+        Assert.assertEquals(connection, registry.unregister("id1"));
+        Assert.assertNull(registry.unregister("id1"));
+        Assert.assertEquals(0, registry.size());
+        Assert.assertEquals(0, registry.sdkCount());
+        Assert.assertEquals(0, registry.countOfClientIp("1.1.1.1"));
+        Assert.assertTrue(registry.clientIps().isEmpty());
+        Assert.assertTrue(registry.getByAppName("app").isEmpty());
+    }
+    
+    @Test
+    public void testIpLimit() {
+        Assert.assertEquals(ConnectionRegistry.RegisterResult.SUCCESS,
+                registry.register("id1", buildConnection("id1", "1.1.1.1", "app", "sdk"), -1, 1));
+        Assert.assertEquals(ConnectionRegistry.RegisterResult.OVER_LIMIT,
+                registry.register("id2", buildConnection("id2", "1.1.1.1", "app", "sdk"), -1, 1));
+        Assert.assertEquals(ConnectionRegistry.RegisterResult.SUCCESS,
+                registry.register("id3", buildConnection("id3", "2.2.2.2", "app", "sdk"), -1, 1));
+        Assert.assertFalse(registry.contains("id2"));
+        Assert.assertEquals(2, registry.sdkCount());
+        Assert.assertEquals(1, registry.getByClientIp("1.1.1.1").size());
+    }
+    
+    @Test
+    public void testSdkLimit() {
+        Assert.assertEquals(ConnectionRegistry.RegisterResult.SUCCESS,
+                registry.register("id1", buildConnection("id1", "1.1.1.1", "app", "sdk"), 1, -1));
+        Assert.assertEquals(ConnectionRegistry.RegisterResult.OVER_LIMIT,
+                registry.register("id2", buildConnection("id2", "2.2.2.2", "app", "sdk"), 1, -1));
+        Assert.assertEquals(ConnectionRegistry.RegisterResult.SUCCESS,
+                registry.register("id3", buildConnection("id3", "3.3.3.3", "app", "cluster"), 1, -1));
+        Assert.assertEquals(1, registry.sdkCount());
+        Assert.assertEquals(2, registry.size());
+    }
+    
+    @Test
+    public void testCountOfLabels() {
+        registry.register("id1", buildConnection("id1", "1.1.1.1", "app", "sdk"), -1, -1);
+        registry.register("id2", buildConnection("id2", "1.1.1.1", "app", "cluster"), -1, -1);
+        Map<String, String> filter = new HashMap<>();
+        Assert.assertEquals(2, registry.countOfLabels(filter));
+        filter.put(RemoteConstants.LABEL_SOURCE, RemoteConstants.LABEL_SOURCE_SDK);
+        Assert.assertEquals(1, registry.countOfLabels(filter));
+        filter.put(RemoteConstants.LABEL_MODULE, RemoteConstants.LABEL_MODULE_CONFIG);
+        Assert.assertEquals(1, registry.countOfLabels(filter));
+        filter.put(RemoteConstants.LABEL_MODULE, RemoteConstants.LABEL_MODULE_NAMING);
+        Assert.assertEquals(0, registry.countOfLabels(filter));
+        Assert.assertEquals(2, registry.countOfLabels(
+                Collections.singletonMap(RemoteConstants.LABEL_MODULE, RemoteConstants.LABEL_MODULE_CONFIG)));
+    }
+    
+    private Connection buildConnection(String connectionId, String clientIp, String appName, String source) {
+        Map<String, String> labels = new HashMap<>();
+        labels.put(RemoteConstants.LABEL_SOURCE, source);
+        labels.put(RemoteConstants.LABEL_MODULE, RemoteConstants.LABEL_MODULE_CONFIG);
+        ConnectionMeta meta = new ConnectionMeta(connectionId, clientIp, clientIp, 8848, 9848, "GRPC", "2.0.0",
+                appName, labels);
+        return new Connection(meta) {
+            @Override
+            public boolean isConnected() {
+                return true;
+            }
+            
+            @Override
+            public Response request(Request request, long timeoutMills) {
+                return null;
+            }
+            
+            @Override
+            public RequestFuture requestFuture(Request request) {
+                return null;
+            }
+            
+            @Override
+            public void asyncRequest(Request request, RequestCallBack requestCallBack) {
+            }
+            
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.remote;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link KeepAliveTimingWheel} unit test.
+ *
+ * @author Nacos
+ */
+public class KeepAliveTimingWheelTest {
+    
+    @Test
+    public void testExpire() {
+        KeepAliveTimingWheel<String> wheel = new KeepAliveTimingWheel<>(1000L, 8, 0L);
+        wheel.schedule("a", 2500L);
+        wheel.schedule("b", 5000L);
+        Assert.assertTrue(wheel.advance(2999L).isEmpty());
+        Assert.assertEquals(Collections.singletonList("a"), wheel.advance(3000L));
+        Assert.assertTrue(wheel.advance(4999L).isEmpty());
+        Assert.assertEquals(Collections.singletonList("b"), wheel.advance(5000L));
+        Assert.assertTrue(wheel.advance(100000L).isEmpty());
+    }
+    
+    @Test
+    public void testDeadlineOverOneRound() {
+        KeepAliveTimingWheel<String> wheel = new KeepAliveTimingWheel<>(1000L, 4, 0L);
+        wheel.schedule("a", 10000L);
+        for (long now = 1000L; now < 10000L; now += 1000L) {
+            Assert.assertTrue(wheel.advance(now).isEmpty());
+        }
+        Assert.assertEquals(Collections.singletonList("a"), wheel.advance(10000L));
+    }
+    
+    @Test
+    public void testPassedDeadlineAndTimeJump() {
+        KeepAliveTimingWheel<String> wheel = new KeepAliveTimingWheel<>(1000L, 4, 10000L);
+        wheel.schedule("a", 1000L);
+        wheel.schedule("b", 20000L);
+        Assert.assertTrue(wheel.advance(10500L).isEmpty());
+        Assert.assertEquals(Collections.singletonList("a"), wheel.advance(11000L));
+        List<String> expired = wheel.advance(60000L);
+        Assert.assertEquals(Collections.singletonList("b"), expired);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.remote;
+
+import com.alibaba.nacos.api.ability.ClientAbilities;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.remote.PushCallBack;
+import com.alibaba.nacos.api.remote.RequestCallBack;
+import com.alibaba.nacos.api.remote.RequestFuture;
+import com.alibaba.nacos.api.remote.request.BatchPushRequest;
+import com.alibaba.nacos.api.remote.request.ClientDetectionRequest;
+import com.alibaba.nacos.api.remote.request.Request;
+import com.alibaba.nacos.api.remote.request.ServerRequest;
+import com.alibaba.nacos.api.remote.response.BatchPushResponse;
+import com.alibaba.nacos.api.remote.response.ClientDetectionResponse;
+import com.alibaba.nacos.api.remote.response.Response;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * {@link RpcPushPipeline} unit test.
+ *
+ * @author Nacos
+ */
+public class RpcPushPipelineTest {
+    
+    private final List<Request> sentRequests = new ArrayList<>();
+    
+    private final List<RequestCallBack> sentCallBacks = new ArrayList<>();
+    
+    private final List<String> results = new ArrayList<>();
+    
+    private final List<Throwable> failures = new ArrayList<>();
+    
+    @Test
+    public void testBatchWhenWindowFull() {
+        RpcPushPipeline pipeline = new RpcPushPipeline(buildConnection(true), null, 1, 10);
+        pipeline.push(new ClientDetectionRequest(), buildCallBack("a"), null);
+        pipeline.push(new ClientDetectionRequest(), buildCallBack("b"), null);
+        pipeline.push(new ClientDetectionRequest(), buildCallBack("c"), null);
+        Assert.assertEquals(1, sentRequests.size());
+        Assert.assertEquals(1, pipeline.getInFlight());
+        Assert.assertEquals(2, pipeline.getPendingCount());
+        
+        sentCallBacks.get(0).onResponse(new ClientDetectionResponse());
+        Assert.assertEquals(2, sentRequests.size());
+        Assert.assertTrue(sentRequests.get(1) instanceof BatchPushRequest);
+        Assert.assertEquals(2, ((BatchPushRequest) sentRequests.get(1)).getRequests().size());
+        
+        BatchPushResponse response = new BatchPushResponse();
+        response.addFailure(1, 21601, "base mismatch");
+        sentCallBacks.get(1).onResponse(response);
+        Assert.assertEquals(0, pipeline.getInFlight());
+        Assert.assertEquals(0, pipeline.getPendingCount());
+        Assert.assertEquals(3, results.size());
+        Assert.assertEquals("a:success", results.get(0));
+        Assert.assertEquals("b:success", results.get(1));
+        Assert.assertEquals("c:fail", results.get(2));
+        // error code of each push in batch is kept.
+        Assert.assertEquals(1, failures.size());
+        Assert.assertEquals(21601, ((NacosException) failures.get(0)).getErrCode());
+        Assert.assertEquals("base mismatch", ((NacosException) failures.get(0)).getErrMsg());
+    }
+    
+    @Test
+    public void testNotBatchIfNotSupported() {
+        RpcPushPipeline pipeline = new RpcPushPipeline(buildConnection(false), null, 1, 10);
+        pipeline.push(new ClientDetectionRequest(), buildCallBack("a"), null);
+        pipeline.push(new ClientDetectionRequest(), buildCallBack("b"), null);
+        pipeline.push(new ClientDetectionRequest(), buildCallBack("c"), null);
+        sentCallBacks.get(0).onException(new RuntimeException("test"));
+        Assert.assertEquals(2, sentRequests.size());
+        Assert.assertTrue(sentRequests.get(1) instanceof ClientDetectionRequest);
+        sentCallBacks.get(1).onResponse(new ClientDetectionResponse());
+        sentCallBacks.get(2).onResponse(new ClientDetectionResponse());
+        Assert.assertEquals(3, sentRequests.size());
+        Assert.assertEquals("a:fail", results.get(0));
+        Assert.assertEquals("b:success", results.get(1));
+        Assert.assertEquals("c:success", results.get(2));
+    }
+    
+    @Test
+    public void testWindow() {
+        RpcPushPipeline pipeline = new RpcPushPipeline(buildConnection(true), null, 2, 10);
+        for (int i = 0; i < 5; i++) {
+            pipeline.push(new ClientDetectionRequest(), buildCallBack(String.valueOf(i)), null);
+        }
+        Assert.assertEquals(2, sentRequests.size());
+        Assert.assertEquals(3, pipeline.getPendingCount());
+    }
+    
+    private PushCallBack buildCallBack(String name) {
+        return new PushCallBack() {
+            @Override
+            public long getTimeout() {
+                return 3000L;
+            }
+            
+            @Override
+            public void onSuccess() {
+                results.add(name + ":success");
+            }
+            
+            @Override
+            public void onFail(Throwable e) {
+                results.add(name + ":fail");
+                failures.add(e);
+            }
+        };
+    }
+    
+    private Connection buildConnection(boolean supportBatchPush) {
+        ConnectionMeta meta = new ConnectionMeta("id", "1.1.1.1", "1.1.1.1", 8848, 9848, "GRPC", "2.0.0", "app",
+                new HashMap<>());
+        Connection connection = new Connection(meta) {
+            @Override
+            public boolean isConnected() {
+                return true;
+            }
+            
+            @Override
+            public Response request(Request request, long timeoutMills) {
+                return null;
+            }
+            
+            @Override
+            public RequestFuture requestFuture(Request request) {
+                return null;
+            }
+            
+            @Override
+            public void asyncRequest(Request request, RequestCallBack requestCallBack) {
+                sentRequests.add(request);
+                sentCallBacks.add(requestCallBack);
+            }
+            
+            @Override
+            public void close() {
+            }
+        };
+        ClientAbilities abilities = new ClientAbilities();
+        abilities.getRemoteAbility().setSupportBatchPush(supportBatchPush);
+        connection.setAbilities(abilities);
+        return connection;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.remote.control;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConcurrencyLimiter} unit test.
+ *
+ * @author Nacos
+ */
+public class ConcurrencyLimiterTest {
+    
+    @Test
+    public void testAcquireAndRelease() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2);
+        Assert.assertTrue(limiter.tryAcquire());
+        Assert.assertTrue(limiter.tryAcquire());
+        Assert.assertFalse(limiter.tryAcquire());
+        Assert.assertEquals(2, limiter.getInFlight());
+        limiter.release(0L, false);
+        Assert.assertTrue(limiter.tryAcquire());
+    }
+    
+    @Test
+    public void testLimitDecreaseWhenLatencyIncrease() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(100);
+        runWindow(limiter, TimeUnit.MILLISECONDS.toNanos(1));
+        Assert.assertEquals(100, limiter.getLimit());
+        runWindow(limiter, TimeUnit.MILLISECONDS.toNanos(2));
+        int limit = limiter.getLimit();
+        Assert.assertTrue(limit < 100);
+        Assert.assertTrue(limit >= 10);
+    }
+    
+    @Test
+    public void testSetMaxLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(100);
+        limiter.setMaxLimit(20);
+        Assert.assertEquals(20, limiter.getLimit());
+        Assert.assertEquals(20, limiter.getMaxLimit());
+    }
+    
+    @Test
+    public void testConcurrencyContext() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1);
+        Assert.assertTrue(TpsConcurrencyContext.tryAcquire(limiter));
+        Assert.assertEquals(0, limiter.getInFlight());
+        TpsConcurrencyContext.begin();
+        Assert.assertTrue(TpsConcurrencyContext.tryAcquire(limiter));
+        Assert.assertFalse(TpsConcurrencyContext.tryAcquire(limiter));
+        Assert.assertEquals(1, limiter.getInFlight());
+        TpsConcurrencyContext.end();
+        Assert.assertEquals(0, limiter.getInFlight());
+    }
+    
+    private void runWindow(ConcurrencyLimiter limiter, long rttNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(rttNanos, true);
+        }
+    }
+}
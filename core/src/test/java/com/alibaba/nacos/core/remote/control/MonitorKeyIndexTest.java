@@ -0,0 +1,87 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.remote.control;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MonitorKeyIndex} unit tests.
+ *
+ * @author Nacos
+ */
+public class MonitorKeyIndexTest {
+    
+    private static final List<String> PATTERNS = Arrays
+            .asList("clientIp:*", "clientIp:127.0.0.1", "clientIp:127.*", "clientIp:*.1", "clientIp:127.*.1",
+                    "clientIp:192.168.*", "clientIp: 10.0.0.1 ", "clientIp:*:1", "connectionId:*", "clientIp", "a*b*c",
+                    "clientIp:1**", "clientIp:*1*");
+    
+    private static final List<String> KEYS = Arrays
+            .asList("127.0.0.1", "127.0.0.2", "192.168.0.1", "10.0.0.1", "1", "", "127.0.0.1 ", "abc");
+    
+    @Test
+    public void testMatchSameAsMonitorKeyMatcher() {
+        Map<String, TpsRecorder> recorders = new LinkedHashMap<>();
+        for (String each : PATTERNS) {
+            recorders.put(each, newRecorder());
+        }
+        MonitorKeyIndex index = new MonitorKeyIndex(recorders);
+        for (String key : KEYS) {
+            for (MonitorKey monitorKey : Arrays.asList(new ClientIpMonitorKey(key), new ConnectionIdMonitorKey(key))) {
+                Set<String> expected = new HashSet<>();
+                for (String each : PATTERNS) {
+                    if (each.contains(":") && MonitorKeyMatcher.matchWithType(each, monitorKey.build())) {
+                        expected.add(each);
+                    }
+                }
+                Set<String> actual = new HashSet<>();
+                for (MonitorKeyIndex.Entry entry : index.match(monitorKey)) {
+                    Assert.assertSame(recorders.get(entry.getPattern()), entry.getTpsRecorder());
+                    actual.add(entry.getPattern());
+                }
+                Assert.assertEquals(monitorKey.build(), expected, actual);
+                // cached result is the same.
+                Assert.assertEquals(actual.size(), index.match(monitorKey).length);
+            }
+        }
+    }
+    
+    @Test
+    public void testEmpty() {
+        Assert.assertTrue(MonitorKeyIndex.EMPTY.isEmpty());
+        Assert.assertEquals(0, MonitorKeyIndex.EMPTY.match(new ClientIpMonitorKey("127.0.0.1")).length);
+        Map<String, TpsRecorder> recorders = new LinkedHashMap<>();
+        recorders.put("clientIp:127.0.0.1", newRecorder());
+        MonitorKeyIndex index = new MonitorKeyIndex(recorders);
+        Assert.assertFalse(index.isEmpty());
+        Assert.assertEquals(0, index.match(new ConnectionIdMonitorKey("127.0.0.1")).length);
+    }
+    
+    private TpsRecorder newRecorder() {
+        return new TpsRecorder(System.currentTimeMillis(), TimeUnit.SECONDS, TpsControlRule.Rule.MODEL_FUZZY, 10);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.remote.control;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TokenBucketLimiter} unit test.
+ *
+ * @author Nacos
+ */
+public class TokenBucketLimiterTest {
+    
+    @Test
+    public void testBurst() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 5, TimeUnit.MINUTES);
+        for (int i = 0; i < 5; i++) {
+            Assert.assertTrue(limiter.tryAcquire());
+        }
+        Assert.assertFalse(limiter.tryAcquire());
+    }
+    
+    @Test
+    public void testRefill() throws InterruptedException {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(100, 1, TimeUnit.SECONDS);
+        Assert.assertTrue(limiter.tryAcquire());
+        Assert.assertFalse(limiter.tryAcquire());
+        TimeUnit.MILLISECONDS.sleep(30);
+        Assert.assertTrue(limiter.tryAcquire());
+    }
+    
+    @Test
+    public void testZeroRate() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(0, 10, TimeUnit.SECONDS);
+        Assert.assertFalse(limiter.tryAcquire());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.remote.control;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link TpsMonitorPoint#applyTps(String, List)} with exact and pattern monitor key rules, run by
+ * {@link #main(String[])} in test scope. The gc profiler reports {@code gc.alloc.rate.norm}, the bytes allocated per
+ * applyTps.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class TpsMonitorPointBenchmark {
+    
+    private TpsMonitorPoint tpsMonitorPoint;
+    
+    private List<MonitorKey> exactKeys;
+    
+    private List<MonitorKey> patternKeys;
+    
+    private List<MonitorKey> unmatchedKeys;
+    
+    /**
+     * Build the point with monitor rules.
+     */
+    @Setup
+    public void setUp() {
+        tpsMonitorPoint = new TpsMonitorPoint("benchmarkPoint");
+        TpsControlRule tpsControlRule = new TpsControlRule();
+        tpsControlRule.setPointRule(new TpsControlRule.Rule(-1, TimeUnit.SECONDS, null, MonitorType.MONITOR.type));
+        for (int i = 0; i < 100; i++) {
+            tpsControlRule.getMonitorKeyRule().put("clientIp:10.0.0." + i,
+                    new TpsControlRule.Rule(-1, TimeUnit.SECONDS, null, MonitorType.MONITOR.type));
+        }
+        tpsControlRule.getMonitorKeyRule().put("clientIp:192.168.*",
+                new TpsControlRule.Rule(-1, TimeUnit.SECONDS, null, MonitorType.MONITOR.type));
+        tpsControlRule.getMonitorKeyRule().put("clientIp:*.1",
+                new TpsControlRule.Rule(-1, TimeUnit.SECONDS, null, MonitorType.MONITOR.type));
+        tpsMonitorPoint.applyRule(tpsControlRule);
+        exactKeys = Collections.singletonList(new ClientIpMonitorKey("10.0.0.50"));
+        patternKeys = Collections.singletonList(new ClientIpMonitorKey("192.168.0.1"));
+        unmatchedKeys = Collections.singletonList(new ClientIpMonitorKey("172.16.0.2"));
+    }
+    
+    @Benchmark
+    public boolean applyTpsExact() {
+        return tpsMonitorPoint.applyTps("connectionId", exactKeys);
+    }
+    
+    @Benchmark
+    public boolean applyTpsPattern() {
+        return tpsMonitorPoint.applyTps("connectionId", patternKeys);
+    }
+    
+    @Benchmark
+    public boolean applyTpsUnmatched() {
+        return tpsMonitorPoint.applyTps("connectionId", unmatchedKeys);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TpsMonitorPointBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class).build()).run();
+    }
+}
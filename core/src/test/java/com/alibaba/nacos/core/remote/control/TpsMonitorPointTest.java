@@ -19,6 +19,10 @@ package com.alibaba.nacos.core.remote.control;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 /**
  * {@link TpsMonitorPoint} unit tests.
  *
@@ -39,4 +43,88 @@ public class TpsMonitorPointTest {
     
         TpsMonitorPoint.getTrimMillsOfHour(current);
     }
+    
+    @Test
+    public void testTrimMills() {
+        long current = 1626195723456L;
+        Assert.assertEquals(1626195723000L, TpsMonitorPoint.getTrimMillsOfSecond(current));
+        Assert.assertEquals(1626195720000L, TpsMonitorPoint.getTrimMillsOfMinute(current));
+        Assert.assertEquals(1626195600000L, TpsMonitorPoint.getTrimMillsOfHour(current));
+    }
+    
+    @Test
+    public void testApplyTpsWithMonitorKeyRule() {
+        TpsMonitorPoint tpsMonitorPoint = new TpsMonitorPoint("testPoint");
+        TpsControlRule tpsControlRule = new TpsControlRule();
+        tpsControlRule.getMonitorKeyRule()
+                .put("clientIp:127.*", new TpsControlRule.Rule(2, TimeUnit.SECONDS, null, MonitorType.INTERCEPT.type));
+        tpsMonitorPoint.applyRule(tpsControlRule);
+        
+        List<MonitorKey> limitedKeys = Collections.singletonList(new ClientIpMonitorKey("127.0.0.1"));
+        List<MonitorKey> otherKeys = Collections.singletonList(new ClientIpMonitorKey("10.0.0.1"));
+        boolean passed = tpsMonitorPoint.applyTps("connectionId", limitedKeys);
+        Assert.assertTrue(passed);
+        passed = tpsMonitorPoint.applyTps("connectionId", limitedKeys);
+        // a second may have passed between the two calls.
+        if (passed) {
+            Assert.assertFalse(tpsMonitorPoint.applyTps("connectionId", limitedKeys));
+        }
+        Assert.assertTrue(tpsMonitorPoint.applyTps("connectionId", otherKeys));
+        
+        tpsMonitorPoint.applyRule(null);
+        Assert.assertTrue(tpsMonitorPoint.applyTps("connectionId", limitedKeys));
+        Assert.assertTrue(tpsMonitorPoint.applyTps("connectionId", limitedKeys));
+        Assert.assertTrue(tpsMonitorPoint.applyTps("connectionId", limitedKeys));
+    }
+    
+    @Test
+    public void testApplyTpsWithPointRule() {
+        TpsMonitorPoint tpsMonitorPoint = new TpsMonitorPoint("testPoint");
+        TpsControlRule tpsControlRule = new TpsControlRule();
+        tpsControlRule.setPointRule(new TpsControlRule.Rule(0, TimeUnit.SECONDS, null, MonitorType.MONITOR.type));
+        tpsMonitorPoint.applyRule(tpsControlRule);
+        List<MonitorKey> keys = Collections.singletonList(new ClientIpMonitorKey("127.0.0.1"));
+        Assert.assertTrue(tpsMonitorPoint.applyTps("connectionId", keys));
+        
+        tpsControlRule.setPointRule(new TpsControlRule.Rule(0, TimeUnit.SECONDS, null, MonitorType.INTERCEPT.type));
+        tpsMonitorPoint.applyRule(tpsControlRule);
+        Assert.assertFalse(tpsMonitorPoint.applyTps("connectionId", keys));
+        TpsRecorder.TpsSlot slot = tpsMonitorPoint.getTpsRecorder().createSlotIfAbsent(System.currentTimeMillis());
+        Assert.assertTrue(slot.getCountHolder("testPoint").interceptedCount.sum() <= 1);
+    }
+    
+    @Test
+    public void testApplyTpsWithTokenBucketRule() {
+        TpsMonitorPoint tpsMonitorPoint = new TpsMonitorPoint("testPoint");
+        TpsControlRule tpsControlRule = new TpsControlRule();
+        TpsControlRule.Rule rule = new TpsControlRule.Rule(2, TimeUnit.MINUTES, TpsControlRule.Rule.MODEL_TOKEN_BUCKET,
+                MonitorType.INTERCEPT.type);
+        rule.setBurst(2);
+        tpsControlRule.getMonitorKeyRule().put("clientIp:127.*", rule);
+        tpsMonitorPoint.applyRule(tpsControlRule);
+        
+        List<MonitorKey> keys = Collections.singletonList(new ClientIpMonitorKey("127.0.0.1"));
+        Assert.assertTrue(tpsMonitorPoint.applyTps("connectionId", keys));
+        Assert.assertTrue(tpsMonitorPoint.applyTps("connectionId", keys));
+        Assert.assertFalse(tpsMonitorPoint.applyTps("connectionId", keys));
+    }
+    
+    @Test
+    public void testApplyTpsWithConcurrencyRule() {
+        TpsMonitorPoint tpsMonitorPoint = new TpsMonitorPoint("testPoint");
+        TpsControlRule tpsControlRule = new TpsControlRule();
+        tpsControlRule.setPointRule(new TpsControlRule.Rule(1, TimeUnit.SECONDS, TpsControlRule.Rule.MODEL_CONCURRENCY,
+                MonitorType.INTERCEPT.type));
+        tpsMonitorPoint.applyRule(tpsControlRule);
+        List<MonitorKey> keys = Collections.singletonList(new ClientIpMonitorKey("127.0.0.1"));
+        
+        TpsConcurrencyContext.begin();
+        Assert.assertTrue(tpsMonitorPoint.applyTps("connectionId", keys));
+        Assert.assertFalse(tpsMonitorPoint.applyTps("connectionId", keys));
+        TpsConcurrencyContext.end();
+        
+        TpsConcurrencyContext.begin();
+        Assert.assertTrue(tpsMonitorPoint.applyTps("connectionId", keys));
+        TpsConcurrencyContext.end();
+    }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.storage;
+
+import com.alibaba.nacos.core.storage.kv.KvStorage;
+import com.alibaba.nacos.sys.utils.DiskUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link KvStorage} implementations with persistent instance like keys and values, run by
+ * {@link #main(String[])} in test scope. The storage holds {@link #KEY_COUNT} keys with 512 bytes values, and random
+ * keys are put and read by 4 threads. The snapshot benchmark is not supported by {@code Memory}.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class KvStorageBenchmark {
+    
+    private static final int KEY_COUNT = 10000;
+    
+    private static final int BATCH_SIZE = 100;
+    
+    @Param({"File", "Log", "Memory"})
+    private String type;
+    
+    private Path baseDir;
+    
+    private KvStorage kvStorage;
+    
+    private byte[][] keys;
+    
+    private byte[] value;
+    
+    /**
+     * Create the storage with {@link #KEY_COUNT} keys.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        baseDir = Files.createTempDirectory("nacos_kv_storage_benchmark");
+        kvStorage = StorageFactory
+                .createKvStorage(KvStorage.KvType.valueOf(type), "benchmark", baseDir.resolve("data").toString());
+        keys = new byte[KEY_COUNT][];
+        value = new byte[512];
+        List<byte[]> values = new ArrayList<>(KEY_COUNT);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = ("com.alibaba.nacos.naming.iplist.##public@@DEFAULT_GROUP@@service-" + i).getBytes();
+            values.add(value);
+        }
+        kvStorage.batchPut(Arrays.asList(keys), values);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        kvStorage.shutdown();
+        DiskUtils.deleteDirectory(baseDir.toString());
+    }
+    
+    @Benchmark
+    public void put() throws Exception {
+        kvStorage.put(randomKey(), value);
+    }
+    
+    @Benchmark
+    public byte[] get() throws Exception {
+        return kvStorage.get(randomKey());
+    }
+    
+    @Benchmark
+    public void batchPut() throws Exception {
+        List<byte[]> batchKeys = new ArrayList<>(BATCH_SIZE);
+        List<byte[]> batchValues = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batchKeys.add(randomKey());
+            batchValues.add(value);
+        }
+        kvStorage.batchPut(batchKeys, batchValues);
+    }
+    
+    /**
+     * Snapshot of all keys into a new dir.
+     */
+    @Benchmark
+    @Threads(1)
+    public void snapshot() throws Exception {
+        if ("Memory".equals(type)) {
+            return;
+        }
+        Path backupDir = Files.createTempDirectory(baseDir, "snapshot");
+        kvStorage.doSnapshot(backupDir.toString());
+        DiskUtils.deleteDirectory(backupDir.toString());
+    }
+    
+    private byte[] randomKey() {
+        return keys[ThreadLocalRandom.current().nextInt(KEY_COUNT)];
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(KvStorageBenchmark.class.getSimpleName()).build()).run();
+    }
+}
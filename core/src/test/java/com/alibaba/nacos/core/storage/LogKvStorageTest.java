@@ -0,0 +1,192 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.storage;
+
+import com.alibaba.nacos.core.exception.KvStorageException;
+import com.alibaba.nacos.core.storage.kv.KvStorage;
+import com.alibaba.nacos.core.storage.kv.LogKvStorage;
+import com.alibaba.nacos.sys.utils.DiskUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LogKvStorage} unit tests.
+ *
+ * @author Nacos
+ */
+public class LogKvStorageTest {
+    
+    private static final long SEGMENT_BYTES = 1024;
+    
+    private File baseDir;
+    
+    private LogKvStorage kvStorage;
+    
+    @Before
+    public void setUp() throws Exception {
+        baseDir = Files.createTempDirectory("nacos_log_kv_storage_test").toFile();
+        kvStorage = open(new File(baseDir, "data"));
+    }
+    
+    @After
+    public void tearDown() throws IOException {
+        kvStorage.shutdown();
+        DiskUtils.deleteDirectory(baseDir.getPath());
+    }
+    
+    @Test
+    public void testPutAndGetAndDelete() throws Exception {
+        byte[] key = "key".getBytes();
+        kvStorage.put(key, "value".getBytes());
+        Assert.assertArrayEquals("value".getBytes(), kvStorage.get(key));
+        kvStorage.put(key, "value1".getBytes());
+        Assert.assertArrayEquals("value1".getBytes(), kvStorage.get(key));
+        Assert.assertEquals(1, kvStorage.allKeys().size());
+        kvStorage.delete(key);
+        Assert.assertNull(kvStorage.get(key));
+        Assert.assertEquals(0, kvStorage.allKeys().size());
+    }
+    
+    @Test
+    public void testBatchPutAndGetAfterReopen() throws Exception {
+        List<byte[]> keys = new ArrayList<>();
+        List<byte[]> values = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            keys.add(("key" + i).getBytes());
+            values.add(("value" + i).getBytes());
+        }
+        kvStorage.batchPut(keys, values);
+        kvStorage.batchDelete(keys.subList(0, 10));
+        kvStorage = reopen();
+        Assert.assertEquals(90, kvStorage.batchGet(keys).size());
+        Assert.assertNull(kvStorage.get(keys.get(0)));
+        Assert.assertArrayEquals(values.get(99), kvStorage.get(keys.get(99)));
+    }
+    
+    @Test
+    public void testCompact() throws Exception {
+        byte[] value = new byte[100];
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 10; i++) {
+                Arrays.fill(value, (byte) round);
+                kvStorage.put(("key" + i).getBytes(), value);
+            }
+        }
+        kvStorage.put("deleted".getBytes(), value);
+        kvStorage.delete("deleted".getBytes());
+        int segments = segmentFiles().length;
+        kvStorage.compact();
+        Assert.assertTrue(segmentFiles().length < segments);
+        kvStorage = reopen();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertArrayEquals(value, kvStorage.get(("key" + i).getBytes()));
+        }
+        Assert.assertNull(kvStorage.get("deleted".getBytes()));
+        Assert.assertEquals(10, kvStorage.allKeys().size());
+    }
+    
+    @Test
+    public void testTruncateBrokenTail() throws Exception {
+        kvStorage.put("key".getBytes(), "value".getBytes());
+        kvStorage.shutdown();
+        File[] files = segmentFiles();
+        try (RandomAccessFile file = new RandomAccessFile(files[files.length - 1], "rw")) {
+            file.seek(file.length());
+            file.write(new byte[] {1, 2, 3, 4, 5, 6});
+        }
+        kvStorage = open(new File(baseDir, "data"));
+        Assert.assertArrayEquals("value".getBytes(), kvStorage.get("key".getBytes()));
+        kvStorage.put("key1".getBytes(), "value1".getBytes());
+        kvStorage = reopen();
+        Assert.assertArrayEquals("value1".getBytes(), kvStorage.get("key1".getBytes()));
+    }
+    
+    @Test(expected = KvStorageException.class)
+    public void testChecksumFailed() throws Exception {
+        kvStorage.put("key".getBytes(), "value".getBytes());
+        File[] files = segmentFiles();
+        try (RandomAccessFile file = new RandomAccessFile(files[files.length - 1], "rw")) {
+            file.seek(file.length() - 1);
+            file.write('x');
+        }
+        kvStorage.get("key".getBytes());
+    }
+    
+    @Test
+    public void testSnapshot() throws Exception {
+        kvStorage.put("key".getBytes(), "value".getBytes());
+        kvStorage.put("deleted".getBytes(), "value".getBytes());
+        String snapshotDir = new File(baseDir, "snapshot").getPath();
+        kvStorage.doSnapshot(snapshotDir);
+        kvStorage.put("key".getBytes(), "value1".getBytes());
+        kvStorage.put("key1".getBytes(), "value1".getBytes());
+        kvStorage.delete("deleted".getBytes());
+        kvStorage.compact();
+        
+        kvStorage.snapshotLoad(snapshotDir);
+        Assert.assertArrayEquals("value".getBytes(), kvStorage.get("key".getBytes()));
+        Assert.assertArrayEquals("value".getBytes(), kvStorage.get("deleted".getBytes()));
+        Assert.assertNull(kvStorage.get("key1".getBytes()));
+        // the segments loaded are not changed by later writes.
+        kvStorage.put("key".getBytes(), "value2".getBytes());
+        LogKvStorage snapshot = open(new File(snapshotDir));
+        try {
+            Assert.assertArrayEquals("value".getBytes(), snapshot.get("key".getBytes()));
+        } finally {
+            snapshot.shutdown();
+        }
+    }
+    
+    @Test
+    public void testImportFileKvStorage() throws Exception {
+        File fileStorageDir = new File(baseDir, "file");
+        KvStorage fileKvStorage = StorageFactory.createKvStorage(KvStorage.KvType.File, null, fileStorageDir.getPath());
+        fileKvStorage.put("key".getBytes(), "value".getBytes());
+        kvStorage.snapshotLoad(fileStorageDir.getPath());
+        Assert.assertArrayEquals("value".getBytes(), kvStorage.get("key".getBytes()));
+        kvStorage = reopen();
+        Assert.assertArrayEquals("value".getBytes(), kvStorage.get("key".getBytes()));
+        Assert.assertFalse(new File(new File(baseDir, "data"), "key").exists());
+    }
+    
+    private LogKvStorage reopen() throws KvStorageException {
+        kvStorage.shutdown();
+        return open(new File(baseDir, "data"));
+    }
+    
+    private static LogKvStorage open(File dir) throws KvStorageException {
+        return new LogKvStorage(dir.getPath(), SEGMENT_BYTES, 0.5D, TimeUnit.HOURS.toMillis(1));
+    }
+    
+    private File[] segmentFiles() {
+        File[] files = new File(baseDir, "data").listFiles(file -> file.getName().endsWith(".log"));
+        Arrays.sort(files);
+        return files;
+    }
+}
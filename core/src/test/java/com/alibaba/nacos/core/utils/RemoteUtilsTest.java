@@ -56,4 +56,26 @@ public class RemoteUtilsTest {
         int val2 = RemoteUtils.getRemoteExecutorQueueSize();
         Assert.assertEquals(defaultExpectVal, val2);
     }
+    
+    @Test
+    public void testGetRemoteExecutorMode() {
+        Assert.assertEquals("platform", RemoteUtils.getRemoteExecutorMode());
+        
+        System.setProperty("remote.executor.mode", RemoteUtils.REMOTE_EXECUTOR_MODE_VIRTUAL);
+        Assert.assertEquals(RemoteUtils.REMOTE_EXECUTOR_MODE_VIRTUAL, RemoteUtils.getRemoteExecutorMode());
+        System.clearProperty("remote.executor.mode");
+    }
+    
+    @Test
+    public void testGetRemoteExecutorVirtualConcurrency() {
+        int defaultExpectVal = 1 << 10;
+        Assert.assertEquals(defaultExpectVal, RemoteUtils.getRemoteExecutorVirtualConcurrency());
+        
+        System.setProperty("remote.executor.virtual.concurrency", "10");
+        Assert.assertEquals(10, RemoteUtils.getRemoteExecutorVirtualConcurrency());
+        
+        System.setProperty("remote.executor.virtual.concurrency", "-1");
+        Assert.assertEquals(defaultExpectVal, RemoteUtils.getRemoteExecutorVirtualConcurrency());
+        System.clearProperty("remote.executor.virtual.concurrency");
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class VirtualThreadExecutorTest {
+    
+    @Test
+    public void testConcurrencyLimit() throws InterruptedException {
+        VirtualThreadExecutor executor = new VirtualThreadExecutor(Thread::new, 2, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(5);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            executor.execute(() -> {
+                int current = running.incrementAndGet();
+                maxRunning.accumulateAndGet(current, Math::max);
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+                running.decrementAndGet();
+                finished.countDown();
+            });
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (executor.getActiveCount() < 2 && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        Assert.assertEquals(2, executor.getActiveCount());
+        Assert.assertEquals(5, executor.getPendingCount());
+        release.countDown();
+        Assert.assertTrue(finished.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(2, maxRunning.get());
+    }
+    
+    @Test
+    public void testRejectOverQueueSize() throws InterruptedException {
+        VirtualThreadExecutor executor = new VirtualThreadExecutor(Thread::new, 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable task = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+        };
+        executor.execute(task);
+        executor.execute(task);
+        try {
+            executor.execute(task);
+            Assert.fail("task over concurrency and queue size should be rejected");
+        } catch (RejectedExecutionException ignored) {
+        }
+        Assert.assertEquals(2, executor.getPendingCount());
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (executor.getPendingCount() > 0 && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        Assert.assertEquals(0, executor.getPendingCount());
+    }
+    
+    @Test
+    public void testVirtualThreadByJdk() throws InterruptedException {
+        if (!VirtualThreadExecutor.isSupported()) {
+            try {
+                new VirtualThreadExecutor("test-virtual-", 1, 1);
+                Assert.fail("virtual thread executor should not be created without jdk support");
+            } catch (IllegalStateException ignored) {
+            }
+            return;
+        }
+        VirtualThreadExecutor executor = new VirtualThreadExecutor("test-virtual-", 1, 1);
+        CountDownLatch finished = new CountDownLatch(1);
+        StringBuilder threadName = new StringBuilder();
+        executor.execute(() -> {
+            threadName.append(Thread.currentThread().getName());
+            finished.countDown();
+        });
+        Assert.assertTrue(finished.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(threadName.toString().startsWith("test-virtual-"));
+    }
+}
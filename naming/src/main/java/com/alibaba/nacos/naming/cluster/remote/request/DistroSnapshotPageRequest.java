@@ -0,0 +1,65 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.naming.cluster.remote.request;
+
+/**
+ * Distro snapshot page request, get one page of snapshot after the cursor.
+ *
+ * @author Nacos
+ */
+public class DistroSnapshotPageRequest extends AbstractClusterRequest {
+    
+    private String resourceType;
+    
+    private String cursor;
+    
+    private int pageSize;
+    
+    public DistroSnapshotPageRequest() {
+    }
+    
+    public DistroSnapshotPageRequest(String resourceType, String cursor, int pageSize) {
+        this.resourceType = resourceType;
+        this.cursor = cursor;
+        this.pageSize = pageSize;
+    }
+    
+    public String getResourceType() {
+        return resourceType;
+    }
+    
+    public void setResourceType(String resourceType) {
+        this.resourceType = resourceType;
+    }
+    
+    public String getCursor() {
+        return cursor;
+    }
+    
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+    
+    public int getPageSize() {
+        return pageSize;
+    }
+    
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+}
@@ -70,10 +70,11 @@ public class DistroClientComponentRegistry {
      */
     @PostConstruct
     public void doRegister() {
+        DistroClientDigestVerifier digestVerifier = new DistroClientDigestVerifier(clientManager);
         DistroClientDataProcessor dataProcessor = new DistroClientDataProcessor(clientManager, distroProtocol,
-                upgradeJudgement);
+                upgradeJudgement, digestVerifier);
         DistroTransportAgent transportAgent = new DistroClientTransportAgent(clusterRpcClientProxy,
-                serverMemberManager);
+                serverMemberManager, digestVerifier);
         DistroClientTaskFailedHandler taskFailedHandler = new DistroClientTaskFailedHandler(taskEngineHolder);
         componentHolder.registerDataStorage(DistroClientDataProcessor.TYPE, dataProcessor);
         componentHolder.registerDataProcessor(dataProcessor);
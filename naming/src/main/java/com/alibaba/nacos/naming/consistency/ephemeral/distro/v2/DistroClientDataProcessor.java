@@ -20,11 +20,13 @@ import com.alibaba.nacos.common.notify.Event;
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.common.notify.listener.SmartSubscriber;
 import com.alibaba.nacos.consistency.DataOperation;
+import com.alibaba.nacos.core.distributed.distro.DistroConfig;
 import com.alibaba.nacos.core.distributed.distro.DistroProtocol;
 import com.alibaba.nacos.core.distributed.distro.component.DistroDataProcessor;
 import com.alibaba.nacos.core.distributed.distro.component.DistroDataStorage;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroSnapshotPage;
 import com.alibaba.nacos.naming.cluster.transport.Serializer;
 import com.alibaba.nacos.naming.core.v2.ServiceManager;
 import com.alibaba.nacos.naming.core.v2.client.Client;
@@ -41,10 +43,13 @@ import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.sys.env.EnvUtil;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Distro processor for v2.
@@ -61,13 +66,21 @@ public class DistroClientDataProcessor extends SmartSubscriber implements Distro
     
     private final UpgradeJudgement upgradeJudgement;
     
+    private final DistroClientDigestVerifier digestVerifier;
+    
     private volatile boolean isFinishInitial;
     
     public DistroClientDataProcessor(ClientManager clientManager, DistroProtocol distroProtocol,
             UpgradeJudgement upgradeJudgement) {
+        this(clientManager, distroProtocol, upgradeJudgement, new DistroClientDigestVerifier(clientManager));
+    }
+    
+    public DistroClientDataProcessor(ClientManager clientManager, DistroProtocol distroProtocol,
+            UpgradeJudgement upgradeJudgement, DistroClientDigestVerifier digestVerifier) {
         this.clientManager = clientManager;
         this.distroProtocol = distroProtocol;
         this.upgradeJudgement = upgradeJudgement;
+        this.digestVerifier = digestVerifier;
         NotifyCenter.registerSubscriber(this, NamingEventPublisherFactory.getInstance());
     }
     
@@ -198,6 +211,23 @@ public class DistroClientDataProcessor extends SmartSubscriber implements Distro
         return false;
     }
     
+    @Override
+    public DistroData processVerifyDigest(DistroData digestData, String sourceAddress) {
+        Serializer serializer = ApplicationUtils.getBean(Serializer.class);
+        DistroClientDigestInfo digestInfo = serializer
+                .deserialize(digestData.getContent(), DistroClientDigestInfo.class);
+        if (null == digestInfo.getSourceServer()) {
+            digestInfo.setSourceServer(sourceAddress);
+        }
+        DistroClientDigestResult verifyResult = digestVerifier.verify(digestInfo);
+        if (!verifyResult.getMismatchedBuckets().isEmpty() || !verifyResult.getMissingClients().isEmpty()) {
+            Loggers.DISTRO.info("Verify digest from {} with {} mismatched buckets and {} missing clients",
+                    digestInfo.getSourceServer(), verifyResult.getMismatchedBuckets().size(),
+                    verifyResult.getMissingClients().size());
+        }
+        return new DistroData(digestData.getDistroKey(), serializer.serialize(verifyResult));
+    }
+    
     @Override
     public boolean processSnapshot(DistroData distroData) {
         ClientSyncDatumSnapshot snapshot = ApplicationUtils.getBean(Serializer.class)
@@ -234,8 +264,47 @@ public class DistroClientDataProcessor extends SmartSubscriber implements Distro
         return new DistroData(new DistroKey(DataOperation.SNAPSHOT.name(), TYPE), data);
     }
     
+    @Override
+    public DistroSnapshotPage getDatumSnapshotPage(String cursor, int pageSize) {
+        int size = Math.max(1, pageSize);
+        // Select the smallest client ids after cursor with a bounded sorted set, so the page is stable across servers.
+        TreeSet<String> pageClientIds = new TreeSet<>();
+        for (String each : clientManager.allClientId()) {
+            if (null != cursor && each.compareTo(cursor) <= 0) {
+                continue;
+            }
+            if (pageClientIds.size() >= size && each.compareTo(pageClientIds.last()) >= 0) {
+                continue;
+            }
+            Client client = clientManager.getClient(each);
+            if (null == client || !client.isEphemeral()) {
+                continue;
+            }
+            pageClientIds.add(each);
+            if (pageClientIds.size() > size) {
+                pageClientIds.pollLast();
+            }
+        }
+        List<ClientSyncData> datum = new ArrayList<>(pageClientIds.size());
+        for (String each : pageClientIds) {
+            Client client = clientManager.getClient(each);
+            if (null != client) {
+                datum.add(client.generateSyncData());
+            }
+        }
+        ClientSyncDatumSnapshot snapshot = new ClientSyncDatumSnapshot();
+        snapshot.setClientSyncDataList(datum);
+        byte[] data = ApplicationUtils.getBean(Serializer.class).serialize(snapshot);
+        DistroData distroData = new DistroData(new DistroKey(DataOperation.SNAPSHOT.name(), TYPE), data);
+        String nextCursor = pageClientIds.size() < size ? null : pageClientIds.last();
+        return new DistroSnapshotPage(distroData, nextCursor);
+    }
+    
     @Override
     public List<DistroData> getVerifyData() {
+        if (DistroConfig.getInstance().isVerifyDigestEnabled()) {
+            return Collections.singletonList(getVerifyDigest());
+        }
         List<DistroData> result = new LinkedList<>();
         for (String each : clientManager.allClientId()) {
             Client client = clientManager.getClient(each);
@@ -254,4 +323,13 @@ public class DistroClientDataProcessor extends SmartSubscriber implements Distro
         }
         return result;
     }
+    
+    private DistroData getVerifyDigest() {
+        DistroClientDigestInfo digestInfo = digestVerifier
+                .buildDigest(EnvUtil.getLocalAddress(), DistroConfig.getInstance().getVerifyDigestBuckets());
+        DistroKey distroKey = new DistroKey(DistroClientDigestVerifier.DIGEST_KEY, TYPE);
+        DistroData result = new DistroData(distroKey, ApplicationUtils.getBean(Serializer.class).serialize(digestInfo));
+        result.setType(DataOperation.VERIFY);
+        return result;
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.naming.consistency.ephemeral.distro.v2;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Digest information for verifying clients of source server by buckets.
+ *
+ * <p>If {@code bucketClients} is {@code null}, it is a digest which contains hash and count of each bucket. Otherwise
+ * it is a detail which contains all client ids of the mismatched buckets.
+ *
+ * @author Nacos
+ */
+public class DistroClientDigestInfo implements Serializable {
+    
+    private static final long serialVersionUID = -3204935012873427469L;
+    
+    private String sourceServer;
+    
+    private int bucketCount;
+    
+    private long[] hashes;
+    
+    private int[] counts;
+    
+    private Map<Integer, List<String>> bucketClients;
+    
+    public String getSourceServer() {
+        return sourceServer;
+    }
+    
+    public void setSourceServer(String sourceServer) {
+        this.sourceServer = sourceServer;
+    }
+    
+    public int getBucketCount() {
+        return bucketCount;
+    }
+    
+    public void setBucketCount(int bucketCount) {
+        this.bucketCount = bucketCount;
+    }
+    
+    public long[] getHashes() {
+        return hashes;
+    }
+    
+    public void setHashes(long[] hashes) {
+        this.hashes = hashes;
+    }
+    
+    public int[] getCounts() {
+        return counts;
+    }
+    
+    public void setCounts(int[] counts) {
+        this.counts = counts;
+    }
+    
+    public Map<Integer, List<String>> getBucketClients() {
+        return bucketClients;
+    }
+    
+    public void setBucketClients(Map<Integer, List<String>> bucketClients) {
+        this.bucketClients = bucketClients;
+    }
+    
+    @JsonIgnore
+    public boolean isDetail() {
+        return null != bucketClients;
+    }
+}
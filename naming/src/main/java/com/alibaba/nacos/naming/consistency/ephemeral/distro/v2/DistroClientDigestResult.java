@@ -0,0 +1,52 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.naming.consistency.ephemeral.distro.v2;
+
+import java.io.Serializable;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Result of verifying {@link DistroClientDigestInfo}.
+ *
+ * @author Nacos
+ */
+public class DistroClientDigestResult implements Serializable {
+    
+    private static final long serialVersionUID = 6016741391447018350L;
+    
+    private List<Integer> mismatchedBuckets = new LinkedList<>();
+    
+    private List<String> missingClients = new LinkedList<>();
+    
+    public List<Integer> getMismatchedBuckets() {
+        return mismatchedBuckets;
+    }
+    
+    public void setMismatchedBuckets(List<Integer> mismatchedBuckets) {
+        this.mismatchedBuckets = mismatchedBuckets;
+    }
+    
+    public List<String> getMissingClients() {
+        return missingClients;
+    }
+    
+    public void setMissingClients(List<String> missingClients) {
+        this.missingClients = missingClients;
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.naming.consistency.ephemeral.distro.v2;
+
+import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+import com.alibaba.nacos.naming.core.v2.client.Client;
+import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Verify clients by digest of buckets.
+ *
+ * <p>Source server hashes all responsible client ids into buckets and only sends hash and count of each bucket. Target
+ * server compares them with the clients it received from source server, renews the clients in matched buckets, and
+ * responds mismatched buckets. Then source server sends the client ids of mismatched buckets, target server renews
+ * existed clients and responds missing clients which should be synced again.
+ *
+ * @author Nacos
+ */
+public class DistroClientDigestVerifier {
+    
+    public static final String DIGEST_KEY = "DIGEST";
+    
+    public static final String DIGEST_DETAIL_KEY = "DIGEST_DETAIL";
+    
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    private final ClientManager clientManager;
+    
+    /**
+     * Client ids in buckets for each source server, only used by target server.
+     */
+    private final ConcurrentMap<String, SourceIndex> sourceIndexes = new ConcurrentHashMap<>();
+    
+    public DistroClientDigestVerifier(ClientManager clientManager) {
+        this.clientManager = clientManager;
+    }
+    
+    public static boolean isDigestKey(DistroKey distroKey) {
+        return null != distroKey && (DIGEST_KEY.equals(distroKey.getResourceKey()) || DIGEST_DETAIL_KEY
+                .equals(distroKey.getResourceKey()));
+    }
+    
+    /**
+     * Build digest of all responsible clients.
+     *
+     * @param sourceServer address of current server
+     * @param bucketCount  count of buckets
+     * @return digest info
+     */
+    public DistroClientDigestInfo buildDigest(String sourceServer, int bucketCount) {
+        long[] hashes = new long[bucketCount];
+        int[] counts = new int[bucketCount];
+        for (String each : clientManager.allClientId()) {
+            if (!isResponsibleEphemeralClient(each)) {
+                continue;
+            }
+            long hash = hash(each);
+            int bucket = bucketOf(hash, bucketCount);
+            hashes[bucket] ^= hash;
+            counts[bucket]++;
+        }
+        DistroClientDigestInfo result = new DistroClientDigestInfo();
+        result.setSourceServer(sourceServer);
+        result.setBucketCount(bucketCount);
+        result.setHashes(hashes);
+        result.setCounts(counts);
+        return result;
+    }
+    
+    /**
+     * Build detail of responsible clients in input buckets.
+     *
+     * @param sourceServer address of current server
+     * @param bucketCount  count of buckets
+     * @param buckets      buckets which need detail
+     * @return digest info with client ids of buckets
+     */
+    public DistroClientDigestInfo buildDetail(String sourceServer, int bucketCount, Collection<Integer> buckets) {
+        Map<Integer, List<String>> bucketClients = new HashMap<>(buckets.size());
+        for (Integer each : buckets) {
+            if (null != each && each >= 0 && each < bucketCount) {
+                bucketClients.put(each, new ArrayList<>());
+            }
+        }
+        for (String each : clientManager.allClientId()) {
+            List<String> clients = bucketClients.get(bucketOf(hash(each), bucketCount));
+            if (null != clients && isResponsibleEphemeralClient(each)) {
+                clients.add(each);
+            }
+        }
+        DistroClientDigestInfo result = new DistroClientDigestInfo();
+        result.setSourceServer(sourceServer);
+        result.setBucketCount(bucketCount);
+        result.setBucketClients(bucketClients);
+        return result;
+    }
+    
+    /**
+     * Verify digest or detail from source server.
+     *
+     * @param digestInfo digest info
+     * @return verify result
+     * @throws IllegalArgumentException if digest info is invalid
+     */
+    public DistroClientDigestResult verify(DistroClientDigestInfo digestInfo) {
+        if (digestInfo.getBucketCount() <= 0 || !digestInfo.isDetail() && !isValidDigest(digestInfo)) {
+            throw new IllegalArgumentException("Invalid distro client digest from " + digestInfo.getSourceServer());
+        }
+        SourceIndex sourceIndex = getSourceIndex(digestInfo.getSourceServer(), digestInfo.getBucketCount());
+        synchronized (sourceIndex) {
+            return digestInfo.isDetail() ? verifyDetail(sourceIndex, digestInfo)
+                    : verifyDigest(sourceIndex, digestInfo);
+        }
+    }
+    
+    private DistroClientDigestResult verifyDigest(SourceIndex sourceIndex, DistroClientDigestInfo digestInfo) {
+        DistroClientDigestResult result = new DistroClientDigestResult();
+        long[] hashes = digestInfo.getHashes();
+        int[] counts = digestInfo.getCounts();
+        for (int i = 0; i < sourceIndex.buckets.size(); i++) {
+            Set<String> clients = sourceIndex.buckets.get(i);
+            long hash = 0L;
+            int count = 0;
+            Iterator<String> iterator = clients.iterator();
+            while (iterator.hasNext()) {
+                String clientId = iterator.next();
+                if (!clientManager.contains(clientId)) {
+                    iterator.remove();
+                    continue;
+                }
+                hash ^= hash(clientId);
+                count++;
+            }
+            if (hash == hashes[i] && count == counts[i]) {
+                for (String each : clients) {
+                    clientManager.verifyClient(each);
+                }
+            } else {
+                result.getMismatchedBuckets().add(i);
+            }
+        }
+        return result;
+    }
+    
+    private DistroClientDigestResult verifyDetail(SourceIndex sourceIndex, DistroClientDigestInfo digestInfo) {
+        DistroClientDigestResult result = new DistroClientDigestResult();
+        for (Map.Entry<Integer, List<String>> entry : digestInfo.getBucketClients().entrySet()) {
+            int bucket = entry.getKey();
+            if (bucket < 0 || bucket >= sourceIndex.buckets.size()) {
+                continue;
+            }
+            Set<String> clients = new HashSet<>(entry.getValue());
+            for (String each : clients) {
+                if (!clientManager.verifyClient(each)) {
+                    result.getMissingClients().add(each);
+                }
+            }
+            sourceIndex.buckets.set(bucket, clients);
+        }
+        return result;
+    }
+    
+    private boolean isValidDigest(DistroClientDigestInfo digestInfo) {
+        int bucketCount = digestInfo.getBucketCount();
+        return null != digestInfo.getHashes() && null != digestInfo.getCounts()
+                && digestInfo.getHashes().length == bucketCount && digestInfo.getCounts().length == bucketCount;
+    }
+    
+    private SourceIndex getSourceIndex(String sourceServer, int bucketCount) {
+        SourceIndex result = sourceIndexes.computeIfAbsent(sourceServer, key -> new SourceIndex(bucketCount));
+        if (result.bucketCount != bucketCount) {
+            SourceIndex newIndex = new SourceIndex(bucketCount);
+            sourceIndexes.put(sourceServer, newIndex);
+            result = newIndex;
+        }
+        return result;
+    }
+    
+    private boolean isResponsibleEphemeralClient(String clientId) {
+        Client client = clientManager.getClient(clientId);
+        return null != client && client.isEphemeral() && clientManager.isResponsibleClient(client);
+    }
+    
+    /**
+     * FNV-1a hash of client id with a final avalanche, so that the bucket digests can be combined by xor.
+     *
+     * @param clientId client id
+     * @return 64 bits hash
+     */
+    static long hash(String clientId) {
+        long result = FNV_OFFSET_BASIS;
+        for (int i = 0; i < clientId.length(); i++) {
+            result ^= clientId.charAt(i);
+            result *= FNV_PRIME;
+        }
+        result ^= result >>> 33;
+        result *= 0xff51afd7ed558ccdL;
+        result ^= result >>> 33;
+        result *= 0xc4ceb9fe1a85ec53L;
+        result ^= result >>> 33;
+        return result;
+    }
+    
+    static int bucketOf(long hash, int bucketCount) {
+        return (int) ((hash & Long.MAX_VALUE) % bucketCount);
+    }
+    
+    private static class SourceIndex {
+        
+        private final int bucketCount;
+        
+        private final List<Set<String>> buckets;
+        
+        private SourceIndex(int bucketCount) {
+            this.bucketCount = bucketCount;
+            this.buckets = new ArrayList<>(bucketCount);
+            for (int i = 0; i < bucketCount; i++) {
+                buckets.add(new HashSet<>());
+            }
+        }
+    }
+}
@@ -27,18 +27,30 @@ import com.alibaba.nacos.core.cluster.NodeState;
 import com.alibaba.nacos.core.cluster.ServerMemberManager;
 import com.alibaba.nacos.core.cluster.remote.ClusterRpcClientProxy;
 import com.alibaba.nacos.core.distributed.distro.DistroConfig;
+import com.alibaba.nacos.core.distributed.distro.component.DistroBatchCallback;
 import com.alibaba.nacos.core.distributed.distro.component.DistroCallback;
 import com.alibaba.nacos.core.distributed.distro.component.DistroTransportAgent;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroSnapshotPage;
 import com.alibaba.nacos.core.distributed.distro.exception.DistroException;
+import com.alibaba.nacos.naming.cluster.remote.request.DistroBatchDataRequest;
 import com.alibaba.nacos.naming.cluster.remote.request.DistroDataRequest;
+import com.alibaba.nacos.naming.cluster.remote.request.DistroSnapshotPageRequest;
+import com.alibaba.nacos.naming.cluster.remote.response.DistroBatchDataResponse;
 import com.alibaba.nacos.naming.cluster.remote.response.DistroDataResponse;
+import com.alibaba.nacos.naming.cluster.remote.response.DistroSnapshotPageResponse;
+import com.alibaba.nacos.naming.cluster.transport.Serializer;
 import com.alibaba.nacos.naming.core.v2.event.client.ClientEvent;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
 import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.naming.monitor.NamingTpsMonitor;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import com.alibaba.nacos.sys.utils.ApplicationUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Executor;
 
 /**
@@ -52,10 +64,18 @@ public class DistroClientTransportAgent implements DistroTransportAgent {
     
     private final ServerMemberManager memberManager;
     
+    private final DistroClientDigestVerifier digestVerifier;
+    
     public DistroClientTransportAgent(ClusterRpcClientProxy clusterRpcClientProxy,
             ServerMemberManager serverMemberManager) {
+        this(clusterRpcClientProxy, serverMemberManager, null);
+    }
+    
+    public DistroClientTransportAgent(ClusterRpcClientProxy clusterRpcClientProxy,
+            ServerMemberManager serverMemberManager, DistroClientDigestVerifier digestVerifier) {
         this.clusterRpcClientProxy = clusterRpcClientProxy;
         this.memberManager = serverMemberManager;
+        this.digestVerifier = digestVerifier;
     }
     
     @Override
@@ -98,6 +118,26 @@ public class DistroClientTransportAgent implements DistroTransportAgent {
         }
     }
     
+    @Override
+    public boolean supportBatchSync() {
+        return true;
+    }
+    
+    @Override
+    public void syncBatchData(List<DistroData> data, String targetServer, DistroBatchCallback callback) {
+        if (isNoExistTarget(targetServer)) {
+            callback.onComplete(Collections.emptyList());
+            return;
+        }
+        DistroBatchDataRequest request = new DistroBatchDataRequest(data);
+        Member member = memberManager.find(targetServer);
+        try {
+            clusterRpcClientProxy.asyncRequest(member, request, new DistroBatchCallbackWrapper(data, callback, member));
+        } catch (NacosException nacosException) {
+            callback.onFailed(nacosException);
+        }
+    }
+    
     @Override
     public boolean syncVerifyData(DistroData verifyData, String targetServer) {
         if (isNoExistTarget(targetServer)) {
@@ -128,6 +168,10 @@ public class DistroClientTransportAgent implements DistroTransportAgent {
         }
         DistroDataRequest request = new DistroDataRequest(verifyData, DataOperation.VERIFY);
         Member member = memberManager.find(targetServer);
+        if (DistroClientDigestVerifier.isDigestKey(verifyData.getDistroKey())) {
+            syncVerifyDigest(request, member, callback);
+            return;
+        }
         try {
             DistroVerifyCallbackWrapper wrapper = new DistroVerifyCallbackWrapper(targetServer,
                     verifyData.getDistroKey().getResourceKey(), callback, member);
@@ -137,6 +181,14 @@ public class DistroClientTransportAgent implements DistroTransportAgent {
         }
     }
     
+    private void syncVerifyDigest(DistroDataRequest request, Member member, DistroCallback callback) {
+        try {
+            clusterRpcClientProxy.asyncRequest(member, request, new DistroDigestCallbackWrapper(callback, member));
+        } catch (NacosException nacosException) {
+            callback.onFailed(nacosException);
+        }
+    }
+    
     @Override
     public DistroData getData(DistroKey key, String targetServer) {
         Member member = memberManager.find(targetServer);
@@ -187,6 +239,36 @@ public class DistroClientTransportAgent implements DistroTransportAgent {
         }
     }
     
+    @Override
+    public boolean supportSnapshotPage() {
+        return true;
+    }
+    
+    @Override
+    public DistroSnapshotPage getDatumSnapshotPage(String resourceType, String targetServer, String cursor,
+            int pageSize) {
+        Member member = memberManager.find(targetServer);
+        if (checkTargetServerStatusUnhealthy(member)) {
+            throw new DistroException(
+                    String.format("[DISTRO] Cancel get snapshot page caused by target server %s unhealthy",
+                            targetServer));
+        }
+        DistroSnapshotPageRequest request = new DistroSnapshotPageRequest(resourceType, cursor, pageSize);
+        try {
+            Response response = clusterRpcClientProxy.sendRequest(member, request);
+            if (checkResponse(response)) {
+                DistroSnapshotPageResponse pageResponse = (DistroSnapshotPageResponse) response;
+                return new DistroSnapshotPage(pageResponse.getDistroData(), pageResponse.getNextCursor());
+            } else {
+                throw new DistroException(
+                        String.format("[DISTRO-FAILED] Get snapshot page request to %s failed, code: %d, message: %s",
+                                targetServer, response.getErrorCode(), response.getMessage()));
+            }
+        } catch (NacosException e) {
+            throw new DistroException("[DISTRO-FAILED] Get distro snapshot page failed! ", e);
+        }
+    }
+    
     private boolean isNoExistTarget(String target) {
         return !memberManager.hasMember(target);
     }
@@ -237,6 +319,114 @@ public class DistroClientTransportAgent implements DistroTransportAgent {
         }
     }
     
+    private class DistroBatchCallbackWrapper implements RequestCallBack<Response> {
+        
+        private final List<DistroData> data;
+        
+        private final DistroBatchCallback distroCallback;
+        
+        private final Member member;
+        
+        private DistroBatchCallbackWrapper(List<DistroData> data, DistroBatchCallback distroCallback, Member member) {
+            this.data = data;
+            this.distroCallback = distroCallback;
+            this.member = member;
+        }
+        
+        @Override
+        public Executor getExecutor() {
+            return GlobalExecutor.getCallbackExecutor();
+        }
+        
+        @Override
+        public long getTimeout() {
+            return DistroConfig.getInstance().getSyncTimeoutMillis();
+        }
+        
+        @Override
+        public void onResponse(Response response) {
+            if (!checkResponse(response) || !(response instanceof DistroBatchDataResponse)) {
+                NamingTpsMonitor.distroSyncFail(member.getAddress(), member.getIp());
+                distroCallback.onFailed(null);
+                return;
+            }
+            List<DistroKey> failedKeys = new ArrayList<>();
+            for (Integer each : ((DistroBatchDataResponse) response).getFailedIndexes()) {
+                if (null != each && each >= 0 && each < data.size()) {
+                    failedKeys.add(data.get(each).getDistroKey());
+                }
+            }
+            if (failedKeys.isEmpty()) {
+                NamingTpsMonitor.distroSyncSuccess(member.getAddress(), member.getIp());
+            } else {
+                NamingTpsMonitor.distroSyncFail(member.getAddress(), member.getIp());
+            }
+            distroCallback.onComplete(failedKeys);
+        }
+        
+        @Override
+        public void onException(Throwable e) {
+            distroCallback.onFailed(e);
+        }
+    }
+    
+    private class DistroDigestCallbackWrapper implements RequestCallBack<Response> {
+        
+        private final DistroCallback distroCallback;
+        
+        private final Member member;
+        
+        private DistroDigestCallbackWrapper(DistroCallback distroCallback, Member member) {
+            this.distroCallback = distroCallback;
+            this.member = member;
+        }
+        
+        @Override
+        public Executor getExecutor() {
+            return GlobalExecutor.getCallbackExecutor();
+        }
+        
+        @Override
+        public long getTimeout() {
+            return DistroConfig.getInstance().getVerifyTimeoutMillis();
+        }
+        
+        @Override
+        public void onResponse(Response response) {
+            DistroData resultData = checkResponse(response) ? ((DistroDataResponse) response).getDistroData() : null;
+            if (null == resultData || null == resultData.getContent()) {
+                NamingTpsMonitor.distroVerifyFail(member.getAddress(), member.getIp());
+                distroCallback.onFailed(null);
+                return;
+            }
+            NamingTpsMonitor.distroVerifySuccess(member.getAddress(), member.getIp());
+            Serializer serializer = ApplicationUtils.getBean(Serializer.class);
+            DistroClientDigestResult result = serializer
+                    .deserialize(resultData.getContent(), DistroClientDigestResult.class);
+            for (String each : result.getMissingClients()) {
+                Loggers.DISTRO.info("Target {} verify client {} failed, sync new client", member.getAddress(), each);
+                NotifyCenter.publishEvent(new ClientEvent.ClientVerifyFailedEvent(each, member.getAddress()));
+            }
+            int bucketCount = DistroConfig.getInstance().getVerifyDigestBuckets();
+            if (result.getMismatchedBuckets().isEmpty() || null == digestVerifier || bucketCount <= 0) {
+                distroCallback.onSuccess();
+                return;
+            }
+            DistroClientDigestInfo detail = digestVerifier
+                    .buildDetail(EnvUtil.getLocalAddress(), bucketCount, result.getMismatchedBuckets());
+            DistroKey distroKey = new DistroKey(DistroClientDigestVerifier.DIGEST_DETAIL_KEY,
+                    resultData.getDistroKey().getResourceType());
+            DistroData detailData = new DistroData(distroKey, serializer.serialize(detail));
+            detailData.setType(DataOperation.VERIFY);
+            syncVerifyDigest(new DistroDataRequest(detailData, DataOperation.VERIFY), member, distroCallback);
+        }
+        
+        @Override
+        public void onException(Throwable e) {
+            distroCallback.onFailed(e);
+        }
+    }
+    
     private class DistroVerifyCallbackWrapper implements RequestCallBack<Response> {
         
         private final String targetServer;
@@ -244,7 +434,7 @@ public class DistroClientTransportAgent implements DistroTransportAgent {
         private final String clientId;
         
         private final DistroCallback distroCallback;
-    
+        
         private final Member member;
         
         private DistroVerifyCallbackWrapper(String targetServer, String clientId, DistroCallback distroCallback,
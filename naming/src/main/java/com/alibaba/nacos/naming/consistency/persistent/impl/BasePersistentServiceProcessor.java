@@ -40,6 +40,7 @@ import com.alibaba.nacos.naming.consistency.persistent.PersistentNotifier;
 import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.naming.misc.UtilsAndCommons;
 import com.alibaba.nacos.naming.pojo.Record;
+import com.alibaba.nacos.sys.env.EnvUtil;
 import com.alibaba.nacos.naming.constants.Constants;
 import com.google.protobuf.ByteString;
 import com.alibaba.nacos.common.utils.TypeUtils;
@@ -85,6 +86,8 @@ public abstract class BasePersistentServiceProcessor extends RequestProcessor4CP
     
     protected final KvStorage kvStorage;
     
+    protected final KvStorage.KvType kvType;
+    
     protected final Serializer serializer;
     
     /**
@@ -116,7 +119,9 @@ public abstract class BasePersistentServiceProcessor extends RequestProcessor4CP
     
     public BasePersistentServiceProcessor(final ClusterVersionJudgement judgement) throws Exception {
         this.versionJudgement = judgement;
-        this.kvStorage = new NamingKvStorage(Paths.get(UtilsAndCommons.DATA_BASE_DIR, "data").toString());
+        this.kvType = KvStorage.KvType
+                .valueOf(EnvUtil.getProperty(Constants.PERSISTENT_KV_STORAGE_TYPE, KvStorage.KvType.File.name()));
+        this.kvStorage = new NamingKvStorage(Paths.get(UtilsAndCommons.DATA_BASE_DIR, "data").toString(), kvType);
         this.serializer = SerializeFactory.getSerializer("JSON");
         this.notifier = new PersistentNotifier(key -> {
             try {
@@ -210,7 +215,7 @@ public abstract class BasePersistentServiceProcessor extends RequestProcessor4CP
     
     @Override
     public List<SnapshotOperation> loadSnapshotOperate() {
-        return Collections.singletonList(new NamingSnapshotOperation(this.kvStorage, lock));
+        return Collections.singletonList(new NamingSnapshotOperation(this.kvStorage, kvType, lock));
     }
     
     @Override
@@ -55,9 +55,16 @@ public class NamingKvStorage extends MemoryKvStorage {
     
     private final Map<String, KvStorage> namespaceKvStorage;
     
+    private final KvType kvType;
+    
     public NamingKvStorage(final String baseDir) throws Exception {
+        this(baseDir, KvType.File);
+    }
+    
+    public NamingKvStorage(final String baseDir, final KvType kvType) throws Exception {
         this.baseDir = baseDir;
-        this.baseDirStorage = StorageFactory.createKvStorage(KvStorage.KvType.File, LABEL, baseDir);
+        this.kvType = kvType;
+        this.baseDirStorage = StorageFactory.createKvStorage(kvType, LABEL, baseDir);
         this.namespaceKvStorage = new ConcurrentHashMap<>(16);
     }
     
@@ -142,6 +149,18 @@ public class NamingKvStorage extends MemoryKvStorage {
     @Override
     public void doSnapshot(String backupPath) throws KvStorageException {
         baseDirStorage.doSnapshot(backupPath);
+        // the snapshot of file storage contains the sub dirs of namespaces already.
+        if (KvType.File != kvType) {
+            for (String each : getAllNamespaceDirs(baseDir)) {
+                try {
+                    createActualStorageIfAbsent(each).doSnapshot(Paths.get(backupPath, each).toString());
+                } catch (KvStorageException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new KvStorageException(ErrorCode.KVStorageSnapshotSaveError, e);
+                }
+            }
+        }
     }
     
     @Override
@@ -149,6 +168,9 @@ public class NamingKvStorage extends MemoryKvStorage {
         TimerContext.start(LOAD_SNAPSHOT);
         try {
             baseDirStorage.snapshotLoad(path);
+            if (KvType.File != kvType) {
+                loadNamespaceStorageSnapshot(path);
+            }
             loadSnapshotFromActualStorage(baseDirStorage);
             loadNamespaceSnapshot();
         } finally {
@@ -163,8 +185,28 @@ public class NamingKvStorage extends MemoryKvStorage {
         }
     }
     
+    private void loadNamespaceStorageSnapshot(String path) throws KvStorageException {
+        List<String> namespacesInSnapshot = getAllNamespaceDirs(path);
+        try {
+            for (String each : namespacesInSnapshot) {
+                createActualStorageIfAbsent(each).snapshotLoad(Paths.get(path, each).toString());
+            }
+            // clear the namespaces not in snapshot.
+            for (String each : getAllNamespaceDirs(baseDir)) {
+                if (!namespacesInSnapshot.contains(each)) {
+                    KvStorage kvStorage = createActualStorageIfAbsent(each);
+                    kvStorage.batchDelete(kvStorage.allKeys());
+                }
+            }
+        } catch (KvStorageException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new KvStorageException(ErrorCode.KVStorageSnapshotLoadError, e);
+        }
+    }
+    
     private void loadNamespaceSnapshot() {
-        for (String each : getAllNamespaceDirs()) {
+        for (String each : getAllNamespaceDirs(baseDir)) {
             try {
                 KvStorage kvStorage = createActualStorageIfAbsent(each);
                 loadSnapshotFromActualStorage(kvStorage);
@@ -174,8 +216,8 @@ public class NamingKvStorage extends MemoryKvStorage {
         }
     }
     
-    private List<String> getAllNamespaceDirs() {
-        File[] files = new File(baseDir).listFiles();
+    private List<String> getAllNamespaceDirs(String dir) {
+        File[] files = new File(dir).listFiles();
         List<String> result = Collections.emptyList();
         if (null != files) {
             result = new ArrayList<>(files.length);
@@ -217,7 +259,7 @@ public class NamingKvStorage extends MemoryKvStorage {
         Function<String, KvStorage> kvStorageBuilder = key -> {
             try {
                 String namespacePath = Paths.get(baseDir, key).toString();
-                return StorageFactory.createKvStorage(KvType.File, LABEL, namespacePath);
+                return StorageFactory.createKvStorage(kvType, LABEL, namespacePath);
             } catch (Exception e) {
                 throw new NacosRuntimeException(NacosException.SERVER_ERROR, e);
             }
@@ -24,9 +24,21 @@ import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.sys.utils.DiskUtils;
 import com.alipay.sofa.jraft.util.CRC64;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.zip.Checksum;
 
 /**
@@ -47,9 +59,16 @@ public class NamingSnapshotOperation extends AbstractSnapshotOperation {
     
     private final KvStorage storage;
     
+    private final KvStorage.KvType kvType;
+    
     public NamingSnapshotOperation(KvStorage storage, ReentrantReadWriteLock lock) {
+        this(storage, KvStorage.KvType.File, lock);
+    }
+    
+    public NamingSnapshotOperation(KvStorage storage, KvStorage.KvType kvType, ReentrantReadWriteLock lock) {
         super(lock);
         this.storage = storage;
+        this.kvType = kvType;
     }
     
     @Override
@@ -60,6 +79,9 @@ public class NamingSnapshotOperation extends AbstractSnapshotOperation {
         DiskUtils.forceMkdir(parentPath);
         
         storage.doSnapshot(parentPath);
+        if (KvStorage.KvType.File != kvType) {
+            return addStorageFiles(writer, parentPath);
+        }
         final String outputFile = Paths.get(writePath, snapshotArchive).toString();
         final Checksum checksum = new CRC64();
         DiskUtils.compress(writePath, snapshotDir, outputFile, checksum);
@@ -70,8 +92,28 @@ public class NamingSnapshotOperation extends AbstractSnapshotOperation {
         return writer.addFile(snapshotArchive, meta);
     }
     
+    /**
+     * Add the files of storage snapshot, such as the segments of log storage, to the raft snapshot as they are.
+     *
+     * <p>The files are hard linked to the storage, so they are neither copied nor compressed again, and raft installs
+     * them to followers file by file.
+     */
+    private boolean addStorageFiles(Writer writer, String parentPath) throws IOException {
+        final Path writePath = Paths.get(writer.getPath());
+        boolean result = true;
+        for (Path each : listStorageFiles(Paths.get(parentPath))) {
+            final LocalFileMeta meta = new LocalFileMeta();
+            meta.append(CHECK_SUM_KEY, Long.toHexString(checksum(each)));
+            result &= writer.addFile(toFileName(writePath.relativize(each)), meta);
+        }
+        return result;
+    }
+    
     @Override
     protected boolean readSnapshot(Reader reader) throws Exception {
+        if (null == reader.getFileMeta(snapshotArchive)) {
+            return readStorageFiles(reader);
+        }
         final String readerPath = reader.getPath();
         final String sourceFile = Paths.get(readerPath, snapshotArchive).toString();
         final Checksum checksum = new CRC64();
@@ -89,6 +131,49 @@ public class NamingSnapshotOperation extends AbstractSnapshotOperation {
         return true;
     }
     
+    /**
+     * Load the storage files added by {@link #addStorageFiles(Writer, String)}, which are kept in the raft snapshot.
+     */
+    private boolean readStorageFiles(Reader reader) throws Exception {
+        final String prefix = snapshotDir + '/';
+        for (Map.Entry<String, LocalFileMeta> entry : reader.listFiles().entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                continue;
+            }
+            final String actual = Long.toHexString(checksum(Paths.get(reader.getPath(), entry.getKey())));
+            if (!Objects.equals(actual, entry.getValue().get(CHECK_SUM_KEY))) {
+                throw new IllegalArgumentException("Snapshot checksum failed, file " + entry.getKey());
+            }
+        }
+        final String loadPath = Paths.get(reader.getPath(), snapshotDir).toString();
+        storage.snapshotLoad(loadPath);
+        Loggers.RAFT.info("snapshot load from : {}", loadPath);
+        return true;
+    }
+    
+    private static List<Path> listStorageFiles(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.filter(Files::isRegularFile).collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+    
+    private static String toFileName(Path relativePath) {
+        return relativePath.toString().replace(File.separatorChar, '/');
+    }
+    
+    private static long checksum(Path file) throws IOException {
+        final Checksum checksum = new CRC64();
+        final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                checksum.update(buffer.array(), 0, buffer.limit());
+                buffer.clear();
+            }
+        }
+        return checksum.getValue();
+    }
+    
     @Override
     protected String getSnapshotSaveTag() {
         return NAMING_SNAPSHOT_SAVE;
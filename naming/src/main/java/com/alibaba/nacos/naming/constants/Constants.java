@@ -87,6 +87,12 @@ public final class Constants {
      */
     public static final String LOAD_DATA_RETRY_DELAY_MILLIS = "nacos.naming.clean.loadDataRetryDelayMillis";
     
+    /**
+     * Kv storage type of persistent data, File or Log, default: File. All nodes of the cluster should use the same
+     * type.
+     */
+    public static final String PERSISTENT_KV_STORAGE_TYPE = "nacos.naming.data.kvStorageType";
+    
     /**
      * UDP max retry times.
      */
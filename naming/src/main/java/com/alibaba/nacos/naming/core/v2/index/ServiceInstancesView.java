@@ -0,0 +1,196 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.core.v2.index;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.naming.core.v2.client.Client;
+import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
+import com.alibaba.nacos.naming.core.v2.metadata.InstanceMetadata;
+import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
+import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.utils.InstanceUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Incrementally materialized instances view of one service.
+ *
+ * <p>The view caches the parsed {@link Instance} of every publisher client and only re-parses one when its published
+ * info, healthy status or instance metadata changed. A new immutable snapshot and revision is only produced when at
+ * least one instance was added, changed or removed.
+ *
+ * @author Nacos
+ */
+class ServiceInstancesView {
+    
+    private final Service service;
+    
+    private final Map<String, InstanceEntry> entries;
+    
+    private volatile long revision;
+    
+    private volatile List<Instance> instances;
+    
+    private volatile Set<String> clusters;
+    
+    ServiceInstancesView(Service service) {
+        this.service = service;
+        this.entries = new HashMap<>();
+        this.revision = 0L;
+        this.instances = Collections.emptyList();
+        this.clusters = Collections.emptySet();
+    }
+    
+    /**
+     * Refresh view by current publisher clients of service.
+     *
+     * @param clientIds       publisher client ids of service
+     * @param clientManager   client manager to find published instance
+     * @param metadataManager metadata manager to find instance metadata
+     * @return {@code true} if a new snapshot is generated, otherwise {@code false}
+     */
+    synchronized boolean refresh(Collection<String> clientIds, ClientManager clientManager,
+            NamingMetadataManager metadataManager) {
+        boolean changed = 0L == revision;
+        int matched = 0;
+        for (String each : clientIds) {
+            InstancePublishInfo publishInfo = getInstanceInfo(each, clientManager);
+            if (null == publishInfo) {
+                continue;
+            }
+            matched++;
+            InstanceMetadata metadata = metadataManager.getInstanceMetadata(service, publishInfo.getMetadataId())
+                    .orElse(null);
+            InstanceEntry entry = entries.get(each);
+            if (null == entry || !entry.isUpToDate(publishInfo, metadata)) {
+                entries.put(each, new InstanceEntry(publishInfo, metadata, parseInstance(publishInfo, metadata)));
+                changed = true;
+            }
+        }
+        if (matched != entries.size()) {
+            changed |= removeStaleEntries(clientIds, clientManager);
+        }
+        if (changed) {
+            buildSnapshot();
+        }
+        return changed;
+    }
+    
+    private InstancePublishInfo getInstanceInfo(String clientId, ClientManager clientManager) {
+        Client client = clientManager.getClient(clientId);
+        return null == client ? null : client.getInstancePublishInfo(service);
+    }
+    
+    private Instance parseInstance(InstancePublishInfo publishInfo, InstanceMetadata metadata) {
+        Instance result = InstanceUtil.parseToApiInstance(service, publishInfo);
+        if (null != metadata) {
+            InstanceUtil.updateInstanceMetadata(result, metadata);
+        }
+        return result;
+    }
+    
+    private boolean removeStaleEntries(Collection<String> clientIds, ClientManager clientManager) {
+        boolean removed = false;
+        Iterator<Map.Entry<String, InstanceEntry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, InstanceEntry> entry = iterator.next();
+            if (!clientIds.contains(entry.getKey()) || null == getInstanceInfo(entry.getKey(), clientManager)) {
+                iterator.remove();
+                removed = true;
+            }
+        }
+        return removed;
+    }
+    
+    private void buildSnapshot() {
+        List<Instance> newInstances = new ArrayList<>(entries.size());
+        Set<String> newClusters = new HashSet<>();
+        Map<String, Instance> addresses = new HashMap<>(entries.size());
+        for (InstanceEntry each : entries.values()) {
+            Instance instance = each.getInstance();
+            Instance previous = addresses.putIfAbsent(each.getAddress(), instance);
+            // Same instance published by several clients, such as during reconnect, only return once.
+            if (null != previous && previous.equals(instance)) {
+                continue;
+            }
+            newInstances.add(instance);
+            newClusters.add(instance.getClusterName());
+        }
+        instances = Collections.unmodifiableList(newInstances);
+        clusters = Collections.unmodifiableSet(newClusters);
+        revision++;
+    }
+    
+    public long getRevision() {
+        return revision;
+    }
+    
+    public List<Instance> getInstances() {
+        return instances;
+    }
+    
+    public Set<String> getClusters() {
+        return clusters;
+    }
+    
+    private static class InstanceEntry {
+        
+        private final InstancePublishInfo publishInfo;
+        
+        private final boolean healthy;
+        
+        private final InstanceMetadata metadata;
+        
+        private final String address;
+        
+        private final Instance instance;
+        
+        private InstanceEntry(InstancePublishInfo publishInfo, InstanceMetadata metadata, Instance instance) {
+            this.publishInfo = publishInfo;
+            this.healthy = publishInfo.isHealthy();
+            this.metadata = metadata;
+            this.address = publishInfo.getMetadataId();
+            this.instance = instance;
+        }
+        
+        /**
+         * Published info is replaced when instance updated, healthy status is changed in place by health checker and
+         * instance metadata is replaced when updated by operator, so reference comparison is enough.
+         */
+        private boolean isUpToDate(InstancePublishInfo publishInfo, InstanceMetadata metadata) {
+            return this.publishInfo == publishInfo && this.healthy == publishInfo.isHealthy()
+                    && this.metadata == metadata;
+        }
+        
+        private String getAddress() {
+            return address;
+        }
+        
+        private Instance getInstance() {
+            return instance;
+        }
+    }
+}
@@ -16,24 +16,16 @@
 
 package com.alibaba.nacos.naming.core.v2.index;
 
-import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.naming.core.v2.ServiceManager;
-import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManagerDelegate;
-import com.alibaba.nacos.naming.core.v2.metadata.InstanceMetadata;
 import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
-import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.misc.SwitchDomain;
-import com.alibaba.nacos.naming.utils.InstanceUtil;
 import org.springframework.stereotype.Component;
 
 import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -41,6 +33,9 @@ import java.util.concurrent.ConcurrentMap;
 /**
  * Service storage.
  *
+ * <p>Instances of each service are materialized incrementally by {@link ServiceInstancesView}, push, query and
+ * {@link #getData(Service)} share the same immutable snapshot until one of the instances changed.
+ *
  * @author xiweng.yy
  */
 @Component
@@ -58,6 +53,8 @@ public class ServiceStorage {
     
     private final ConcurrentMap<Service, Set<String>> serviceClusterIndex;
     
+    private final ConcurrentMap<Service, ServiceInstancesView> serviceInstancesViews;
+    
     public ServiceStorage(ClientServiceIndexesManager serviceIndexesManager, ClientManagerDelegate clientManager,
             SwitchDomain switchDomain, NamingMetadataManager metadataManager) {
         this.serviceIndexesManager = serviceIndexesManager;
@@ -66,6 +63,7 @@ public class ServiceStorage {
         this.metadataManager = metadataManager;
         this.serviceDataIndexes = new ConcurrentHashMap<>();
         this.serviceClusterIndex = new ConcurrentHashMap<>();
+        this.serviceInstancesViews = new ConcurrentHashMap<>();
     }
     
     public Set<String> getClusters(Service service) {
@@ -76,17 +74,48 @@ public class ServiceStorage {
         return serviceDataIndexes.containsKey(service) ? serviceDataIndexes.get(service) : getPushData(service);
     }
     
+    /**
+     * Get the latest instances snapshot of service.
+     *
+     * <p>Only instances changed since last snapshot will be re-parsed. If nothing changed, the previous snapshot will
+     * be returned directly.
+     *
+     * @param service service
+     * @return latest service info snapshot
+     */
     public ServiceInfo getPushData(Service service) {
-        ServiceInfo result = emptyServiceInfo(service);
         if (!ServiceManager.getInstance().containSingleton(service)) {
+            return emptyServiceInfo(service);
+        }
+        ServiceInstancesView view = serviceInstancesViews.computeIfAbsent(service, ServiceInstancesView::new);
+        synchronized (view) {
+            ServiceInfo result = serviceDataIndexes.get(service);
+            boolean changed = view.refresh(serviceIndexesManager.getAllClientsRegisteredService(service),
+                    clientManager, metadataManager);
+            if (changed || null == result) {
+                result = emptyServiceInfo(service);
+                result.setHosts(view.getInstances());
+                // cache clusters of this service
+                serviceClusterIndex.put(service, view.getClusters());
+                serviceDataIndexes.put(service, result);
+            }
             return result;
         }
-        result.setHosts(getAllInstancesFromIndex(service));
-        serviceDataIndexes.put(service, result);
-        return result;
+    }
+    
+    /**
+     * Get revision of current instances snapshot of service, it will be increased when any instance changed.
+     *
+     * @param service service
+     * @return revision of snapshot, {@code 0} if no snapshot generated
+     */
+    public long getDataRevision(Service service) {
+        ServiceInstancesView view = serviceInstancesViews.get(service);
+        return null == view ? 0L : view.getRevision();
     }
     
     public void removeData(Service service) {
+        serviceInstancesViews.remove(service);
         serviceDataIndexes.remove(service);
         serviceClusterIndex.remove(service);
     }
@@ -99,36 +128,4 @@ public class ServiceStorage {
         result.setCacheMillis(switchDomain.getDefaultPushCacheMillis());
         return result;
     }
-    
-    private List<Instance> getAllInstancesFromIndex(Service service) {
-        Set<Instance> result = new HashSet<>();
-        Set<String> clusters = new HashSet<>();
-        for (String each : serviceIndexesManager.getAllClientsRegisteredService(service)) {
-            Optional<InstancePublishInfo> instancePublishInfo = getInstanceInfo(each, service);
-            if (instancePublishInfo.isPresent()) {
-                Instance instance = parseInstance(service, instancePublishInfo.get());
-                result.add(instance);
-                clusters.add(instance.getClusterName());
-            }
-        }
-        // cache clusters of this service
-        serviceClusterIndex.put(service, clusters);
-        return new LinkedList<>(result);
-    }
-    
-    private Optional<InstancePublishInfo> getInstanceInfo(String clientId, Service service) {
-        Client client = clientManager.getClient(clientId);
-        if (null == client) {
-            return Optional.empty();
-        }
-        return Optional.ofNullable(client.getInstancePublishInfo(service));
-    }
-    
-    private Instance parseInstance(Service service, InstancePublishInfo instanceInfo) {
-        Instance result = InstanceUtil.parseToApiInstance(service, instanceInfo);
-        Optional<InstanceMetadata> metadata = metadataManager
-                .getInstanceMetadata(service, instanceInfo.getMetadataId());
-        metadata.ifPresent(instanceMetadata -> InstanceUtil.updateInstanceMetadata(result, instanceMetadata));
-        return result;
-    }
 }
@@ -27,11 +27,13 @@ import com.alibaba.nacos.consistency.snapshot.SnapshotOperation;
 import com.alibaba.nacos.core.distributed.ProtocolManager;
 import com.alibaba.nacos.core.utils.Loggers;
 import com.alibaba.nacos.naming.core.v2.ServiceManager;
+import com.alibaba.nacos.naming.core.v2.event.metadata.MetadataEvent;
 import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.core.v2.upgrade.doublewrite.delay.DoubleWriteEventListener;
 import com.alibaba.nacos.naming.constants.Constants;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
+import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.common.utils.TypeUtils;
 import org.springframework.stereotype.Component;
 
@@ -177,6 +179,7 @@ public class ServiceMetadataProcessor extends RequestProcessor4CP {
             service = removed;
         }
         serviceStorage.removeData(service);
+        NotifyCenter.publishEvent(new MetadataEvent.ServiceMetadataEvent(service, true));
         doubleWriteMetadata(service, true);
     }
     
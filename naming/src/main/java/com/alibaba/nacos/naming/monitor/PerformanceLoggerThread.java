@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.naming.monitor;
 
+import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.core.distributed.distro.monitor.DistroRecord;
 import com.alibaba.nacos.core.distributed.distro.monitor.DistroRecordsHolder;
 import com.alibaba.nacos.naming.consistency.KeyBuilder;
@@ -24,6 +25,7 @@ import com.alibaba.nacos.naming.consistency.persistent.ClusterVersionJudgement;
 import com.alibaba.nacos.naming.consistency.persistent.raft.RaftCore;
 import com.alibaba.nacos.naming.consistency.persistent.raft.RaftPeer;
 import com.alibaba.nacos.naming.core.ServiceManager;
+import com.alibaba.nacos.naming.core.v2.event.publisher.NamingEventPublisherFactory;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
 import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.naming.misc.NamingExecuteTaskDispatcher;
@@ -124,6 +126,8 @@ public class PerformanceLoggerThread {
                                 avgPushCost, totalPushCount, failPushCount);
                 Loggers.PERFORMANCE_LOG
                         .info("Task worker status: \n" + NamingExecuteTaskDispatcher.getInstance().workersStatus());
+                Loggers.PERFORMANCE_LOG.info(NamingEventPublisherFactory.getInstance().getAllPublisherStatues());
+                Loggers.PERFORMANCE_LOG.info(NotifyCenter.getSubscriberDispatcher().getStatus());
                 printDistroMonitor();
                 logCount++;
                 MetricsMonitor.getTotalPushCountForAvg().set(0);
@@ -34,6 +34,7 @@ import com.alibaba.nacos.naming.push.v1.ServiceChangeEvent;
 import com.alibaba.nacos.naming.remote.udp.AckEntry;
 import com.alibaba.nacos.naming.remote.udp.AckPacket;
 import com.alibaba.nacos.naming.remote.udp.UdpConnector;
+import com.alibaba.nacos.naming.remote.udp.UdpPushData;
 import com.alibaba.nacos.naming.constants.Constants;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
 import org.apache.commons.collections.MapUtils;
@@ -195,10 +196,21 @@ public class UdpPushService implements ApplicationContextAware, ApplicationListe
      * @param serviceInfo service info
      */
     public void pushDataWithoutCallback(Subscriber subscriber, ServiceInfo serviceInfo) {
+        pushDataWithoutCallback(subscriber, serviceInfo, preparePushData(serviceInfo));
+    }
+    
+    /**
+     * Push prepared Data without callback.
+     *
+     * @param subscriber  subscriber
+     * @param serviceInfo service info
+     * @param pushData    prepared push data of service info, see {@link #preparePushData(ServiceInfo)}
+     */
+    public void pushDataWithoutCallback(Subscriber subscriber, ServiceInfo serviceInfo, UdpPushData pushData) {
         String serviceName = subscriber.getServiceName();
         try {
             Loggers.PUSH.info(serviceName + " is changed, add it to push queue.");
-            AckEntry ackEntry = prepareAckEntry(subscriber, serviceInfo);
+            AckEntry ackEntry = prepareAckEntry(subscriber, pushData);
             Loggers.PUSH.info("serviceName: {} changed, schedule push for: {}, agent: {}, key: {}", serviceInfo,
                     subscriber.getAddrStr(), subscriber.getAgent(), (ackEntry == null ? null : ackEntry.getKey()));
             udpConnector.sendData(ackEntry);
@@ -215,10 +227,23 @@ public class UdpPushService implements ApplicationContextAware, ApplicationListe
      * @param pushCallBack callback
      */
     public void pushDataWithCallback(Subscriber subscriber, ServiceInfo serviceInfo, PushCallBack pushCallBack) {
+        pushDataWithCallback(subscriber, serviceInfo, preparePushData(serviceInfo), pushCallBack);
+    }
+    
+    /**
+     * Push prepared Data with callback.
+     *
+     * @param subscriber   subscriber
+     * @param serviceInfo  service info
+     * @param pushData     prepared push data of service info, see {@link #preparePushData(ServiceInfo)}
+     * @param pushCallBack callback
+     */
+    public void pushDataWithCallback(Subscriber subscriber, ServiceInfo serviceInfo, UdpPushData pushData,
+            PushCallBack pushCallBack) {
         String serviceName = subscriber.getServiceName();
         try {
             Loggers.PUSH.info(serviceName + " is changed, add it to push queue.");
-            AckEntry ackEntry = prepareAckEntry(subscriber, serviceInfo);
+            AckEntry ackEntry = prepareAckEntry(subscriber, pushData);
             Loggers.PUSH.info("serviceName: {} changed, schedule push for: {}, agent: {}, key: {}", serviceInfo,
                     subscriber.getAddrStr(), subscriber.getAgent(), (ackEntry == null ? null : ackEntry.getKey()));
             udpConnector.sendDataWithCallback(ackEntry, pushCallBack);
@@ -227,10 +252,36 @@ public class UdpPushService implements ApplicationContextAware, ApplicationListe
         }
     }
     
-    private AckEntry prepareAckEntry(Subscriber subscriber, ServiceInfo serviceInfo) {
-        InetSocketAddress socketAddress = new InetSocketAddress(subscriber.getIp(), subscriber.getPort());
+    /**
+     * Prepare encoded and compressed push data of service info.
+     *
+     * <p>The result can be shared by all subscribers which should receive the same service info.
+     *
+     * @param serviceInfo service info
+     * @return prepared push data, {@code null} if prepare failed
+     */
+    public UdpPushData preparePushData(ServiceInfo serviceInfo) {
+        Map<String, Object> data = prepareHostsData(JacksonUtils.toJson(serviceInfo));
         long lastRefTime = System.nanoTime();
-        return prepareAckEntry(socketAddress, prepareHostsData(JacksonUtils.toJson(serviceInfo)), lastRefTime);
+        data.put("lastRefTime", lastRefTime);
+        String dataStr = JacksonUtils.toJson(data);
+        try {
+            byte[] dataBytes = compressIfNecessary(dataStr.getBytes(StandardCharsets.UTF_8));
+            return new UdpPushData(data, dataBytes, lastRefTime);
+        } catch (Exception e) {
+            Loggers.PUSH.error("[NACOS-PUSH] failed to compress data: {}, error: {}", data, e);
+            return null;
+        }
+    }
+    
+    private AckEntry prepareAckEntry(Subscriber subscriber, UdpPushData pushData) {
+        InetSocketAddress socketAddress = new InetSocketAddress(subscriber.getIp(), subscriber.getPort());
+        if (null == pushData) {
+            Loggers.PUSH.error("[NACOS-PUSH] pushing empty data for client is not allowed: {}", socketAddress);
+            return null;
+        }
+        return prepareAckEntry(socketAddress, pushData.getDataBytes(), pushData.getData(),
+                pushData.getLastRefTime());
     }
     
     private static AckEntry prepareAckEntry(PushClient client, Map<String, Object> data, long lastRefTime) {
@@ -0,0 +1,81 @@
+/*
+ * Copyright 1999-2021 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.push.v2;
+
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.common.utils.JacksonUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service info which is encoded to json only once.
+ *
+ * <p>When pushed to many subscribers, the push request of each subscriber writes the cached json directly instead of
+ * encoding the whole instance list again. The json is the same as encoding the original {@link ServiceInfo}, so it is
+ * transparent for clients.
+ *
+ * <p>Every encoded service info has an unique revision, which is the base of delta push, see {@link ServiceInfoDelta}.
+ *
+ * @author Nacos
+ */
+public class EncodedServiceInfo extends ServiceInfo implements JsonSerializable {
+    
+    private static final AtomicLong REVISION_GENERATOR = new AtomicLong();
+    
+    private final SerializedString encoded;
+    
+    private final long revision;
+    
+    public EncodedServiceInfo(ServiceInfo serviceInfo) {
+        setName(serviceInfo.getName());
+        setGroupName(serviceInfo.getGroupName());
+        setClusters(serviceInfo.getClusters());
+        setCacheMillis(serviceInfo.getCacheMillis());
+        setHosts(serviceInfo.getHosts());
+        setLastRefTime(serviceInfo.getLastRefTime());
+        setChecksum(serviceInfo.getChecksum());
+        setAllIPs(serviceInfo.isAllIPs());
+        setReachProtectionThreshold(serviceInfo.isReachProtectionThreshold());
+        this.encoded = new SerializedString(JacksonUtils.toJson(serviceInfo));
+        this.revision = REVISION_GENERATOR.incrementAndGet();
+    }
+    
+    public long getRevision() {
+        return revision;
+    }
+    
+    public String getEncoded() {
+        return encoded.getValue();
+    }
+    
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeRawValue(encoded);
+    }
+    
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+}
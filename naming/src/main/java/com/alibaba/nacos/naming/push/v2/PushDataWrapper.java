@@ -18,14 +18,20 @@ package com.alibaba.nacos.naming.push.v2;
 
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.naming.core.v2.metadata.ServiceMetadata;
+import com.alibaba.nacos.naming.pojo.Subscriber;
+import com.alibaba.nacos.naming.selector.NoneSelector;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Nacos push data wrapper.
  *
+ * <p>The wrapper is shared by all subscribers pushed with the same service info snapshot, so the data processed for one
+ * subscriber, such as the filtered and encoded service info, can be reused by other subscribers with same key.
+ *
  * @author xiweng.yy
  */
 public class PushDataWrapper {
@@ -39,7 +45,7 @@ public class PushDataWrapper {
     public PushDataWrapper(ServiceMetadata serviceMetadata, ServiceInfo originalData) {
         this.serviceMetadata = serviceMetadata;
         this.originalData = originalData;
-        processedDatum = new HashMap<>(1);
+        processedDatum = new ConcurrentHashMap<>(4);
     }
     
     public ServiceInfo getOriginalData() {
@@ -57,4 +63,39 @@ public class PushDataWrapper {
     public void addProcessedPushData(String key, Object processedData) {
         processedDatum.put(key, processedData);
     }
+    
+    /**
+     * Get processed push data by key, if absent, process and cache it.
+     *
+     * @param key       key of processed push data, see {@link #buildProcessedDataKey(String, Subscriber)}
+     * @param processor processor to generate processed push data
+     * @param <T>       type of processed push data
+     * @return processed push data
+     */
+    public <T> T getOrCreateProcessedPushData(String key, Function<String, T> processor) {
+        return (T) processedDatum.computeIfAbsent(key, processor);
+    }
+    
+    /**
+     * Build key of processed push data for subscriber.
+     *
+     * <p>Subscribers with same cluster get the same processed data. If the service has a selector which depends on
+     * subscriber, the ip of subscriber will be added into key.
+     *
+     * @param type       type of processed data, such as rpc or udp
+     * @param subscriber subscriber
+     * @return key of processed push data
+     */
+    public String buildProcessedDataKey(String type, Subscriber subscriber) {
+        StringBuilder result = new StringBuilder(type).append('#').append(subscriber.getCluster());
+        if (isSubscriberSensitive()) {
+            result.append('#').append(subscriber.getIp());
+        }
+        return result.toString();
+    }
+    
+    private boolean isSubscriberSensitive() {
+        return null != serviceMetadata && null != serviceMetadata.getSelector()
+                && !(serviceMetadata.getSelector() instanceof NoneSelector);
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 1999-2021 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.push.v2;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberDeltaRequest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Changed instances between two {@link EncodedServiceInfo} pushed to the same kind of subscribers.
+ *
+ * <p>The delta is only worth to push when the changed instances are less than the instances of target service info,
+ * otherwise full service info should be pushed.
+ *
+ * @author Nacos
+ */
+public class ServiceInfoDelta {
+    
+    private final ServiceInfo serviceInfo;
+    
+    private final long baseRevision;
+    
+    private final long revision;
+    
+    private final List<Instance> addedInstances;
+    
+    private final List<Instance> modifiedInstances;
+    
+    private final List<Instance> removedInstances;
+    
+    private final boolean worthPushing;
+    
+    private ServiceInfoDelta(EncodedServiceInfo base, EncodedServiceInfo target) {
+        this.serviceInfo = buildHeader(target);
+        this.baseRevision = base.getRevision();
+        this.revision = target.getRevision();
+        this.addedInstances = new ArrayList<>();
+        this.modifiedInstances = new ArrayList<>();
+        this.removedInstances = new ArrayList<>();
+        this.worthPushing = Objects.equals(base.getKey(), target.getKey()) && compare(base.getHosts(),
+                target.getHosts());
+    }
+    
+    /**
+     * Compute delta from base service info to target service info.
+     *
+     * @param base   service info acknowledged by subscriber
+     * @param target service info to push
+     * @return delta of service info
+     */
+    public static ServiceInfoDelta compute(EncodedServiceInfo base, EncodedServiceInfo target) {
+        return new ServiceInfoDelta(base, target);
+    }
+    
+    private ServiceInfo buildHeader(ServiceInfo target) {
+        ServiceInfo result = new ServiceInfo();
+        result.setName(target.getName());
+        result.setGroupName(target.getGroupName());
+        result.setClusters(target.getClusters());
+        result.setCacheMillis(target.getCacheMillis());
+        result.setLastRefTime(target.getLastRefTime());
+        result.setChecksum(target.getChecksum());
+        result.setAllIPs(target.isAllIPs());
+        result.setReachProtectionThreshold(target.isReachProtectionThreshold());
+        return result;
+    }
+    
+    private boolean compare(List<Instance> baseHosts, List<Instance> targetHosts) {
+        Map<String, Instance> baseInstances = toInstanceMap(baseHosts);
+        Map<String, Instance> targetInstances = toInstanceMap(targetHosts);
+        // Instances with duplicated key can't be identified by client.
+        if (null == baseInstances || null == targetInstances) {
+            return false;
+        }
+        for (Map.Entry<String, Instance> entry : targetInstances.entrySet()) {
+            Instance previous = baseInstances.remove(entry.getKey());
+            if (null == previous) {
+                addedInstances.add(entry.getValue());
+            } else if (previous != entry.getValue() && !previous.equals(entry.getValue())) {
+                modifiedInstances.add(entry.getValue());
+            }
+        }
+        removedInstances.addAll(baseInstances.values());
+        return addedInstances.size() + modifiedInstances.size() + removedInstances.size() < targetHosts.size();
+    }
+    
+    private Map<String, Instance> toInstanceMap(List<Instance> hosts) {
+        Map<String, Instance> result = new HashMap<>(hosts.size());
+        for (Instance each : hosts) {
+            if (null != result.put(NotifySubscriberDeltaRequest.getInstanceKey(each), each)) {
+                return null;
+            }
+        }
+        return result;
+    }
+    
+    public boolean isWorthPushing() {
+        return worthPushing;
+    }
+    
+    /**
+     * Build delta push request, request can't be shared because each request will be set a different request id.
+     *
+     * @return delta push request
+     */
+    public NotifySubscriberDeltaRequest buildRequest() {
+        NotifySubscriberDeltaRequest result = new NotifySubscriberDeltaRequest(serviceInfo, baseRevision, revision);
+        result.setAddedInstances(addedInstances);
+        result.setModifiedInstances(modifiedInstances);
+        result.setRemovedInstances(removedInstances);
+        return result;
+    }
+}
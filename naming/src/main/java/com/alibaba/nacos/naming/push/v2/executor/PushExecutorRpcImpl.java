@@ -16,28 +16,70 @@
 
 package com.alibaba.nacos.naming.push.v2.executor;
 
-import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.ability.ClientAbilities;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.NamingResponseCode;
 import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.api.remote.PushCallBack;
+import com.alibaba.nacos.common.notify.Event;
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.common.notify.listener.SmartSubscriber;
+import com.alibaba.nacos.core.remote.ClientConnectionEventListener;
+import com.alibaba.nacos.core.remote.Connection;
+import com.alibaba.nacos.core.remote.ConnectionManager;
 import com.alibaba.nacos.core.remote.RpcPushService;
+import com.alibaba.nacos.naming.core.v2.event.client.ClientOperationEvent;
+import com.alibaba.nacos.naming.core.v2.event.metadata.MetadataEvent;
+import com.alibaba.nacos.naming.core.v2.event.publisher.NamingEventPublisherFactory;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
+import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.naming.pojo.Subscriber;
+import com.alibaba.nacos.naming.push.v2.EncodedServiceInfo;
 import com.alibaba.nacos.naming.push.v2.PushDataWrapper;
+import com.alibaba.nacos.naming.push.v2.ServiceInfoDelta;
 import com.alibaba.nacos.naming.utils.ServiceUtil;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * Push execute service for rpc.
  *
+ * <p>For clients which support delta push, the service info acknowledged by each client is recorded, and only the
+ * changed instances are pushed next time. If the client can't apply the delta, full service info will be pushed. The
+ * records are removed when the client unsubscribes the service, the service is removed or the client disconnects.
+ *
  * @author xiweng.yy
  */
 @Component
-public class PushExecutorRpcImpl implements PushExecutor {
+public class PushExecutorRpcImpl extends ClientConnectionEventListener implements PushExecutor {
+    
+    private static final String PROCESSED_DATA_TYPE = "rpc";
+    
+    private static final String PROCESSED_DELTA_TYPE = "rpc-delta";
     
     private final RpcPushService pushService;
     
-    public PushExecutorRpcImpl(RpcPushService pushService) {
+    private final ConnectionManager connectionManager;
+    
+    /**
+     * Service info acknowledged by clients, client id -> namespace and service name of subscriber -> service info.
+     */
+    private final ConcurrentMap<String, Map<String, EncodedServiceInfo>> ackedServiceInfos;
+    
+    private final AckedServiceInfoCleaner ackedServiceInfoCleaner;
+    
+    public PushExecutorRpcImpl(RpcPushService pushService, ConnectionManager connectionManager) {
         this.pushService = pushService;
+        this.connectionManager = connectionManager;
+        this.ackedServiceInfos = new ConcurrentHashMap<>();
+        this.ackedServiceInfoCleaner = new AckedServiceInfoCleaner();
+        NotifyCenter.registerSubscriber(ackedServiceInfoCleaner, NamingEventPublisherFactory.getInstance());
     }
     
     @Override
@@ -47,11 +89,175 @@ public class PushExecutorRpcImpl implements PushExecutor {
     
     @Override
     public void doPushWithCallback(String clientId, Subscriber subscriber, PushDataWrapper data, PushCallBack callBack) {
-        pushService.pushWithCallback(clientId, NotifySubscriberRequest.buildSuccessResponse(getServiceInfo(data, subscriber)),
-                callBack, GlobalExecutor.getCallbackExecutor());
+        EncodedServiceInfo serviceInfo = getServiceInfo(data, subscriber);
+        if (!isSupportDeltaPush(clientId)) {
+            pushService.pushWithCallback(clientId, NotifySubscriberRequest.buildSuccessResponse(serviceInfo), callBack,
+                    GlobalExecutor.getCallbackExecutor());
+            return;
+        }
+        String subscribeKey = buildSubscribeKey(subscriber.getNamespaceId(), subscriber.getServiceName());
+        EncodedServiceInfo acked = getAckedServiceInfo(clientId, subscribeKey);
+        ServiceInfoDelta delta = null == acked ? null : getDelta(data, subscriber, acked, serviceInfo);
+        if (null != delta && delta.isWorthPushing()) {
+            pushService.pushWithCallback(clientId, delta.buildRequest(),
+                    new AckRecordPushCallBack(clientId, subscribeKey, serviceInfo, callBack, true),
+                    GlobalExecutor.getCallbackExecutor());
+        } else {
+            doFullPushWithRevision(clientId, subscribeKey, serviceInfo, callBack);
+        }
+    }
+    
+    private void doFullPushWithRevision(String clientId, String subscribeKey, EncodedServiceInfo serviceInfo,
+            PushCallBack callBack) {
+        NotifySubscriberRequest request = NotifySubscriberRequest.buildSuccessResponse(serviceInfo);
+        request.setRevision(serviceInfo.getRevision());
+        pushService.pushWithCallback(clientId, request,
+                new AckRecordPushCallBack(clientId, subscribeKey, serviceInfo, callBack, false),
+                GlobalExecutor.getCallbackExecutor());
+    }
+    
+    /**
+     * Subscribers with same selected result share one {@link EncodedServiceInfo}, so the instances are only filtered
+     * and encoded once for each push.
+     */
+    private EncodedServiceInfo getServiceInfo(PushDataWrapper data, Subscriber subscriber) {
+        return data.getOrCreateProcessedPushData(data.buildProcessedDataKey(PROCESSED_DATA_TYPE, subscriber),
+                key -> new EncodedServiceInfo(ServiceUtil
+                        .selectInstancesWithHealthyProtection(data.getOriginalData(), data.getServiceMetadata(), false,
+                                true, subscriber)));
+    }
+    
+    /**
+     * Subscribers with same selected result and same acknowledged service info share one {@link ServiceInfoDelta}.
+     */
+    private ServiceInfoDelta getDelta(PushDataWrapper data, Subscriber subscriber, EncodedServiceInfo acked,
+            EncodedServiceInfo serviceInfo) {
+        String key = data.buildProcessedDataKey(PROCESSED_DELTA_TYPE, subscriber) + "#" + acked.getRevision();
+        return data.getOrCreateProcessedPushData(key, k -> ServiceInfoDelta.compute(acked, serviceInfo));
+    }
+    
+    private String buildSubscribeKey(String namespaceId, String groupedServiceName) {
+        return namespaceId + "#" + groupedServiceName;
+    }
+    
+    private boolean isSupportDeltaPush(String clientId) {
+        Connection connection = connectionManager.getConnection(clientId);
+        if (null == connection) {
+            return false;
+        }
+        ClientAbilities abilities = connection.getAbilities();
+        return null != abilities && null != abilities.getNamingAbility() && abilities.getNamingAbility()
+                .isSupportDeltaPush();
+    }
+    
+    private EncodedServiceInfo getAckedServiceInfo(String clientId, String subscribeKey) {
+        Map<String, EncodedServiceInfo> acked = ackedServiceInfos.get(clientId);
+        return null == acked ? null : acked.get(subscribeKey);
+    }
+    
+    private void recordAckedServiceInfo(String clientId, String subscribeKey, EncodedServiceInfo serviceInfo) {
+        if (null == connectionManager.getConnection(clientId)) {
+            return;
+        }
+        ackedServiceInfos.compute(clientId, (key, acked) -> {
+            Map<String, EncodedServiceInfo> result = null == acked ? new ConcurrentHashMap<>(4) : acked;
+            result.put(subscribeKey, serviceInfo);
+            return result;
+        });
+    }
+    
+    private void removeAckedServiceInfo(String clientId, String subscribeKey) {
+        ackedServiceInfos.computeIfPresent(clientId, (key, acked) -> {
+            acked.remove(subscribeKey);
+            return acked.isEmpty() ? null : acked;
+        });
+    }
+    
+    private void removeAckedServiceInfo(String subscribeKey) {
+        for (String each : ackedServiceInfos.keySet()) {
+            removeAckedServiceInfo(each, subscribeKey);
+        }
+    }
+    
+    @Override
+    public void clientConnected(Connection connect) {
+    }
+    
+    @Override
+    public void clientDisConnected(Connection connect) {
+        ackedServiceInfos.remove(connect.getMetaInfo().getConnectionId());
+    }
+    
+    /**
+     * Remove the acknowledged service info which will not be used as base of delta any more.
+     */
+    private class AckedServiceInfoCleaner extends SmartSubscriber {
+        
+        @Override
+        public List<Class<? extends Event>> subscribeTypes() {
+            List<Class<? extends Event>> result = new LinkedList<>();
+            result.add(ClientOperationEvent.ClientUnsubscribeServiceEvent.class);
+            result.add(MetadataEvent.ServiceMetadataEvent.class);
+            return result;
+        }
+        
+        @Override
+        public void onEvent(Event event) {
+            if (event instanceof ClientOperationEvent.ClientUnsubscribeServiceEvent) {
+                ClientOperationEvent operationEvent = (ClientOperationEvent) event;
+                Service service = operationEvent.getService();
+                removeAckedServiceInfo(operationEvent.getClientId(),
+                        buildSubscribeKey(service.getNamespace(), service.getGroupedServiceName()));
+            } else if (((MetadataEvent.ServiceMetadataEvent) event).isExpired()) {
+                Service service = ((MetadataEvent.ServiceMetadataEvent) event).getService();
+                removeAckedServiceInfo(buildSubscribeKey(service.getNamespace(), service.getGroupedServiceName()));
+            }
+        }
     }
     
-    private ServiceInfo getServiceInfo(PushDataWrapper data, Subscriber subscriber) {
-        return ServiceUtil.selectInstancesWithHealthyProtection(data.getOriginalData(), data.getServiceMetadata(), false, true, subscriber);
+    private class AckRecordPushCallBack implements PushCallBack {
+        
+        private final String clientId;
+        
+        private final String subscribeKey;
+        
+        private final EncodedServiceInfo serviceInfo;
+        
+        private final PushCallBack delegate;
+        
+        private final boolean deltaPush;
+        
+        private AckRecordPushCallBack(String clientId, String subscribeKey, EncodedServiceInfo serviceInfo,
+                PushCallBack delegate, boolean deltaPush) {
+            this.clientId = clientId;
+            this.subscribeKey = subscribeKey;
+            this.serviceInfo = serviceInfo;
+            this.delegate = delegate;
+            this.deltaPush = deltaPush;
+        }
+        
+        @Override
+        public long getTimeout() {
+            return delegate.getTimeout();
+        }
+        
+        @Override
+        public void onSuccess() {
+            recordAckedServiceInfo(clientId, subscribeKey, serviceInfo);
+            delegate.onSuccess();
+        }
+        
+        @Override
+        public void onFail(Throwable e) {
+            removeAckedServiceInfo(clientId, subscribeKey);
+            if (deltaPush && e instanceof NacosException
+                    && NamingResponseCode.PUSH_DELTA_BASE_MISMATCH == ((NacosException) e).getErrCode()) {
+                Loggers.PUSH.info("[PUSH-DELTA] base mismatch for {}, {}, fall back to full push", clientId,
+                        subscribeKey);
+                doFullPushWithRevision(clientId, subscribeKey, serviceInfo, delegate);
+                return;
+            }
+            delegate.onFail(e);
+        }
     }
 }
@@ -20,9 +20,11 @@ import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.api.naming.utils.NamingUtils;
 import com.alibaba.nacos.api.remote.PushCallBack;
 import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.naming.constants.Constants;
 import com.alibaba.nacos.naming.pojo.Subscriber;
 import com.alibaba.nacos.naming.push.UdpPushService;
 import com.alibaba.nacos.naming.push.v2.PushDataWrapper;
+import com.alibaba.nacos.naming.remote.udp.UdpPushData;
 import com.alibaba.nacos.naming.utils.ServiceUtil;
 import org.springframework.stereotype.Component;
 
@@ -34,6 +36,8 @@ import org.springframework.stereotype.Component;
 @Component
 public class PushExecutorUdpImpl implements PushExecutor {
     
+    private static final String PROCESSED_DATA_TYPE = "udp";
+    
     private final UdpPushService pushService;
     
     public PushExecutorUdpImpl(UdpPushService pushService) {
@@ -42,12 +46,33 @@ public class PushExecutorUdpImpl implements PushExecutor {
     
     @Override
     public void doPush(String clientId, Subscriber subscriber, PushDataWrapper data) {
-        pushService.pushDataWithoutCallback(subscriber, handleClusterData(replaceServiceInfoName(data, subscriber), subscriber));
+        ProcessedUdpData processedData = getProcessedData(data, subscriber);
+        pushService.pushDataWithoutCallback(subscriber, processedData.serviceInfo, processedData.pushData);
     }
     
     @Override
     public void doPushWithCallback(String clientId, Subscriber subscriber, PushDataWrapper data, PushCallBack callBack) {
-        pushService.pushDataWithCallback(subscriber, handleClusterData(replaceServiceInfoName(data, subscriber), subscriber), callBack);
+        ProcessedUdpData processedData = getProcessedData(data, subscriber);
+        pushService.pushDataWithCallback(subscriber, processedData.serviceInfo, processedData.pushData, callBack);
+    }
+    
+    /**
+     * Subscribers with same selected result share the encoded and compressed udp data. The shared data will be
+     * regenerated if it is too old, otherwise the ack of it will be regarded as timeout.
+     */
+    private ProcessedUdpData getProcessedData(PushDataWrapper data, Subscriber subscriber) {
+        String key = data.buildProcessedDataKey(PROCESSED_DATA_TYPE, subscriber);
+        ProcessedUdpData result = data.getOrCreateProcessedPushData(key, k -> processData(data, subscriber));
+        if (null != result.pushData && result.pushData.isExpired(Constants.ACK_TIMEOUT_NANOS / 2)) {
+            result = processData(data, subscriber);
+            data.addProcessedPushData(key, result);
+        }
+        return result;
+    }
+    
+    private ProcessedUdpData processData(PushDataWrapper data, Subscriber subscriber) {
+        ServiceInfo serviceInfo = handleClusterData(replaceServiceInfoName(data, subscriber), subscriber);
+        return new ProcessedUdpData(serviceInfo, pushService.preparePushData(serviceInfo));
     }
     
     /**
@@ -88,4 +113,16 @@ public class PushExecutorUdpImpl implements PushExecutor {
         return StringUtils.isBlank(subscriber.getCluster()) ? data
                 : ServiceUtil.selectInstances(data, subscriber.getCluster());
     }
+    
+    private static class ProcessedUdpData {
+        
+        private final ServiceInfo serviceInfo;
+        
+        private final UdpPushData pushData;
+        
+        private ProcessedUdpData(ServiceInfo serviceInfo, UdpPushData pushData) {
+            this.serviceInfo = serviceInfo;
+            this.pushData = pushData;
+        }
+    }
 }
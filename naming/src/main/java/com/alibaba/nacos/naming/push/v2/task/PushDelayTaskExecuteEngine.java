@@ -16,19 +16,27 @@
 
 package com.alibaba.nacos.naming.push.v2.task;
 
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.common.task.NacosTask;
 import com.alibaba.nacos.common.task.NacosTaskProcessor;
 import com.alibaba.nacos.common.task.engine.NacosDelayTaskExecuteEngine;
+import com.alibaba.nacos.naming.core.v2.ServiceManager;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
 import com.alibaba.nacos.naming.core.v2.index.ClientServiceIndexesManager;
 import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
 import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
+import com.alibaba.nacos.naming.core.v2.metadata.ServiceMetadata;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.naming.misc.NamingExecuteTaskDispatcher;
 import com.alibaba.nacos.naming.misc.SwitchDomain;
+import com.alibaba.nacos.naming.push.v2.PushDataWrapper;
 import com.alibaba.nacos.naming.push.v2.executor.PushExecutor;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Nacos naming push delay task execute engine.
  *
@@ -36,6 +44,8 @@ import com.alibaba.nacos.naming.push.v2.executor.PushExecutor;
  */
 public class PushDelayTaskExecuteEngine extends NacosDelayTaskExecuteEngine {
     
+    private static final long PUSH_DATA_CLEAN_INTERVAL = TimeUnit.MINUTES.toMillis(1L);
+    
     private final ClientManager clientManager;
     
     private final ClientServiceIndexesManager indexesManager;
@@ -48,6 +58,10 @@ public class PushDelayTaskExecuteEngine extends NacosDelayTaskExecuteEngine {
     
     private final SwitchDomain switchDomain;
     
+    private final ConcurrentMap<Service, PushDataWrapper> pushDataCache;
+    
+    private long lastPushDataCleanTime;
+    
     public PushDelayTaskExecuteEngine(ClientManager clientManager, ClientServiceIndexesManager indexesManager,
                                       ServiceStorage serviceStorage, NamingMetadataManager metadataManager,
                                       PushExecutor pushExecutor, SwitchDomain switchDomain) {
@@ -58,6 +72,8 @@ public class PushDelayTaskExecuteEngine extends NacosDelayTaskExecuteEngine {
         this.metadataManager = metadataManager;
         this.pushExecutor = pushExecutor;
         this.switchDomain = switchDomain;
+        this.pushDataCache = new ConcurrentHashMap<>();
+        this.lastPushDataCleanTime = System.currentTimeMillis();
         setDefaultTaskProcessor(new PushDelayTaskProcessor(this));
     }
     
@@ -81,14 +97,50 @@ public class PushDelayTaskExecuteEngine extends NacosDelayTaskExecuteEngine {
         return pushExecutor;
     }
     
+    /**
+     * Get push data of service.
+     *
+     * <p>The push data is reused by push tasks until the instances snapshot or the metadata of service changed, so the
+     * data processed and encoded for subscribers can be shared by all pushes of the same revision.
+     *
+     * @param service service
+     * @return push data
+     */
+    public PushDataWrapper getPushData(Service service) {
+        ServiceInfo serviceInfo = serviceStorage.getPushData(service);
+        ServiceMetadata serviceMetadata = metadataManager.getServiceMetadata(service).orElse(null);
+        PushDataWrapper cached = pushDataCache.get(service);
+        if (null != cached && cached.getOriginalData() == serviceInfo
+                && cached.getServiceMetadata() == serviceMetadata) {
+            return cached;
+        }
+        PushDataWrapper result = new PushDataWrapper(serviceMetadata, serviceInfo);
+        if (ServiceManager.getInstance().containSingleton(service)) {
+            pushDataCache.put(service, result);
+        } else {
+            pushDataCache.remove(service);
+        }
+        return result;
+    }
+    
     @Override
     protected void processTasks() {
+        cleanExpiredPushData();
         if (!switchDomain.isPushEnabled()) {
             return;
         }
         super.processTasks();
     }
     
+    private void cleanExpiredPushData() {
+        long currentTime = System.currentTimeMillis();
+        if (currentTime - lastPushDataCleanTime < PUSH_DATA_CLEAN_INTERVAL) {
+            return;
+        }
+        lastPushDataCleanTime = currentTime;
+        pushDataCache.keySet().removeIf(each -> !ServiceManager.getInstance().containSingleton(each));
+    }
+    
     private static class PushDelayTaskProcessor implements NacosTaskProcessor {
         
         private final PushDelayTaskExecuteEngine executeEngine;
@@ -73,9 +73,7 @@ public class PushExecuteTask extends AbstractExecuteTask {
     }
     
     private PushDataWrapper generatePushData() {
-        ServiceInfo serviceInfo = delayTaskEngine.getServiceStorage().getPushData(service);
-        ServiceMetadata serviceMetadata = delayTaskEngine.getMetadataManager().getServiceMetadata(service).orElse(null);
-        return new PushDataWrapper(serviceMetadata, serviceInfo);
+        return delayTaskEngine.getPushData(service);
     }
     
     private Collection<String> getTargetClientIds() {
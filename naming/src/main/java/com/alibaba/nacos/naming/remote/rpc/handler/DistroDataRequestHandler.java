@@ -26,6 +26,7 @@ import com.alibaba.nacos.core.remote.RequestHandler;
 import com.alibaba.nacos.naming.cluster.remote.request.DistroDataRequest;
 import com.alibaba.nacos.naming.cluster.remote.response.DistroDataResponse;
 import com.alibaba.nacos.naming.consistency.ephemeral.distro.v2.DistroClientDataProcessor;
+import com.alibaba.nacos.naming.consistency.ephemeral.distro.v2.DistroClientDigestVerifier;
 import com.alibaba.nacos.naming.misc.Loggers;
 import org.springframework.stereotype.Component;
 
@@ -70,6 +71,9 @@ public class DistroDataRequestHandler extends RequestHandler<DistroDataRequest,
     }
     
     private DistroDataResponse handleVerify(DistroData distroData, RequestMeta meta) {
+        if (DistroClientDigestVerifier.isDigestKey(distroData.getDistroKey())) {
+            return handleVerifyDigest(distroData, meta);
+        }
         DistroDataResponse result = new DistroDataResponse();
         if (!distroProtocol.onVerify(distroData, meta.getClientIp())) {
             result.setErrorInfo(ResponseCode.FAIL.getCode(), "[DISTRO-FAILED] distro data verify failed");
@@ -77,6 +81,16 @@ public class DistroDataRequestHandler extends RequestHandler<DistroDataRequest,
         return result;
     }
     
+    private DistroDataResponse handleVerifyDigest(DistroData distroData, RequestMeta meta) {
+        DistroDataResponse result = new DistroDataResponse();
+        DistroData verifyResult = distroProtocol.onVerifyDigest(distroData, meta.getClientIp());
+        if (null == verifyResult) {
+            result.setErrorInfo(ResponseCode.FAIL.getCode(), "[DISTRO-FAILED] distro data verify digest failed");
+        }
+        result.setDistroData(verifyResult);
+        return result;
+    }
+    
     private DistroDataResponse handleSnapshot() {
         DistroDataResponse result = new DistroDataResponse();
         DistroData distroData = distroProtocol.onSnapshot(DistroClientDataProcessor.TYPE);
@@ -0,0 +1,76 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.naming.remote.rpc.handler;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.remote.request.RequestMeta;
+import com.alibaba.nacos.api.remote.response.ResponseCode;
+import com.alibaba.nacos.core.distributed.distro.DistroConfig;
+import com.alibaba.nacos.core.distributed.distro.DistroProtocol;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroSnapshotPage;
+import com.alibaba.nacos.core.remote.RequestHandler;
+import com.alibaba.nacos.naming.cluster.remote.request.DistroSnapshotPageRequest;
+import com.alibaba.nacos.naming.cluster.remote.response.DistroSnapshotPageResponse;
+import com.alibaba.nacos.naming.misc.Loggers;
+import org.springframework.stereotype.Component;
+
+/**
+ * Distro snapshot page request handler.
+ *
+ * <p>Page size less than or equal to 0 is rejected, and larger than {@link DistroConfig#getLoadDataMaxPageSize()} is
+ * reduced to it, so one request can't make this member serialize the whole snapshot.
+ *
+ * @author Nacos
+ */
+@Component
+public class DistroSnapshotPageRequestHandler
+        extends RequestHandler<DistroSnapshotPageRequest, DistroSnapshotPageResponse> {
+    
+    private final DistroProtocol distroProtocol;
+    
+    public DistroSnapshotPageRequestHandler(DistroProtocol distroProtocol) {
+        this.distroProtocol = distroProtocol;
+    }
+    
+    @Override
+    public DistroSnapshotPageResponse handle(DistroSnapshotPageRequest request, RequestMeta meta)
+            throws NacosException {
+        DistroSnapshotPageResponse result = new DistroSnapshotPageResponse();
+        if (request.getPageSize() <= 0) {
+            result.setErrorInfo(ResponseCode.FAIL.getCode(),
+                    "[DISTRO-FAILED] invalid snapshot page size " + request.getPageSize());
+            return result;
+        }
+        int maxPageSize = Math.max(1, DistroConfig.getInstance().getLoadDataMaxPageSize());
+        int pageSize = Math.min(request.getPageSize(), maxPageSize);
+        try {
+            DistroSnapshotPage page = distroProtocol
+                    .onSnapshotPage(request.getResourceType(), request.getCursor(), pageSize);
+            if (null == page) {
+                result.setErrorInfo(ResponseCode.FAIL.getCode(), "[DISTRO-FAILED] snapshot page is not supported");
+                return result;
+            }
+            result.setDistroData(page.getDistroData());
+            result.setNextCursor(page.getNextCursor());
+        } catch (Exception e) {
+            Loggers.DISTRO.error("[DISTRO-FAILED] distro handle snapshot page with exception", e);
+            result.setErrorInfo(ResponseCode.FAIL.getCode(), "handle distro snapshot page request with exception");
+        }
+        return result;
+    }
+}
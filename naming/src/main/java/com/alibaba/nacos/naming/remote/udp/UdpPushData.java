@@ -0,0 +1,64 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.remote.udp;
+
+import java.util.Map;
+
+/**
+ * Encoded udp push data which can be shared by subscribers with the same pushed content.
+ *
+ * <p>The ack key of each push is built by subscriber address and {@code lastRefTime}, so subscribers with different
+ * address can share the same {@code lastRefTime} and the same (compressed) bytes.
+ *
+ * @author Nacos
+ */
+public class UdpPushData {
+    
+    private final Map<String, Object> data;
+    
+    private final byte[] dataBytes;
+    
+    private final long lastRefTime;
+    
+    public UdpPushData(Map<String, Object> data, byte[] dataBytes, long lastRefTime) {
+        this.data = data;
+        this.dataBytes = dataBytes;
+        this.lastRefTime = lastRefTime;
+    }
+    
+    public Map<String, Object> getData() {
+        return data;
+    }
+    
+    public byte[] getDataBytes() {
+        return dataBytes;
+    }
+    
+    public long getLastRefTime() {
+        return lastRefTime;
+    }
+    
+    /**
+     * Whether this data is too old to be reused, ack of too old data will be regarded as timeout.
+     *
+     * @param timeoutNanos timeout of nanoseconds
+     * @return {@code true} if older than timeout
+     */
+    public boolean isExpired(long timeoutNanos) {
+        return System.nanoTime() - lastRefTime > timeoutNanos;
+    }
+}
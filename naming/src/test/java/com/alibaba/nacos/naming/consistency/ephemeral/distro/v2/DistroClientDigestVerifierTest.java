@@ -0,0 +1,175 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.naming.consistency.ephemeral.distro.v2;
+
+import com.alibaba.nacos.naming.core.v2.client.Client;
+import com.alibaba.nacos.naming.core.v2.client.ClientAttributes;
+import com.alibaba.nacos.naming.core.v2.client.impl.ConnectionBasedClient;
+import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DistroClientDigestVerifierTest {
+    
+    private static final String SOURCE = "1.1.1.1:8848";
+    
+    private static final int BUCKETS = 16;
+    
+    private MockClientManager sourceClientManager;
+    
+    private MockClientManager targetClientManager;
+    
+    private DistroClientDigestVerifier sourceVerifier;
+    
+    private DistroClientDigestVerifier targetVerifier;
+    
+    @Before
+    public void setUp() {
+        sourceClientManager = new MockClientManager();
+        targetClientManager = new MockClientManager();
+        for (int i = 0; i < 100; i++) {
+            String clientId = "connection-" + i;
+            sourceClientManager.clientConnected(new ConnectionBasedClient(clientId, true));
+            targetClientManager.clientConnected(new ConnectionBasedClient(clientId, false));
+        }
+        sourceVerifier = new DistroClientDigestVerifier(sourceClientManager);
+        targetVerifier = new DistroClientDigestVerifier(targetClientManager);
+    }
+    
+    @Test
+    public void testDigestMatchedAfterDetail() {
+        DistroClientDigestResult result = targetVerifier.verify(sourceVerifier.buildDigest(SOURCE, BUCKETS));
+        assertTrue(result.getMismatchedBuckets().size() > 0);
+        DistroClientDigestInfo detail = sourceVerifier.buildDetail(SOURCE, BUCKETS, result.getMismatchedBuckets());
+        DistroClientDigestResult detailResult = targetVerifier.verify(detail);
+        assertTrue(detailResult.getMissingClients().isEmpty());
+        assertEquals(100, targetClientManager.verifiedClients.size());
+        targetClientManager.verifiedClients.clear();
+        result = targetVerifier.verify(sourceVerifier.buildDigest(SOURCE, BUCKETS));
+        assertTrue(result.getMismatchedBuckets().isEmpty());
+        assertEquals(100, targetClientManager.verifiedClients.size());
+    }
+    
+    @Test
+    public void testDigestFindMissingClient() {
+        syncIndex();
+        targetClientManager.clientDisconnected("connection-7");
+        DistroClientDigestResult result = targetVerifier.verify(sourceVerifier.buildDigest(SOURCE, BUCKETS));
+        int bucket = DistroClientDigestVerifier.bucketOf(DistroClientDigestVerifier.hash("connection-7"), BUCKETS);
+        assertEquals(1, result.getMismatchedBuckets().size());
+        assertEquals(bucket, (int) result.getMismatchedBuckets().get(0));
+        DistroClientDigestResult detailResult = targetVerifier
+                .verify(sourceVerifier.buildDetail(SOURCE, BUCKETS, result.getMismatchedBuckets()));
+        assertEquals(1, detailResult.getMissingClients().size());
+        assertEquals("connection-7", detailResult.getMissingClients().get(0));
+    }
+    
+    @Test
+    public void testDigestFindRemovedClient() {
+        syncIndex();
+        sourceClientManager.clientDisconnected("connection-9");
+        DistroClientDigestResult result = targetVerifier.verify(sourceVerifier.buildDigest(SOURCE, BUCKETS));
+        assertEquals(1, result.getMismatchedBuckets().size());
+        targetClientManager.verifiedClients.clear();
+        DistroClientDigestResult detailResult = targetVerifier
+                .verify(sourceVerifier.buildDetail(SOURCE, BUCKETS, result.getMismatchedBuckets()));
+        assertTrue(detailResult.getMissingClients().isEmpty());
+        assertFalse(targetClientManager.verifiedClients.contains("connection-9"));
+        result = targetVerifier.verify(sourceVerifier.buildDigest(SOURCE, BUCKETS));
+        assertTrue(result.getMismatchedBuckets().isEmpty());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testVerifyInvalidDigest() {
+        DistroClientDigestInfo digestInfo = sourceVerifier.buildDigest(SOURCE, BUCKETS);
+        digestInfo.setHashes(new long[1]);
+        targetVerifier.verify(digestInfo);
+    }
+    
+    private void syncIndex() {
+        DistroClientDigestResult result = targetVerifier.verify(sourceVerifier.buildDigest(SOURCE, BUCKETS));
+        targetVerifier.verify(sourceVerifier.buildDetail(SOURCE, BUCKETS, result.getMismatchedBuckets()));
+    }
+    
+    private static class MockClientManager implements ClientManager {
+        
+        private final Map<String, Client> clients = new ConcurrentHashMap<>();
+        
+        private final Set<String> verifiedClients = new HashSet<>();
+        
+        @Override
+        public boolean clientConnected(String clientId, ClientAttributes attributes) {
+            return clientConnected(new ConnectionBasedClient(clientId, true));
+        }
+        
+        @Override
+        public boolean clientConnected(Client client) {
+            clients.put(client.getClientId(), client);
+            return true;
+        }
+        
+        @Override
+        public boolean syncClientConnected(String clientId, ClientAttributes attributes) {
+            return clientConnected(new ConnectionBasedClient(clientId, false));
+        }
+        
+        @Override
+        public boolean clientDisconnected(String clientId) {
+            return null != clients.remove(clientId);
+        }
+        
+        @Override
+        public Client getClient(String clientId) {
+            return clients.get(clientId);
+        }
+        
+        @Override
+        public boolean contains(String clientId) {
+            return clients.containsKey(clientId);
+        }
+        
+        @Override
+        public Collection<String> allClientId() {
+            return clients.keySet();
+        }
+        
+        @Override
+        public boolean isResponsibleClient(Client client) {
+            return ((ConnectionBasedClient) client).isNative();
+        }
+        
+        @Override
+        public boolean verifyClient(String clientId) {
+            if (clients.containsKey(clientId)) {
+                verifiedClients.add(clientId);
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -21,7 +21,9 @@ import com.alibaba.nacos.consistency.snapshot.Writer;
 import com.alibaba.nacos.core.distributed.raft.RaftConfig;
 import com.alibaba.nacos.core.distributed.raft.utils.RaftExecutor;
 import com.alibaba.nacos.core.storage.kv.KvStorage;
+import com.alibaba.nacos.core.storage.kv.LogKvStorage;
 import com.alibaba.nacos.sys.env.EnvUtil;
+import com.alibaba.nacos.sys.utils.DiskUtils;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -31,6 +33,7 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.mock.env.MockEnvironment;
 
+import java.io.RandomAccessFile;
 import java.nio.file.Paths;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -38,7 +41,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
 
 @RunWith(MockitoJUnitRunner.class)
 public class NamingSnapshotOperationTest {
@@ -59,7 +62,7 @@ public class NamingSnapshotOperationTest {
     
     @Before
     public void init() throws Exception {
-        doAnswer(invocationOnMock -> {
+        lenient().doAnswer(invocationOnMock -> {
             isSnapshoted = true;
             return null;
         }).when(storage).doSnapshot(any(String.class));
@@ -90,4 +93,44 @@ public class NamingSnapshotOperationTest {
         Assert.assertTrue(res);
     }
     
+    @Test
+    public void testLogStorageSnapshot() throws Exception {
+        final String sourceDir = Paths.get(snapshotDir, "log_source").toString();
+        final String targetDir = Paths.get(snapshotDir, "log_target").toString();
+        final String writePath = Paths.get(snapshotDir, "log_snapshot").toString();
+        DiskUtils.deleteDirectory(snapshotDir);
+        LogKvStorage source = new LogKvStorage(sourceDir);
+        LogKvStorage target = new LogKvStorage(targetDir);
+        try {
+            source.put("a".getBytes(), "1".getBytes());
+            source.put("b".getBytes(), "2".getBytes());
+            final Writer writer = new Writer(writePath);
+            AtomicBoolean result = new AtomicBoolean(false);
+            new NamingSnapshotOperation(source, KvStorage.KvType.Log, lock)
+                    .onSnapshotSave(writer, (isOk, throwable) -> result.set(isOk && throwable == null));
+            Assert.assertTrue(result.get());
+            // segment files are added as they are instead of being compressed.
+            Assert.assertFalse(writer.listFiles().isEmpty());
+            for (String each : writer.listFiles().keySet()) {
+                Assert.assertTrue(each.startsWith("naming_persistent/") && each.endsWith(".log"));
+                Assert.assertNotNull(writer.listFiles().get(each).get("checksum"));
+            }
+            
+            NamingSnapshotOperation operation = new NamingSnapshotOperation(target, KvStorage.KvType.Log, lock);
+            Assert.assertTrue(operation.onSnapshotLoad(new Reader(writePath, writer.listFiles())));
+            Assert.assertArrayEquals("1".getBytes(), target.get("a".getBytes()));
+            Assert.assertArrayEquals("2".getBytes(), target.get("b".getBytes()));
+            
+            String fileName = writer.listFiles().keySet().iterator().next();
+            try (RandomAccessFile file = new RandomAccessFile(Paths.get(writePath, fileName).toFile(), "rw")) {
+                file.seek(file.length() - 1);
+                file.write('x');
+            }
+            Assert.assertFalse(operation.onSnapshotLoad(new Reader(writePath, writer.listFiles())));
+        } finally {
+            source.shutdown();
+            target.shutdown();
+            DiskUtils.deleteDirectory(snapshotDir);
+        }
+    }
 }
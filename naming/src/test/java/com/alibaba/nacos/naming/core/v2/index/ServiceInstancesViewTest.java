@@ -0,0 +1,151 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.core.v2.index;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.naming.core.v2.client.Client;
+import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
+import com.alibaba.nacos.naming.core.v2.metadata.InstanceMetadata;
+import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
+import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ServiceInstancesViewTest {
+    
+    private static final Service SERVICE = Service.newService("namespaceId", "groupName", "serviceName");
+    
+    private static final String CLIENT_1 = "client1";
+    
+    private static final String CLIENT_2 = "client2";
+    
+    @Mock
+    private ClientManager clientManager;
+    
+    @Mock
+    private NamingMetadataManager metadataManager;
+    
+    @Mock
+    private Client client1;
+    
+    @Mock
+    private Client client2;
+    
+    private InstancePublishInfo publishInfo1;
+    
+    private InstancePublishInfo publishInfo2;
+    
+    private Set<String> clientIds;
+    
+    private ServiceInstancesView view;
+    
+    @Before
+    public void setUp() {
+        publishInfo1 = new InstancePublishInfo("1.1.1.1", 8848);
+        publishInfo1.setHealthy(true);
+        publishInfo2 = new InstancePublishInfo("1.1.1.2", 8848);
+        publishInfo2.setHealthy(true);
+        Mockito.when(clientManager.getClient(CLIENT_1)).thenReturn(client1);
+        Mockito.when(clientManager.getClient(CLIENT_2)).thenReturn(client2);
+        Mockito.when(client1.getInstancePublishInfo(SERVICE)).thenReturn(publishInfo1);
+        Mockito.when(client2.getInstancePublishInfo(SERVICE)).thenReturn(publishInfo2);
+        Mockito.when(metadataManager.getInstanceMetadata(Mockito.eq(SERVICE), Mockito.anyString()))
+                .thenReturn(Optional.empty());
+        clientIds = new HashSet<>(Arrays.asList(CLIENT_1, CLIENT_2));
+        view = new ServiceInstancesView(SERVICE);
+    }
+    
+    @Test
+    public void testRefreshWithoutChange() {
+        assertTrue(view.refresh(clientIds, clientManager, metadataManager));
+        List<Instance> snapshot = view.getInstances();
+        assertEquals(2, snapshot.size());
+        assertEquals(1L, view.getRevision());
+        assertFalse(view.refresh(clientIds, clientManager, metadataManager));
+        assertSame(snapshot, view.getInstances());
+        assertEquals(1L, view.getRevision());
+    }
+    
+    @Test
+    public void testRefreshOnlyParseChangedInstance() {
+        view.refresh(clientIds, clientManager, metadataManager);
+        List<Instance> snapshot = view.getInstances();
+        publishInfo2.setHealthy(false);
+        assertTrue(view.refresh(clientIds, clientManager, metadataManager));
+        assertEquals(2L, view.getRevision());
+        List<Instance> newSnapshot = view.getInstances();
+        assertNotSame(snapshot, newSnapshot);
+        for (Instance each : newSnapshot) {
+            if ("1.1.1.1".equals(each.getIp())) {
+                assertTrue(snapshot.contains(each));
+                assertTrue(each.isHealthy());
+            } else {
+                assertFalse(each.isHealthy());
+            }
+        }
+    }
+    
+    @Test
+    public void testRefreshWithMetadataChanged() {
+        view.refresh(clientIds, clientManager, metadataManager);
+        InstanceMetadata metadata = new InstanceMetadata();
+        metadata.setWeight(10.0D);
+        Mockito.when(metadataManager.getInstanceMetadata(SERVICE, publishInfo1.getMetadataId()))
+                .thenReturn(Optional.of(metadata));
+        assertTrue(view.refresh(clientIds, clientManager, metadataManager));
+        for (Instance each : view.getInstances()) {
+            assertEquals("1.1.1.1".equals(each.getIp()) ? 10.0D : 1.0D, each.getWeight(), 0.0D);
+        }
+    }
+    
+    @Test
+    public void testRefreshWithRemovedClient() {
+        view.refresh(clientIds, clientManager, metadataManager);
+        assertTrue(view.refresh(Collections.singleton(CLIENT_1), clientManager, metadataManager));
+        assertEquals(1, view.getInstances().size());
+        assertEquals("1.1.1.1", view.getInstances().get(0).getIp());
+        Mockito.when(client1.getInstancePublishInfo(SERVICE)).thenReturn(null);
+        assertTrue(view.refresh(Collections.singleton(CLIENT_1), clientManager, metadataManager));
+        assertTrue(view.getInstances().isEmpty());
+        assertTrue(view.getClusters().isEmpty());
+    }
+    
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSnapshotImmutable() {
+        view.refresh(clientIds, clientManager, metadataManager);
+        view.getInstances().clear();
+    }
+}
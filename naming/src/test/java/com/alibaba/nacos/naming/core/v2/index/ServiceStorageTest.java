@@ -16,8 +16,9 @@
 
 package com.alibaba.nacos.naming.core.v2.index;
 
-import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.naming.core.v2.ServiceManager;
+import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManagerDelegate;
 import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
 import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
@@ -32,11 +33,8 @@ import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
@@ -60,7 +58,7 @@ public class ServiceStorageTest {
     private ServiceInfo serviceInfo;
     
     @Mock
-    private InstancePublishInfo instancePublishInfo;
+    private Client client;
     
     private ServiceStorage serviceStorage;
     
@@ -130,38 +128,24 @@ public class ServiceStorageTest {
     }
     
     @Test
-    public void testGetAllInstancesFromIndex()
-            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
-        Class<ServiceStorage> serviceStorageClass = ServiceStorage.class;
-        Method getAllInstancesFromIndex = serviceStorageClass
-                .getDeclaredMethod("getAllInstancesFromIndex", Service.class);
-        getAllInstancesFromIndex.setAccessible(true);
-        List<Instance> list = (List<Instance>) getAllInstancesFromIndex.invoke(serviceStorage, SERVICE);
-        
-        Assert.assertNotNull(list);
-    }
-    
-    @Test
-    public void testGetInstanceInfo() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
-        Class<ServiceStorage> serviceStorageClass = ServiceStorage.class;
-        Method getInstanceInfo = serviceStorageClass.getDeclaredMethod("getInstanceInfo", String.class, Service.class);
-        getInstanceInfo.setAccessible(true);
-        Optional<InstancePublishInfo> optionalInstancePublishInfo = (Optional<InstancePublishInfo>) getInstanceInfo
-                .invoke(serviceStorage, NACOS, SERVICE);
-        
-        Assert.assertFalse(optionalInstancePublishInfo.isPresent());
-    }
-    
-    @Test
-    public void testParseInstance() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
-        Class<ServiceStorage> serviceStorageClass = ServiceStorage.class;
-        Method parseInstance = serviceStorageClass
-                .getDeclaredMethod("parseInstance", Service.class, InstancePublishInfo.class);
-        parseInstance.setAccessible(true);
-        Instance instance = (Instance) parseInstance.invoke(serviceStorage, SERVICE, instancePublishInfo);
-        
-        Mockito.verify(namingMetadataManager).getInstanceMetadata(SERVICE, instancePublishInfo.getMetadataId());
-        Assert.assertNotNull(instance);
+    public void testGetPushDataWithSnapshot() {
+        Service service = ServiceManager.getInstance().getSingleton(Service.newService("ns", "group", "snapshot"));
+        try {
+            Mockito.when(clientServiceIndexesManager.getAllClientsRegisteredService(service))
+                    .thenReturn(Collections.singletonList(NACOS));
+            Mockito.when(clientManagerDelegate.getClient(NACOS)).thenReturn(client);
+            Mockito.when(client.getInstancePublishInfo(service)).thenReturn(new InstancePublishInfo("1.1.1.1", 8848));
+            Mockito.when(namingMetadataManager.getInstanceMetadata(Mockito.eq(service), Mockito.anyString()))
+                    .thenReturn(Optional.empty());
+            ServiceInfo pushData = serviceStorage.getPushData(service);
+            Assert.assertEquals(1, pushData.getHosts().size());
+            Assert.assertEquals(1L, serviceStorage.getDataRevision(service));
+            Assert.assertSame(pushData, serviceStorage.getPushData(service));
+            Assert.assertSame(pushData, serviceStorage.getData(service));
+            Assert.assertEquals(1L, serviceStorage.getDataRevision(service));
+        } finally {
+            ServiceManager.getInstance().removeSingleton(service);
+        }
     }
     
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 1999-2021 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.push.v2;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.alibaba.nacos.common.remote.client.grpc.GrpcBinaryCodec;
+import com.alibaba.nacos.common.utils.JacksonUtils;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class EncodedServiceInfoTest {
+    
+    private ServiceInfo serviceInfo;
+    
+    @Before
+    public void setUp() {
+        serviceInfo = new ServiceInfo("G@@S");
+        Instance instance = new Instance();
+        instance.setIp("1.1.1.1");
+        instance.setPort(8848);
+        instance.setMetadata(Collections.singletonMap("key", "value"));
+        serviceInfo.setHosts(Collections.singletonList(instance));
+        serviceInfo.setLastRefTime(System.currentTimeMillis());
+    }
+    
+    @Test
+    public void testSerializeSameAsOriginal() {
+        EncodedServiceInfo encodedServiceInfo = new EncodedServiceInfo(serviceInfo);
+        assertEquals(JacksonUtils.toJson(serviceInfo), JacksonUtils.toJson(encodedServiceInfo));
+        assertEquals(JacksonUtils.toJson(serviceInfo), encodedServiceInfo.getEncoded());
+    }
+    
+    @Test
+    public void testSerializeInRequest() {
+        NotifySubscriberRequest expected = NotifySubscriberRequest.buildSuccessResponse(serviceInfo);
+        NotifySubscriberRequest actual = NotifySubscriberRequest
+                .buildSuccessResponse(new EncodedServiceInfo(serviceInfo));
+        assertEquals(JacksonUtils.toJson(expected), JacksonUtils.toJson(actual));
+        NotifySubscriberRequest parsed = JacksonUtils
+                .toObj(JacksonUtils.toJson(actual), NotifySubscriberRequest.class);
+        assertEquals(serviceInfo.getKey(), parsed.getServiceInfo().getKey());
+        assertEquals(1, parsed.getServiceInfo().getHosts().size());
+    }
+    
+    @Test
+    public void testSerializeInRequestWithBinaryCodec() {
+        NotifySubscriberRequest request = NotifySubscriberRequest
+                .buildSuccessResponse(new EncodedServiceInfo(serviceInfo));
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        byte[] bytes = GrpcBinaryCodec.encode(mapper, request);
+        NotifySubscriberRequest parsed = GrpcBinaryCodec
+                .decode(mapper, ByteBuffer.wrap(bytes), NotifySubscriberRequest.class);
+        assertEquals(JacksonUtils.toJson(request), JacksonUtils.toJson(parsed));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 1999-2021 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.push.v2;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberDeltaRequest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ServiceInfoDeltaTest {
+    
+    @Test
+    public void testCompute() {
+        List<Instance> baseHosts = buildHosts(10);
+        List<Instance> targetHosts = buildHosts(10);
+        targetHosts.remove(0);
+        targetHosts.get(0).setWeight(2.0D);
+        targetHosts.add(buildInstance("2.2.2.2"));
+        EncodedServiceInfo base = buildServiceInfo("G@@S", baseHosts);
+        EncodedServiceInfo target = buildServiceInfo("G@@S", targetHosts);
+        ServiceInfoDelta delta = ServiceInfoDelta.compute(base, target);
+        assertTrue(delta.isWorthPushing());
+        NotifySubscriberDeltaRequest request = delta.buildRequest();
+        assertEquals(base.getRevision(), request.getBaseRevision());
+        assertEquals(target.getRevision(), request.getRevision());
+        assertEquals(target.getKey(), request.getServiceInfo().getKey());
+        assertTrue(request.getServiceInfo().getHosts().isEmpty());
+        assertEquals("2.2.2.2", request.getAddedInstances().get(0).getIp());
+        assertEquals("1.1.1.1", request.getModifiedInstances().get(0).getIp());
+        assertEquals("1.1.1.0", request.getRemovedInstances().get(0).getIp());
+    }
+    
+    @Test
+    public void testComputeNotWorthPushing() {
+        EncodedServiceInfo base = buildServiceInfo("G@@S", buildHosts(2));
+        List<Instance> targetHosts = buildHosts(2);
+        targetHosts.forEach(each -> each.setWeight(2.0D));
+        assertFalse(ServiceInfoDelta.compute(base, buildServiceInfo("G@@S", targetHosts)).isWorthPushing());
+    }
+    
+    @Test
+    public void testComputeWithDifferentService() {
+        EncodedServiceInfo base = buildServiceInfo("G@@S", buildHosts(2));
+        EncodedServiceInfo target = buildServiceInfo("G@@S2", buildHosts(2));
+        assertFalse(ServiceInfoDelta.compute(base, target).isWorthPushing());
+    }
+    
+    @Test
+    public void testComputeWithDuplicatedInstance() {
+        EncodedServiceInfo base = buildServiceInfo("G@@S", buildHosts(2));
+        List<Instance> targetHosts = buildHosts(2);
+        targetHosts.add(buildInstance("1.1.1.1"));
+        targetHosts.get(2).setWeight(2.0D);
+        assertFalse(ServiceInfoDelta.compute(base, buildServiceInfo("G@@S", targetHosts)).isWorthPushing());
+    }
+    
+    private EncodedServiceInfo buildServiceInfo(String key, List<Instance> hosts) {
+        ServiceInfo result = new ServiceInfo(key);
+        result.setHosts(hosts);
+        return new EncodedServiceInfo(result);
+    }
+    
+    private List<Instance> buildHosts(int size) {
+        List<Instance> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(buildInstance("1.1.1." + i));
+        }
+        return result;
+    }
+    
+    private Instance buildInstance(String ip) {
+        Instance result = new Instance();
+        result.setIp(ip);
+        result.setPort(8848);
+        return result;
+    }
+}
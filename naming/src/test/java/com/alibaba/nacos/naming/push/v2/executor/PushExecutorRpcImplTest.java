@@ -16,29 +16,65 @@
 
 package com.alibaba.nacos.naming.push.v2.executor;
 
+import com.alibaba.nacos.api.ability.ClientAbilities;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.NamingResponseCode;
+import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberDeltaRequest;
 import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.alibaba.nacos.api.naming.remote.response.NotifySubscriberResponse;
 import com.alibaba.nacos.api.remote.PushCallBack;
+import com.alibaba.nacos.api.remote.RequestCallBack;
+import com.alibaba.nacos.api.remote.RequestFuture;
+import com.alibaba.nacos.api.remote.request.BatchPushRequest;
+import com.alibaba.nacos.api.remote.request.Request;
+import com.alibaba.nacos.api.remote.request.ServerRequest;
+import com.alibaba.nacos.api.remote.response.BatchPushResponse;
+import com.alibaba.nacos.api.remote.response.Response;
+import com.alibaba.nacos.common.notify.listener.SmartSubscriber;
+import com.alibaba.nacos.core.remote.Connection;
+import com.alibaba.nacos.core.remote.ConnectionManager;
+import com.alibaba.nacos.core.remote.ConnectionMeta;
 import com.alibaba.nacos.core.remote.RpcPushService;
+import com.alibaba.nacos.naming.core.v2.event.client.ClientOperationEvent;
+import com.alibaba.nacos.naming.core.v2.event.metadata.MetadataEvent;
 import com.alibaba.nacos.naming.core.v2.metadata.ServiceMetadata;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
 import com.alibaba.nacos.naming.pojo.Subscriber;
+import com.alibaba.nacos.naming.push.v2.EncodedServiceInfo;
 import com.alibaba.nacos.naming.push.v2.PushDataWrapper;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class PushExecutorRpcImplTest {
@@ -48,6 +84,12 @@ public class PushExecutorRpcImplTest {
     @Mock
     private RpcPushService pushService;
     
+    @Mock
+    private ConnectionManager connectionManager;
+    
+    @Mock
+    private Connection connection;
+    
     @Mock
     private Subscriber subscriber;
     
@@ -64,7 +106,7 @@ public class PushExecutorRpcImplTest {
     public void setUp() throws Exception {
         serviceMetadata = new ServiceMetadata();
         pushData = new PushDataWrapper(serviceMetadata, new ServiceInfo("G@@S"));
-        pushExecutor = new PushExecutorRpcImpl(pushService);
+        pushExecutor = new PushExecutorRpcImpl(pushService, connectionManager);
         doAnswer(new CallbackAnswer()).when(pushService)
                 .pushWithCallback(eq(rpcClientId), any(NotifySubscriberRequest.class), eq(pushCallBack),
                         eq(GlobalExecutor.getCallbackExecutor()));
@@ -82,6 +124,217 @@ public class PushExecutorRpcImplTest {
         verify(pushCallBack).onSuccess();
     }
     
+    @Test
+    public void testDoPushShareEncodedServiceInfo() {
+        PushDataWrapper data = new PushDataWrapper(null, new ServiceInfo("G@@S"));
+        pushExecutor.doPush(rpcClientId, subscriber, data);
+        pushExecutor.doPush(rpcClientId, subscriber, data);
+        ArgumentCaptor<NotifySubscriberRequest> captor = ArgumentCaptor.forClass(NotifySubscriberRequest.class);
+        verify(pushService, times(2)).pushWithoutAck(eq(rpcClientId), captor.capture());
+        ServiceInfo actual = captor.getAllValues().get(0).getServiceInfo();
+        assertTrue(actual instanceof EncodedServiceInfo);
+        assertSame(actual, captor.getAllValues().get(1).getServiceInfo());
+    }
+    
+    @Test
+    public void testDoPushDeltaForAckedServiceInfo() {
+        mockSupportDeltaPush();
+        List<ServerRequest> requests = new ArrayList<>();
+        doAnswer(invocationOnMock -> {
+            requests.add(invocationOnMock.getArgument(1));
+            ((PushCallBack) invocationOnMock.getArgument(2)).onSuccess();
+            return null;
+        }).when(pushService).pushWithCallback(eq(rpcClientId), any(ServerRequest.class), any(PushCallBack.class),
+                eq(GlobalExecutor.getCallbackExecutor()));
+        pushExecutor.doPushWithCallback(rpcClientId, subscriber, buildPushData(1.0D), pushCallBack);
+        pushExecutor.doPushWithCallback(rpcClientId, subscriber, buildPushData(2.0D), pushCallBack);
+        assertEquals(2, requests.size());
+        assertTrue(requests.get(0) instanceof NotifySubscriberRequest);
+        long revision = ((NotifySubscriberRequest) requests.get(0)).getRevision();
+        assertTrue(revision > 0L);
+        assertTrue(requests.get(1) instanceof NotifySubscriberDeltaRequest);
+        NotifySubscriberDeltaRequest delta = (NotifySubscriberDeltaRequest) requests.get(1);
+        assertEquals(revision, delta.getBaseRevision());
+        assertEquals(0, delta.getAddedInstances().size());
+        assertEquals(1, delta.getModifiedInstances().size());
+        assertEquals(0, delta.getRemovedInstances().size());
+        verify(pushCallBack, times(2)).onSuccess();
+    }
+    
+    @Test
+    public void testDoPushFullWhenDeltaBaseMismatch() {
+        mockSupportDeltaPush();
+        List<ServerRequest> requests = new ArrayList<>();
+        doAnswer(invocationOnMock -> {
+            ServerRequest request = invocationOnMock.getArgument(1);
+            requests.add(request);
+            PushCallBack callBack = invocationOnMock.getArgument(2);
+            if (request instanceof NotifySubscriberDeltaRequest) {
+                callBack.onFail(new NacosException(NamingResponseCode.PUSH_DELTA_BASE_MISMATCH, "mismatch"));
+            } else {
+                callBack.onSuccess();
+            }
+            return null;
+        }).when(pushService).pushWithCallback(eq(rpcClientId), any(ServerRequest.class), any(PushCallBack.class),
+                eq(GlobalExecutor.getCallbackExecutor()));
+        pushExecutor.doPushWithCallback(rpcClientId, subscriber, buildPushData(1.0D), pushCallBack);
+        pushExecutor.doPushWithCallback(rpcClientId, subscriber, buildPushData(2.0D), pushCallBack);
+        assertEquals(3, requests.size());
+        assertTrue(requests.get(1) instanceof NotifySubscriberDeltaRequest);
+        assertTrue(requests.get(2) instanceof NotifySubscriberRequest);
+        verify(pushCallBack, times(2)).onSuccess();
+        verify(pushCallBack, never()).onFail(any());
+    }
+    
+    @Test
+    public void testDoPushFullAfterUnsubscribe() {
+        List<ServerRequest> requests = mockAckAllDeltaPush();
+        Subscriber realSubscriber = new Subscriber("1.1.1.1:1", "agent", "app", "1.1.1.1", "public", "G@@S", 1);
+        pushExecutor.doPushWithCallback(rpcClientId, realSubscriber, buildPushData(1.0D), pushCallBack);
+        Service service = Service.newService("public", "G", "S");
+        getAckedServiceInfoCleaner()
+                .onEvent(new ClientOperationEvent.ClientUnsubscribeServiceEvent(service, rpcClientId));
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(pushExecutor, "ackedServiceInfos")).isEmpty());
+        pushExecutor.doPushWithCallback(rpcClientId, realSubscriber, buildPushData(2.0D), pushCallBack);
+        assertEquals(2, requests.size());
+        assertTrue(requests.get(1) instanceof NotifySubscriberRequest);
+    }
+    
+    @Test
+    public void testDoPushFullAfterServiceRemoved() {
+        List<ServerRequest> requests = mockAckAllDeltaPush();
+        Subscriber realSubscriber = new Subscriber("1.1.1.1:1", "agent", "app", "1.1.1.1", "public", "G@@S", 1);
+        pushExecutor.doPushWithCallback(rpcClientId, realSubscriber, buildPushData(1.0D), pushCallBack);
+        Service service = Service.newService("public", "G", "S");
+        getAckedServiceInfoCleaner().onEvent(new MetadataEvent.ServiceMetadataEvent(service, false));
+        assertFalse(((Map<?, ?>) ReflectionTestUtils.getField(pushExecutor, "ackedServiceInfos")).isEmpty());
+        getAckedServiceInfoCleaner().onEvent(new MetadataEvent.ServiceMetadataEvent(service, true));
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(pushExecutor, "ackedServiceInfos")).isEmpty());
+        pushExecutor.doPushWithCallback(rpcClientId, realSubscriber, buildPushData(2.0D), pushCallBack);
+        assertEquals(2, requests.size());
+        assertTrue(requests.get(1) instanceof NotifySubscriberRequest);
+    }
+    
+    @Test
+    public void testDoPushFullWhenBatchedDeltaBaseMismatch() throws Exception {
+        List<Request> sentRequests = new CopyOnWriteArrayList<>();
+        List<RequestCallBack> sentCallBacks = new CopyOnWriteArrayList<>();
+        Connection batchConnection = buildBatchPushConnection(sentRequests, sentCallBacks);
+        when(connectionManager.getConnection(rpcClientId)).thenReturn(batchConnection);
+        when(pushCallBack.getTimeout()).thenReturn(3000L);
+        RpcPushService realPushService = new RpcPushService();
+        ReflectionTestUtils.setField(realPushService, "connectionManager", connectionManager);
+        ReflectionTestUtils.setField(realPushService, "pushWindow", 1);
+        PushExecutorRpcImpl executor = new PushExecutorRpcImpl(realPushService, connectionManager);
+        Subscriber subscriberA = new Subscriber("1.1.1.1:1", "agent", "app", "1.1.1.1", "public", "G@@A", 1);
+        Subscriber subscriberB = new Subscriber("1.1.1.1:1", "agent", "app", "1.1.1.1", "public", "G@@B", 1);
+        Subscriber subscriberC = new Subscriber("1.1.1.1:1", "agent", "app", "1.1.1.1", "public", "G@@C", 1);
+        executor.doPushWithCallback(rpcClientId, subscriberA, buildPushData("G@@A", 1.0D), pushCallBack);
+        sentCallBacks.get(0).onResponse(new NotifySubscriberResponse());
+        verify(pushCallBack, timeout(3000L)).onSuccess();
+        
+        // the window is full, so the delta push and the push of C are queued and sent in one batch.
+        executor.doPushWithCallback(rpcClientId, subscriberB, buildPushData("G@@B", 1.0D), pushCallBack);
+        executor.doPushWithCallback(rpcClientId, subscriberA, buildPushData("G@@A", 2.0D), pushCallBack);
+        executor.doPushWithCallback(rpcClientId, subscriberC, buildPushData("G@@C", 1.0D), pushCallBack);
+        sentCallBacks.get(1).onResponse(new NotifySubscriberResponse());
+        assertEquals(3, sentRequests.size());
+        BatchPushRequest batch = (BatchPushRequest) sentRequests.get(2);
+        assertTrue(batch.getRequests().get(0) instanceof NotifySubscriberDeltaRequest);
+        BatchPushResponse batchResponse = new BatchPushResponse();
+        batchResponse.addFailure(0, NamingResponseCode.PUSH_DELTA_BASE_MISMATCH, "mismatch");
+        sentCallBacks.get(2).onResponse(batchResponse);
+        
+        long deadline = System.currentTimeMillis() + 3000L;
+        while (sentRequests.size() < 4 && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10L);
+        }
+        assertEquals(4, sentRequests.size());
+        NotifySubscriberRequest fullPush = (NotifySubscriberRequest) sentRequests.get(3);
+        assertEquals("A", fullPush.getServiceInfo().getName());
+        assertTrue(fullPush.getRevision() > 0L);
+        sentCallBacks.get(3).onResponse(new NotifySubscriberResponse());
+        verify(pushCallBack, timeout(3000L).times(4)).onSuccess();
+        verify(pushCallBack, never()).onFail(any());
+    }
+    
+    private Connection buildBatchPushConnection(List<Request> sentRequests, List<RequestCallBack> sentCallBacks) {
+        ConnectionMeta meta = new ConnectionMeta(rpcClientId, "1.1.1.1", "1.1.1.1", 8848, 9848, "GRPC", "2.0.0", "app",
+                new HashMap<>());
+        Connection result = new Connection(meta) {
+            @Override
+            public boolean isConnected() {
+                return true;
+            }
+            
+            @Override
+            public Response request(Request request, long timeoutMills) {
+                return null;
+            }
+            
+            @Override
+            public RequestFuture requestFuture(Request request) {
+                return null;
+            }
+            
+            @Override
+            public void asyncRequest(Request request, RequestCallBack requestCallBack) {
+                sentRequests.add(request);
+                sentCallBacks.add(requestCallBack);
+            }
+            
+            @Override
+            public void close() {
+            }
+        };
+        ClientAbilities abilities = new ClientAbilities();
+        abilities.getNamingAbility().setSupportDeltaPush(true);
+        abilities.getRemoteAbility().setSupportBatchPush(true);
+        result.setAbilities(abilities);
+        return result;
+    }
+    
+    private List<ServerRequest> mockAckAllDeltaPush() {
+        mockSupportDeltaPush();
+        List<ServerRequest> result = new ArrayList<>();
+        doAnswer(invocationOnMock -> {
+            result.add(invocationOnMock.getArgument(1));
+            ((PushCallBack) invocationOnMock.getArgument(2)).onSuccess();
+            return null;
+        }).when(pushService).pushWithCallback(eq(rpcClientId), any(ServerRequest.class), any(PushCallBack.class),
+                eq(GlobalExecutor.getCallbackExecutor()));
+        return result;
+    }
+    
+    private SmartSubscriber getAckedServiceInfoCleaner() {
+        return (SmartSubscriber) ReflectionTestUtils.getField(pushExecutor, "ackedServiceInfoCleaner");
+    }
+    
+    private void mockSupportDeltaPush() {
+        ClientAbilities abilities = new ClientAbilities();
+        abilities.getNamingAbility().setSupportDeltaPush(true);
+        when(connection.getAbilities()).thenReturn(abilities);
+        when(connectionManager.getConnection(rpcClientId)).thenReturn(connection);
+    }
+    
+    private PushDataWrapper buildPushData(double firstWeight) {
+        return buildPushData("G@@S", firstWeight);
+    }
+    
+    private PushDataWrapper buildPushData(String serviceKey, double firstWeight) {
+        List<Instance> hosts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Instance instance = new Instance();
+            instance.setIp("1.1.1." + i);
+            instance.setPort(8848);
+            instance.setWeight(0 == i ? firstWeight : 1.0D);
+            hosts.add(instance);
+        }
+        ServiceInfo serviceInfo = new ServiceInfo(serviceKey);
+        serviceInfo.setHosts(hosts);
+        return new PushDataWrapper(null, serviceInfo);
+    }
+    
     private class CallbackAnswer implements Answer<Void> {
         
         @Override
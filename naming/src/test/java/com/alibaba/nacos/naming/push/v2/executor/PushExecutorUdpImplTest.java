@@ -22,6 +22,7 @@ import com.alibaba.nacos.naming.core.v2.metadata.ServiceMetadata;
 import com.alibaba.nacos.naming.pojo.Subscriber;
 import com.alibaba.nacos.naming.push.UdpPushService;
 import com.alibaba.nacos.naming.push.v2.PushDataWrapper;
+import com.alibaba.nacos.naming.remote.udp.UdpPushData;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -30,11 +31,15 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.mockito.stubbing.Answer;
 
+import java.util.Collections;
+
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class PushExecutorUdpImplTest {
@@ -62,13 +67,24 @@ public class PushExecutorUdpImplTest {
         pushData = new PushDataWrapper(serviceMetadata, new ServiceInfo("G@@S"));
         pushExecutor = new PushExecutorUdpImpl(pushService);
         doAnswer(new CallbackAnswer()).when(pushService)
-                .pushDataWithCallback(eq(subscriber), any(ServiceInfo.class), eq(pushCallBack));
+                .pushDataWithCallback(eq(subscriber), any(ServiceInfo.class), any(), eq(pushCallBack));
     }
     
     @Test
     public void testDoPush() {
         pushExecutor.doPush(rpcClientId, subscriber, pushData);
-        verify(pushService).pushDataWithoutCallback(eq(subscriber), any(ServiceInfo.class));
+        verify(pushService).pushDataWithoutCallback(eq(subscriber), any(ServiceInfo.class), any());
+    }
+    
+    @Test
+    public void testDoPushSharePreparedData() {
+        UdpPushData udpPushData = new UdpPushData(Collections.emptyMap(), new byte[0], System.nanoTime());
+        when(pushService.preparePushData(any(ServiceInfo.class))).thenReturn(udpPushData);
+        PushDataWrapper data = new PushDataWrapper(null, new ServiceInfo("G@@S"));
+        pushExecutor.doPush(rpcClientId, subscriber, data);
+        pushExecutor.doPush(rpcClientId, subscriber, data);
+        verify(pushService).preparePushData(any(ServiceInfo.class));
+        verify(pushService, times(2)).pushDataWithoutCallback(eq(subscriber), any(ServiceInfo.class), eq(udpPushData));
     }
     
     @Test
@@ -83,7 +99,7 @@ public class PushExecutorUdpImplTest {
         public Void answer(InvocationOnMock invocationOnMock) throws Throwable {
             ServiceInfo serviceInfo = invocationOnMock.getArgument(1);
             assertEquals("G@@S", serviceInfo.getName());
-            PushCallBack callBack = invocationOnMock.getArgument(2);
+            PushCallBack callBack = invocationOnMock.getArgument(3);
             callBack.onSuccess();
             return null;
         }
@@ -18,6 +18,7 @@ package com.alibaba.nacos.naming.push.v2.task;
 
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.api.remote.PushCallBack;
+import com.alibaba.nacos.naming.core.v2.ServiceManager;
 import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
 import com.alibaba.nacos.naming.core.v2.index.ClientServiceIndexesManager;
@@ -38,6 +39,8 @@ import org.mockito.junit.MockitoJUnitRunner;
 import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.verify;
@@ -100,4 +103,17 @@ public class PushDelayTaskExecuteEngineTest {
         verify(pushExecutor).doPushWithCallback(anyString(), any(Subscriber.class), any(PushDataWrapper.class),
                 any(PushCallBack.class));
     }
+    
+    @Test
+    public void testGetPushDataReuseSameSnapshot() {
+        ServiceManager.getInstance().getSingleton(service);
+        try {
+            PushDataWrapper pushData = executeEngine.getPushData(service);
+            assertSame(pushData, executeEngine.getPushData(service));
+            when(serviceStorage.getPushData(service)).thenReturn(new ServiceInfo("G@@S"));
+            assertNotSame(pushData, executeEngine.getPushData(service));
+        } finally {
+            ServiceManager.getInstance().removeSingleton(service);
+        }
+    }
 }
@@ -21,12 +21,12 @@ import com.alibaba.nacos.core.remote.control.TpsMonitorManager;
 import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
 import com.alibaba.nacos.naming.core.v2.index.ClientServiceIndexesManager;
-import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
 import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.monitor.MetricsMonitor;
 import com.alibaba.nacos.naming.pojo.Subscriber;
 import com.alibaba.nacos.naming.push.v2.NoRequiredRetryException;
+import com.alibaba.nacos.naming.push.v2.PushDataWrapper;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
 import org.junit.Before;
 import org.junit.Test;
@@ -63,9 +63,6 @@ public class PushExecuteTaskTest {
     @Mock
     private ClientServiceIndexesManager indexesManager;
     
-    @Mock
-    private ServiceStorage serviceStorage;
-    
     @Mock
     private TpsMonitorManager tpsMonitorManager;
     
@@ -87,11 +84,11 @@ public class PushExecuteTaskTest {
         when(indexesManager.getAllClientsSubscribeService(service)).thenReturn(Collections.singletonList(clientId));
         when(clientManager.getClient(clientId)).thenReturn(client);
         when(client.getSubscriber(service)).thenReturn(subscriber);
-        when(serviceStorage.getPushData(service)).thenReturn(new ServiceInfo("G@@S"));
+        when(delayTaskExecuteEngine.getPushData(service))
+                .thenReturn(new PushDataWrapper(null, new ServiceInfo("G@@S")));
         when(delayTaskExecuteEngine.getClientManager()).thenReturn(clientManager);
         when(delayTaskExecuteEngine.getIndexesManager()).thenReturn(indexesManager);
         when(delayTaskExecuteEngine.getPushExecutor()).thenReturn(pushExecutor);
-        when(delayTaskExecuteEngine.getServiceStorage()).thenReturn(serviceStorage);
         when(delayTaskExecuteEngine.getMetadataManager()).thenReturn(metadataManager);
         when(metadataManager.getServiceMetadata(service)).thenReturn(Optional.empty());
         ApplicationUtils.injectContext(context);
@@ -118,7 +115,7 @@ public class PushExecuteTaskTest {
     public void testRunFailedWithHandleException() {
         PushDelayTask delayTask = new PushDelayTask(service, 0L);
         PushExecuteTask executeTask = new PushExecuteTask(service, delayTaskExecuteEngine, delayTask);
-        when(delayTaskExecuteEngine.getServiceStorage()).thenThrow(new RuntimeException());
+        when(delayTaskExecuteEngine.getPushData(service)).thenThrow(new RuntimeException());
         executeTask.run();
         assertEquals(0, MetricsMonitor.getFailedPushMonitor().get());
         verify(delayTaskExecuteEngine).addTask(eq(service), any(PushDelayTask.class));
@@ -0,0 +1,91 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.remote.rpc.handler;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.remote.request.RequestMeta;
+import com.alibaba.nacos.api.remote.response.ResponseCode;
+import com.alibaba.nacos.core.distributed.distro.DistroConfig;
+import com.alibaba.nacos.core.distributed.distro.DistroProtocol;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroSnapshotPage;
+import com.alibaba.nacos.naming.cluster.remote.request.DistroSnapshotPageRequest;
+import com.alibaba.nacos.naming.cluster.remote.response.DistroSnapshotPageResponse;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * {@link DistroSnapshotPageRequestHandler} unit tests.
+ *
+ * @author Nacos
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DistroSnapshotPageRequestHandlerTest {
+    
+    private static final String TYPE = "Nacos:Naming:v2:ClientData";
+    
+    @InjectMocks
+    private DistroSnapshotPageRequestHandler handler;
+    
+    @Mock
+    private DistroProtocol distroProtocol;
+    
+    private int originalMaxPageSize;
+    
+    @Before
+    public void setUp() {
+        originalMaxPageSize = DistroConfig.getInstance().getLoadDataMaxPageSize();
+        DistroConfig.getInstance().setLoadDataMaxPageSize(100);
+    }
+    
+    @After
+    public void tearDown() {
+        DistroConfig.getInstance().setLoadDataMaxPageSize(originalMaxPageSize);
+    }
+    
+    @Test
+    public void testHandleClampPageSize() throws NacosException {
+        DistroSnapshotPage page = new DistroSnapshotPage(new DistroData(), "next");
+        Mockito.when(distroProtocol.onSnapshotPage(TYPE, "cursor", 100)).thenReturn(page);
+        DistroSnapshotPageResponse response = handler
+                .handle(new DistroSnapshotPageRequest(TYPE, "cursor", Integer.MAX_VALUE), new RequestMeta());
+        Assert.assertTrue(response.isSuccess());
+        Assert.assertEquals("next", response.getNextCursor());
+        
+        Mockito.when(distroProtocol.onSnapshotPage(TYPE, "cursor", 10)).thenReturn(page);
+        Assert.assertTrue(handler.handle(new DistroSnapshotPageRequest(TYPE, "cursor", 10), new RequestMeta())
+                .isSuccess());
+    }
+    
+    @Test
+    public void testHandleRejectNonPositivePageSize() throws NacosException {
+        for (int pageSize : new int[] {0, -1, Integer.MIN_VALUE}) {
+            DistroSnapshotPageResponse response = handler
+                    .handle(new DistroSnapshotPageRequest(TYPE, "cursor", pageSize), new RequestMeta());
+            Assert.assertEquals(ResponseCode.FAIL.getCode(), response.getErrorCode());
+        }
+        Mockito.verify(distroProtocol, Mockito.never())
+                .onSnapshotPage(Mockito.anyString(), Mockito.any(), Mockito.anyInt());
+    }
+}